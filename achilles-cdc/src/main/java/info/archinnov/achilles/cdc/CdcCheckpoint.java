@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static java.lang.String.format;
+
+import java.util.Objects;
+
+/**
+ * Position in the commit log, made of the commit log segment id and the position
+ * right after the last consumed mutation in this segment
+ */
+public class CdcCheckpoint implements Comparable<CdcCheckpoint> {
+
+    private final long segmentId;
+    private final int position;
+
+    public CdcCheckpoint(long segmentId, int position) {
+        this.segmentId = segmentId;
+        this.position = position;
+    }
+
+    public long segmentId() {
+        return segmentId;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    @Override
+    public int compareTo(CdcCheckpoint other) {
+        final int segmentComparison = Long.compare(segmentId, other.segmentId);
+        return segmentComparison != 0 ? segmentComparison : Integer.compare(position, other.position);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CdcCheckpoint that = (CdcCheckpoint) o;
+        return segmentId == that.segmentId &&
+                position == that.position;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(segmentId, position);
+    }
+
+    @Override
+    public String toString() {
+        return format("CdcCheckpoint{segmentId=%s, position=%s}", segmentId, position);
+    }
+}
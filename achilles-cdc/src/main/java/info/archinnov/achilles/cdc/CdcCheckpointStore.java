@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import java.util.Optional;
+
+/**
+ * Persist the position of the last change events successfully delivered to the listeners,
+ * so that a restarted {@link CdcReader} resumes from there.
+ * <br/>
+ * Change events are delivered at least once: events after the last saved checkpoint
+ * are delivered again after a restart or a listener failure
+ */
+public interface CdcCheckpointStore {
+
+    /**
+     * @return the last saved checkpoint, empty if none
+     */
+    Optional<CdcCheckpoint> load();
+
+    void save(CdcCheckpoint checkpoint);
+}
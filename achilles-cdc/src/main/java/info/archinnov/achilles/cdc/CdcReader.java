@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.db.Mutation;
+import org.apache.cassandra.db.commitlog.CommitLogDescriptor;
+import org.apache.cassandra.db.commitlog.CommitLogPosition;
+import org.apache.cassandra.db.commitlog.CommitLogReadHandler;
+import org.apache.cassandra.db.commitlog.CommitLogReader;
+import org.apache.cassandra.db.partitions.PartitionUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Tail the commit log segments of the Cassandra <em>cdc_raw</em> folder and deliver the changes
+ * of the registered entities to their listeners, as typed {@link EntityChangeEvent}.
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * CdcReader reader = CdcReaderBuilder
+ *     .builder(new File("/var/lib/cassandra/cdc_raw"))
+ *     .withKeyspace("my_ks")
+ *     .withEntity(new User_AchillesMeta(), events -&gt; cache.apply(events))
+ *     .withCheckpointFile(new File("/var/lib/my_app/cdc.checkpoint"))
+ *     .build();
+ *
+ * reader.start();
+ * ...
+ * reader.shutDown();
+ * </code></pre>
+ * <br/>
+ * Segments are read in order with Cassandra's <em>CommitLogReader</em>. Change events are buffered and
+ * delivered by batches of at most <em>batchSize</em> events (and at the end of each segment), then the checkpoint
+ * is saved. Fully consumed segments are deleted, unless disabled, so that Cassandra does not reject writes
+ * on CDC tables once the cdc_raw folder is full.
+ * <br/>
+ * <br/>
+ * <strong>Mutations can only be decoded in a JVM where the Cassandra schema is loaded</strong>: with an embedded
+ * Cassandra server, or in a standalone process after <em>DatabaseDescriptor.toolInitialization()</em> and
+ * <em>Schema.instance.loadFromDisk(false)</em> on the Cassandra node
+ */
+public class CdcReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CdcReader.class);
+    private static final int SEGMENT_CONSUMED = Integer.MAX_VALUE;
+
+    private final File cdcRawFolder;
+    private final Map<String, EntityChangeDispatcher<?>> dispatchers;
+    private final CdcCheckpointStore checkpointStore;
+    private final int batchSize;
+    private final long pollIntervalInMillis;
+    private final boolean deleteConsumedSegments;
+    private Optional<CdcCheckpoint> checkpoint;
+    private ScheduledExecutorService scheduler;
+
+    CdcReader(File cdcRawFolder, List<EntityChangeDispatcher<?>> dispatchers, CdcCheckpointStore checkpointStore,
+              int batchSize, long pollIntervalInMillis, boolean deleteConsumedSegments) {
+        this.cdcRawFolder = cdcRawFolder;
+        this.dispatchers = new HashMap<>();
+        dispatchers.forEach(x -> this.dispatchers.put(x.qualifiedTableName(), x));
+        this.checkpointStore = checkpointStore;
+        this.batchSize = batchSize;
+        this.pollIntervalInMillis = pollIntervalInMillis;
+        this.deleteConsumedSegments = deleteConsumedSegments;
+        this.checkpoint = checkpointStore.load();
+    }
+
+    /**
+     * Start polling the cdc_raw folder in the background, every <em>pollIntervalInMillis</em>.
+     * Failures are logged and the same changes are retried on the next poll
+     */
+    public synchronized void start() {
+        if (scheduler == null) {
+            LOGGER.info(format("Start tailing CDC segments in %s for tables %s", cdcRawFolder.getAbsolutePath(), dispatchers.keySet()));
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "achilles-cdc-reader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::pollQuietly, 0, pollIntervalInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void shutDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Read all the segments currently in the cdc_raw folder, from the last checkpoint
+     *
+     * @return number of change events delivered to the listeners
+     */
+    public synchronized int poll() {
+        int deliveredEvents = 0;
+        for (File segment : listSegments()) {
+            final long segmentId = CommitLogDescriptor.fromFileName(segment.getName()).id;
+            if (!isConsumed(segmentId)) {
+                deliveredEvents += readSegment(segment, segmentId);
+            }
+            if (deleteConsumedSegments) {
+                deleteSegment(segment);
+            }
+        }
+        return deliveredEvents;
+    }
+
+    public Optional<CdcCheckpoint> checkpoint() {
+        return checkpoint;
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            LOGGER.error(format("Fail reading CDC segments in %s, will retry from %s", cdcRawFolder.getAbsolutePath(), checkpoint), e);
+        }
+    }
+
+    private int readSegment(File segment, long segmentId) {
+        final CommitLogPosition minPosition = checkpoint
+                .filter(x -> x.segmentId() == segmentId)
+                .map(x -> new CommitLogPosition(x.segmentId(), x.position()))
+                .orElse(CommitLogPosition.NONE);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Read CDC segment %s from position %s", segment.getName(), minPosition));
+        }
+
+        final SegmentHandler handler = new SegmentHandler();
+        try {
+            new CommitLogReader().readCommitLogSegment(handler, segment, minPosition, CommitLogReader.ALL_MUTATIONS, false);
+            handler.flush(new CdcCheckpoint(segmentId, SEGMENT_CONSUMED));
+        } catch (IOException e) {
+            dispatchers.values().forEach(EntityChangeDispatcher::discard);
+            throw new AchillesException(format("Cannot read CDC segment '%s'", segment.getAbsolutePath()), e);
+        } catch (RuntimeException e) {
+            dispatchers.values().forEach(EntityChangeDispatcher::discard);
+            throw e;
+        }
+        return handler.deliveredEvents;
+    }
+
+    private boolean isConsumed(long segmentId) {
+        return checkpoint
+                .map(x -> segmentId < x.segmentId() || (segmentId == x.segmentId() && x.position() == SEGMENT_CONSUMED))
+                .orElse(false);
+    }
+
+    private List<File> listSegments() {
+        final File[] files = cdcRawFolder.listFiles((dir, name) -> CommitLogDescriptor.isValid(name));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(files)
+                .sorted(Comparator.comparingLong(x -> CommitLogDescriptor.fromFileName(x.getName()).id))
+                .collect(toList());
+    }
+
+    private void deleteSegment(File segment) {
+        try {
+            Files.deleteIfExists(segment.toPath());
+        } catch (IOException e) {
+            LOGGER.warn(format("Cannot delete consumed CDC segment '%s'", segment.getAbsolutePath()), e);
+        }
+    }
+
+    private class SegmentHandler implements CommitLogReadHandler {
+
+        private int pendingEvents = 0;
+        private int deliveredEvents = 0;
+
+        @Override
+        public boolean shouldSkipSegmentOnError(CommitLogReadException exception) throws IOException {
+            if (exception.permissible) {
+                LOGGER.warn(format("Skipping the end of CDC segment : %s", exception.getMessage()));
+                return true;
+            }
+            handleUnrecoverableError(exception);
+            return false;
+        }
+
+        @Override
+        public void handleUnrecoverableError(CommitLogReadException exception) throws IOException {
+            throw exception;
+        }
+
+        @Override
+        public void handleMutation(Mutation mutation, int size, int entryLocation, CommitLogDescriptor descriptor) {
+            final CdcCheckpoint position = new CdcCheckpoint(descriptor.id, entryLocation);
+            for (PartitionUpdate update : mutation.getPartitionUpdates()) {
+                final EntityChangeDispatcher<?> dispatcher = dispatchers.get(update.metadata().ksName + "." + update.metadata().cfName);
+                if (dispatcher != null) {
+                    pendingEvents += dispatcher.buffer(update, position);
+                }
+            }
+            if (pendingEvents >= batchSize) {
+                flush(position);
+            }
+        }
+
+        void flush(CdcCheckpoint position) {
+            dispatchers.values().forEach(EntityChangeDispatcher::flush);
+            checkpointStore.save(position);
+            checkpoint = Optional.of(position);
+            deliveredEvents += pendingEvents;
+            pendingEvents = 0;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static info.archinnov.achilles.validation.Validator.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.cassandra.config.Schema;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.extras.codecs.arrays.DoubleArrayCodec;
+import com.datastax.driver.extras.codecs.arrays.FloatArrayCodec;
+import com.datastax.driver.extras.codecs.arrays.IntArrayCodec;
+import com.datastax.driver.extras.codecs.arrays.LongArrayCodec;
+import com.datastax.driver.extras.codecs.jdk8.InstantCodec;
+import com.datastax.driver.extras.codecs.jdk8.LocalDateCodec;
+import com.datastax.driver.extras.codecs.jdk8.LocalTimeCodec;
+import com.datastax.driver.extras.codecs.jdk8.ZonedDateTimeCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
+import info.archinnov.achilles.internals.factory.TupleTypeFactory;
+import info.archinnov.achilles.internals.factory.UserTypeFactory;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.json.DefaultJacksonMapper;
+import info.archinnov.achilles.type.codec.Codec;
+import info.archinnov.achilles.type.codec.CodecSignature;
+import info.archinnov.achilles.type.factory.BeanFactory;
+
+/**
+ * Builder for {@link CdcReader}
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * CdcReader reader = CdcReaderBuilder
+ *     .builder(new File("/var/lib/cassandra/cdc_raw"))
+ *     .withKeyspace("my_ks")
+ *     .withEntity(new User_AchillesMeta(), userListener)
+ *     .withEntity(new Order_AchillesMeta(), orderListener)
+ *     .withCheckpointFile(new File("/var/lib/my_app/cdc.checkpoint"))
+ *     .withBatchSize(500)
+ *     .build();
+ * </code></pre>
+ * The entity tables should be created or altered with <em>WITH cdc = true</em>
+ * and <em>cdc_enabled</em> should be set to true in <em>cassandra.yaml</em>
+ */
+public class CdcReaderBuilder {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final long DEFAULT_POLL_INTERVAL_IN_MILLIS = 1000L;
+
+    private final File cdcRawFolder;
+    private final List<EntityRegistration<?>> registrations = new ArrayList<>();
+    private final Map<CodecSignature<?, ?>, Codec<?, ?>> runtimeCodecs = new HashMap<>();
+    private Optional<String> keyspace = Optional.empty();
+    private CdcCheckpointStore checkpointStore;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long pollIntervalInMillis = DEFAULT_POLL_INTERVAL_IN_MILLIS;
+    private boolean deleteConsumedSegments = true;
+    private ObjectMapper jacksonMapper = DefaultJacksonMapper.DEFAULT.get();
+    private BeanFactory beanFactory = new DefaultBeanFactory();
+
+    private CdcReaderBuilder(File cdcRawFolder) {
+        this.cdcRawFolder = cdcRawFolder;
+    }
+
+    /**
+     * Create a builder tailing the given cdc_raw folder, <em>cdc_raw_directory</em> in <em>cassandra.yaml</em>
+     *
+     * @param cdcRawFolder cdc_raw folder of the Cassandra node
+     * @return CdcReaderBuilder
+     */
+    public static CdcReaderBuilder builder(File cdcRawFolder) {
+        validateNotNull(cdcRawFolder, "The cdc_raw folder should not be null");
+        return new CdcReaderBuilder(cdcRawFolder);
+    }
+
+    /**
+     * Capture the changes of the given entity, e.g. <em>new User_AchillesMeta()</em>, and deliver them to the listener.
+     * Mutations of tables not registered are ignored
+     *
+     * @return CdcReaderBuilder
+     */
+    public <ENTITY> CdcReaderBuilder withEntity(AbstractEntityProperty<ENTITY> meta, EntityChangeListener<ENTITY> listener) {
+        validateNotNull(meta, "The entity meta should not be null");
+        validateNotNull(listener, "The change listener for entity '%s' should not be null", meta.entityClass.getCanonicalName());
+        registrations.add(new EntityRegistration<>(meta, listener));
+        return this;
+    }
+
+    /**
+     * Define the keyspace of the entities not declaring a static keyspace
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withKeyspace(String keyspace) {
+        this.keyspace = Optional.ofNullable(keyspace);
+        return this;
+    }
+
+    /**
+     * Define where the checkpoint is saved. This parameter (or {@link #withCheckpointFile(File)}) is mandatory
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withCheckpointStore(CdcCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+        return this;
+    }
+
+    /**
+     * Save the checkpoint in the given local file, see {@link FileCdcCheckpointStore}
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withCheckpointFile(File checkpointFile) {
+        this.checkpointStore = new FileCdcCheckpointStore(checkpointFile);
+        return this;
+    }
+
+    /**
+     * Define the maximum number of change events buffered before they are delivered to the listeners
+     * and the checkpoint is saved. Default value = 100
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Define the delay between 2 polls of the cdc_raw folder, once the reader is started. Default value = 1000
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withPollIntervalInMillis(long pollIntervalInMillis) {
+        this.pollIntervalInMillis = pollIntervalInMillis;
+        return this;
+    }
+
+    /**
+     * Whether to delete the segments once all their changes are delivered. Cassandra rejects writes
+     * on CDC tables once the cdc_raw folder is full so they should be deleted by someone. Default value = true
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withDeleteConsumedSegments(boolean deleteConsumedSegments) {
+        this.deleteConsumedSegments = deleteConsumedSegments;
+        return this;
+    }
+
+    /**
+     * Define a pre-configured Jackson Object Mapper for the columns encoded as JSON
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withJacksonMapper(ObjectMapper jacksonMapper) {
+        this.jacksonMapper = jacksonMapper;
+        return this;
+    }
+
+    /**
+     * Define the bean factory used to instantiate entities and UDTs
+     *
+     * @return CdcReaderBuilder
+     */
+    public CdcReaderBuilder withBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        return this;
+    }
+
+    /**
+     * Register a runtime codec, the same way as with the <em>ManagerFactoryBuilder</em>
+     *
+     * @return CdcReaderBuilder
+     */
+    public <FROM, TO> CdcReaderBuilder withRuntimeCodec(CodecSignature<FROM, TO> codecSignature, Codec<FROM, TO> codec) {
+        runtimeCodecs.put(codecSignature, codec);
+        return this;
+    }
+
+    public CdcReader build() {
+        validateTrue(cdcRawFolder.isDirectory(), "The cdc_raw folder '%s' does not exist", cdcRawFolder.getAbsolutePath());
+        validateNotEmpty(registrations, "At least one entity should be registered for CDC");
+        validateNotNull(checkpointStore, "The CDC checkpoint store should be provided");
+        validateTrue(batchSize > 0, "The CDC batch size should be strictly positive");
+        validateTrue(pollIntervalInMillis > 0, "The CDC poll interval should be strictly positive");
+        validateNotNull(jacksonMapper, "The Jackson mapper should not be null");
+        validateNotNull(beanFactory, "The bean factory should not be null");
+
+        final ProtocolVersion protocolVersion = ProtocolVersion.NEWEST_SUPPORTED;
+        final CodecRegistry codecRegistry = newCodecRegistry(protocolVersion);
+        final UserTypeFactory userTypeFactory = new UserTypeFactory(protocolVersion, codecRegistry);
+        final TupleTypeFactory tupleTypeFactory = new TupleTypeFactory(protocolVersion, codecRegistry);
+
+        final List<EntityChangeDispatcher<?>> dispatchers = new ArrayList<>();
+        for (EntityRegistration<?> registration : registrations) {
+            prepareMeta(registration.meta, userTypeFactory, tupleTypeFactory);
+            dispatchers.add(registration.toDispatcher(codecRegistry));
+        }
+        return new CdcReader(cdcRawFolder, dispatchers, checkpointStore, batchSize, pollIntervalInMillis, deleteConsumedSegments);
+    }
+
+    private void prepareMeta(AbstractEntityProperty<?> meta, UserTypeFactory userTypeFactory, TupleTypeFactory tupleTypeFactory) {
+        final String entityClassName = meta.entityClass.getCanonicalName();
+        keyspace.ifPresent(meta::injectKeyspace);
+        validateTrue(meta.getKeyspace().isPresent(),
+                "The keyspace for the entity '%s' should be either provided by the @Table annotation or with withKeyspace()", entityClassName);
+        validateTrue(meta.isTable(), "Cannot capture changes of the materialized view '%s'", entityClassName);
+        validateFalse(meta.isCounter(), "Cannot capture changes of the counter table '%s'", entityClassName);
+        validateNotNull(Schema.instance.getCFMetaData(meta.getKeyspace().get(), meta.getTableOrViewName()),
+                "The table '%s.%s' is not found in the Cassandra schema of this JVM, it is required to decode the commit log",
+                meta.getKeyspace().get(), meta.getTableOrViewName());
+        meta.inject(beanFactory);
+        meta.inject(jacksonMapper);
+        meta.inject(userTypeFactory, tupleTypeFactory);
+        meta.injectRuntimeCodecs(runtimeCodecs);
+    }
+
+    /**
+     * A dedicated registry with the same Java driver extra codecs as those registered by the ManagerFactory
+     */
+    private static CodecRegistry newCodecRegistry(ProtocolVersion protocolVersion) {
+        final CodecRegistry codecRegistry = new CodecRegistry();
+        final TupleType zonedDateTimeType = TupleType.of(protocolVersion, codecRegistry, DataType.timestamp(), DataType.varchar());
+        codecRegistry.register(DoubleArrayCodec.instance, FloatArrayCodec.instance, IntArrayCodec.instance, LongArrayCodec.instance,
+                InstantCodec.instance, LocalDateCodec.instance, LocalTimeCodec.instance,
+                new ZonedDateTimeCodec(zonedDateTimeType));
+        return codecRegistry;
+    }
+
+    private static class EntityRegistration<ENTITY> {
+        private final AbstractEntityProperty<ENTITY> meta;
+        private final EntityChangeListener<ENTITY> listener;
+
+        EntityRegistration(AbstractEntityProperty<ENTITY> meta, EntityChangeListener<ENTITY> listener) {
+            this.meta = meta;
+            this.listener = listener;
+        }
+
+        EntityChangeDispatcher<ENTITY> toDispatcher(CodecRegistry codecRegistry) {
+            return new EntityChangeDispatcher<>(meta, new EntityMutationDecoder<>(meta, codecRegistry), listener);
+        }
+    }
+}
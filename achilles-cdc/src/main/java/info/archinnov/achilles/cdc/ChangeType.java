@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+/**
+ * Kind of change captured from a commit log mutation
+ */
+public enum ChangeType {
+    /**
+     * INSERT or UPDATE of a row (or of the static columns of a partition)
+     */
+    UPSERT,
+    /**
+     * DELETE of a whole row
+     */
+    ROW_DELETE,
+    /**
+     * DELETE of a whole partition
+     */
+    PARTITION_DELETE,
+    /**
+     * DELETE of a range of rows inside a partition
+     */
+    RANGE_DELETE
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cassandra.db.partitions.PartitionUpdate;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+
+/**
+ * Buffer the change events of one entity until they are flushed to its listener
+ */
+class EntityChangeDispatcher<ENTITY> {
+
+    final AbstractEntityProperty<ENTITY> meta;
+    private final EntityMutationDecoder<ENTITY> decoder;
+    private final EntityChangeListener<ENTITY> listener;
+    private final List<EntityChangeEvent<ENTITY>> pendingEvents = new ArrayList<>();
+
+    EntityChangeDispatcher(AbstractEntityProperty<ENTITY> meta, EntityMutationDecoder<ENTITY> decoder, EntityChangeListener<ENTITY> listener) {
+        this.meta = meta;
+        this.decoder = decoder;
+        this.listener = listener;
+    }
+
+    String qualifiedTableName() {
+        return meta.getKeyspace().get() + "." + meta.getTableOrViewName();
+    }
+
+    /**
+     * @return number of change events buffered
+     */
+    int buffer(PartitionUpdate update, CdcCheckpoint position) {
+        final List<EntityChangeEvent<ENTITY>> events = decoder.decode(update, position);
+        pendingEvents.addAll(events);
+        return events.size();
+    }
+
+    void flush() {
+        if (!pendingEvents.isEmpty()) {
+            listener.onChanges(new ArrayList<>(pendingEvents));
+            pendingEvents.clear();
+        }
+    }
+
+    void discard() {
+        pendingEvents.clear();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static java.lang.String.format;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Change of a row (or partition) of an entity table, decoded from a commit log mutation.
+ * <br/>
+ * <br/>
+ * <ul>
+ *     <li><em>primaryKey()</em>: primary key values by field name. Partition deletes only have the partition key components,
+ *     range deletes have the partition key components and the clustering columns shared by both bounds of the range</li>
+ *     <li><em>fieldChanges()</em>: field-level deltas, empty for deletes</li>
+ *     <li><em>entity()</em>: a partial entity instance with the primary key and the SET fields populated. Other fields are left
+ *     to their default value. Empty for entities having a custom constructor</li>
+ * </ul>
+ */
+public class EntityChangeEvent<ENTITY> {
+
+    private final Class<ENTITY> entityClass;
+    private final ChangeType changeType;
+    private final Map<String, Object> primaryKey;
+    private final List<FieldChange> fieldChanges;
+    private final Optional<ENTITY> entity;
+    private final long writeTimeMicros;
+    private final CdcCheckpoint position;
+
+    EntityChangeEvent(Class<ENTITY> entityClass, ChangeType changeType, Map<String, Object> primaryKey,
+                      List<FieldChange> fieldChanges, Optional<ENTITY> entity, long writeTimeMicros, CdcCheckpoint position) {
+        this.entityClass = entityClass;
+        this.changeType = changeType;
+        this.primaryKey = Collections.unmodifiableMap(primaryKey);
+        this.fieldChanges = Collections.unmodifiableList(fieldChanges);
+        this.entity = entity;
+        this.writeTimeMicros = writeTimeMicros;
+        this.position = position;
+    }
+
+    public Class<ENTITY> entityClass() {
+        return entityClass;
+    }
+
+    public ChangeType changeType() {
+        return changeType;
+    }
+
+    public Map<String, Object> primaryKey() {
+        return primaryKey;
+    }
+
+    public List<FieldChange> fieldChanges() {
+        return fieldChanges;
+    }
+
+    public Optional<FieldChange> fieldChange(String fieldName) {
+        return fieldChanges.stream().filter(x -> x.fieldName().equals(fieldName)).findFirst();
+    }
+
+    public Optional<ENTITY> entity() {
+        return entity;
+    }
+
+    /**
+     * @return highest write timestamp of the change, in microseconds
+     */
+    public long writeTimeMicros() {
+        return writeTimeMicros;
+    }
+
+    /**
+     * @return position of the mutation in the commit log
+     */
+    public CdcCheckpoint position() {
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return format("EntityChangeEvent{entityClass=%s, changeType=%s, primaryKey=%s, fieldChanges=%s, writeTimeMicros=%s, position=%s}",
+                entityClass.getCanonicalName(), changeType, primaryKey, fieldChanges, writeTimeMicros, position);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import java.util.List;
+
+/**
+ * Receive the change events of an entity, in commit log order, by batches.
+ * <br/>
+ * The checkpoint is only saved once all listeners have returned. If a listener throws an exception,
+ * the same events are delivered again on the next poll
+ */
+@FunctionalInterface
+public interface EntityChangeListener<ENTITY> {
+
+    void onChanges(List<EntityChangeEvent<ENTITY>> events);
+}
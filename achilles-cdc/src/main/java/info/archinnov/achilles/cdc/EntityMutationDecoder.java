@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static info.archinnov.achilles.cdc.FieldChange.Kind.*;
+import static java.util.stream.Collectors.toMap;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Function;
+
+import org.apache.cassandra.config.CFMetaData;
+import org.apache.cassandra.config.ColumnDefinition;
+import org.apache.cassandra.db.ClusteringPrefix;
+import org.apache.cassandra.db.RangeTombstone;
+import org.apache.cassandra.db.marshal.CompositeType;
+import org.apache.cassandra.db.partitions.PartitionUpdate;
+import org.apache.cassandra.db.rows.Cell;
+import org.apache.cassandra.db.rows.ColumnData;
+import org.apache.cassandra.db.rows.ComplexColumnData;
+import org.apache.cassandra.db.rows.Row;
+import org.apache.cassandra.utils.ByteBufferUtil;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.UserType;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.MapProperty;
+
+/**
+ * Decode the partition updates of an entity table into change events.
+ * <br/>
+ * Cell values have the same serialization as the native protocol (v3 and later) so they are decoded
+ * with the driver codec of the column type, then with the Achilles codec of the field.
+ * Cells of non-frozen collections and UDTs are re-assembled into a serialized collection/UDT first
+ */
+class EntityMutationDecoder<ENTITY> {
+
+    private static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.V4;
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final CodecRegistry codecRegistry;
+    private final Map<String, AbstractProperty<ENTITY, ?, ?>> propertiesByColumn;
+    private final Map<String, AbstractProperty<ENTITY, ?, ?>> propertiesByField;
+    private final boolean canCreateEntity;
+
+    EntityMutationDecoder(AbstractEntityProperty<ENTITY> meta, CodecRegistry codecRegistry) {
+        this.meta = meta;
+        this.codecRegistry = codecRegistry;
+        this.propertiesByColumn = meta.allColumns.stream().collect(toMap(x -> x.fieldInfo.cqlColumn, Function.identity()));
+        this.propertiesByField = meta.allColumns.stream().collect(toMap(x -> x.fieldName, Function.identity()));
+        this.canCreateEntity = meta.constructorInjectedColumns.isEmpty();
+    }
+
+    List<EntityChangeEvent<ENTITY>> decode(PartitionUpdate update, CdcCheckpoint position) {
+        final List<EntityChangeEvent<ENTITY>> events = new ArrayList<>();
+        final CFMetaData metadata = update.metadata();
+        final Map<String, Object> partitionKey = decodePartitionKey(metadata, update.partitionKey().getKey());
+
+        if (!update.partitionLevelDeletion().isLive()) {
+            events.add(newEvent(ChangeType.PARTITION_DELETE, partitionKey, Collections.emptyList(),
+                    update.partitionLevelDeletion().markedForDeleteAt(), position));
+        }
+
+        if (update.deletionInfo().hasRanges()) {
+            final Iterator<RangeTombstone> ranges = update.deletionInfo().rangeIterator(false);
+            while (ranges.hasNext()) {
+                final RangeTombstone range = ranges.next();
+                final Map<String, Object> primaryKey = new LinkedHashMap<>(partitionKey);
+                decodeClustering(metadata, range.deletedSlice().start(), commonPrefixSize(range), primaryKey);
+                events.add(newEvent(ChangeType.RANGE_DELETE, primaryKey, Collections.emptyList(),
+                        range.deletionTime().markedForDeleteAt(), position));
+            }
+        }
+
+        final Row staticRow = update.staticRow();
+        if (!staticRow.isEmpty()) {
+            decodeRow(metadata, partitionKey, staticRow, position, events);
+        }
+        for (Row row : update) {
+            decodeRow(metadata, partitionKey, row, position, events);
+        }
+        return events;
+    }
+
+    private void decodeRow(CFMetaData metadata, Map<String, Object> partitionKey, Row row, CdcCheckpoint position,
+                           List<EntityChangeEvent<ENTITY>> events) {
+        final Map<String, Object> primaryKey = new LinkedHashMap<>(partitionKey);
+        if (!row.isStatic()) {
+            decodeClustering(metadata, row.clustering(), row.clustering().size(), primaryKey);
+        }
+
+        if (!row.deletion().isLive()) {
+            events.add(newEvent(ChangeType.ROW_DELETE, primaryKey, Collections.emptyList(),
+                    row.deletion().time().markedForDeleteAt(), position));
+        }
+
+        long writeTime = row.primaryKeyLivenessInfo().timestamp();
+        final List<FieldChange> fieldChanges = new ArrayList<>();
+        for (ColumnData columnData : row) {
+            final AbstractProperty<ENTITY, ?, ?> property = propertiesByColumn.get(columnData.column().name.toString());
+            if (property == null) {
+                continue;
+            }
+            if (columnData.column().isComplex()) {
+                final ComplexColumnData complexData = (ComplexColumnData) columnData;
+                writeTime = Math.max(writeTime, complexData.complexDeletion().markedForDeleteAt());
+                for (Cell cell : complexData) {
+                    writeTime = Math.max(writeTime, cell.timestamp());
+                }
+                decodeComplexColumn(property, complexData, fieldChanges);
+            } else {
+                final Cell cell = (Cell) columnData;
+                writeTime = Math.max(writeTime, cell.timestamp());
+                fieldChanges.add(cell.isTombstone()
+                        ? newFieldChange(property, DELETE, null)
+                        : newFieldChange(property, SET, decode(property, property.getDataType(), property.valueToTypeToken, cell.value())));
+            }
+        }
+
+        if (!fieldChanges.isEmpty() || !row.primaryKeyLivenessInfo().isEmpty()) {
+            events.add(newEvent(ChangeType.UPSERT, primaryKey, fieldChanges, writeTime, position));
+        }
+    }
+
+    private void decodeComplexColumn(AbstractProperty<ENTITY, ?, ?> property, ComplexColumnData complexData, List<FieldChange> fieldChanges) {
+        final DataType dataType = property.getDataType();
+        final List<Cell> addedCells = new ArrayList<>();
+        final List<Cell> removedCells = new ArrayList<>();
+        for (Cell cell : complexData) {
+            (cell.isTombstone() ? removedCells : addedCells).add(cell);
+        }
+
+        if (!complexData.complexDeletion().isLive()) {
+            // Collection or UDT overwritten
+            fieldChanges.add(addedCells.isEmpty()
+                    ? newFieldChange(property, DELETE, null)
+                    : newFieldChange(property, SET, decode(property, dataType, property.valueToTypeToken, assemble(dataType, addedCells))));
+            return;
+        }
+        if (!addedCells.isEmpty()) {
+            fieldChanges.add(newFieldChange(property, ADD, decode(property, dataType, property.valueToTypeToken, assemble(dataType, addedCells))));
+        }
+        if (!removedCells.isEmpty()) {
+            fieldChanges.add(newFieldChange(property, REMOVE, decodeRemoved(property, dataType, removedCells)));
+        }
+    }
+
+    private Object decodeRemoved(AbstractProperty<ENTITY, ?, ?> property, DataType dataType, List<Cell> removedCells) {
+        if (dataType.getName() == DataType.Name.SET) {
+            return decode(property, dataType, property.valueToTypeToken, assemble(dataType, removedCells));
+        } else if (dataType.getName() == DataType.Name.MAP && property instanceof MapProperty) {
+            final AbstractProperty<?, ?, ?> keyProperty = ((MapProperty<?, ?, ?, ?, ?>) property).keyProperty;
+            final DataType keyType = dataType.getTypeArguments().get(0);
+            final Set<Object> removedKeys = new LinkedHashSet<>();
+            for (Cell cell : removedCells) {
+                removedKeys.add(decode(keyProperty, keyType, keyProperty.valueToTypeToken, cell.path().get(0)));
+            }
+            return removedKeys;
+        }
+        // List elements are removed by index and UDT fields by position, the removed values are unknown
+        return null;
+    }
+
+    /**
+     * Serialize the cells of a non-frozen collection or UDT the same way as its frozen counterpart
+     */
+    private static ByteBuffer assemble(DataType dataType, List<Cell> cells) {
+        final List<ByteBuffer> components = new ArrayList<>();
+        if (dataType instanceof UserType) {
+            final ByteBuffer[] fields = new ByteBuffer[((UserType) dataType).size()];
+            for (Cell cell : cells) {
+                fields[ByteBufferUtil.toShort(cell.path().get(0))] = cell.value();
+            }
+            return serialize(Arrays.asList(fields), Optional.empty());
+        }
+        for (Cell cell : cells) {
+            switch (dataType.getName()) {
+                case LIST:
+                    components.add(cell.value());
+                    break;
+                case SET:
+                    components.add(cell.path().get(0));
+                    break;
+                case MAP:
+                    components.add(cell.path().get(0));
+                    components.add(cell.value());
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected non-frozen type " + dataType);
+            }
+        }
+        return serialize(components, Optional.of(cells.size()));
+    }
+
+    /**
+     * Collections are prefixed by their elements count, UDT fields are not
+     */
+    private static ByteBuffer serialize(List<ByteBuffer> components, Optional<Integer> elementsCount) {
+        int size = elementsCount.isPresent() ? 4 : 0;
+        for (ByteBuffer component : components) {
+            size += 4 + (component == null ? 0 : component.remaining());
+        }
+        final ByteBuffer serialized = ByteBuffer.allocate(size);
+        elementsCount.ifPresent(serialized::putInt);
+        for (ByteBuffer component : components) {
+            if (component == null) {
+                serialized.putInt(-1);
+            } else {
+                serialized.putInt(component.remaining());
+                serialized.put(component.duplicate());
+            }
+        }
+        serialized.flip();
+        return serialized;
+    }
+
+    private Map<String, Object> decodePartitionKey(CFMetaData metadata, ByteBuffer key) {
+        final List<ColumnDefinition> partitionKeyColumns = metadata.partitionKeyColumns();
+        final ByteBuffer[] components = partitionKeyColumns.size() == 1
+                ? new ByteBuffer[]{key}
+                : ((CompositeType) metadata.getKeyValidator()).split(key);
+        final Map<String, Object> partitionKey = new LinkedHashMap<>();
+        for (int i = 0; i < partitionKeyColumns.size(); i++) {
+            decodePrimaryKeyComponent(partitionKeyColumns.get(i), components[i], partitionKey);
+        }
+        return partitionKey;
+    }
+
+    private void decodeClustering(CFMetaData metadata, ClusteringPrefix clustering, int size, Map<String, Object> primaryKey) {
+        final List<ColumnDefinition> clusteringColumns = metadata.clusteringColumns();
+        for (int i = 0; i < size; i++) {
+            decodePrimaryKeyComponent(clusteringColumns.get(i), clustering.get(i), primaryKey);
+        }
+    }
+
+    private void decodePrimaryKeyComponent(ColumnDefinition column, ByteBuffer value, Map<String, Object> primaryKey) {
+        final AbstractProperty<ENTITY, ?, ?> property = propertiesByColumn.get(column.name.toString());
+        if (property != null) {
+            primaryKey.put(property.fieldName, decode(property, property.getDataType(), property.valueToTypeToken, value));
+        }
+    }
+
+    private static int commonPrefixSize(RangeTombstone range) {
+        final ClusteringPrefix start = range.deletedSlice().start();
+        final ClusteringPrefix end = range.deletedSlice().end();
+        int size = 0;
+        while (size < start.size() && size < end.size() && start.get(size).equals(end.get(size))) {
+            size++;
+        }
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object decode(AbstractProperty<?, ?, ?> property, DataType dataType, TypeToken<?> valueToTypeToken, ByteBuffer bytes) {
+        final TypeCodec<Object> codec = codecRegistry.codecFor(dataType, (TypeToken<Object>) valueToTypeToken);
+        return property.decodeFromRaw(codec.deserialize(bytes.duplicate(), PROTOCOL_VERSION));
+    }
+
+    private FieldChange newFieldChange(AbstractProperty<ENTITY, ?, ?> property, FieldChange.Kind kind, Object value) {
+        return new FieldChange(property.fieldName, property.fieldInfo.cqlColumn, kind, value);
+    }
+
+    private EntityChangeEvent<ENTITY> newEvent(ChangeType changeType, Map<String, Object> primaryKey, List<FieldChange> fieldChanges,
+                                               long writeTimeMicros, CdcCheckpoint position) {
+        return new EntityChangeEvent<>(meta.entityClass, changeType, primaryKey, fieldChanges,
+                createEntity(primaryKey, fieldChanges), writeTimeMicros, position);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<ENTITY> createEntity(Map<String, Object> primaryKey, List<FieldChange> fieldChanges) {
+        if (!canCreateEntity) {
+            return Optional.empty();
+        }
+        final ENTITY entity = meta.createEmptyEntity();
+        primaryKey.forEach((fieldName, value) -> ((AbstractProperty<ENTITY, Object, ?>) propertiesByField.get(fieldName)).setField(entity, value));
+        fieldChanges
+                .stream()
+                .filter(x -> x.kind() == SET)
+                .forEach(x -> ((AbstractProperty<ENTITY, Object, ?>) propertiesByField.get(x.fieldName())).setField(entity, x.value()));
+        return Optional.of(entity);
+    }
+}
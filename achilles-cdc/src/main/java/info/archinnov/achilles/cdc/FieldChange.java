@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static java.lang.String.format;
+
+import java.util.Objects;
+
+/**
+ * Change of a single non primary key column, with its value decoded to the Java type of the entity field
+ */
+public class FieldChange {
+
+    /**
+     * <ul>
+     *     <li>SET: the column has been overwritten, <em>value</em> is the new value</li>
+     *     <li>DELETE: the column has been deleted (or set to null), <em>value</em> is null</li>
+     *     <li>ADD: elements appended to a list, added to a set, entries put into a map or fields of a non-frozen UDT set.
+     *     <em>value</em> only contains those elements/entries/fields</li>
+     *     <li>REMOVE: elements removed from a set or keys removed from a map, contained in <em>value</em>.
+     *     <em>value</em> is null for list elements removed by index or for non-frozen UDT fields deleted</li>
+     * </ul>
+     */
+    public enum Kind {
+        SET, DELETE, ADD, REMOVE
+    }
+
+    private final String fieldName;
+    private final String cqlColumn;
+    private final Kind kind;
+    private final Object value;
+
+    FieldChange(String fieldName, String cqlColumn, Kind kind, Object value) {
+        this.fieldName = fieldName;
+        this.cqlColumn = cqlColumn;
+        this.kind = kind;
+        this.value = value;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public String cqlColumn() {
+        return cqlColumn;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T value() {
+        return (T) value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FieldChange that = (FieldChange) o;
+        return Objects.equals(fieldName, that.fieldName) &&
+                Objects.equals(cqlColumn, that.cqlColumn) &&
+                kind == that.kind &&
+                Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fieldName, cqlColumn, kind, value);
+    }
+
+    @Override
+    public String toString() {
+        return format("FieldChange{fieldName='%s', kind=%s, value=%s}", fieldName, kind, value);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Store the checkpoint as <em>segmentId:position</em> in a local file.
+ * The file is replaced atomically on each save
+ */
+public class FileCdcCheckpointStore implements CdcCheckpointStore {
+
+    private final Path checkpointFile;
+
+    public FileCdcCheckpointStore(File checkpointFile) {
+        this.checkpointFile = checkpointFile.toPath();
+    }
+
+    @Override
+    public Optional<CdcCheckpoint> load() {
+        if (!Files.exists(checkpointFile)) {
+            return Optional.empty();
+        }
+        try {
+            final String[] checkpoint = new String(Files.readAllBytes(checkpointFile), UTF_8).trim().split(":");
+            return Optional.of(new CdcCheckpoint(Long.parseLong(checkpoint[0]), Integer.parseInt(checkpoint[1])));
+        } catch (IOException | RuntimeException e) {
+            throw new AchillesException(format("Cannot read CDC checkpoint file '%s'", checkpointFile.toAbsolutePath()), e);
+        }
+    }
+
+    @Override
+    public void save(CdcCheckpoint checkpoint) {
+        final Path tmpFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            Files.write(tmpFile, (checkpoint.segmentId() + ":" + checkpoint.position()).getBytes(UTF_8));
+            Files.move(tmpFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot write CDC checkpoint file '%s'", checkpointFile.toAbsolutePath()), e);
+        }
+    }
+}
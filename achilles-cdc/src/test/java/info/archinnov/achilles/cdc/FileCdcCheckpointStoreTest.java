@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.cdc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+public class FileCdcCheckpointStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void should_load_nothing_when_no_checkpoint_saved() throws Exception {
+        //Given
+        final FileCdcCheckpointStore store = new FileCdcCheckpointStore(new File(folder.getRoot(), "cdc.checkpoint"));
+
+        //When
+        final Optional<CdcCheckpoint> checkpoint = store.load();
+
+        //Then
+        assertThat(checkpoint.isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_save_and_reload_last_checkpoint() throws Exception {
+        //Given
+        final File checkpointFile = new File(folder.getRoot(), "cdc.checkpoint");
+        final FileCdcCheckpointStore store = new FileCdcCheckpointStore(checkpointFile);
+
+        //When
+        store.save(new CdcCheckpoint(1523456789012L, 1024));
+        store.save(new CdcCheckpoint(1523456789013L, Integer.MAX_VALUE));
+
+        //Then
+        assertThat(new FileCdcCheckpointStore(checkpointFile).load().get()).isEqualTo(new CdcCheckpoint(1523456789013L, Integer.MAX_VALUE));
+        assertThat(folder.getRoot().list()).containsOnly("cdc.checkpoint");
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_fail_loading_corrupted_checkpoint() throws Exception {
+        //Given
+        final File checkpointFile = folder.newFile("cdc.checkpoint");
+        Files.write(checkpointFile.toPath(), "not a checkpoint".getBytes());
+
+        //When
+        new FileCdcCheckpointStore(checkpointFile).load();
+    }
+
+    @Test
+    public void should_order_checkpoints_by_segment_then_position() throws Exception {
+        //Given
+        final CdcCheckpoint first = new CdcCheckpoint(10L, 500);
+        final CdcCheckpoint second = new CdcCheckpoint(10L, 800);
+        final CdcCheckpoint third = new CdcCheckpoint(11L, 100);
+
+        //When
+        //Then
+        assertThat(first.compareTo(second)).isNegative();
+        assertThat(third.compareTo(second)).isPositive();
+        assertThat(first.compareTo(new CdcCheckpoint(10L, 500))).isZero();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.script;
+
+import static info.archinnov.achilles.internals.statement.StatementHelper.isDMLStatement;
+import static info.archinnov.achilles.logger.AchillesLoggers.ACHILLES_DDL_SCRIPT;
+import static info.archinnov.achilles.logger.AchillesLoggers.ACHILLES_DML_STATEMENT;
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Execute the statements of a CQL script with bounded concurrency:
+ * <ul>
+ *     <li>DDL statements are executed sequentially, once all pending DML statements are completed</li>
+ *     <li>DML statements are executed asynchronously with at most <em>maxInFlightRequests</em> pending requests</li>
+ *     <li>optionally, DML statements whose shape (query with literals replaced by bind markers) repeats
+ *     are executed as prepared statements</li>
+ * </ul>
+ * The schema agreement is checked once at the end of the script
+ */
+class ConcurrentScriptRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentScriptRunner.class);
+    private static final Logger DML_LOGGER = LoggerFactory.getLogger(ACHILLES_DML_STATEMENT);
+    private static final Logger DDL_LOGGER = LoggerFactory.getLogger(ACHILLES_DDL_SCRIPT);
+
+    private static final int MAX_TRACKED_SHAPES = 1000;
+
+    private final Session session;
+    private final int maxInFlightRequests;
+    private final boolean prepareRepeatedStatements;
+    private final Semaphore inFlightPermits;
+    private final AtomicReference<AchillesException> failure = new AtomicReference<>();
+    private final Map<String, ShapeState> shapes = new HashMap<>();
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+
+    private boolean schemaChanged = false;
+    private long dmlCount = 0;
+    private long preparedCount = 0;
+
+    ConcurrentScriptRunner(Session session, int maxInFlightRequests, boolean prepareRepeatedStatements) {
+        this.session = session;
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.prepareRepeatedStatements = prepareRepeatedStatements;
+        this.inFlightPermits = new Semaphore(maxInFlightRequests);
+        final Configuration configuration = session.getCluster().getConfiguration();
+        this.protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+        this.codecRegistry = configuration.getCodecRegistry();
+    }
+
+    void execute(SimpleStatement statement) {
+        checkFailure();
+        if (isDMLStatement(statement)) {
+            DML_LOGGER.debug("\tSCRIPT : {}\n", statement.getQueryString());
+            executeDML(statement);
+        } else {
+            DDL_LOGGER.debug("\tSCRIPT : {}\n", statement.getQueryString());
+            awaitPendingRequests();
+            checkFailure();
+            session.execute(statement);
+            schemaChanged = true;
+        }
+    }
+
+    void finish() {
+        awaitPendingRequests();
+        checkFailure();
+        if (schemaChanged && !session.getCluster().getMetadata().checkSchemaAgreement()) {
+            LOGGER.warn("Schema agreement not reached after CQL script execution");
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Executed %s DML statements concurrently, %s of them as prepared statements", dmlCount, preparedCount));
+        }
+    }
+
+    private void executeDML(SimpleStatement statement) {
+        final Statement toExecute = maybeBindPreparedStatement(statement).orElse(statement);
+        inFlightPermits.acquireUninterruptibly();
+        dmlCount++;
+        final ResultSetFuture future;
+        try {
+            future = session.executeAsync(toExecute);
+        } catch (RuntimeException ex) {
+            inFlightPermits.release();
+            throw ex;
+        }
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                inFlightPermits.release();
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                failure.compareAndSet(null, new AchillesException(
+                        format("Error while executing script statement %s", statement.getQueryString()), throwable));
+                inFlightPermits.release();
+            }
+        });
+    }
+
+    private Optional<Statement> maybeBindPreparedStatement(SimpleStatement statement) {
+        if (!prepareRepeatedStatements) {
+            return Optional.empty();
+        }
+        final Optional<StatementShape> maybeShape = StatementShape.of(statement.getQueryString());
+        if (!maybeShape.isPresent()) {
+            return Optional.empty();
+        }
+
+        final StatementShape shape = maybeShape.get();
+        ShapeState state = shapes.get(shape.queryShape);
+        if (state == null) {
+            if (shapes.size() < MAX_TRACKED_SHAPES) {
+                shapes.put(shape.queryShape, new ShapeState());
+            }
+            return Optional.empty();
+        }
+
+        if (state.unpreparable) {
+            return Optional.empty();
+        }
+
+        if (state.preparedStatement == null) {
+            try {
+                state.preparedStatement = session.prepare(shape.queryShape);
+            } catch (RuntimeException ex) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(format("Cannot prepare statement shape %s, executing it as plain statement : %s",
+                            shape.queryShape, ex.getMessage()));
+                }
+                state.unpreparable = true;
+                return Optional.empty();
+            }
+        }
+
+        return bind(state, shape.literals);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<Statement> bind(ShapeState state, List<String> literals) {
+        final ColumnDefinitions variables = state.preparedStatement.getVariables();
+        if (variables.size() != literals.size()) {
+            state.unpreparable = true;
+            return Optional.empty();
+        }
+        try {
+            final BoundStatement boundStatement = state.preparedStatement.bind();
+            for (int i = 0; i < literals.size(); i++) {
+                final TypeCodec<Object> codec = codecRegistry.codecFor(variables.getType(i));
+                final ByteBuffer value = codec.serialize(codec.parse(literals.get(i)), protocolVersion);
+                boundStatement.setBytesUnsafe(i, value);
+            }
+            preparedCount++;
+            return Optional.of(boundStatement);
+        } catch (RuntimeException ex) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Cannot bind literals %s to prepared statement %s, executing it as plain statement",
+                        literals, state.preparedStatement.getQueryString()));
+            }
+            return Optional.empty();
+        }
+    }
+
+    private void awaitPendingRequests() {
+        inFlightPermits.acquireUninterruptibly(maxInFlightRequests);
+        inFlightPermits.release(maxInFlightRequests);
+    }
+
+    private void checkFailure() {
+        final AchillesException exception = failure.get();
+        if (exception != null) {
+            awaitPendingRequests();
+            throw exception;
+        }
+    }
+
+    private static class ShapeState {
+        private PreparedStatement preparedStatement;
+        private boolean unpreparable = false;
+    }
+}
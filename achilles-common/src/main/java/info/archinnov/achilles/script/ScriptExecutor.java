@@ -49,12 +49,6 @@ public class ScriptExecutor {
     private static final Logger DML_LOGGER = LoggerFactory.getLogger(ACHILLES_DML_STATEMENT);
     private static final Logger DDL_LOGGER = LoggerFactory.getLogger(ACHILLES_DDL_SCRIPT);
 
-    private static final String COMMA = ";";
-    private static final String BATCH_BEGIN = "BEGIN";
-    private static final String BATCH_APPLY = "APPLY";
-
-    private static final String CODE_DELIMITER_START = "^\\s*(?:AS)?\\s*\\$\\$\\s*$";
-    private static final String CODE_DELIMITER_END = "^\\s*\\$\\$\\s*;\\s*$";
     private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([a-z][a-zA-Z0-9_]*)\\}");
     private static final Pattern SPECIAL_REGEX_CHARS = Pattern.compile("[\\{\\}\\(\\)\\[\\]\\.\\+\\*\\?\\^\\$\\\\\\|]");
 
@@ -95,6 +89,55 @@ public class ScriptExecutor {
         }
     }
 
+    /**
+     * Execute a CQL script file located in the class path concurrently.
+     * See {@link #executeScriptTemplateConcurrently(String, Map, int, boolean)}
+     *
+     * @param scriptLocation      the location of the script file in the class path
+     * @param maxInFlightRequests maximum number of DML statements executed concurrently
+     */
+    public void executeScriptConcurrently(String scriptLocation, int maxInFlightRequests) {
+        executeScriptTemplateConcurrently(scriptLocation, EMPTY_MAP, maxInFlightRequests, false);
+    }
+
+    /**
+     * Execute a CQL script template located in the class path concurrently,
+     * injecting provided values into the template to produce the actual script.
+     * <br/>
+     * The script is streamed line by line instead of being loaded in memory.
+     * <ul>
+     *     <li>DDL statements are executed sequentially, in script order, once all pending DML statements are completed.
+     *     Schema agreement is checked once at the end of the script</li>
+     *     <li>DML statements are executed asynchronously with at most <em>maxInFlightRequests</em> pending requests</li>
+     *     <li>if <em>prepareRepeatedStatements</em> is true, INSERT/UPDATE/DELETE statements whose shape
+     *     (the query with all literals replaced by bind markers) repeats are executed as prepared statements</li>
+     * </ul>
+     * <br/>
+     * <strong>DML statements are sent in script order but may complete in any order. With client-side timestamps
+     * (the default for the Java driver), regular writes still resolve as if executed sequentially, but counter
+     * updates and LightWeight Transactions depending on previous statements of the script may not</strong>
+     *
+     * @param scriptTemplateLocation    the location of the script template in the class path
+     * @param values                    template values
+     * @param maxInFlightRequests       maximum number of DML statements executed concurrently
+     * @param prepareRepeatedStatements whether to execute repeated statement shapes as prepared statements
+     */
+    public void executeScriptTemplateConcurrently(String scriptTemplateLocation, Map<String, Object> values,
+                                                  int maxInFlightRequests, boolean prepareRepeatedStatements) {
+        Validator.validateTrue(maxInFlightRequests > 0, "The max in-flight requests for script '%s' should be strictly positive", scriptTemplateLocation);
+        final ConcurrentScriptRunner runner = new ConcurrentScriptRunner(session, maxInFlightRequests, prepareRepeatedStatements);
+        final ScriptStatementSplitter splitter = new ScriptStatementSplitter();
+        try (Scanner scanner = openScript(scriptTemplateLocation)) {
+            while (scanner.hasNextLine()) {
+                String nextLine = maybeReplaceVariables(scanner, values);
+                if (isNotBlank(nextLine)) {
+                    splitter.nextLine(nextLine).map(SimpleStatement::new).ifPresent(runner::execute);
+                }
+            }
+        }
+        runner.finish();
+    }
+
     /**
      * Execute a plain CQL string statement
      * @param statement
@@ -145,11 +188,7 @@ public class ScriptExecutor {
 
     protected List<String> loadScriptAsLines(String scriptLocation, Map<String, Object> variables) {
 
-        InputStream inputStream = this.getClass().getResourceAsStream("/" + scriptLocation);
-
-        Validator.validateNotNull(inputStream, "Cannot find CQL script file at location '%s'", scriptLocation);
-
-        Scanner scanner = new Scanner(inputStream);
+        Scanner scanner = openScript(scriptLocation);
         List<String> lines = new ArrayList<>();
         while (scanner.hasNextLine()) {
             String nextLine = maybeReplaceVariables(scanner, variables);
@@ -160,6 +199,14 @@ public class ScriptExecutor {
         return lines;
     }
 
+    private Scanner openScript(String scriptLocation) {
+        InputStream inputStream = this.getClass().getResourceAsStream("/" + scriptLocation);
+
+        Validator.validateNotNull(inputStream, "Cannot find CQL script file at location '%s'", scriptLocation);
+
+        return new Scanner(inputStream);
+    }
+
     private String maybeReplaceVariables(Scanner scanner, Map<String, Object> variables) {
         String nextLine = scanner.nextLine().trim();
         if (isNotBlank(nextLine) && !variables.isEmpty()) {
@@ -176,48 +223,11 @@ public class ScriptExecutor {
         return nextLine;
     }
 
-protected List<SimpleStatement> buildStatements(List<String> lines) {
-        List<SimpleStatement> statements = new ArrayList<>();
-        StringBuilder statement = new StringBuilder();
-        boolean batch = false;
-        boolean codeBlock = false;
-        StringBuilder batchStatement = new StringBuilder();
+    protected List<SimpleStatement> buildStatements(List<String> lines) {
+        final ScriptStatementSplitter splitter = new ScriptStatementSplitter();
+        final List<SimpleStatement> statements = new ArrayList<>();
         for (String line : lines) {
-            if (line.trim().startsWith(BATCH_BEGIN)) {
-                batch = true;
-            }
-            if (line.trim().matches(CODE_DELIMITER_START)) {
-                if(codeBlock) {
-                    codeBlock = false;
-                } else {
-                    codeBlock = true;
-                }
-            }
-
-            if (batch) {
-                batchStatement.append(" ").append(line);
-                if (line.trim().startsWith(BATCH_APPLY)) {
-                    batch = false;
-                    statements.add(new SimpleStatement(batchStatement.toString()));
-                    batchStatement = new StringBuilder();
-                }
-            } else if(codeBlock) {
-                statement.append(line);
-                if (line.trim().matches(CODE_DELIMITER_END)) {
-                    codeBlock = false;
-                    statements.add(new SimpleStatement(statement.toString()));
-                    statement = new StringBuilder();
-                }
-            }
-            else {
-                statement.append(line);
-                if (line.trim().endsWith(COMMA)) {
-                    statements.add(new SimpleStatement(statement.toString()));
-                    statement = new StringBuilder();
-                } else {
-                    statement.append(" ");
-                }
-            }
+            splitter.nextLine(line).map(SimpleStatement::new).ifPresent(statements::add);
         }
         return statements;
     }
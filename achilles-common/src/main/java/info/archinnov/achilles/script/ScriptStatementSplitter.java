@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.script;
+
+import java.util.Optional;
+
+/**
+ * Split the lines of a CQL script into statements, one line at a time,
+ * so that scripts can be streamed instead of being loaded in memory
+ */
+class ScriptStatementSplitter {
+
+    private static final String COMMA = ";";
+    private static final String BATCH_BEGIN = "BEGIN";
+    private static final String BATCH_APPLY = "APPLY";
+
+    private static final String CODE_DELIMITER_START = "^\\s*(?:AS)?\\s*\\$\\$\\s*$";
+    private static final String CODE_DELIMITER_END = "^\\s*\\$\\$\\s*;\\s*$";
+
+    private StringBuilder statement = new StringBuilder();
+    private StringBuilder batchStatement = new StringBuilder();
+    private boolean batch = false;
+    private boolean codeBlock = false;
+
+    /**
+     * Consume a new script line
+     *
+     * @param line script line
+     * @return the complete statement if this line terminates it, Optional.empty() otherwise
+     */
+    Optional<String> nextLine(String line) {
+        if (line.trim().startsWith(BATCH_BEGIN)) {
+            batch = true;
+        }
+        if (line.trim().matches(CODE_DELIMITER_START)) {
+            codeBlock = !codeBlock;
+        }
+
+        if (batch) {
+            batchStatement.append(" ").append(line);
+            if (line.trim().startsWith(BATCH_APPLY)) {
+                batch = false;
+                final String completeBatch = batchStatement.toString();
+                batchStatement = new StringBuilder();
+                return Optional.of(completeBatch);
+            }
+        } else if (codeBlock) {
+            statement.append(line);
+            if (line.trim().matches(CODE_DELIMITER_END)) {
+                codeBlock = false;
+                return Optional.of(flushStatement());
+            }
+        } else {
+            statement.append(line);
+            if (line.trim().endsWith(COMMA)) {
+                return Optional.of(flushStatement());
+            } else {
+                statement.append(" ");
+            }
+        }
+        return Optional.empty();
+    }
+
+    private String flushStatement() {
+        final String completeStatement = statement.toString();
+        statement = new StringBuilder();
+        return completeStatement;
+    }
+}
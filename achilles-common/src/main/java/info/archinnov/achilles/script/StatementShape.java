@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.script;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shape of a plain INSERT, UPDATE or DELETE statement: the query string with all
+ * literal values replaced by bind markers, and the extracted literals in CQL syntax.
+ * <br/>
+ * <br/>
+ * Statements sharing the same shape can be executed with a single prepared statement
+ */
+class StatementShape {
+
+    private static final Pattern WRITE_PREFIX = Pattern.compile("^\\s*(?:INSERT|UPDATE|DELETE)\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern BLOB_PATTERN = Pattern.compile("0[xX][0-9a-fA-F]*");
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("-?[0-9]+(?:\\.[0-9]+)?(?:[eE][+-]?[0-9]+)?");
+    private static final String NUMBER_PRECEDING_CHARS = "(,=[{:<>";
+
+    final String queryShape;
+    final List<String> literals;
+
+    private StatementShape(String queryShape, List<String> literals) {
+        this.queryShape = queryShape;
+        this.literals = literals;
+    }
+
+    /**
+     * Extract the shape of the given statement
+     *
+     * @param queryString plain CQL statement
+     * @return the statement shape or Optional.empty() if the statement is not a simple
+     * INSERT, UPDATE or DELETE or does not contain any literal
+     */
+    static Optional<StatementShape> of(String queryString) {
+        if (!WRITE_PREFIX.matcher(queryString).find()) {
+            return Optional.empty();
+        }
+
+        final StringBuilder shape = new StringBuilder(queryString.length());
+        final List<String> literals = new ArrayList<>();
+        final int length = queryString.length();
+        int i = 0;
+        while (i < length) {
+            final char c = queryString.charAt(i);
+            if (c == '\'') {
+                final int end = endOfQuotedString(queryString, i, '\'');
+                if (end < 0) return Optional.empty();
+                literals.add(queryString.substring(i, end));
+                shape.append('?');
+                i = end;
+            } else if (c == '{' || (c == '[' && !isElementAccess(shape))) {
+                // Bind markers are not allowed inside collection literals, bind the whole collection
+                final int end = endOfCollection(queryString, i);
+                if (end < 0) return Optional.empty();
+                literals.add(queryString.substring(i, end));
+                shape.append('?');
+                i = end;
+            } else if (c == '"') {
+                final int end = endOfQuotedString(queryString, i, '"');
+                if (end < 0) return Optional.empty();
+                shape.append(queryString, i, end);
+                i = end;
+            } else if (c == '$' || (c == '-' && i + 1 < length && queryString.charAt(i + 1) == '-')
+                    || (c == '/' && i + 1 < length && queryString.charAt(i + 1) == '/')) {
+                // Dollar-quoted strings and comments are not supported
+                return Optional.empty();
+            } else if (matchesAt(UUID_PATTERN, queryString, i) > 0) {
+                final int end = matchesAt(UUID_PATTERN, queryString, i);
+                literals.add(queryString.substring(i, end));
+                shape.append('?');
+                i = end;
+            } else if (c == '0' && matchesAt(BLOB_PATTERN, queryString, i) > 0) {
+                final int end = matchesAt(BLOB_PATTERN, queryString, i);
+                literals.add(queryString.substring(i, end));
+                shape.append('?');
+                i = end;
+            } else if (Character.isDigit(c) || (c == '-' && isNumberStart(queryString, i, shape))) {
+                final Matcher matcher = NUMBER_PATTERN.matcher(queryString).region(i, length);
+                if (!matcher.lookingAt()) return Optional.empty();
+                final int end = matcher.end();
+                if (end < length && isIdentifierChar(queryString.charAt(end))) {
+                    // Duration literals like 1h30m are kept as is
+                    int wordEnd = end;
+                    while (wordEnd < length && isIdentifierChar(queryString.charAt(wordEnd))) wordEnd++;
+                    shape.append(queryString, i, wordEnd);
+                    i = wordEnd;
+                } else {
+                    literals.add(queryString.substring(i, end));
+                    shape.append('?');
+                    i = end;
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                int end = i;
+                while (end < length && isIdentifierChar(queryString.charAt(end))) end++;
+                final String word = queryString.substring(i, end);
+                if (word.equalsIgnoreCase("true") || word.equalsIgnoreCase("false") || word.equalsIgnoreCase("null")) {
+                    literals.add(word);
+                    shape.append('?');
+                } else {
+                    shape.append(word);
+                }
+                i = end;
+            } else {
+                shape.append(c);
+                i++;
+            }
+        }
+
+        if (literals.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new StatementShape(shape.toString(), literals));
+    }
+
+    private static int endOfQuotedString(String queryString, int start, char quote) {
+        int i = start + 1;
+        while (i < queryString.length()) {
+            if (queryString.charAt(i) == quote) {
+                if (i + 1 < queryString.length() && queryString.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private static int endOfCollection(String queryString, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < queryString.length()) {
+            final char c = queryString.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = endOfQuotedString(queryString, i, c);
+                if (i < 0) return -1;
+                continue;
+            } else if (c == '$') {
+                return -1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth == 0) return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static boolean isElementAccess(StringBuilder shape) {
+        for (int i = shape.length() - 1; i >= 0; i--) {
+            final char previous = shape.charAt(i);
+            if (!Character.isWhitespace(previous)) {
+                return isIdentifierChar(previous) || previous == '"';
+            }
+        }
+        return false;
+    }
+
+    private static int matchesAt(Pattern pattern, String queryString, int start) {
+        final Matcher matcher = pattern.matcher(queryString).region(start, queryString.length());
+        if (matcher.lookingAt()) {
+            final int end = matcher.end();
+            if (end == queryString.length() || !isIdentifierChar(queryString.charAt(end))) {
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNumberStart(String queryString, int index, StringBuilder shape) {
+        if (index + 1 >= queryString.length() || !Character.isDigit(queryString.charAt(index + 1))) {
+            return false;
+        }
+        for (int i = shape.length() - 1; i >= 0; i--) {
+            final char previous = shape.charAt(i);
+            if (!Character.isWhitespace(previous)) {
+                return NUMBER_PRECEDING_CHARS.indexOf(previous) >= 0;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
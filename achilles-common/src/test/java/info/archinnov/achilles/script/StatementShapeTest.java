@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class StatementShapeTest {
+
+    @Test
+    public void should_extract_shape_of_insert() throws Exception {
+        //When
+        final Optional<StatementShape> shape = StatementShape.of("INSERT INTO ks.test(id, uuid, value, flag, data) " +
+                "VALUES(-10, 62c36092-82a1-3a00-93d1-46196ee77204, 'it''s, 10', true, 0xcafe) USING TTL 100;");
+
+        //Then
+        assertThat(shape.isPresent()).isTrue();
+        assertThat(shape.get().queryShape).isEqualTo("INSERT INTO ks.test(id, uuid, value, flag, data) VALUES(?, ?, ?, ?, ?) USING TTL ?;");
+        assertThat(shape.get().literals).containsExactly("-10", "62c36092-82a1-3a00-93d1-46196ee77204", "'it''s, 10'", "true", "0xcafe", "100");
+    }
+
+    @Test
+    public void should_extract_shape_of_update_with_collections() throws Exception {
+        //When
+        final Optional<StatementShape> shape = StatementShape.of("UPDATE test SET count = count - 1, tags = tags + {'a', 'b'}, " +
+                "\"Value1\" = 1.5e3, period = 1h30m, map['key'] = [1, 2] WHERE id IN (1,2);");
+
+        //Then
+        assertThat(shape.isPresent()).isTrue();
+        assertThat(shape.get().queryShape).isEqualTo("UPDATE test SET count = count - ?, tags = tags + ?, " +
+                "\"Value1\" = ?, period = 1h30m, map[?] = ? WHERE id IN (?,?);");
+        assertThat(shape.get().literals).containsExactly("1", "{'a', 'b'}", "1.5e3", "'key'", "[1, 2]", "1", "2");
+    }
+
+    @Test
+    public void should_not_extract_shape_of_non_write_statements() throws Exception {
+        assertThat(StatementShape.of("SELECT * FROM test WHERE id = 1;").isPresent()).isFalse();
+        assertThat(StatementShape.of("CREATE TABLE test(id int PRIMARY KEY);").isPresent()).isFalse();
+        assertThat(StatementShape.of("DELETE FROM test WHERE id = 1 -- comment").isPresent()).isFalse();
+        assertThat(StatementShape.of("INSERT INTO test(id) VALUES(now());").isPresent()).isFalse();
+    }
+}
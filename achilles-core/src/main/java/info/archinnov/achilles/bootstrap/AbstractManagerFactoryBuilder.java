@@ -35,6 +35,7 @@ import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
+import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.types.ConfigMap;
 import info.archinnov.achilles.json.JacksonMapperFactory;
 import info.archinnov.achilles.type.SchemaNameProvider;
@@ -448,6 +449,35 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Initialize each entity lazily: dependencies injection, schema validation and static statements
+     * preparation happen on the first call to <em>ManagerFactory.forXxx()</em> for this entity instead of
+     * at bootstrap, at most once even with concurrent calls. Useful when only a few of the compiled
+     * entities are used by the application.
+     * <br/>
+     * Lazy initialization is ignored when schema creation is forced with <em>doForceSchemaCreation(true)</em>
+     *
+     * @param lazyEntityInitialization whether to initialize entities lazily
+     * @return ManagerFactoryBuilder
+     */
+    public T withLazyEntityInitialization(boolean lazyEntityInitialization) {
+        configMap.put(LAZY_ENTITY_INITIALIZATION, lazyEntityInitialization);
+        return getThis();
+    }
+
+    /**
+     * Initialize lazily all the entities (see <em>withLazyEntityInitialization(boolean)</em>) in a background
+     * thread right after bootstrap, so that the start-up is not delayed and the first calls to
+     * <em>ManagerFactory.forXxx()</em> are not either, once the warm-up is over
+     *
+     * @return ManagerFactoryBuilder
+     */
+    public T withLazyEntityWarmUp() {
+        configMap.put(LAZY_ENTITY_INITIALIZATION, true);
+        configMap.put(LAZY_ENTITY_WARM_UP, true);
+        return getThis();
+    }
+
     /**
      * Define the statements cache object to be used for prepared statements. This object is an instance of
      * {@link info.archinnov.achilles.internals.cache.StatementsCache}
@@ -557,4 +587,306 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         configMap.put(DML_RESULTS_DISPLAY_SIZE, maxDMLResultsDisplayed);
         return getThis();
     }
+
+    /**
+     * Log DML statements asynchronously. Statements are captured (query, bound values, timings) into a preallocated
+     * ring buffer of <em>bufferSize</em> slots and formatted on a background thread, off the request path.
+     * <br/>
+     * In this mode, returned rows are <strong>not</strong> logged and log events are dropped when the buffer is full.
+     * The ACHILLES_DML_STATEMENT logger or the entity logger should still be debug-enabled
+     *
+     * @param bufferSize ring buffer size, rounded up to a power of 2. 0 disables asynchronous logging
+     * @return ManagerFactoryBuilder
+     */
+    public T withAsyncDMLLog(int bufferSize) {
+        configMap.put(ASYNC_DML_LOG_BUFFER_SIZE, bufferSize);
+        return getThis();
+    }
+
+    /**
+     * Ratio of DML statements to be logged when asynchronous DML logging is enabled
+     *
+     * @param samplingRate ratio between 0 and 1
+     * @return ManagerFactoryBuilder
+     */
+    public T withAsyncDMLLogSamplingRate(double samplingRate) {
+        configMap.put(ASYNC_DML_LOG_SAMPLING_RATE, samplingRate);
+        return getThis();
+    }
+
+    /**
+     * Ratio of DML statements to be logged for the given entity when asynchronous DML logging is enabled.
+     * It overrides the global sampling rate
+     *
+     * @param entityClass  entity class
+     * @param samplingRate ratio between 0 and 1
+     * @return ManagerFactoryBuilder
+     */
+    public T withAsyncDMLLogSamplingRate(Class<?> entityClass, double samplingRate) {
+        final Map<Class<?>, Double> samplingRates = new HashMap<>(configMap.getTypedOr(ASYNC_DML_LOG_SAMPLING_RATE_MAP, new HashMap<>()));
+        samplingRates.put(entityClass, samplingRate);
+        configMap.put(ASYNC_DML_LOG_SAMPLING_RATE_MAP, samplingRates);
+        return getThis();
+    }
+
+    /**
+     * Hard budget of formatted DML log bytes written per second when asynchronous DML logging is enabled.
+     * Log events exceeding the budget are dropped
+     *
+     * @param maxBytesPerSecond max bytes per second. 0 means unlimited
+     * @return ManagerFactoryBuilder
+     */
+    public T withAsyncDMLLogMaxBytesPerSecond(long maxBytesPerSecond) {
+        configMap.put(ASYNC_DML_LOG_MAX_BYTES_PER_SECOND, maxBytesPerSecond);
+        return getThis();
+    }
+
+    /**
+     * Record executions slower than <em>thresholdInMillis</em> in the slow query log. Slow executions are logged
+     * to the ACHILLES_SLOW_QUERY logger and the slowest ones are kept in memory, grouped by query fingerprint.
+     * <br/>
+     * They can be retrieved with <em>ManagerFactory.slowQueries()</em>
+     *
+     * @param thresholdInMillis threshold in milliseconds. 0 disables the default threshold
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryLog(long thresholdInMillis) {
+        configMap.put(SLOW_QUERY_THRESHOLD_MS, thresholdInMillis);
+        return getThis();
+    }
+
+    /**
+     * Slow query threshold for the given operation type. It overrides the default slow query threshold
+     *
+     * @param operationType     operation type
+     * @param thresholdInMillis threshold in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryThreshold(OperationType operationType, long thresholdInMillis) {
+        final Map<OperationType, Long> thresholds = new HashMap<>(configMap.getTypedOr(SLOW_QUERY_THRESHOLD_BY_OPERATION, new HashMap<>()));
+        thresholds.put(operationType, thresholdInMillis);
+        configMap.put(SLOW_QUERY_THRESHOLD_BY_OPERATION, thresholds);
+        return getThis();
+    }
+
+    /**
+     * Slow query threshold for the given entity. It overrides the operation type and default slow query thresholds
+     *
+     * @param entityClass       entity class
+     * @param thresholdInMillis threshold in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryThreshold(Class<?> entityClass, long thresholdInMillis) {
+        final Map<Class<?>, Long> thresholds = new HashMap<>(configMap.getTypedOr(SLOW_QUERY_THRESHOLD_BY_ENTITY, new HashMap<>()));
+        thresholds.put(entityClass, thresholdInMillis);
+        configMap.put(SLOW_QUERY_THRESHOLD_BY_ENTITY, thresholds);
+        return getThis();
+    }
+
+    /**
+     * Number of slowest executions kept in memory by the slow query log. Default = 100
+     *
+     * @param topN number of slowest executions to keep
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryTopN(int topN) {
+        configMap.put(SLOW_QUERY_TOP_N, topN);
+        return getThis();
+    }
+
+    /**
+     * Enable tracing for the next <em>sampleCount</em> executions of a query once it has been detected as slow.
+     * The trace id is attached to the slow query log entry, the trace itself can be read from <em>system_traces</em>
+     *
+     * @param sampleCount number of traced executions per slow query fingerprint. 0 disables tracing
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryTraceSampling(int sampleCount) {
+        configMap.put(SLOW_QUERY_TRACE_SAMPLE_COUNT, sampleCount);
+        return getThis();
+    }
+
+    /**
+     * Truncate bound values to <em>maxLength</em> characters in the slow query log. By default bound values are redacted
+     *
+     * @param maxLength max length of each bound value. 0 redacts bound values
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryBoundValuesMaxLength(int maxLength) {
+        configMap.put(SLOW_QUERY_BOUND_VALUES_MAX_LENGTH, maxLength);
+        return getThis();
+    }
+
+    /**
+     * Expose the slow query log as a JMX MBean named <em>info.archinnov.achilles:type=SlowQueryLog</em>
+     *
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryLogJMX() {
+        configMap.put(SLOW_QUERY_JMX_ENABLED, true);
+        return getThis();
+    }
+
+    /**
+     * Aggregate the client warnings returned by Cassandra (tombstone thresholds, large batches, aggregation
+     * without partition key ...) per query fingerprint and entity. Disabled by default
+     * <br/>
+     * Aggregated warnings can be retrieved with <em>ManagerFactory.serverWarnings()</em>
+     *
+     * @param enabled whether to track server warnings
+     * @return ManagerFactoryBuilder
+     */
+    public T withServerWarningTracking(boolean enabled) {
+        configMap.put(SERVER_WARNING_TRACKING_ENABLED, enabled);
+        return getThis();
+    }
+
+    /**
+     * Log a given warning category of a given query fingerprint to the ACHILLES_SERVER_WARNING logger
+     * at most once per <em>logIntervalMillis</em>. Default = 60000
+     *
+     * @param logIntervalMillis log interval in milliseconds. 0 logs every warning
+     * @return ManagerFactoryBuilder
+     */
+    public T withServerWarningLogInterval(long logIntervalMillis) {
+        configMap.put(SERVER_WARNING_LOG_INTERVAL_MS, logIntervalMillis);
+        return getThis();
+    }
+
+    /**
+     * Detect hot partitions: the partition keys of INSERT, UPDATE, DELETE and SELECT statements are counted
+     * per entity, separately for reads and writes, and the <em>topK</em> most frequently accessed partitions
+     * are kept. Memory usage is bounded by <em>topK</em> per entity and access type, whatever the number of partitions.
+     * <br/>
+     * Hot partitions can be retrieved with <em>ManagerFactory.hotPartitions()</em>
+     *
+     * @param topK number of heavy hitters kept per entity and access type. 0 disables the detection
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionDetection(int topK) {
+        configMap.put(HOT_PARTITION_TOP_K, topK);
+        return getThis();
+    }
+
+    /**
+     * Ratio of statements sampled by the hot partition detector. Estimated counts and rates are scaled accordingly.
+     * Default = 1.0
+     *
+     * @param samplingRate sampling rate, greater than 0 and lower than or equal to 1
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionSamplingRate(double samplingRate) {
+        configMap.put(HOT_PARTITION_SAMPLING_RATE, samplingRate);
+        return getThis();
+    }
+
+    /**
+     * Duration of the observation window of the hot partition detector. Default = 60 seconds
+     *
+     * @param windowSeconds window duration in seconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionWindowSeconds(long windowSeconds) {
+        configMap.put(HOT_PARTITION_WINDOW_SECONDS, windowSeconds);
+        return getThis();
+    }
+
+    /**
+     * Expose the hot partition detector as a JMX MBean named <em>info.archinnov.achilles:type=HotPartitionDetector</em>
+     *
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionDetectionJMX() {
+        configMap.put(HOT_PARTITION_JMX_ENABLED, true);
+        return getThis();
+    }
+
+    /**
+     * Execute LightWeight Transaction operations targeting the same partition one at a time from this JVM,
+     * to reduce contention on Paxos. Other LWT operations on the same partition are queued locally, up to
+     * <em>maxQueueDepthPerPartition</em>. Once the queue is full, new LWT operations on this partition fail immediately
+     * <br/>
+     * Queue statistics can be retrieved with <em>ManagerFactory.lwtQueueMetrics()</em>
+     *
+     * @param maxQueueDepthPerPartition max number of LWT operations waiting on the same partition. 0 disables the serialization
+     * @return ManagerFactoryBuilder
+     */
+    public T withLWTPartitionSerialization(int maxQueueDepthPerPartition) {
+        configMap.put(LWT_PARTITION_SERIALIZATION_QUEUE_DEPTH, maxQueueDepthPerPartition);
+        return getThis();
+    }
+
+    /**
+     * When LWT partition serialization is enabled, do not send to Cassandra a queued LWT operation which is
+     * strictly identical (same query, same bound values) to the LWT operation that has just been rejected on the same partition.
+     * The rejection result, with current values, is replayed to the LWT result listeners instead
+     *
+     * @param conflictShortCircuit whether to short-circuit identical LWT operations after a rejection
+     * @return ManagerFactoryBuilder
+     */
+    public T withLWTConflictShortCircuit(boolean conflictShortCircuit) {
+        configMap.put(LWT_CONFLICT_SHORT_CIRCUIT, conflictShortCircuit);
+        return getThis();
+    }
+
+    /**
+     * Size in bytes of the serialized rows targeted for each page of the SELECT executed with <em>withAdaptiveFetchSize()</em>.
+     * Default = 1 MiB
+     *
+     * @param targetPageBytes page size budget in bytes
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSizeTargetPageBytes(long targetPageBytes) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES, targetPageBytes);
+        return getThis();
+    }
+
+    /**
+     * Cap the adaptive fetch size to the number of rows the application consumes in <em>targetPageMillis</em>,
+     * so that slow consumers do not keep large pages in memory. Default = 1000 ms
+     *
+     * @param targetPageMillis time to consume a page, in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSizeTargetPageMillis(long targetPageMillis) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_TARGET_PAGE_MS, targetPageMillis);
+        return getThis();
+    }
+
+    /**
+     * Bounds of the adaptive fetch size. Default = [50, 10000]
+     *
+     * @param minFetchSize smallest fetch size chosen
+     * @param maxFetchSize largest fetch size chosen
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSizeBounds(int minFetchSize, int maxFetchSize) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_MIN, minFetchSize);
+        configMap.put(ADAPTIVE_FETCH_SIZE_MAX, maxFetchSize);
+        return getThis();
+    }
+
+    /**
+     * Maximum number of rows kept by the cache of SELECT executed with <em>withResultCache(Duration ttl)</em>.
+     * Least recently used results are evicted first. Default = 10000
+     *
+     * @param maxRows max number of cached rows
+     * @return ManagerFactoryBuilder
+     */
+    public T withResultCacheMaxRows(long maxRows) {
+        configMap.put(RESULT_CACHE_MAX_ROWS, maxRows);
+        return getThis();
+    }
+
+    /**
+     * Estimated size in bytes above which the statements collected by <em>managerFactory.batch()</em>
+     * are split into several batches. Default = 5120, same as Cassandra <em>batch_size_warn_threshold_in_kb</em>
+     *
+     * @param thresholdInBytes batch size threshold in bytes
+     * @return ManagerFactoryBuilder
+     */
+    public T withBatchSizeThresholdInBytes(int thresholdInBytes) {
+        configMap.put(BATCH_SIZE_THRESHOLD_BYTES, thresholdInBytes);
+        return getThis();
+    }
 }
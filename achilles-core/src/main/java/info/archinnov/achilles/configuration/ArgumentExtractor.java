@@ -17,6 +17,7 @@
 package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.*;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static javax.validation.Validation.buildDefaultValidatorFactory;
 
 import java.util.*;
@@ -39,6 +40,7 @@ import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.types.ConfigMap;
 import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
 import info.archinnov.achilles.json.JacksonMapperFactory;
@@ -67,6 +69,28 @@ public class ArgumentExtractor {
     static final NamingStrategy DEFAULT_GLOBAL_NAMING_STRATEGY = NamingStrategy.LOWER_CASE;
     static final BeanFactory DEFAULT_BEAN_FACTORY = new DefaultBeanFactory();
     static final Integer DEFAULT_DML_RESULTS_DISPLAY_SIZE = 10;
+    static final int DEFAULT_ASYNC_DML_LOG_BUFFER_SIZE = 0;
+    static final double DEFAULT_ASYNC_DML_LOG_SAMPLING_RATE = 1.0;
+    static final long DEFAULT_ASYNC_DML_LOG_MAX_BYTES_PER_SECOND = 0L;
+    static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 0L;
+    static final int DEFAULT_SLOW_QUERY_TOP_N = 100;
+    static final int DEFAULT_SLOW_QUERY_TRACE_SAMPLE_COUNT = 0;
+    static final int DEFAULT_SLOW_QUERY_BOUND_VALUES_MAX_LENGTH = 0;
+    static final boolean DEFAULT_SLOW_QUERY_JMX_ENABLED = false;
+    static final long DEFAULT_ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES = 1024L * 1024L;
+    static final long DEFAULT_ADAPTIVE_FETCH_SIZE_TARGET_PAGE_MS = 1000L;
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE_MIN = 50;
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE_MAX = 10_000;
+    static final long DEFAULT_RESULT_CACHE_MAX_ROWS = 10_000L;
+    static final int DEFAULT_BATCH_SIZE_THRESHOLD_BYTES = 5 * 1024;
+    static final boolean DEFAULT_SERVER_WARNING_TRACKING_ENABLED = false;
+    static final long DEFAULT_SERVER_WARNING_LOG_INTERVAL_MS = 60_000L;
+    static final int DEFAULT_HOT_PARTITION_TOP_K = 0;
+    static final double DEFAULT_HOT_PARTITION_SAMPLING_RATE = 1.0;
+    static final long DEFAULT_HOT_PARTITION_WINDOW_SECONDS = 60L;
+    static final boolean DEFAULT_HOT_PARTITION_JMX_ENABLED = false;
+    static final int DEFAULT_LWT_PARTITION_SERIALIZATION_QUEUE_DEPTH = 0;
+    static final boolean DEFAULT_LWT_CONFLICT_SHORT_CIRCUIT = false;
     private static final Logger LOGGER = LoggerFactory.getLogger(ArgumentExtractor.class);
 
     public static ConfigurationContext initConfigContext(Cluster cluster, ConfigMap configurationMap) {
@@ -76,6 +100,8 @@ public class ArgumentExtractor {
         configContext.setCurrentKeyspace(initKeyspaceName(configurationMap));
         configContext.setForceSchemaGeneration(initForceSchemaCreation(configurationMap));
         configContext.setManageEntities(initManagedEntities(configurationMap));
+        configContext.setLazyEntityInitialization(initLazyEntityInitialization(configurationMap));
+        configContext.setLazyEntityWarmUp(initLazyEntityWarmUp(configurationMap));
         configContext.setJacksonMapperFactory(initObjectMapperFactory(configurationMap));
         configContext.setDefaultReadConsistencyLevel(initDefaultReadConsistencyLevel(configurationMap));
         configContext.setDefaultWriteConsistencyLevel(initDefaultWriteConsistencyLevel(configurationMap));
@@ -99,6 +125,31 @@ public class ArgumentExtractor {
         configContext.setRuntimeCodecs(initRuntimeCodecs(configurationMap));
         configContext.setValidateSchema(initValidateSchema(configurationMap));
         configContext.setDMLResultsDisplaySize(initDMLResultsDisplayLimit(configurationMap));
+        configContext.setAsyncDMLLogBufferSize(initAsyncDMLLogBufferSize(configurationMap));
+        configContext.setAsyncDMLLogSamplingRate(initAsyncDMLLogSamplingRate(configurationMap));
+        configContext.setAsyncDMLLogSamplingRateMap(initAsyncDMLLogSamplingRateMap(configurationMap));
+        configContext.setAsyncDMLLogMaxBytesPerSecond(initAsyncDMLLogMaxBytesPerSecond(configurationMap));
+        configContext.setSlowQueryThresholdInMillis(initSlowQueryThresholdInMillis(configurationMap));
+        configContext.setSlowQueryThresholdByOperation(initSlowQueryThresholdByOperation(configurationMap));
+        configContext.setSlowQueryThresholdByEntity(initSlowQueryThresholdByEntity(configurationMap));
+        configContext.setSlowQueryTopN(initSlowQueryTopN(configurationMap));
+        configContext.setSlowQueryTraceSampleCount(initSlowQueryTraceSampleCount(configurationMap));
+        configContext.setSlowQueryBoundValuesMaxLength(initSlowQueryBoundValuesMaxLength(configurationMap));
+        configContext.setSlowQueryJMXEnabled(initSlowQueryJMXEnabled(configurationMap));
+        configContext.setAdaptiveFetchSizeTargetPageBytes(initAdaptiveFetchSizeTargetPageBytes(configurationMap));
+        configContext.setAdaptiveFetchSizeTargetPageMillis(initAdaptiveFetchSizeTargetPageMillis(configurationMap));
+        configContext.setAdaptiveFetchSizeMin(initAdaptiveFetchSizeMin(configurationMap));
+        configContext.setAdaptiveFetchSizeMax(initAdaptiveFetchSizeMax(configurationMap));
+        configContext.setResultCacheMaxRows(initResultCacheMaxRows(configurationMap));
+        configContext.setBatchSizeThresholdBytes(initBatchSizeThresholdBytes(configurationMap));
+        configContext.setServerWarningTrackingEnabled(initServerWarningTrackingEnabled(configurationMap));
+        configContext.setServerWarningLogIntervalMillis(initServerWarningLogIntervalMillis(configurationMap));
+        configContext.setHotPartitionTopK(initHotPartitionTopK(configurationMap));
+        configContext.setHotPartitionSamplingRate(initHotPartitionSamplingRate(configurationMap));
+        configContext.setHotPartitionWindowSeconds(initHotPartitionWindowSeconds(configurationMap));
+        configContext.setHotPartitionJMXEnabled(initHotPartitionJMXEnabled(configurationMap));
+        configContext.setLWTPartitionSerializationQueueDepth(initLWTPartitionSerializationQueueDepth(configurationMap));
+        configContext.setLWTConflictShortCircuit(initLWTConflictShortCircuit(configurationMap));
         return configContext;
     }
 
@@ -118,6 +169,16 @@ public class ArgumentExtractor {
         return configMap.getTypedOr(MANAGED_ENTITIES, new ArrayList<>());
     }
 
+    static boolean initLazyEntityInitialization(ConfigMap configMap) {
+        LOGGER.trace("Extract lazy entity initialization from configuration map");
+        return configMap.getTypedOr(LAZY_ENTITY_INITIALIZATION, false);
+    }
+
+    static boolean initLazyEntityWarmUp(ConfigMap configMap) {
+        LOGGER.trace("Extract lazy entity warm-up from configuration map");
+        return configMap.getTypedOr(LAZY_ENTITY_WARM_UP, false);
+    }
+
     static JacksonMapperFactory initObjectMapperFactory(ConfigMap configurationMap) {
         LOGGER.trace("Extract object mapper factory from configuration map");
 
@@ -302,4 +363,161 @@ public class ArgumentExtractor {
             return DEFAULT_DML_RESULTS_DISPLAY_SIZE;
         }
     }
+
+    static int initAsyncDMLLogBufferSize(ConfigMap configMap) {
+        LOGGER.trace("Extract async DML log buffer size from configuration map");
+        return Integer.max(0, configMap.getTypedOr(ASYNC_DML_LOG_BUFFER_SIZE, DEFAULT_ASYNC_DML_LOG_BUFFER_SIZE));
+    }
+
+    static double initAsyncDMLLogSamplingRate(ConfigMap configMap) {
+        LOGGER.trace("Extract async DML log sampling rate from configuration map");
+        final Double samplingRate = configMap.getTypedOr(ASYNC_DML_LOG_SAMPLING_RATE, DEFAULT_ASYNC_DML_LOG_SAMPLING_RATE);
+        validateTrue(samplingRate >= 0 && samplingRate <= 1, "The async DML log sampling rate '%s' should be between 0 and 1", samplingRate);
+        return samplingRate;
+    }
+
+    static Map<Class<?>, Double> initAsyncDMLLogSamplingRateMap(ConfigMap configMap) {
+        LOGGER.trace("Extract async DML log sampling rate map from configuration map");
+        final Map<Class<?>, Double> samplingRates = configMap.getTypedOr(ASYNC_DML_LOG_SAMPLING_RATE_MAP, ImmutableMap.<Class<?>, Double>of());
+        samplingRates.forEach((entityClass, samplingRate) ->
+                validateTrue(samplingRate >= 0 && samplingRate <= 1, "The async DML log sampling rate '%s' for entity '%s' should be between 0 and 1",
+                        samplingRate, entityClass.getCanonicalName()));
+        return samplingRates;
+    }
+
+    static long initAsyncDMLLogMaxBytesPerSecond(ConfigMap configMap) {
+        LOGGER.trace("Extract async DML log max bytes per second from configuration map");
+        return Long.max(0L, configMap.getTypedOr(ASYNC_DML_LOG_MAX_BYTES_PER_SECOND, DEFAULT_ASYNC_DML_LOG_MAX_BYTES_PER_SECOND));
+    }
+
+    static long initSlowQueryThresholdInMillis(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query threshold from configuration map");
+        return Long.max(0L, configMap.getTypedOr(SLOW_QUERY_THRESHOLD_MS, DEFAULT_SLOW_QUERY_THRESHOLD_MS));
+    }
+
+    static Map<OperationType, Long> initSlowQueryThresholdByOperation(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query threshold by operation type from configuration map");
+        final Map<OperationType, Long> thresholds = configMap.getTypedOr(SLOW_QUERY_THRESHOLD_BY_OPERATION, ImmutableMap.<OperationType, Long>of());
+        thresholds.forEach((operationType, threshold) ->
+                validateTrue(threshold > 0, "The slow query threshold '%s' for operation '%s' should be strictly positive", threshold, operationType));
+        return thresholds;
+    }
+
+    static Map<Class<?>, Long> initSlowQueryThresholdByEntity(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query threshold by entity from configuration map");
+        final Map<Class<?>, Long> thresholds = configMap.getTypedOr(SLOW_QUERY_THRESHOLD_BY_ENTITY, ImmutableMap.<Class<?>, Long>of());
+        thresholds.forEach((entityClass, threshold) ->
+                validateTrue(threshold > 0, "The slow query threshold '%s' for entity '%s' should be strictly positive",
+                        threshold, entityClass.getCanonicalName()));
+        return thresholds;
+    }
+
+    static int initSlowQueryTopN(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query top N from configuration map");
+        final Integer topN = configMap.getTypedOr(SLOW_QUERY_TOP_N, DEFAULT_SLOW_QUERY_TOP_N);
+        validateTrue(topN > 0, "The slow query top N '%s' should be strictly positive", topN);
+        return topN;
+    }
+
+    static int initSlowQueryTraceSampleCount(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query trace sample count from configuration map");
+        return Integer.max(0, configMap.getTypedOr(SLOW_QUERY_TRACE_SAMPLE_COUNT, DEFAULT_SLOW_QUERY_TRACE_SAMPLE_COUNT));
+    }
+
+    static int initSlowQueryBoundValuesMaxLength(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query bound values max length from configuration map");
+        return Integer.max(0, configMap.getTypedOr(SLOW_QUERY_BOUND_VALUES_MAX_LENGTH, DEFAULT_SLOW_QUERY_BOUND_VALUES_MAX_LENGTH));
+    }
+
+    static boolean initSlowQueryJMXEnabled(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query JMX enabled from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_JMX_ENABLED, DEFAULT_SLOW_QUERY_JMX_ENABLED);
+    }
+
+    static long initAdaptiveFetchSizeTargetPageBytes(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size target page bytes from configuration map");
+        final Long targetPageBytes = configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES, DEFAULT_ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES);
+        validateTrue(targetPageBytes > 0, "The adaptive fetch size target page bytes '%s' should be strictly positive", targetPageBytes);
+        return targetPageBytes;
+    }
+
+    static long initAdaptiveFetchSizeTargetPageMillis(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size target page duration from configuration map");
+        final Long targetPageMillis = configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_TARGET_PAGE_MS, DEFAULT_ADAPTIVE_FETCH_SIZE_TARGET_PAGE_MS);
+        validateTrue(targetPageMillis > 0, "The adaptive fetch size target page duration '%s' should be strictly positive", targetPageMillis);
+        return targetPageMillis;
+    }
+
+    static int initAdaptiveFetchSizeMin(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size min from configuration map");
+        final Integer min = configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_MIN, DEFAULT_ADAPTIVE_FETCH_SIZE_MIN);
+        validateTrue(min > 0, "The adaptive fetch size min '%s' should be strictly positive", min);
+        return min;
+    }
+
+    static int initAdaptiveFetchSizeMax(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size max from configuration map");
+        final Integer min = configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_MIN, DEFAULT_ADAPTIVE_FETCH_SIZE_MIN);
+        final Integer max = configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_MAX, DEFAULT_ADAPTIVE_FETCH_SIZE_MAX);
+        validateTrue(max >= min, "The adaptive fetch size max '%s' should be greater than or equal to the min '%s'", max, min);
+        return max;
+    }
+
+    static long initResultCacheMaxRows(ConfigMap configMap) {
+        LOGGER.trace("Extract result cache max rows from configuration map");
+        final Long maxRows = configMap.getTypedOr(RESULT_CACHE_MAX_ROWS, DEFAULT_RESULT_CACHE_MAX_ROWS);
+        validateTrue(maxRows > 0, "The result cache max rows '%s' should be strictly positive", maxRows);
+        return maxRows;
+    }
+
+    static int initBatchSizeThresholdBytes(ConfigMap configMap) {
+        LOGGER.trace("Extract batch size threshold from configuration map");
+        final Integer threshold = configMap.getTypedOr(BATCH_SIZE_THRESHOLD_BYTES, DEFAULT_BATCH_SIZE_THRESHOLD_BYTES);
+        validateTrue(threshold > 0, "The batch size threshold '%s' should be strictly positive", threshold);
+        return threshold;
+    }
+
+    static boolean initServerWarningTrackingEnabled(ConfigMap configMap) {
+        LOGGER.trace("Extract server warning tracking enabled from configuration map");
+        return configMap.getTypedOr(SERVER_WARNING_TRACKING_ENABLED, DEFAULT_SERVER_WARNING_TRACKING_ENABLED);
+    }
+
+    static long initServerWarningLogIntervalMillis(ConfigMap configMap) {
+        LOGGER.trace("Extract server warning log interval from configuration map");
+        return Long.max(0L, configMap.getTypedOr(SERVER_WARNING_LOG_INTERVAL_MS, DEFAULT_SERVER_WARNING_LOG_INTERVAL_MS));
+    }
+
+    static int initHotPartitionTopK(ConfigMap configMap) {
+        LOGGER.trace("Extract hot partition top K from configuration map");
+        return Integer.max(0, configMap.getTypedOr(HOT_PARTITION_TOP_K, DEFAULT_HOT_PARTITION_TOP_K));
+    }
+
+    static double initHotPartitionSamplingRate(ConfigMap configMap) {
+        LOGGER.trace("Extract hot partition sampling rate from configuration map");
+        final Double samplingRate = configMap.getTypedOr(HOT_PARTITION_SAMPLING_RATE, DEFAULT_HOT_PARTITION_SAMPLING_RATE);
+        validateTrue(samplingRate > 0 && samplingRate <= 1, "The hot partition sampling rate '%s' should be greater than 0 and lower than or equal to 1", samplingRate);
+        return samplingRate;
+    }
+
+    static long initHotPartitionWindowSeconds(ConfigMap configMap) {
+        LOGGER.trace("Extract hot partition window from configuration map");
+        final Long windowSeconds = configMap.getTypedOr(HOT_PARTITION_WINDOW_SECONDS, DEFAULT_HOT_PARTITION_WINDOW_SECONDS);
+        validateTrue(windowSeconds > 0, "The hot partition window '%s' should be strictly positive", windowSeconds);
+        return windowSeconds;
+    }
+
+    static boolean initHotPartitionJMXEnabled(ConfigMap configMap) {
+        LOGGER.trace("Extract hot partition JMX enabled from configuration map");
+        return configMap.getTypedOr(HOT_PARTITION_JMX_ENABLED, DEFAULT_HOT_PARTITION_JMX_ENABLED);
+    }
+
+    static int initLWTPartitionSerializationQueueDepth(ConfigMap configMap) {
+        LOGGER.trace("Extract LWT partition serialization queue depth from configuration map");
+        return Integer.max(0, configMap.getTypedOr(LWT_PARTITION_SERIALIZATION_QUEUE_DEPTH, DEFAULT_LWT_PARTITION_SERIALIZATION_QUEUE_DEPTH));
+    }
+
+    static boolean initLWTConflictShortCircuit(ConfigMap configMap) {
+        LOGGER.trace("Extract LWT conflict short-circuit from configuration map");
+        return configMap.getTypedOr(LWT_CONFLICT_SHORT_CIRCUIT, DEFAULT_LWT_CONFLICT_SHORT_CIRCUIT);
+    }
 }
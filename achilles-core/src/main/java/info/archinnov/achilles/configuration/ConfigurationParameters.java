@@ -28,6 +28,15 @@ package info.archinnov.achilles.configuration;
  * <br/>
  Example: <em>my.project.entity,another.project.entity</em></p>
  * </li>
+ * <li>
+ * <strong>LAZY_ENTITY_INITIALIZATION</strong> (OPTIONAL): defer dependencies injection, schema validation and static statements
+ * preparation of each entity to the first call to <em>ManagerFactory.forXxx()</em> for this entity.
+ * Ignored when FORCE_SCHEMA_GENERATION is enabled. <strong>Default = 'false'</strong>
+ * </li>
+ * <li>
+ * <strong>LAZY_ENTITY_WARM_UP</strong> (OPTIONAL): when lazy entity initialization is enabled, initialize all the entities
+ * in a background thread right after start-up. <strong>Default = 'false'</strong>
+ * </li>
  * </ul>
  * <br/>
  * <br/>
@@ -52,6 +61,147 @@ package info.archinnov.achilles.configuration;
  * </ul>
  * <br/>
  * <br/>
+ * <h4>Asynchronous DML logging</h4>
+ * <ul>
+ *     <li>
+ *         <strong>ASYNC_DML_LOG_BUFFER_SIZE</strong> (OPTIONAL): when strictly positive, DML statements logs are captured into a
+ *         preallocated ring buffer of this size (rounded up to a power of 2) and formatted on a background thread instead of the request path.
+ *         Returned rows are not logged in this mode. When the buffer is full, log events are dropped. <strong>Default = 0 (disabled)</strong>
+ *     </li>
+ *     <li>
+ *         <strong>ASYNC_DML_LOG_SAMPLING_RATE</strong> (OPTIONAL): ratio, between 0 and 1, of DML statements to log asynchronously.
+ *         <strong>Default = 1.0</strong>
+ *     </li>
+ *     <li>
+ *         <strong>ASYNC_DML_LOG_SAMPLING_RATE_MAP</strong> (OPTIONAL): sampling rate per entity class, overriding ASYNC_DML_LOG_SAMPLING_RATE
+ *     </li>
+ *     <li>
+ *         <strong>ASYNC_DML_LOG_MAX_BYTES_PER_SECOND</strong> (OPTIONAL): hard budget of formatted log bytes written per second.
+ *         Log events beyond this budget are dropped. <strong>Default = 0 (unlimited)</strong>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Slow query log</h4>
+ * <ul>
+ *     <li>
+ *         <strong>SLOW_QUERY_THRESHOLD_MS</strong> (OPTIONAL): executions taking longer than this threshold, in milliseconds,
+ *         are recorded in the slow query log and logged to the ACHILLES_SLOW_QUERY logger. <strong>Default = 0 (disabled)</strong>
+ *     </li>
+ *     <li>
+ *         <strong>SLOW_QUERY_THRESHOLD_BY_OPERATION</strong> (OPTIONAL): threshold in milliseconds per operation type
+ *         (INSERT, UPDATE, DELETE, SELECT, OTHER), overriding SLOW_QUERY_THRESHOLD_MS
+ *     </li>
+ *     <li>
+ *         <strong>SLOW_QUERY_THRESHOLD_BY_ENTITY</strong> (OPTIONAL): threshold in milliseconds per entity class,
+ *         overriding SLOW_QUERY_THRESHOLD_BY_OPERATION and SLOW_QUERY_THRESHOLD_MS
+ *     </li>
+ *     <li>
+ *         <strong>SLOW_QUERY_TOP_N</strong> (OPTIONAL): number of slowest executions kept in memory. <strong>Default = 100</strong>
+ *     </li>
+ *     <li>
+ *         <strong>SLOW_QUERY_TRACE_SAMPLE_COUNT</strong> (OPTIONAL): number of subsequent executions of a slow query fingerprint
+ *         for which tracing is enabled. <strong>Default = 0 (no tracing)</strong>
+ *     </li>
+ *     <li>
+ *         <strong>SLOW_QUERY_BOUND_VALUES_MAX_LENGTH</strong> (OPTIONAL): bound values are truncated to this length in the slow query log.
+ *         0 means bound values are redacted. <strong>Default = 0</strong>
+ *     </li>
+ *     <li>
+ *         <strong>SLOW_QUERY_JMX_ENABLED</strong> (OPTIONAL): expose the slow query log as a JMX MBean. <strong>Default = false</strong>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Adaptive fetch size</h4>
+ * <ul>
+ *     <li>
+ *         <strong>ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES</strong> (OPTIONAL): for SELECT executed with <em>withAdaptiveFetchSize()</em>,
+ *         size in bytes of the serialized rows targeted for each page. <strong>Default = 1048576 (1 MiB)</strong>
+ *     </li>
+ *     <li>
+ *         <strong>ADAPTIVE_FETCH_SIZE_TARGET_PAGE_MS</strong> (OPTIONAL): the fetch size is also capped to the number of rows
+ *         the application consumes in this time, in milliseconds. <strong>Default = 1000</strong>
+ *     </li>
+ *     <li>
+ *         <strong>ADAPTIVE_FETCH_SIZE_MIN</strong> (OPTIONAL): lower bound of the adaptive fetch size. <strong>Default = 50</strong>
+ *     </li>
+ *     <li>
+ *         <strong>ADAPTIVE_FETCH_SIZE_MAX</strong> (OPTIONAL): upper bound of the adaptive fetch size. <strong>Default = 10000</strong>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Result cache</h4>
+ * <ul>
+ *     <li>
+ *         <strong>RESULT_CACHE_MAX_ROWS</strong> (OPTIONAL): maximum number of rows kept by the cache of SELECT executed
+ *         with <em>withResultCache(Duration ttl)</em>. <strong>Default = 10000</strong>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Batch</h4>
+ * <ul>
+ *     <li>
+ *         <strong>BATCH_SIZE_THRESHOLD_BYTES</strong> (OPTIONAL): estimated size in bytes above which the statements
+ *         collected by <em>managerFactory.batch()</em> are split into several batches. <strong>Default = 5120</strong>,
+ *         same as Cassandra <em>batch_size_warn_threshold_in_kb</em>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Server warnings</h4>
+ * <ul>
+ *     <li>
+ *         <strong>SERVER_WARNING_TRACKING_ENABLED</strong> (OPTIONAL): aggregate the client warnings returned by Cassandra
+ *         (tombstone thresholds, large batches, aggregation without partition key ...) per query fingerprint and entity.
+ *         <strong>Default = false</strong>
+ *     </li>
+ *     <li>
+ *         <strong>SERVER_WARNING_LOG_INTERVAL_MS</strong> (OPTIONAL): a given warning category of a given query fingerprint
+ *         is logged to the ACHILLES_SERVER_WARNING logger at most once per interval, in milliseconds. <strong>Default = 60000</strong>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Hot partition detection</h4>
+ * <ul>
+ *     <li>
+ *         <strong>HOT_PARTITION_TOP_K</strong> (OPTIONAL): when strictly positive, the partition keys of sampled statements
+ *         are counted per entity, separately for reads and writes, and the <em>topK</em> most frequently accessed partitions
+ *         are kept. <strong>Default = 0 (disabled)</strong>
+ *     </li>
+ *     <li>
+ *         <strong>HOT_PARTITION_SAMPLING_RATE</strong> (OPTIONAL): ratio of statements sampled by the hot partition detector,
+ *         between 0 and 1. <strong>Default = 1.0</strong>
+ *     </li>
+ *     <li>
+ *         <strong>HOT_PARTITION_WINDOW_SECONDS</strong> (OPTIONAL): duration of the observation window of the hot partition detector,
+ *         in seconds. <strong>Default = 60</strong>
+ *     </li>
+ *     <li>
+ *         <strong>HOT_PARTITION_JMX_ENABLED</strong> (OPTIONAL): expose the hot partition detector as a JMX MBean. <strong>Default = false</strong>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>LightWeight Transaction</h4>
+ * <ul>
+ *     <li>
+ *         <strong>LWT_PARTITION_SERIALIZATION_QUEUE_DEPTH</strong> (OPTIONAL): when strictly positive, LWT operations
+ *         targeting the same partition are executed one at a time from this JVM. Other LWT operations on the same partition
+ *         are queued, up to this max queue depth. When the queue is full, the LWT operation fails immediately.
+ *         <strong>Default = 0 (disabled)</strong>
+ *     </li>
+ *     <li>
+ *         <strong>LWT_CONFLICT_SHORT_CIRCUIT</strong> (OPTIONAL): when LWT partition serialization is enabled, do not send to Cassandra
+ *         a queued LWT operation which is identical to the one which has just been rejected on the same partition.
+ *         The previous rejection result is returned instead. <strong>Default = 'false'</strong>
+ *     </li>
+ * </ul>
+ * <br/>
+ * <br/>
  * <h4>JSON Serialization</h4>
  * <ul >
  * <li>
@@ -273,6 +423,8 @@ public enum ConfigurationParameters {
     VALIDATE_SCHEMA("achilles.validate.schema"),
 
     MANAGED_ENTITIES("achilles.managed.entities"),
+    LAZY_ENTITY_INITIALIZATION("achilles.lazy.entity.initialization"),
+    LAZY_ENTITY_WARM_UP("achilles.lazy.entity.warm.up"),
 
     BEAN_VALIDATION_ENABLE("achilles.bean.validation.enable"),
     POST_LOAD_BEAN_VALIDATION_ENABLE("achilles.post.load.bean.validation.enable"),
@@ -297,7 +449,40 @@ public enum ConfigurationParameters {
     DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE("achilles.executor.service.default.queue.size"),
     DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY("achilles.executor.service.thread.factory"),
 
-    DML_RESULTS_DISPLAY_SIZE("achilles.dml.results_display.size");
+    DML_RESULTS_DISPLAY_SIZE("achilles.dml.results_display.size"),
+
+    ASYNC_DML_LOG_BUFFER_SIZE("achilles.dml.async.log.buffer.size"),
+    ASYNC_DML_LOG_SAMPLING_RATE("achilles.dml.async.log.sampling.rate"),
+    ASYNC_DML_LOG_SAMPLING_RATE_MAP("achilles.dml.async.log.sampling.rate.map"),
+    ASYNC_DML_LOG_MAX_BYTES_PER_SECOND("achilles.dml.async.log.max.bytes.per.second"),
+
+    SLOW_QUERY_THRESHOLD_MS("achilles.slow.query.threshold.ms"),
+    SLOW_QUERY_THRESHOLD_BY_OPERATION("achilles.slow.query.threshold.by.operation"),
+    SLOW_QUERY_THRESHOLD_BY_ENTITY("achilles.slow.query.threshold.by.entity"),
+    SLOW_QUERY_TOP_N("achilles.slow.query.top.n"),
+    SLOW_QUERY_TRACE_SAMPLE_COUNT("achilles.slow.query.trace.sample.count"),
+    SLOW_QUERY_BOUND_VALUES_MAX_LENGTH("achilles.slow.query.bound.values.max.length"),
+    SLOW_QUERY_JMX_ENABLED("achilles.slow.query.jmx.enabled"),
+
+    ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES("achilles.adaptive.fetch.size.target.page.bytes"),
+    ADAPTIVE_FETCH_SIZE_TARGET_PAGE_MS("achilles.adaptive.fetch.size.target.page.ms"),
+    ADAPTIVE_FETCH_SIZE_MIN("achilles.adaptive.fetch.size.min"),
+    ADAPTIVE_FETCH_SIZE_MAX("achilles.adaptive.fetch.size.max"),
+
+    RESULT_CACHE_MAX_ROWS("achilles.result.cache.max.rows"),
+
+    BATCH_SIZE_THRESHOLD_BYTES("achilles.batch.size.threshold.bytes"),
+
+    SERVER_WARNING_TRACKING_ENABLED("achilles.server.warning.tracking.enabled"),
+    SERVER_WARNING_LOG_INTERVAL_MS("achilles.server.warning.log.interval.ms"),
+
+    HOT_PARTITION_TOP_K("achilles.hot.partition.top.k"),
+    HOT_PARTITION_SAMPLING_RATE("achilles.hot.partition.sampling.rate"),
+    HOT_PARTITION_WINDOW_SECONDS("achilles.hot.partition.window.seconds"),
+    HOT_PARTITION_JMX_ENABLED("achilles.hot.partition.jmx.enabled"),
+
+    LWT_PARTITION_SERIALIZATION_QUEUE_DEPTH("achilles.lwt.partition.serialization.queue.depth"),
+    LWT_CONFLICT_SHORT_CIRCUIT("achilles.lwt.conflict.short.circuit");
 
 
     private String label;
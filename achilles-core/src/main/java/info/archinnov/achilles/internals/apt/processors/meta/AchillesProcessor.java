@@ -19,6 +19,8 @@ package info.archinnov.achilles.internals.apt.processors.meta;
 import static info.archinnov.achilles.internals.apt.AptUtils.*;
 import static info.archinnov.achilles.internals.cassandra_version.CassandraFeature.MATERIALIZED_VIEW;
 import static info.archinnov.achilles.internals.cassandra_version.CassandraFeature.UDF_UDA;
+import static info.archinnov.achilles.internals.codegen.NativeImageConfigCodeGen.NATIVE_IMAGE_CONFIG_FOLDER;
+import static info.archinnov.achilles.internals.codegen.NativeImageConfigCodeGen.REFLECT_CONFIG_FILE;
 import static info.archinnov.achilles.internals.codegen.function.InternalSystemFunctionRegistry.SYSTEM_FUNCTIONS;
 import static info.archinnov.achilles.internals.parser.TypeUtils.*;
 import static java.util.stream.Collectors.toList;
@@ -28,8 +30,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -56,10 +60,14 @@ import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVers
 import info.archinnov.achilles.internals.codegen.ManagerFactoryBuilderCodeGen;
 import info.archinnov.achilles.internals.codegen.ManagerFactoryCodeGen;
 import info.archinnov.achilles.internals.codegen.ManagerFactoryCodeGen.ManagersAndDSLClasses;
+import info.archinnov.achilles.internals.codegen.NativeImageConfigCodeGen;
+import info.archinnov.achilles.internals.codegen.ProjectionCodeGen;
 import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
 import info.archinnov.achilles.internals.parser.CodecRegistryParser;
 import info.archinnov.achilles.internals.parser.EntityParser;
 import info.archinnov.achilles.internals.parser.FunctionParser;
+import info.archinnov.achilles.internals.parser.ProjectionParser;
+import info.archinnov.achilles.internals.parser.ProjectionParser.ProjectionSignature;
 import info.archinnov.achilles.internals.parser.context.FunctionSignature;
 import info.archinnov.achilles.internals.parser.context.FunctionsContext;
 import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
@@ -97,6 +105,8 @@ public class AchillesProcessor extends AbstractProcessor {
 
                 final List<EntityMetaSignature> tableAndViewSignatures = discoverAndValidateTablesAndViews(annotations, roundEnv, globalContext);
 
+                final List<ProjectionSignature> projectionSignatures = parseProjections(annotations, roundEnv, tableAndViewSignatures);
+
                 final FunctionsContext udfContext = parseAndValidateFunctionRegistry(globalContext, annotations, roundEnv, tableAndViewSignatures);
 
                 final TypeSpec managerFactoryBuilder = ManagerFactoryBuilderCodeGen.buildInstance(globalContext);
@@ -113,53 +123,62 @@ public class AchillesProcessor extends AbstractProcessor {
                     aptUtils.printNote("[Achilles] No previously generated source files found, proceed to code generation");
                 }
 
+                final NativeImageConfigCodeGen nativeImageConfig = new NativeImageConfigCodeGen();
+
                 aptUtils.printNote("[Achilles] Generating CQL compatible types (used by the application) as class for function calls");
                 for (TypeSpec typeSpec : globalContext.functionParameterTypesCodeGen().buildParameterTypesClasses(udfContext)) {
-                    JavaFile.builder(FUNCTION_PACKAGE, typeSpec)
-                            .build().writeTo(aptUtils.filer);
+                    writeGeneratedType(FUNCTION_PACKAGE, typeSpec, nativeImageConfig);
                 }
 
                 aptUtils.printNote("[Achilles] Generating SystemFunctions");
-                JavaFile.builder(FUNCTION_PACKAGE, globalContext.functionsRegistryCodeGen().generateFunctionsRegistryClass(SYSTEM_FUNCTIONS_CLASS,
-                        SYSTEM_FUNCTIONS)).build().writeTo(aptUtils.filer);
+                writeGeneratedType(FUNCTION_PACKAGE, globalContext.functionsRegistryCodeGen().generateFunctionsRegistryClass(SYSTEM_FUNCTIONS_CLASS,
+                        SYSTEM_FUNCTIONS), nativeImageConfig);
 
                 if (globalContext.supportsFeature(UDF_UDA)) {
                     aptUtils.printNote("[Achilles] Generating FunctionsRegistry");
-                    JavaFile.builder(FUNCTION_PACKAGE, globalContext.functionsRegistryCodeGen().generateFunctionsRegistryClass(FUNCTIONS_REGISTRY_CLASS,
-                            udfContext.functionSignatures)).build().writeTo(aptUtils.filer);
+                    writeGeneratedType(FUNCTION_PACKAGE, globalContext.functionsRegistryCodeGen().generateFunctionsRegistryClass(FUNCTIONS_REGISTRY_CLASS,
+                            udfContext.functionSignatures), nativeImageConfig);
                 }
 
 
                 aptUtils.printNote("[Achilles] Generating ManagerFactoryBuilder");
-                JavaFile.builder(GENERATED_PACKAGE, managerFactoryBuilder)
-                        .build().writeTo(aptUtils.filer);
+                writeGeneratedType(GENERATED_PACKAGE, managerFactoryBuilder, nativeImageConfig);
 
                 aptUtils.printNote("[Achilles] Generating Manager factory class");
-                JavaFile.builder(GENERATED_PACKAGE, managersAndDSLClasses.managerFactoryClass)
-                        .build().writeTo(aptUtils.filer);
+                writeGeneratedType(GENERATED_PACKAGE, managersAndDSLClasses.managerFactoryClass, nativeImageConfig);
 
                 aptUtils.printNote("[Achilles] Generating UDT meta classes");
-                for (TypeSpec typeSpec : globalContext.udtTypes.values()) {
-                    JavaFile.builder(UDT_META_PACKAGE, typeSpec)
-                            .build().writeTo(aptUtils.filer);
+                for (Map.Entry<TypeName, TypeSpec> entry : globalContext.udtTypes.entrySet()) {
+                    nativeImageConfig.addUserType(entry.getKey());
+                    writeGeneratedType(UDT_META_PACKAGE, entry.getValue(), nativeImageConfig);
                 }
 
                 aptUtils.printNote("[Achilles] Generating entity meta classes");
                 for (EntityMetaSignature signature : tableAndViewSignatures) {
-                    JavaFile.builder(ENTITY_META_PACKAGE, signature.sourceCode)
-                            .build().writeTo(aptUtils.filer);
+                    nativeImageConfig.addUserType(signature.entityRawClass);
+                    writeGeneratedType(ENTITY_META_PACKAGE, signature.sourceCode, nativeImageConfig);
                 }
 
                 aptUtils.printNote("[Achilles] Generating manager classes");
                 for (TypeSpec manager : managersAndDSLClasses.managerClasses) {
-                    JavaFile.builder(MANAGER_PACKAGE, manager)
-                            .build().writeTo(aptUtils.filer);
+                    writeGeneratedType(MANAGER_PACKAGE, manager, nativeImageConfig);
                 }
 
                 aptUtils.printNote("[Achilles] Generating DSL classes");
                 for (TypeSpec dsl : managersAndDSLClasses.dslClasses) {
-                    JavaFile.builder(DSL_PACKAGE, dsl)
-                            .build().writeTo(aptUtils.filer);
+                    writeGeneratedType(DSL_PACKAGE, dsl, nativeImageConfig);
+                }
+
+                aptUtils.printNote("[Achilles] Generating projection classes");
+                for (ProjectionSignature projectionSignature : projectionSignatures) {
+                    writeGeneratedType(PROJECTION_PACKAGE, ProjectionCodeGen.buildProjectionClass(projectionSignature), nativeImageConfig);
+                }
+
+                aptUtils.printNote("[Achilles] Generating GraalVM native-image reflection configuration");
+                final FileObject reflectConfig = aptUtils.filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                        NATIVE_IMAGE_CONFIG_FOLDER + REFLECT_CONFIG_FILE);
+                try (Writer writer = reflectConfig.openWriter()) {
+                    writer.write(nativeImageConfig.buildReflectConfig());
                 }
             }catch (AchillesException e) {
                 e.printStackTrace();
@@ -188,6 +207,12 @@ public class AchillesProcessor extends AbstractProcessor {
         return true;
     }
 
+    private void writeGeneratedType(String packageName, TypeSpec typeSpec, NativeImageConfigCodeGen nativeImageConfig) throws IOException {
+        JavaFile.builder(packageName, typeSpec)
+                .build().writeTo(aptUtils.filer);
+        nativeImageConfig.addGeneratedType(packageName, typeSpec);
+    }
+
     private void validateCassandraVersionAgainstUsedAnnotations(Set<? extends TypeElement> annotations, GlobalParsingContext parsingContext) {
         final InternalCassandraVersion version = parsingContext.cassandraVersion;
         aptUtils.validateFalse(containsElementsAnnotatedBy(annotations, FunctionRegistry.class)
@@ -275,6 +300,17 @@ public class AchillesProcessor extends AbstractProcessor {
         return tableAndViewSignatures;
     }
 
+    private List<ProjectionSignature> parseProjections(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv,
+                                                      List<EntityMetaSignature> tableAndViewSignatures) {
+        final ProjectionParser projectionParser = new ProjectionParser(aptUtils);
+        final List<ProjectionSignature> projectionSignatures = getTypesAnnotatedByAsStream(annotations, roundEnv, Projection.class)
+                .map(x -> projectionParser.parseProjection(x, tableAndViewSignatures))
+                .collect(toList());
+
+        projectionSignatures.forEach(x -> x.entitySignature.projectionSignatures.add(x));
+        return projectionSignatures;
+    }
+
     private void parseCodecRegistry(GlobalParsingContext parsingContext, Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (containsElementsAnnotatedBy(annotations, CodecRegistry.class)) {
             aptUtils.printNote("[Achilles] Parsing compile-time codec registry");
@@ -288,7 +324,8 @@ public class AchillesProcessor extends AbstractProcessor {
                 MaterializedView.class.getCanonicalName(),
                 CodecRegistry.class.getCanonicalName(),
                 FunctionRegistry.class.getCanonicalName(),
-                CompileTimeConfig.class.getCanonicalName());
+                CompileTimeConfig.class.getCanonicalName(),
+                Projection.class.getCanonicalName());
     }
 
     @Override
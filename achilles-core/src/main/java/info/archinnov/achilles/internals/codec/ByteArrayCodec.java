@@ -61,13 +61,10 @@ public class ByteArrayCodec implements Codec<Byte[], ByteBuffer> {
         return readByteBuffer(fromCassandra);
     }
 
-    private Byte[] readByteBuffer(Object fromCassandra) {
-        ByteBuffer byteBuffer = (ByteBuffer) fromCassandra;
-        byte[] bytes = new byte[byteBuffer.remaining()];
-        byteBuffer.get(bytes);
-        Byte[] byteObjects = new Byte[bytes.length];
-        int i = 0;
-        for (byte b : bytes) byteObjects[i++] = b;
+    private Byte[] readByteBuffer(ByteBuffer byteBuffer) {
+        final int position = byteBuffer.position();
+        Byte[] byteObjects = new Byte[byteBuffer.remaining()];
+        for (int i = 0; i < byteObjects.length; i++) byteObjects[i] = byteBuffer.get(position + i);
         return byteObjects;
     }
 }
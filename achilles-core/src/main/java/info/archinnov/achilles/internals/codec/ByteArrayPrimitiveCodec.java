@@ -44,7 +44,7 @@ public class ByteArrayPrimitiveCodec implements Codec<byte[], ByteBuffer> {
     public ByteBuffer encode(byte[] fromJava) throws AchillesTranscodingException {
         if (fromJava == null) return null;
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace(String.format("Encoding byte[] '%s' to ByteBuffer", Bytes.toHexString(ByteBuffer.wrap(fromJava).duplicate().array())));
+            LOGGER.trace(String.format("Encoding byte[] '%s' to ByteBuffer", Bytes.toHexString(fromJava)));
         }
         return ByteBuffer.wrap(fromJava);
     }
@@ -58,10 +58,17 @@ public class ByteArrayPrimitiveCodec implements Codec<byte[], ByteBuffer> {
         return readByteBuffer(fromCassandra);
     }
 
-    private byte[] readByteBuffer(Object fromCassandra) {
-        ByteBuffer byteBuffer = (ByteBuffer) fromCassandra;
+    /**
+     * The driver decodes each blob column into its own heap buffer spanning the whole backing array,
+     * in which case the array is returned as is instead of being copied
+     */
+    private byte[] readByteBuffer(ByteBuffer byteBuffer) {
+        if (byteBuffer.hasArray() && byteBuffer.arrayOffset() == 0 && byteBuffer.position() == 0
+                && byteBuffer.remaining() == byteBuffer.array().length) {
+            return byteBuffer.array();
+        }
         byte[] bytes = new byte[byteBuffer.remaining()];
-        byteBuffer.get(bytes);
+        byteBuffer.duplicate().get(bytes);
         return bytes;
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Driver {@link TypeCodec} composing an Achilles {@link Codec} with the driver codec
+ * of its target type so that values are serialized straight from the Java type
+ * to <em>ByteBuffer</em> and back.
+ * <br/>
+ * <br/>
+ * Enum name and JSON codecs get a dedicated implementation skipping the intermediate
+ * <em>String</em> altogether, other codecs are simply chained.
+ * <br/>
+ * <br/>
+ * A <strong>null</strong> column is still given to the Achilles codec, as <em>codec.decode(null)</em>,
+ * so that codecs mapping null to a default value behave as with the non-fused path
+ */
+public class FusedTypeCodec<FROM, TO> extends TypeCodec<FROM> {
+
+    protected final Codec<FROM, TO> codec;
+    protected final TypeCodec<TO> targetCodec;
+
+    protected FusedTypeCodec(Codec<FROM, TO> codec, TypeCodec<TO> targetCodec, TypeToken<FROM> javaType) {
+        super(targetCodec.getCqlType(), javaType);
+        this.codec = codec;
+        this.targetCodec = targetCodec;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <FROM, TO> FusedTypeCodec<FROM, TO> create(Codec<FROM, TO> codec, TypeCodec<TO> targetCodec, TypeToken<FROM> javaType) {
+        final boolean textTarget = DataType.varchar().equals(targetCodec.getCqlType());
+        if (textTarget && codec instanceof EnumNameCodec && codec.sourceType().isEnum()) {
+            return new FusedEnumNameTypeCodec(codec, targetCodec, javaType);
+        } else if (textTarget && codec instanceof JSONCodec) {
+            return new FusedJSONTypeCodec(codec, targetCodec, javaType);
+        }
+        return new FusedTypeCodec<>(codec, targetCodec, javaType);
+    }
+
+    @Override
+    public ByteBuffer serialize(FROM value, ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (value == null) return null;
+        return targetCodec.serialize(codec.encode(value), protocolVersion);
+    }
+
+    @Override
+    public FROM deserialize(ByteBuffer bytes, ProtocolVersion protocolVersion) throws InvalidTypeException {
+        if (bytes == null) return codec.decode(null);
+        return codec.decode(targetCodec.deserialize(bytes, protocolVersion));
+    }
+
+    @Override
+    public FROM parse(String value) throws InvalidTypeException {
+        return codec.decode(targetCodec.parse(value));
+    }
+
+    @Override
+    public String format(FROM value) throws InvalidTypeException {
+        if (value == null) return targetCodec.format(null);
+        return targetCodec.format(codec.encode(value));
+    }
+
+    static class FusedEnumNameTypeCodec<ENUM extends Enum<ENUM>> extends FusedTypeCodec<ENUM, String> {
+
+        private final ByteBuffer[] namesByOrdinal;
+        private final Map<ByteBuffer, ENUM> valuesByName;
+
+        FusedEnumNameTypeCodec(Codec<ENUM, String> codec, TypeCodec<String> targetCodec, TypeToken<ENUM> javaType) {
+            super(codec, targetCodec, javaType);
+            final ENUM[] constants = codec.sourceType().getEnumConstants();
+            this.namesByOrdinal = new ByteBuffer[constants.length];
+            this.valuesByName = new HashMap<>(constants.length * 2);
+            for (ENUM constant : constants) {
+                final ByteBuffer name = ByteBuffer.wrap(constant.name().getBytes(UTF_8)).asReadOnlyBuffer();
+                namesByOrdinal[constant.ordinal()] = name;
+                valuesByName.put(name, constant);
+            }
+        }
+
+        @Override
+        public ByteBuffer serialize(ENUM value, ProtocolVersion protocolVersion) throws InvalidTypeException {
+            if (value == null) return null;
+            return namesByOrdinal[value.ordinal()].duplicate();
+        }
+
+        @Override
+        public ENUM deserialize(ByteBuffer bytes, ProtocolVersion protocolVersion) throws InvalidTypeException {
+            if (bytes == null) return codec.decode(null);
+            final ENUM value = valuesByName.get(bytes);
+            // Unknown names go through the regular codec to raise the usual transcoding error
+            return value != null ? value : super.deserialize(bytes, protocolVersion);
+        }
+    }
+
+    static class FusedJSONTypeCodec<TYPE> extends FusedTypeCodec<TYPE, String> {
+
+        private final JSONCodec<TYPE> jsonCodec;
+
+        FusedJSONTypeCodec(Codec<TYPE, String> codec, TypeCodec<String> targetCodec, TypeToken<TYPE> javaType) {
+            super(codec, targetCodec, javaType);
+            this.jsonCodec = (JSONCodec<TYPE>) codec;
+        }
+
+        @Override
+        public ByteBuffer serialize(TYPE value, ProtocolVersion protocolVersion) throws InvalidTypeException {
+            return jsonCodec.encodeToBytes(value);
+        }
+
+        @Override
+        public TYPE deserialize(ByteBuffer bytes, ProtocolVersion protocolVersion) throws InvalidTypeException {
+            if (bytes == null) return codec.decode(null);
+            return jsonCodec.decodeFromBytes(bytes);
+        }
+    }
+}
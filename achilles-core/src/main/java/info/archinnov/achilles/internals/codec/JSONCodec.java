@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internals.codec;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,4 +83,42 @@ public class JSONCodec<TYPE> implements Codec<TYPE, String> {
             throw new AchillesTranscodingException(e);
         }
     }
+
+    /**
+     * Encode the given object to its UTF-8 JSON bytes, without building an intermediate String
+     */
+    public ByteBuffer encodeToBytes(TYPE fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Encoding object %s to JSON bytes", fromJava));
+        }
+        try {
+            return ByteBuffer.wrap(objectMapper.writeValueAsBytes(fromJava));
+        } catch (JsonProcessingException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
+
+    /**
+     * Decode the given UTF-8 JSON bytes, without building an intermediate String.
+     * The position of the buffer is left untouched
+     */
+    public TYPE decodeFromBytes(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Decoding object type %s from JSON bytes", exactType));
+        }
+        try {
+            if (fromCassandra.hasArray()) {
+                return objectMapper.readValue(fromCassandra.array(),
+                        fromCassandra.arrayOffset() + fromCassandra.position(), fromCassandra.remaining(), exactType);
+            } else {
+                final byte[] bytes = new byte[fromCassandra.remaining()];
+                fromCassandra.duplicate().get(bytes);
+                return objectMapper.readValue(bytes, exactType);
+            }
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec for <strong>ByteBuffer</strong> columns when read-only blob views are enabled
+ * with {@link info.archinnov.achilles.annotations.CompileTimeConfig#readOnlyBlobViews()}.
+ * <br/>
+ * Values read from Cassandra are exposed as read-only views over the buffer returned by the driver, without copy
+ */
+public class ReadOnlyByteBufferCodec implements Codec<ByteBuffer, ByteBuffer> {
+
+    @Override
+    public Class<ByteBuffer> sourceType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(ByteBuffer fromJava) throws AchillesTranscodingException {
+        return fromJava;
+    }
+
+    @Override
+    public ByteBuffer decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        return fromCassandra.asReadOnlyBuffer();
+    }
+}
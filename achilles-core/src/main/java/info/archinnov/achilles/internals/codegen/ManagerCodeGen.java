@@ -20,14 +20,21 @@ import static info.archinnov.achilles.internals.parser.TypeUtils.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
 import javax.lang.model.element.Modifier;
 
 import com.squareup.javapoet.*;
 
 import info.archinnov.achilles.internals.apt.AptUtils;
+import info.archinnov.achilles.internals.codegen.crud.CrudAPICodeGen;
 import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
+import info.archinnov.achilles.internals.metamodel.columns.PartitionKeyInfo;
+import info.archinnov.achilles.internals.parser.FieldParser.FieldMetaSignature;
+import info.archinnov.achilles.internals.parser.ProjectionParser.ProjectionSignature;
 import info.archinnov.achilles.internals.parser.TypeUtils;
 import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
+import info.archinnov.achilles.type.tuples.Tuple3;
 
 public class ManagerCodeGen {
 
@@ -67,6 +74,20 @@ public class ManagerCodeGen {
                 dslClass.addMethod(buildDeleteStaticMethod(signature));
                 dslClass.addMethod(buildUpdateStaticMethod(signature));
             }
+
+            for (ProjectionSignature projectionSignature : signature.projectionSignatures) {
+                dslClass.addMethod(buildSelectAsProjectionMethod(signature, projectionSignature));
+            }
+
+            signature.fieldMetaSignatures
+                    .stream()
+                    .filter(x -> x.context.timeBucket.isPresent())
+                    .findFirst()
+                    .ifPresent(bucket -> dslClass.addMethod(buildBetweenTimesMethod(signature, bucket)));
+
+            if (signature.hasClustering()) {
+                dslClass.addMethod(buildSliceIteratorMethod(signature));
+            }
         }
 
 
@@ -193,6 +214,100 @@ public class ManagerCodeGen {
                 .build();
     }
 
+    private static MethodSpec buildSelectAsProjectionMethod(EntityMetaSignature signature, ProjectionSignature projectionSignature) {
+        final TypeName entityMeta = ClassName.get(ENTITY_META_PACKAGE, signature.className + META_SUFFIX);
+        final TypeName projectionClass = ClassName.get(PROJECTION_PACKAGE, projectionSignature.generatedClassName());
+        final TypeName returnType = genericType(PROJECTION_SELECT, signature.entityRawClass, projectionSignature.projectionType);
+        final MethodSpec.Builder builder = MethodSpec.methodBuilder("selectAs_" + projectionSignature.simpleName)
+                .addJavadoc("Generate a <strong>SELECT</strong> statement fetching only the columns of projection $T for a whole partition\n",
+                        projectionSignature.projectionType)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addStatement("$T keys = new $T<>()", LIST_OBJECT, ARRAY_LIST)
+                .addStatement("$T encodedKeys = new $T<>()", LIST_OBJECT, ARRAY_LIST);
+
+        signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == ColumnType.PARTITION)
+                .map(x -> Tuple3.of(x.context.fieldName, x.sourceType, (PartitionKeyInfo) x.context.columnInfo))
+                .sorted(CrudAPICodeGen.PARTITION_KEY_SORTER)
+                .forEach(tuple ->
+                        builder.addJavadoc("@param $L partition key '$L'\n", tuple._1(), tuple._1())
+                                .addParameter(tuple._2(), tuple._1(), Modifier.FINAL)
+                                .addStatement("$T.validateNotNull($L, $S, $S)", VALIDATOR, tuple._1(),
+                                        "Partition key '%s' should not be null", tuple._1())
+                                .addStatement("keys.add($L)", tuple._1())
+                                .addStatement("encodedKeys.add($T.$L.encodeFromJava($N, $T.empty()))",
+                                        entityMeta, tuple._1(), tuple._1(), OPTIONAL));
+
+        return builder
+                .addJavadoc("@return $T", returnType)
+                .addStatement("return new $T<>(rte, meta, $T.$L, keys.toArray(), encodedKeys.toArray())",
+                        PROJECTION_SELECT, projectionClass, "META")
+                .returns(returnType)
+                .build();
+    }
+
+    private static MethodSpec buildBetweenTimesMethod(EntityMetaSignature signature, FieldMetaSignature bucket) {
+        final String source = bucket.context.timeBucket.get().source();
+        final TypeName timeType = signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.fieldName.equals(source))
+                .map(x -> x.sourceType.box())
+                .findFirst()
+                .get();
+        final TypeName returnType = genericType(TIME_BUCKET_RANGE_SELECT, signature.entityRawClass);
+        final MethodSpec.Builder builder = MethodSpec.methodBuilder("betweenTimes")
+                .addJavadoc("Generate a <strong>SELECT</strong> statement reading all the time buckets covering [from, to)\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+
+        final StringJoiner keys = new StringJoiner(", ");
+        signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == ColumnType.PARTITION && !x.context.timeBucket.isPresent())
+                .map(x -> Tuple3.of(x.context.fieldName, x.sourceType, (PartitionKeyInfo) x.context.columnInfo))
+                .sorted(CrudAPICodeGen.PARTITION_KEY_SORTER)
+                .forEach(tuple -> {
+                    builder.addJavadoc("@param $L partition key '$L'\n", tuple._1(), tuple._1())
+                            .addParameter(tuple._2(), tuple._1(), Modifier.FINAL);
+                    keys.add(tuple._1());
+                });
+
+        return builder
+                .addJavadoc("@param from lower bound of '$L', inclusive\n", source)
+                .addJavadoc("@param to upper bound of '$L', exclusive\n", source)
+                .addJavadoc("@return $T", returnType)
+                .addParameter(timeType, "from", Modifier.FINAL)
+                .addParameter(timeType, "to", Modifier.FINAL)
+                .addStatement("return new $T<>(rte, meta, new $T[]{$L}, from, to)", TIME_BUCKET_RANGE_SELECT, TypeName.OBJECT, keys.toString())
+                .returns(returnType)
+                .build();
+    }
+
+    private static MethodSpec buildSliceIteratorMethod(EntityMetaSignature signature) {
+        final TypeName returnType = genericType(SLICE_SELECT, signature.entityRawClass);
+        final MethodSpec.Builder builder = MethodSpec.methodBuilder("sliceIterator")
+                .addJavadoc("Generate a <strong>SELECT</strong> statement reading the partition by pages, seeking after the last clustering tuple read\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+
+        final StringJoiner keys = new StringJoiner(", ");
+        signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.columnType == ColumnType.PARTITION)
+                .map(x -> Tuple3.of(x.context.fieldName, x.sourceType, (PartitionKeyInfo) x.context.columnInfo))
+                .sorted(CrudAPICodeGen.PARTITION_KEY_SORTER)
+                .forEach(tuple -> {
+                    builder.addJavadoc("@param $L partition key '$L'\n", tuple._1(), tuple._1())
+                            .addParameter(tuple._2(), tuple._1(), Modifier.FINAL);
+                    keys.add(tuple._1());
+                });
+
+        return builder
+                .addJavadoc("@return $T", returnType)
+                .addStatement("return new $T<>(rte, meta, new $T[]{$L})", SLICE_SELECT, TypeName.OBJECT, keys.toString())
+                .returns(returnType)
+                .build();
+    }
+
     private static MethodSpec buildDeleteMethod(EntityMetaSignature signature) {
         TypeName deleteTypeName = ClassName.get(DSL_PACKAGE, signature.className + DELETE_DSL_SUFFIX);
         return MethodSpec.methodBuilder("delete")
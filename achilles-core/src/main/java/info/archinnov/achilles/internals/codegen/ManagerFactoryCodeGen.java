@@ -173,7 +173,7 @@ public class ManagerFactoryCodeGen {
                 .addJavadoc("\n")
                 .addJavadoc("@return $T", returnType)
                 .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
-                .addStatement("return $L", signature.fieldName + MANAGER_SUFFIX)
+                .addStatement("return initializeLazily($L, $L)", signature.fieldName + META_SUFFIX, signature.fieldName + MANAGER_SUFFIX)
                 .returns(returnType)
                 .build();
 
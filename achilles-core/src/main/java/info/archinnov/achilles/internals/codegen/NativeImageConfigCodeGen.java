@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codegen;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Build the GraalVM <em>native-image</em> reflection configuration
+ * for the entities, UDTs and all the classes generated by Achilles.
+ * <br/>
+ * The file is written in the class output folder under {@link #NATIVE_IMAGE_CONFIG_FOLDER}
+ * so that the <em>native-image</em> tool picks it up automatically from the classpath
+ */
+public class NativeImageConfigCodeGen {
+
+    public static final String NATIVE_IMAGE_CONFIG_FOLDER = "META-INF/native-image/info.archinnov.achilles/achilles-generated/";
+    public static final String REFLECT_CONFIG_FILE = "reflect-config.json";
+
+    private static final String USER_TYPE_FLAGS = "\"allDeclaredConstructors\" : true, \"allDeclaredFields\" : true, \"allDeclaredMethods\" : true";
+    private static final String GENERATED_TYPE_FLAGS = "\"allPublicConstructors\" : true, \"allPublicFields\" : true, \"allPublicMethods\" : true";
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    /**
+     * Entity and UDT classes are instantiated and read by Jackson for JSON columns
+     */
+    public NativeImageConfigCodeGen addUserType(TypeName userType) {
+        entries.put(binaryName(userType), USER_TYPE_FLAGS);
+        return this;
+    }
+
+    public NativeImageConfigCodeGen addGeneratedType(String packageName, TypeSpec typeSpec) {
+        addTypeSpec(packageName + "." + typeSpec.name, typeSpec);
+        return this;
+    }
+
+    private void addTypeSpec(String binaryName, TypeSpec typeSpec) {
+        entries.putIfAbsent(binaryName, GENERATED_TYPE_FLAGS);
+        typeSpec.typeSpecs.stream()
+                .filter(nested -> nested.name != null)
+                .forEach(nested -> addTypeSpec(binaryName + "$" + nested.name, nested));
+    }
+
+    public String buildReflectConfig() {
+        return entries.entrySet()
+                .stream()
+                .map(entry -> format("  { \"name\" : \"%s\", %s }", entry.getKey(), entry.getValue()))
+                .collect(joining(",\n", "[\n", "\n]\n"));
+    }
+
+    private static String binaryName(TypeName typeName) {
+        if (typeName instanceof ClassName) {
+            final ClassName className = (ClassName) typeName;
+            final String simpleNames = className.simpleNames().stream().collect(joining("$"));
+            return className.packageName().isEmpty() ? simpleNames : className.packageName() + "." + simpleNames;
+        }
+        return typeName.toString();
+    }
+}
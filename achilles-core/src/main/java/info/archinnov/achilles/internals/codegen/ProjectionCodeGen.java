@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codegen;
+
+import static info.archinnov.achilles.internals.parser.TypeUtils.*;
+import static java.util.stream.Collectors.joining;
+
+import java.util.List;
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.*;
+
+import info.archinnov.achilles.internals.parser.ProjectionParser.ProjectedColumn;
+import info.archinnov.achilles.internals.parser.ProjectionParser.ProjectionSignature;
+
+public class ProjectionCodeGen {
+
+    private static final String META_FIELD = "META";
+    private static final String META_CLASS = "Meta";
+
+    public static TypeSpec buildProjectionClass(ProjectionSignature signature) {
+        final String className = signature.generatedClassName();
+        final ClassName projectionClass = ClassName.get(PROJECTION_PACKAGE, className);
+        final ClassName metaClass = projectionClass.nestedClass(META_CLASS);
+        final List<ProjectedColumn> columns = signature.columns;
+
+        final TypeSpec.Builder builder = TypeSpec.classBuilder(className)
+                .addJavadoc("Projection of $T on entity $T, generated by Achilles\n", signature.projectionType, signature.entitySignature.entityRawClass)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(signature.projectionType)
+                .addField(FieldSpec.builder(metaClass, META_FIELD, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", metaClass)
+                        .build());
+
+        final MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC);
+        for (ProjectedColumn column : columns) {
+            final String fieldName = column.field.context.fieldName;
+            final TypeName fieldType = column.field.sourceType;
+            builder.addField(fieldType, fieldName, Modifier.PRIVATE, Modifier.FINAL);
+            constructor.addParameter(fieldType, fieldName).addStatement("this.$N = $N", fieldName, fieldName);
+            builder.addMethod(MethodSpec.methodBuilder(column.getterName)
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(fieldType)
+                    .addStatement("return $N", fieldName)
+                    .build());
+        }
+
+        return builder
+                .addMethod(constructor.build())
+                .addMethod(buildEquals(projectionClass, columns))
+                .addMethod(buildHashCode(columns))
+                .addMethod(buildToString(className, columns))
+                .addType(buildMetaClass(signature, projectionClass, metaClass))
+                .build();
+    }
+
+    private static TypeSpec buildMetaClass(ProjectionSignature signature, ClassName projectionClass, ClassName metaClass) {
+        final TypeName entityMeta = ClassName.get(ENTITY_META_PACKAGE, signature.entitySignature.className + META_SUFFIX);
+        final TypeName entityType = signature.entitySignature.entityRawClass;
+        final List<ProjectedColumn> columns = signature.columns;
+
+        final CodeBlock.Builder columnsList = CodeBlock.builder().add("$T.asList(", ARRAYS);
+        final CodeBlock.Builder decodedValues = CodeBlock.builder();
+        for (int i = 0; i < columns.size(); i++) {
+            final String fieldName = columns.get(i).field.context.fieldName;
+            final String separator = i == 0 ? "" : ", ";
+            columnsList.add("$L$T.$N", separator, entityMeta, fieldName);
+            decodedValues.add("$L\n$T.$N.decodeFromRow(row, $L)", separator, entityMeta, fieldName, i);
+        }
+        columnsList.add(")");
+
+        return TypeSpec.classBuilder(metaClass.simpleName())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .superclass(genericType(ABSTRACT_PROJECTION_PROPERTY, entityType, signature.projectionType))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addStatement("super($T.class, $L)", signature.projectionType, columnsList.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("createFrom")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(ROW, "row")
+                        .returns(signature.projectionType)
+                        .addStatement("return new $T($L)", projectionClass, decodedValues.build())
+                        .build())
+                .build();
+    }
+
+    private static MethodSpec buildEquals(ClassName projectionClass, List<ProjectedColumn> columns) {
+        final String comparisons = columns
+                .stream()
+                .map(x -> String.format("$T.deepEquals(%1$s, that.%1$s)", x.field.context.fieldName))
+                .collect(joining(" &&\n"));
+
+        return MethodSpec.methodBuilder("equals")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.OBJECT, "o")
+                .returns(TypeName.BOOLEAN)
+                .addStatement("if (this == o) return true")
+                .addStatement("if (o == null || getClass() != o.getClass()) return false")
+                .addStatement("$T that = ($T) o", projectionClass, projectionClass)
+                .addStatement("return " + comparisons, columns.stream().map(x -> OBJECTS).toArray())
+                .build();
+    }
+
+    private static MethodSpec buildHashCode(List<ProjectedColumn> columns) {
+        final String fields = columns
+                .stream()
+                .map(x -> x.field.context.fieldName)
+                .collect(joining(", "));
+
+        return MethodSpec.methodBuilder("hashCode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return $T.deepHashCode(new $T[]{$L})", ARRAYS, TypeName.OBJECT, fields)
+                .build();
+    }
+
+    private static MethodSpec buildToString(String className, List<ProjectedColumn> columns) {
+        final CodeBlock.Builder body = CodeBlock.builder().add("return $S", className + "{");
+        for (int i = 0; i < columns.size(); i++) {
+            final String fieldName = columns.get(i).field.context.fieldName;
+            body.add(" + $S + $N", (i == 0 ? "" : ", ") + fieldName + "=", fieldName);
+        }
+        body.add(" + $S", "}");
+
+        return MethodSpec.methodBuilder("toString")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ClassName.get(String.class))
+                .addStatement("$L", body.build())
+                .build();
+    }
+}
@@ -27,6 +27,7 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -47,6 +48,7 @@ import info.archinnov.achilles.internals.metamodel.columns.*;
 import info.archinnov.achilles.internals.metamodel.index.IndexType;
 import info.archinnov.achilles.internals.parser.AnnotationTree;
 import info.archinnov.achilles.internals.parser.FieldParser.FieldMetaSignature;
+import info.archinnov.achilles.internals.parser.ProjectionParser.ProjectionSignature;
 import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
 import info.archinnov.achilles.internals.parser.validator.BeanValidator;
 import info.archinnov.achilles.internals.parser.validator.FieldValidator;
@@ -103,6 +105,7 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         }
 
         beanValidator.validateComputed(aptUtils, rawClassTypeName, fieldMetaSignatures);
+        beanValidator.validateTimeBucket(aptUtils, rawClassTypeName, fieldMetaSignatures);
         beanValidator.validateCqlColumnNotReservedWords(aptUtils, rawClassTypeName, fieldMetaSignatures);
 
         fieldValidator.validateCorrectKeysOrder(aptUtils, rawClassTypeName, fieldMetaSignatures
@@ -166,14 +169,19 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
                     .addMethod(buildGetStaticInsertStrategy(strategy))
                     .addMethod(buildStaticColumns(fieldMetaSignatures, rawBeanType))
                     .addMethod(buildCounterColumns(fieldMetaSignatures, rawBeanType));
+
+            buildTimeBucket(fieldMetaSignatures, rawBeanType).ifPresent(builder::addMethod);
         } else if (entityType == EntityType.VIEW && globalParsingContext.supportsFeature(MATERIALIZED_VIEW)) {
+            aptUtils.validateFalse(fieldMetaSignatures.stream().anyMatch(x -> x.context.timeBucket.isPresent()),
+                    "The class '%s' cannot have @TimeBucket fields because it is a materialized view", rawClassTypeName);
             builder.superclass(genericType(ABSTRACT_VIEW_PROPERTY, rawBeanType))
                     .addMethod(buildStaticKeyspace(aptUtils.getAnnotationOnClass(elm, MaterializedView.class).get().keyspace()))
                     .addMethod(buildStaticTableOrViewName(aptUtils.getAnnotationOnClass(elm, MaterializedView.class).get().view()))
                     .addMethod(buildGetBaseEntityClass(viewBaseClass.get()));
         }
 
-        builder.addMethod(buildNewInstanceFromCustomConstructor(customConstructorFieldMetaSignatures, rawClassTypeName));
+        builder.addMethod(buildNewInstanceFromCustomConstructor(customConstructorFieldMetaSignatures, rawClassTypeName))
+                .addMethod(buildGetInstantiator(customConstructorFieldMetaSignatures, rawClassTypeName));
 
         for(FieldMetaSignature x: fieldMetaSignatures) {
             builder.addField(x.buildPropertyAsField());
@@ -218,6 +226,22 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         return methodSpec.build();
     }
 
+    private MethodSpec buildGetInstantiator(List<FieldMetaSignature> customConstructorFieldMetaSignatures, TypeName rawClassTypeName) {
+        final MethodSpec.Builder methodSpec = MethodSpec
+                .methodBuilder("getInstantiator")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(genericType(OPTIONAL, genericType(SUPPLIER, rawClassTypeName)));
+
+        if (customConstructorFieldMetaSignatures.size() > 0) {
+            methodSpec.addStatement("return $T.empty()", OPTIONAL);
+        } else {
+            methodSpec.addStatement("return $T.of($T::new)", OPTIONAL, rawClassTypeName);
+        }
+
+        return methodSpec.build();
+    }
+
     private MethodSpec buildFieldNameToCqlColumn(List<FieldMetaSignature> parsingResults) {
         final MethodSpec.Builder builder = MethodSpec.methodBuilder("fieldNameToCqlColumn")
                 .addAnnotation(Override.class)
@@ -341,6 +365,20 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
                 .build();
     }
 
+    private Optional<MethodSpec> buildTimeBucket(List<FieldMetaSignature> parsingResults, TypeName rawClassType) {
+        return parsingResults
+                .stream()
+                .filter(x -> x.context.timeBucket.isPresent())
+                .findFirst()
+                .map(x -> MethodSpec.methodBuilder("getTimeBucket")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PROTECTED)
+                        .returns(genericType(OPTIONAL, genericType(TIME_BUCKET_PROPERTY, rawClassType)))
+                        .addStatement("return $T.of(new $T<>($L, $L, $T.$L))", OPTIONAL, TIME_BUCKET_PROPERTY,
+                                x.context.fieldName, x.context.timeBucket.get().source(), TIME_UNIT, x.context.timeBucket.get().unit().name())
+                        .build());
+    }
+
     private MethodSpec buildComputedColumns(List<FieldMetaSignature> parsingResults, TypeName rawClassType) {
         StringJoiner joiner = new StringJoiner(",");
         parsingResults
@@ -541,6 +579,7 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         public final EntityType entityType;
         public final Optional<TypeName> viewBaseClass;
         public final List<FieldMetaSignature> constructorInjectedFieldMetaSignatures;
+        public final List<ProjectionSignature> projectionSignatures = new ArrayList<>();
 
         public EntityMetaSignature(EntityType entityType, TypeSpec sourceCode, String className, TypeName typeName, TypeName entityRawClass, Optional<TypeName> viewBaseClass, List<FieldMetaSignature> fieldMetaSignatures, List<FieldMetaSignature> constructorInjectedFieldMetaSignatures) {
             this.entityType = entityType;
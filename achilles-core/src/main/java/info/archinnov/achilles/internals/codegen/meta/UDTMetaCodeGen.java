@@ -68,7 +68,8 @@ public class UDTMetaCodeGen implements CommonBeanMetaCodeGen {
                 .addMethod(buildComponentsProperty(rawBeanType, fieldMetaSignatures))
                 .addMethod(buildConstructorInjectedProperties(rawBeanType, customConstructorFieldMetaSignatures))
                 .addMethod(buildCreateUDTFromBeanT(rawBeanType, fieldMetaSignatures))
-                .addMethod(buildNewInstanceFromCustomConstructor(rawBeanType, customConstructorFieldMetaSignatures));
+                .addMethod(buildNewInstanceFromCustomConstructor(rawBeanType, customConstructorFieldMetaSignatures))
+                .addMethod(buildGetInstantiator(customConstructorFieldMetaSignatures, rawBeanType));
 
         for (FieldMetaSignature x : fieldMetaSignatures) {
             builder.addField(x.buildPropertyAsField());
@@ -247,4 +248,20 @@ public class UDTMetaCodeGen implements CommonBeanMetaCodeGen {
 
         return methodSpec.build();
     }
+
+    private MethodSpec buildGetInstantiator(List<FieldMetaSignature> customConstructorFieldMetaSignatures, TypeName rawClassTypeName) {
+        final MethodSpec.Builder methodSpec = MethodSpec
+                .methodBuilder("getInstantiator")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(genericType(OPTIONAL, genericType(SUPPLIER, rawClassTypeName)));
+
+        if (customConstructorFieldMetaSignatures.size() > 0) {
+            methodSpec.addStatement("return $T.empty()", OPTIONAL);
+        } else {
+            methodSpec.addStatement("return $T.of($T::new)", OPTIONAL, rawClassTypeName);
+        }
+
+        return methodSpec.build();
+    }
 }
@@ -35,6 +35,7 @@ import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.interceptor.DefaultPostLoadBeanValidationInterceptor;
 import info.archinnov.achilles.internals.interceptor.DefaultPreMutateBeanValidationInterceptor;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.json.JacksonMapperFactory;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
@@ -56,6 +57,10 @@ public class ConfigurationContext {
 
     private List<Class<?>> manageEntities;
 
+    private boolean lazyEntityInitialization;
+
+    private boolean lazyEntityWarmUp;
+
     private JacksonMapperFactory jacksonMapperFactory;
 
     private Optional<ConsistencyLevel> defaultReadConsistencyLevel;
@@ -95,6 +100,56 @@ public class ConfigurationContext {
 
     private Integer DMLResultsDisplaySize;
 
+    private int asyncDMLLogBufferSize;
+
+    private double asyncDMLLogSamplingRate;
+
+    private Map<Class<?>, Double> asyncDMLLogSamplingRateMap;
+
+    private long asyncDMLLogMaxBytesPerSecond;
+
+    private long slowQueryThresholdInMillis;
+
+    private Map<OperationType, Long> slowQueryThresholdByOperation = new HashMap<>();
+
+    private Map<Class<?>, Long> slowQueryThresholdByEntity = new HashMap<>();
+
+    private int slowQueryTopN = 100;
+
+    private int slowQueryTraceSampleCount;
+
+    private int slowQueryBoundValuesMaxLength;
+
+    private boolean slowQueryJMXEnabled;
+
+    private long adaptiveFetchSizeTargetPageBytes = 1024L * 1024L;
+
+    private long adaptiveFetchSizeTargetPageMillis = 1000L;
+
+    private int adaptiveFetchSizeMin = 50;
+
+    private int adaptiveFetchSizeMax = 10_000;
+
+    private long resultCacheMaxRows = 10_000L;
+
+    private int batchSizeThresholdBytes = 5 * 1024;
+
+    private boolean serverWarningTrackingEnabled = false;
+
+    private long serverWarningLogIntervalMillis = 60_000L;
+
+    private int hotPartitionTopK;
+
+    private double hotPartitionSamplingRate = 1.0;
+
+    private long hotPartitionWindowSeconds = 60L;
+
+    private boolean hotPartitionJMXEnabled;
+
+    private int LWTPartitionSerializationQueueDepth;
+
+    private boolean LWTConflictShortCircuit;
+
     public boolean isForceSchemaGeneration() {
         return forceSchemaGeneration;
     }
@@ -119,6 +174,22 @@ public class ConfigurationContext {
         this.manageEntities = manageEntities;
     }
 
+    public boolean isLazyEntityInitialization() {
+        return lazyEntityInitialization;
+    }
+
+    public void setLazyEntityInitialization(boolean lazyEntityInitialization) {
+        this.lazyEntityInitialization = lazyEntityInitialization;
+    }
+
+    public boolean isLazyEntityWarmUp() {
+        return lazyEntityWarmUp;
+    }
+
+    public void setLazyEntityWarmUp(boolean lazyEntityWarmUp) {
+        this.lazyEntityWarmUp = lazyEntityWarmUp;
+    }
+
     public JacksonMapperFactory getJacksonMapperFactory() {
         return jacksonMapperFactory;
     }
@@ -370,4 +441,204 @@ public class ConfigurationContext {
     public void setDMLResultsDisplaySize(Integer DMLResultsDisplaySize) {
         this.DMLResultsDisplaySize = DMLResultsDisplaySize;
     }
+
+    public int getAsyncDMLLogBufferSize() {
+        return asyncDMLLogBufferSize;
+    }
+
+    public void setAsyncDMLLogBufferSize(int asyncDMLLogBufferSize) {
+        this.asyncDMLLogBufferSize = asyncDMLLogBufferSize;
+    }
+
+    public double getAsyncDMLLogSamplingRate() {
+        return asyncDMLLogSamplingRate;
+    }
+
+    public void setAsyncDMLLogSamplingRate(double asyncDMLLogSamplingRate) {
+        this.asyncDMLLogSamplingRate = asyncDMLLogSamplingRate;
+    }
+
+    public Map<Class<?>, Double> getAsyncDMLLogSamplingRateMap() {
+        return asyncDMLLogSamplingRateMap;
+    }
+
+    public void setAsyncDMLLogSamplingRateMap(Map<Class<?>, Double> asyncDMLLogSamplingRateMap) {
+        this.asyncDMLLogSamplingRateMap = asyncDMLLogSamplingRateMap;
+    }
+
+    public long getAsyncDMLLogMaxBytesPerSecond() {
+        return asyncDMLLogMaxBytesPerSecond;
+    }
+
+    public void setAsyncDMLLogMaxBytesPerSecond(long asyncDMLLogMaxBytesPerSecond) {
+        this.asyncDMLLogMaxBytesPerSecond = asyncDMLLogMaxBytesPerSecond;
+    }
+
+    public long getSlowQueryThresholdInMillis() {
+        return slowQueryThresholdInMillis;
+    }
+
+    public void setSlowQueryThresholdInMillis(long slowQueryThresholdInMillis) {
+        this.slowQueryThresholdInMillis = slowQueryThresholdInMillis;
+    }
+
+    public Map<OperationType, Long> getSlowQueryThresholdByOperation() {
+        return slowQueryThresholdByOperation;
+    }
+
+    public void setSlowQueryThresholdByOperation(Map<OperationType, Long> slowQueryThresholdByOperation) {
+        this.slowQueryThresholdByOperation = slowQueryThresholdByOperation;
+    }
+
+    public Map<Class<?>, Long> getSlowQueryThresholdByEntity() {
+        return slowQueryThresholdByEntity;
+    }
+
+    public void setSlowQueryThresholdByEntity(Map<Class<?>, Long> slowQueryThresholdByEntity) {
+        this.slowQueryThresholdByEntity = slowQueryThresholdByEntity;
+    }
+
+    public int getSlowQueryTopN() {
+        return slowQueryTopN;
+    }
+
+    public void setSlowQueryTopN(int slowQueryTopN) {
+        this.slowQueryTopN = slowQueryTopN;
+    }
+
+    public int getSlowQueryTraceSampleCount() {
+        return slowQueryTraceSampleCount;
+    }
+
+    public void setSlowQueryTraceSampleCount(int slowQueryTraceSampleCount) {
+        this.slowQueryTraceSampleCount = slowQueryTraceSampleCount;
+    }
+
+    public int getSlowQueryBoundValuesMaxLength() {
+        return slowQueryBoundValuesMaxLength;
+    }
+
+    public void setSlowQueryBoundValuesMaxLength(int slowQueryBoundValuesMaxLength) {
+        this.slowQueryBoundValuesMaxLength = slowQueryBoundValuesMaxLength;
+    }
+
+    public boolean isSlowQueryJMXEnabled() {
+        return slowQueryJMXEnabled;
+    }
+
+    public void setSlowQueryJMXEnabled(boolean slowQueryJMXEnabled) {
+        this.slowQueryJMXEnabled = slowQueryJMXEnabled;
+    }
+
+    public long getAdaptiveFetchSizeTargetPageBytes() {
+        return adaptiveFetchSizeTargetPageBytes;
+    }
+
+    public void setAdaptiveFetchSizeTargetPageBytes(long adaptiveFetchSizeTargetPageBytes) {
+        this.adaptiveFetchSizeTargetPageBytes = adaptiveFetchSizeTargetPageBytes;
+    }
+
+    public long getAdaptiveFetchSizeTargetPageMillis() {
+        return adaptiveFetchSizeTargetPageMillis;
+    }
+
+    public void setAdaptiveFetchSizeTargetPageMillis(long adaptiveFetchSizeTargetPageMillis) {
+        this.adaptiveFetchSizeTargetPageMillis = adaptiveFetchSizeTargetPageMillis;
+    }
+
+    public int getAdaptiveFetchSizeMin() {
+        return adaptiveFetchSizeMin;
+    }
+
+    public void setAdaptiveFetchSizeMin(int adaptiveFetchSizeMin) {
+        this.adaptiveFetchSizeMin = adaptiveFetchSizeMin;
+    }
+
+    public int getAdaptiveFetchSizeMax() {
+        return adaptiveFetchSizeMax;
+    }
+
+    public void setAdaptiveFetchSizeMax(int adaptiveFetchSizeMax) {
+        this.adaptiveFetchSizeMax = adaptiveFetchSizeMax;
+    }
+
+    public long getResultCacheMaxRows() {
+        return resultCacheMaxRows;
+    }
+
+    public void setResultCacheMaxRows(long resultCacheMaxRows) {
+        this.resultCacheMaxRows = resultCacheMaxRows;
+    }
+
+    public int getBatchSizeThresholdBytes() {
+        return batchSizeThresholdBytes;
+    }
+
+    public void setBatchSizeThresholdBytes(int batchSizeThresholdBytes) {
+        this.batchSizeThresholdBytes = batchSizeThresholdBytes;
+    }
+
+    public boolean isServerWarningTrackingEnabled() {
+        return serverWarningTrackingEnabled;
+    }
+
+    public void setServerWarningTrackingEnabled(boolean serverWarningTrackingEnabled) {
+        this.serverWarningTrackingEnabled = serverWarningTrackingEnabled;
+    }
+
+    public long getServerWarningLogIntervalMillis() {
+        return serverWarningLogIntervalMillis;
+    }
+
+    public void setServerWarningLogIntervalMillis(long serverWarningLogIntervalMillis) {
+        this.serverWarningLogIntervalMillis = serverWarningLogIntervalMillis;
+    }
+
+    public int getHotPartitionTopK() {
+        return hotPartitionTopK;
+    }
+
+    public void setHotPartitionTopK(int hotPartitionTopK) {
+        this.hotPartitionTopK = hotPartitionTopK;
+    }
+
+    public double getHotPartitionSamplingRate() {
+        return hotPartitionSamplingRate;
+    }
+
+    public void setHotPartitionSamplingRate(double hotPartitionSamplingRate) {
+        this.hotPartitionSamplingRate = hotPartitionSamplingRate;
+    }
+
+    public long getHotPartitionWindowSeconds() {
+        return hotPartitionWindowSeconds;
+    }
+
+    public void setHotPartitionWindowSeconds(long hotPartitionWindowSeconds) {
+        this.hotPartitionWindowSeconds = hotPartitionWindowSeconds;
+    }
+
+    public boolean isHotPartitionJMXEnabled() {
+        return hotPartitionJMXEnabled;
+    }
+
+    public void setHotPartitionJMXEnabled(boolean hotPartitionJMXEnabled) {
+        this.hotPartitionJMXEnabled = hotPartitionJMXEnabled;
+    }
+
+    public int getLWTPartitionSerializationQueueDepth() {
+        return LWTPartitionSerializationQueueDepth;
+    }
+
+    public void setLWTPartitionSerializationQueueDepth(int LWTPartitionSerializationQueueDepth) {
+        this.LWTPartitionSerializationQueueDepth = LWTPartitionSerializationQueueDepth;
+    }
+
+    public boolean isLWTConflictShortCircuit() {
+        return LWTConflictShortCircuit;
+    }
+
+    public void setLWTConflictShortCircuit(boolean LWTConflictShortCircuit) {
+        this.LWTConflictShortCircuit = LWTConflictShortCircuit;
+    }
 }
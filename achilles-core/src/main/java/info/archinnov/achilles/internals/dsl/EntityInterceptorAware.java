@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl;
+
+/**
+ * Mutation bound to an entity instance, for which the PRE and POST interceptors
+ * must be triggered around the execution
+ */
+public interface EntityInterceptorAware {
+
+    /**
+     * Trigger the PRE_INSERT, PRE_UPDATE or PRE_DELETE interceptors on the entity instance
+     */
+    void triggerPreMutationInterceptors();
+
+    /**
+     * Trigger the POST_INSERT, POST_UPDATE or POST_DELETE interceptors on the entity instance
+     */
+    void triggerPostMutationInterceptors();
+}
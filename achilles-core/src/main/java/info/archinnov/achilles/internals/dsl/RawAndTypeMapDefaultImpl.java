@@ -21,6 +21,7 @@ import static java.lang.String.format;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ExecutionInfo;
@@ -51,18 +52,23 @@ public interface RawAndTypeMapDefaultImpl extends TypedMapAware, StatementTypeAw
     default CompletableFuture<Tuple2<List<TypedMap>, ExecutionInfo>> getTypedMapsAsyncWithStats() {
         final StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement()),
                 meta(), boundStatement(), encodedBoundValues());
+        if (options().isAdaptiveFetchSize()) {
+            statementWrapper.enableAdaptiveFetchSize();
+        }
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Select async with execution info : %s",
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
-        CompletableFuture<ResultSet> futureRS = runtimeEngine().execute(statementWrapper);
-
-        return futureRS
+        final Supplier<CompletableFuture<Tuple2<List<TypedMap>, ExecutionInfo>>> load = () -> runtimeEngine().execute(statementWrapper)
                 .thenApply(options()::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options().computeMaxDisplayedResults(runtimeEngine().configContext)))
                 .thenApply(statementWrapper::logTrace)
                 .thenApply(x -> Tuple2.of(mapResultSetToTypedMaps(x), x.getExecutionInfo()));
+
+        return options().getResultCacheTTL()
+                .map(ttl -> runtimeEngine().resultCache.getOrLoad(boundStatement(), TypedMap.class.getName(), ttl, load))
+                .orElseGet(load);
     }
 
     @Override
@@ -88,6 +94,9 @@ public interface RawAndTypeMapDefaultImpl extends TypedMapAware, StatementTypeAw
     default Iterator<TypedMap> typedMapIterator() {
         StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement()),
                 meta(), boundStatement(), encodedBoundValues());
+        if (options().isAdaptiveFetchSize()) {
+            statementWrapper.enableAdaptiveFetchSize();
+        }
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Generate iterator for typed query : %s",
@@ -25,6 +25,8 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.type.columnar.ColumnarBatch;
+import info.archinnov.achilles.type.columnar.ColumnarBufferAllocator;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public interface SelectAction<ENTITY> extends AsyncAware {
@@ -45,6 +47,33 @@ public interface SelectAction<ENTITY> extends AsyncAware {
      */
     Tuple2<Iterator<ENTITY>, ExecutionInfo> iteratorWithExecutionInfo();
 
+    /**
+     * Execute the SELECT action
+     * and return an {@link java.util.Iterator} of {@link info.archinnov.achilles.type.columnar.ColumnarBatch}
+     * of at most <em>batchRows</em> rows each, decoded column by column without creating entity instances.
+     * Column buffers are allocated on the Java heap
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     *
+     * @param batchRows max number of rows per batch
+     */
+    default Iterator<ColumnarBatch> columnarBatches(int batchRows) {
+        return columnarBatches(batchRows, ColumnarBufferAllocator.HEAP);
+    }
+
+    /**
+     * Execute the SELECT action
+     * and return an {@link java.util.Iterator} of {@link info.archinnov.achilles.type.columnar.ColumnarBatch}
+     * of at most <em>batchRows</em> rows each, decoded column by column without creating entity instances.
+     * Use {@link info.archinnov.achilles.type.columnar.ColumnarBufferAllocator#OFF_HEAP} for very large exports
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     *
+     * @param batchRows max number of rows per batch
+     * @param allocator allocator of the buffers backing primitive column vectors
+     */
+    Iterator<ColumnarBatch> columnarBatches(int batchRows, ColumnarBufferAllocator allocator);
+
     /**
      * Execute the SELECT action
      * and return the first entity instance
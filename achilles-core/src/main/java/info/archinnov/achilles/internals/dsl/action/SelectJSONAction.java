@@ -16,6 +16,8 @@
 
 package info.archinnov.achilles.internals.dsl.action;
 
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -25,6 +27,8 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.types.NDJSONWriter;
+import info.archinnov.achilles.type.json.NDJSONWriteStats;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public interface SelectJSONAction extends AsyncAware {
@@ -123,6 +127,47 @@ public interface SelectJSONAction extends AsyncAware {
         }
     }
 
+    /**
+     * Execute the SELECT JSON * action and stream all the rows
+     * to the given {@link java.io.OutputStream} as newline-delimited JSON.
+     * The output is flushed every 64kb and once at the end, it is not closed
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     */
+    default NDJSONWriteStats writeTo(OutputStream outputStream) {
+        return writeTo(outputStream, NDJSONWriter.DEFAULT_FLUSH_BUDGET_BYTES);
+    }
+
+    /**
+     * Execute the SELECT JSON * action and stream all the rows
+     * to the given {@link java.io.OutputStream} as newline-delimited JSON.
+     * The output is flushed every time <em>flushBudgetBytes</em> have been buffered
+     * and once at the end, it is not closed
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     */
+    NDJSONWriteStats writeTo(OutputStream outputStream, int flushBudgetBytes);
+
+    /**
+     * Execute the SELECT JSON * action and stream all the rows
+     * to the given {@link java.nio.channels.WritableByteChannel} as newline-delimited JSON,
+     * by blocks of 64kb. The channel is not closed
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     */
+    default NDJSONWriteStats writeTo(WritableByteChannel channel) {
+        return writeTo(channel, NDJSONWriter.DEFAULT_FLUSH_BUDGET_BYTES);
+    }
+
+    /**
+     * Execute the SELECT JSON * action and stream all the rows
+     * to the given {@link java.nio.channels.WritableByteChannel} as newline-delimited JSON,
+     * by blocks of <em>flushBudgetBytes</em>. The channel is not closed
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     */
+    NDJSONWriteStats writeTo(WritableByteChannel channel, int flushBudgetBytes);
+
     /**
      * Execute the SELECT JSON * action asynchronously
      * and return a {@link java.util.concurrent.CompletableFuture} of
@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl.batch;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.EntityInterceptorAware;
+import info.archinnov.achilles.internals.dsl.LWTHelper;
+import info.archinnov.achilles.internals.dsl.StatementProvider;
+import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.type.Empty;
+import info.archinnov.achilles.type.batch.BatchExecutionInfo;
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Collect INSERT, UPDATE and DELETE statements from any manager (CRUD or DSL) and execute them as batches.
+ * <br/>
+ * <br/>
+ * With <strong>LOGGED</strong> batches (default), all the statements are sent in the same batch so that they
+ * are applied atomically across partitions. With <strong>UNLOGGED</strong> batches, statements are grouped
+ * by partition and each group is sent as a separate batch, in parallel.
+ * <br/>
+ * <br/>
+ * A batch whose estimated size (the size of its bound values) exceeds the size threshold is split into
+ * several batches. For LOGGED batches, atomicity is then only guaranteed within each batch.
+ * <br/>
+ * <br/>
+ * Cassandra only accepts counter mutations in <strong>COUNTER</strong> batches, which cannot contain
+ * other mutations. Statements on counter tables are therefore sent in separate COUNTER batches
+ * (grouped like the other statements), they are not atomic with the non-counter statements.
+ * <br/>
+ * <br/>
+ * PRE interceptors of CRUD operations are triggered when the operation is added, POST interceptors once
+ * all the batches have been successfully executed. LightWeight Transaction operations are not accepted
+ * <pre class="code"><code class="java">
+ * managerFactory
+ *     .batch()
+ *     .add(userManager.crud().insert(user))
+ *     .add(userByEmailManager.crud().insert(userByEmail))
+ *     .add(userCounterManager.dsl().update().fromBaseTable().count().Incr().where().id().Eq(userId))
+ *     .execute();
+ * </code></pre>
+ */
+public class UnitOfWork implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnitOfWork.class);
+
+    private final RuntimeEngine rte;
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+    private final List<BoundStatement> statements = new ArrayList<>();
+    private final Set<BoundStatement> counterStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, Boolean> counterTables = new HashMap<>();
+    private final List<EntityInterceptorAware> interceptorAwares = new ArrayList<>();
+    private BatchStatement.Type type = BatchStatement.Type.LOGGED;
+    private int sizeThresholdInBytes;
+    private Optional<ConsistencyLevel> consistencyLevel = Optional.empty();
+    private Optional<Long> defaultTimestamp = Optional.empty();
+
+    public UnitOfWork(RuntimeEngine rte, ProtocolVersion protocolVersion, CodecRegistry codecRegistry, int sizeThresholdInBytes) {
+        this.rte = rte;
+        this.protocolVersion = protocolVersion;
+        this.codecRegistry = codecRegistry;
+        this.sizeThresholdInBytes = sizeThresholdInBytes;
+    }
+
+    /**
+     * Add a mutation (CRUD insert/update/delete or DSL update/delete) to the unit of work.
+     * The statement is bound immediately, later changes on the mutation have no effect
+     */
+    public <T extends MutationAction & StatementProvider> UnitOfWork add(T mutation) {
+        Validator.validateNotNull(mutation, "The mutation added to the batch should not be null");
+        final String queryString = mutation.getStatementAsString();
+        Validator.validateFalse(LWTHelper.isLWTOperation(queryString),
+                "LightWeight Transaction operation '%s' cannot be added to a batch", queryString);
+        if (mutation instanceof EntityInterceptorAware) {
+            ((EntityInterceptorAware) mutation).triggerPreMutationInterceptors();
+        }
+        final BoundStatement boundStatement = mutation.generateAndGetBoundStatement();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Add statement %s to unit of work", queryString));
+        }
+        statements.add(boundStatement);
+        if (isCounterTable(boundStatement)) {
+            counterStatements.add(boundStatement);
+        }
+        if (mutation instanceof EntityInterceptorAware) {
+            interceptorAwares.add((EntityInterceptorAware) mutation);
+        }
+        return this;
+    }
+
+    /**
+     * Send all the statements in a LOGGED batch, atomic across partitions. This is the default
+     */
+    public UnitOfWork logged() {
+        this.type = BatchStatement.Type.LOGGED;
+        return this;
+    }
+
+    /**
+     * Group the statements by partition and send each group in an UNLOGGED batch
+     */
+    public UnitOfWork unlogged() {
+        this.type = BatchStatement.Type.UNLOGGED;
+        return this;
+    }
+
+    /**
+     * Override the size threshold defined at bootstrap with <em>withBatchSizeThresholdInBytes(int)</em>
+     */
+    public UnitOfWork withSizeThresholdInBytes(int sizeThresholdInBytes) {
+        Validator.validateTrue(sizeThresholdInBytes > 0, "The batch size threshold '%s' should be strictly positive", sizeThresholdInBytes);
+        this.sizeThresholdInBytes = sizeThresholdInBytes;
+        return this;
+    }
+
+    /**
+     * Consistency level of the batches. By default the consistency level of the first statement is used
+     */
+    public UnitOfWork withConsistencyLevel(ConsistencyLevel consistencyLevel) {
+        this.consistencyLevel = Optional.ofNullable(consistencyLevel);
+        return this;
+    }
+
+    /**
+     * Default write timestamp in microseconds for the statements that do not define their own timestamp
+     */
+    public UnitOfWork withTimestamp(long timestampInMicros) {
+        this.defaultTimestamp = Optional.of(timestampInMicros);
+        return this;
+    }
+
+    /**
+     * Execute the unit of work
+     */
+    public void execute() {
+        try {
+            Uninterruptibles.getUninterruptibly(executeAsync());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute the unit of work
+     * and return a {@link info.archinnov.achilles.type.batch.BatchExecutionInfo} object
+     */
+    public BatchExecutionInfo executeWithStats() {
+        try {
+            return Uninterruptibles.getUninterruptibly(executeAsyncWithStats());
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute the unit of work asynchronously
+     * and return a {@link java.util.concurrent.CompletableFuture}
+     * of {@link info.archinnov.achilles.type.Empty} object
+     */
+    public CompletableFuture<Empty> executeAsync() {
+        return executeAsyncWithStats().thenApply(x -> Empty.INSTANCE);
+    }
+
+    /**
+     * Execute the unit of work asynchronously
+     * and return a {@link java.util.concurrent.CompletableFuture}
+     * of {@link info.archinnov.achilles.type.batch.BatchExecutionInfo} object
+     */
+    public CompletableFuture<BatchExecutionInfo> executeAsyncWithStats() {
+        Validator.validateNotEmpty(statements, "Cannot execute an empty batch");
+
+        final List<BatchStatement> batches = buildBatches();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Execute %s statements as %s %s batches", statements.size(), batches.size(), type));
+        }
+
+        final List<CompletableFuture<ResultSet>> futures = batches
+                .stream()
+                .map(rte::execute)
+                .collect(Collectors.toList());
+
+        return CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(x -> futures
+                        .stream()
+                        .map(future -> future.join().getExecutionInfo())
+                        .collect(Collectors.toList()))
+                .thenApply(executionInfos -> {
+                    interceptorAwares.forEach(EntityInterceptorAware::triggerPostMutationInterceptors);
+                    return new BatchExecutionInfo(type, statements.size(), executionInfos);
+                });
+    }
+
+    List<BatchStatement> buildBatches() {
+        final ConsistencyLevel batchConsistency = consistencyLevel.orElseGet(() -> statements
+                .stream()
+                .map(Statement::getConsistencyLevel)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null));
+
+        final List<BoundStatement> regularStatements = new ArrayList<>();
+        final List<BoundStatement> counterStatementsInOrder = new ArrayList<>();
+        for (BoundStatement statement : statements) {
+            (counterStatements.contains(statement) ? counterStatementsInOrder : regularStatements).add(statement);
+        }
+
+        final List<BatchStatement> batches = new ArrayList<>();
+        buildBatches(regularStatements, type, batchConsistency, batches);
+        buildBatches(counterStatementsInOrder, BatchStatement.Type.COUNTER, batchConsistency, batches);
+        return batches;
+    }
+
+    private void buildBatches(List<BoundStatement> statements, BatchStatement.Type batchType,
+                              ConsistencyLevel batchConsistency, List<BatchStatement> batches) {
+        if (statements.isEmpty()) return;
+
+        final Collection<List<BoundStatement>> groups;
+        if (type == BatchStatement.Type.LOGGED) {
+            groups = Collections.singletonList(statements);
+        } else {
+            groups = groupByPartition(statements);
+        }
+
+        for (List<BoundStatement> group : groups) {
+            final List<List<BoundStatement>> chunks = splitBySize(group, sizeThresholdInBytes);
+            if (batchType == BatchStatement.Type.LOGGED && chunks.size() > 1) {
+                LOGGER.warn(format("LOGGED batch of %s statements exceeds the size threshold of %s bytes and is split into %s batches, " +
+                        "atomicity is only guaranteed within each batch", group.size(), sizeThresholdInBytes, chunks.size()));
+            }
+            for (List<BoundStatement> chunk : chunks) {
+                final BatchStatement batch = new BatchStatement(batchType);
+                batch.addAll(chunk);
+                if (batchConsistency != null) batch.setConsistencyLevel(batchConsistency);
+                defaultTimestamp.ifPresent(batch::setDefaultTimestamp);
+                batches.add(batch);
+            }
+        }
+    }
+
+    private boolean isCounterTable(BoundStatement statement) {
+        final ColumnDefinitions variables = statement.preparedStatement().getVariables();
+        if (variables.size() == 0 || variables.getKeyspace(0) == null || variables.getTable(0) == null) {
+            return false;
+        }
+        final String keyspace = variables.getKeyspace(0);
+        final String table = variables.getTable(0);
+        return counterTables.computeIfAbsent(keyspace + "." + table, qualifiedName -> {
+            final KeyspaceMetadata keyspaceMetadata = rte.getCluster().getMetadata().getKeyspace(Metadata.quote(keyspace));
+            final TableMetadata tableMetadata = keyspaceMetadata == null ? null : keyspaceMetadata.getTable(Metadata.quote(table));
+            return tableMetadata != null && tableMetadata
+                    .getColumns()
+                    .stream()
+                    .anyMatch(column -> column.getType().getName() == DataType.Name.COUNTER);
+        });
+    }
+
+    private Collection<List<BoundStatement>> groupByPartition(List<BoundStatement> statements) {
+        final Map<PartitionKey, List<BoundStatement>> groups = new LinkedHashMap<>();
+        for (BoundStatement statement : statements) {
+            final ByteBuffer routingKey = statement.getRoutingKey(protocolVersion, codecRegistry);
+            // Without routing key the statement cannot be grouped, it gets its own batch
+            final PartitionKey partitionKey = routingKey == null
+                    ? new PartitionKey(statement.getKeyspace(), ByteBuffer.wrap(new byte[0]), groups.size())
+                    : new PartitionKey(statement.getKeyspace(), routingKey, -1);
+            groups.computeIfAbsent(partitionKey, key -> new ArrayList<>()).add(statement);
+        }
+        return groups.values();
+    }
+
+    static List<List<BoundStatement>> splitBySize(List<BoundStatement> statements, int sizeThresholdInBytes) {
+        final List<List<BoundStatement>> chunks = new ArrayList<>();
+        List<BoundStatement> current = new ArrayList<>();
+        long currentSize = 0L;
+        for (BoundStatement statement : statements) {
+            final long size = estimateSize(statement);
+            if (!current.isEmpty() && currentSize + size > sizeThresholdInBytes) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                currentSize = 0L;
+            }
+            current.add(statement);
+            currentSize += size;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    static long estimateSize(BoundStatement statement) {
+        final int variableCount = statement.preparedStatement().getVariables().size();
+        long size = 0L;
+        for (int i = 0; i < variableCount; i++) {
+            if (statement.isSet(i)) {
+                final ByteBuffer value = statement.getBytesUnsafe(i);
+                size += value == null ? 0 : value.remaining();
+            }
+        }
+        return size;
+    }
+
+    private static class PartitionKey {
+        private final String keyspace;
+        private final ByteBuffer routingKey;
+        private final int unroutedIndex;
+
+        PartitionKey(String keyspace, ByteBuffer routingKey, int unroutedIndex) {
+            this.keyspace = keyspace;
+            this.routingKey = routingKey;
+            this.unroutedIndex = unroutedIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PartitionKey that = (PartitionKey) o;
+            return unroutedIndex == that.unroutedIndex &&
+                    Objects.equals(keyspace, that.keyspace) &&
+                    Objects.equals(routingKey, that.routingKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyspace, routingKey, unroutedIndex);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl.blob;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.querybuilder.Delete;
+import com.datastax.driver.core.querybuilder.Insert;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.annotations.ChunkedBlob;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.columns.ChunkedBlobColumnInfo;
+import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ChunkedBlobInputStream;
+
+/**
+ * Write and read large payloads stored as chunks in a column annotated with {@link ChunkedBlob}.
+ * <br/>
+ * Each partition of the entity stores one payload, one chunk per clustering row. A manifest row, at chunk index -1,
+ * holds the index of the first chunk and the number of chunks of the current payload. Payloads are stored alternately
+ * in the lower and upper halves of the chunk index range so that writing a payload never touches the chunks of the
+ * current one:
+ * <ol>
+ *     <li>the chunks are inserted in the unused half, with at most {@link ChunkedBlob#writeParallelism()} inserts in flight</li>
+ *     <li>the manifest is then overwritten to point to the new chunks, in a single row write</li>
+ *     <li>the chunks of the previous payload are finally deleted</li>
+ * </ol>
+ * Readers therefore see either the previous payload or the new one, never a mix of both. If the write fails,
+ * the previous payload is left untouched. Concurrent writes of the same partition are not supported.
+ * <br/>
+ * Reading a payload returns an {@link InputStream} over the chunks, fetching {@link ChunkedBlob#prefetchChunks()} chunks ahead.
+ * The chunks are deleted with range deletions, which require Cassandra 3.0 or later
+ */
+public class ChunkedBlobAccessor<ENTITY> implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedBlobAccessor.class);
+
+    static final int MANIFEST_CHUNK = -1;
+    static final int CHUNK_RANGE_SIZE = 1 << 30;
+
+    private final RuntimeEngine rte;
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final AbstractProperty<ENTITY, ?, ?> blobProperty;
+    private final AbstractProperty<ENTITY, ?, ?> chunkProperty;
+    private final ChunkedBlobColumnInfo chunkedBlob;
+
+    public ChunkedBlobAccessor(RuntimeEngine rte, AbstractEntityProperty<ENTITY> meta, AbstractProperty<ENTITY, ?, ?> blobProperty) {
+        validateNotNull(blobProperty, "The chunked blob property should not be null");
+        final String entityClassName = meta.entityClass.getCanonicalName();
+        validateTrue(meta.allColumns.contains(blobProperty), "The property '%s' does not belong to entity '%s'",
+                blobProperty.fieldName, entityClassName);
+        validateTrue(blobProperty.fieldInfo.columnInfo instanceof ChunkedBlobColumnInfo,
+                "The field '%s' of entity '%s' should be annotated with @ChunkedBlob", blobProperty.fieldName, entityClassName);
+        validateTrue(blobProperty.fieldInfo.columnType == ColumnType.NORMAL && ByteBuffer.class.equals(blobProperty.valueToTypeToken.getRawType()),
+                "The property '%s' of entity '%s' should be a regular blob column to store chunks", blobProperty.fieldName, entityClassName);
+        validateTrue(meta.clusteringColumns.size() == 1 && Integer.class.equals(meta.clusteringColumns.get(0).valueToTypeToken.getRawType()),
+                "The entity '%s' should have a single int clustering column to store chunks of '%s'", entityClassName, blobProperty.fieldName);
+
+        this.rte = rte;
+        this.meta = meta;
+        this.blobProperty = blobProperty;
+        this.chunkProperty = meta.clusteringColumns.get(0);
+        this.chunkedBlob = (ChunkedBlobColumnInfo) blobProperty.fieldInfo.columnInfo;
+    }
+
+    /**
+     * Write the payload as chunks in the partition. The chunks are read-only slices of the payload, it is not copied
+     *
+     * @param payload         the payload to store
+     * @param partitionKeys   values of the partition key(s), in partition key order
+     * @return the number of chunks written
+     */
+    public int write(ByteBuffer payload, Object... partitionKeys) {
+        validateNotNull(payload, "The payload to write should not be null");
+        final ByteBuffer source = payload.asReadOnlyBuffer();
+        return writeChunks(() -> {
+            if (!source.hasRemaining()) return null;
+            final ByteBuffer chunk = source.slice();
+            chunk.limit(Math.min(chunkedBlob.chunkSize, source.remaining()));
+            source.position(source.position() + chunk.remaining());
+            return chunk;
+        }, partitionKeys);
+    }
+
+    /**
+     * Write the payload read from the stream as chunks in the partition.
+     * The stream is read until its end but is not closed
+     *
+     * @param payload         the stream to read the payload from
+     * @param partitionKeys   values of the partition key(s), in partition key order
+     * @return the number of chunks written
+     */
+    public int write(InputStream payload, Object... partitionKeys) {
+        validateNotNull(payload, "The payload stream to write should not be null");
+        return writeChunks(() -> {
+            final byte[] chunk = new byte[chunkedBlob.chunkSize];
+            int read = 0;
+            while (read < chunk.length) {
+                final int count = payload.read(chunk, read, chunk.length - read);
+                if (count < 0) break;
+                read += count;
+            }
+            return read == 0 ? null : ByteBuffer.wrap(chunk, 0, read).slice();
+        }, partitionKeys);
+    }
+
+    /**
+     * Read the payload stored in the partition. An empty stream is returned if the partition does not exist
+     *
+     * @param partitionKeys   values of the partition key(s), in partition key order
+     * @return a stream over the payload
+     */
+    public InputStream read(Object... partitionKeys) {
+        final Object[] encodedKeys = encodePartitionKeys(partitionKeys);
+        final Optional<Manifest> manifest = readManifest(partitionKeys, encodedKeys);
+        if (!manifest.isPresent() || manifest.get().chunkCount == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        final CassandraOptions options = new CassandraOptions();
+        options.setFetchSize(Optional.of(chunkedBlob.prefetchChunks));
+        final int firstChunk = manifest.get().firstChunk;
+        final int chunkCount = manifest.get().chunkCount;
+        final StatementWrapper wrapper = new BoundStatementWrapper(OperationType.SELECT, meta, prepare(buildSelectChunks()),
+                ArrayUtils.addAll(partitionKeys, firstChunk, firstChunk + chunkCount),
+                ArrayUtils.addAll(encodedKeys, firstChunk, firstChunk + chunkCount));
+        wrapper.applyOptions(options);
+        return new ChunkedBlobInputStream(getUninterruptibly(rte.execute(wrapper)), chunkedBlob.prefetchChunks, chunkCount);
+    }
+
+    /**
+     * Delete the payload stored in the partition
+     *
+     * @param partitionKeys   values of the partition key(s), in partition key order
+     */
+    public void delete(Object... partitionKeys) {
+        final Object[] encodedKeys = encodePartitionKeys(partitionKeys);
+        getUninterruptibly(rte.execute(new BoundStatementWrapper(OperationType.DELETE, meta,
+                prepare(buildDelete()), partitionKeys, encodedKeys)));
+    }
+
+    private int writeChunks(ChunkSupplier chunks, Object... partitionKeys) {
+        final Object[] encodedKeys = encodePartitionKeys(partitionKeys);
+        final Optional<Manifest> previous = readManifest(partitionKeys, encodedKeys);
+        final int firstChunk = previous.isPresent() && previous.get().firstChunk == 0 ? CHUNK_RANGE_SIZE : 0;
+
+        // Remove the chunks left over by a previous failed write in the range about to be used
+        deleteChunks(partitionKeys, encodedKeys, firstChunk, firstChunk + CHUNK_RANGE_SIZE - 1);
+
+        final PreparedStatement insert = prepare(buildInsert());
+        final Semaphore inFlight = new Semaphore(chunkedBlob.writeParallelism);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+
+        int chunkCount = 0;
+        try {
+            for (ByteBuffer chunk = chunks.next(); chunk != null && failure.get() == null; chunk = chunks.next()) {
+                validateTrue(chunkCount < CHUNK_RANGE_SIZE, "The payload of chunked blob '%s' of entity '%s' should not exceed %s chunks",
+                        blobProperty.fieldName, meta.entityClass.getCanonicalName(), CHUNK_RANGE_SIZE);
+                inFlight.acquireUninterruptibly();
+                final CompletableFuture<ResultSet> future = insertChunk(insert, partitionKeys, encodedKeys, firstChunk + chunkCount, chunk);
+                future.whenComplete((rs, throwable) -> {
+                    if (throwable != null) failure.compareAndSet(null, throwable);
+                    inFlight.release();
+                });
+                futures.add(future);
+                chunkCount++;
+            }
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot read the payload of chunked blob '%s' of entity '%s'",
+                    blobProperty.fieldName, meta.entityClass.getCanonicalName()), e);
+        }
+
+        getUninterruptibly(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])));
+
+        getUninterruptibly(insertChunk(insert, partitionKeys, encodedKeys, MANIFEST_CHUNK, new Manifest(firstChunk, chunkCount).encode()));
+
+        if (previous.isPresent() && previous.get().chunkCount > 0) {
+            final Manifest manifest = previous.get();
+            deleteChunks(partitionKeys, encodedKeys, manifest.firstChunk, manifest.firstChunk + manifest.chunkCount - 1);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Wrote %s chunks of chunked blob '%s' of entity '%s'",
+                    chunkCount, blobProperty.fieldName, meta.entityClass.getCanonicalName()));
+        }
+        return chunkCount;
+    }
+
+    private CompletableFuture<ResultSet> insertChunk(PreparedStatement insert, Object[] partitionKeys, Object[] encodedKeys,
+                                                     int chunkIndex, ByteBuffer chunk) {
+        final Object[] values = ArrayUtils.addAll(partitionKeys, chunkIndex, chunk);
+        final Object[] encodedValues = ArrayUtils.addAll(encodedKeys, chunkIndex, chunk);
+        return rte.execute(new BoundStatementWrapper(OperationType.INSERT, meta, insert, values, encodedValues));
+    }
+
+    private void deleteChunks(Object[] partitionKeys, Object[] encodedKeys, int fromChunk, int toChunk) {
+        getUninterruptibly(rte.execute(new BoundStatementWrapper(OperationType.DELETE, meta, prepare(buildDeleteChunks()),
+                ArrayUtils.addAll(partitionKeys, fromChunk, toChunk), ArrayUtils.addAll(encodedKeys, fromChunk, toChunk))));
+    }
+
+    private Optional<Manifest> readManifest(Object[] partitionKeys, Object[] encodedKeys) {
+        final Row row = getUninterruptibly(rte.execute(new BoundStatementWrapper(OperationType.SELECT, meta, prepare(buildSelectManifest()),
+                ArrayUtils.add(partitionKeys, MANIFEST_CHUNK), ArrayUtils.add(encodedKeys, MANIFEST_CHUNK)))).one();
+        if (row == null || row.getBytesUnsafe(0) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Manifest.decode(row.getBytesUnsafe(0)));
+    }
+
+    private Object[] encodePartitionKeys(Object... partitionKeys) {
+        validateTrue(partitionKeys != null && partitionKeys.length == meta.partitionKeys.size(),
+                "There should be exactly %s partition key value(s) for entity '%s'", meta.partitionKeys.size(), meta.entityClass.getCanonicalName());
+        final Object[] encodedKeys = new Object[partitionKeys.length];
+        for (int i = 0; i < partitionKeys.length; i++) {
+            final AbstractProperty<ENTITY, ?, ?> partitionKey = meta.partitionKeys.get(i);
+            validateNotNull(partitionKeys[i], "Partition key '%s' should not be null", partitionKey.fieldName);
+            encodedKeys[i] = partitionKey.encodeFromRaw(partitionKeys[i]);
+        }
+        return encodedKeys;
+    }
+
+    private <T> T getUninterruptibly(CompletableFuture<T> future) {
+        try {
+            return Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    private PreparedStatement prepare(RegularStatement statement) {
+        return rte.prepareDynamicQuery(statement);
+    }
+
+    private RegularStatement buildInsert() {
+        final Optional<String> keyspace = meta.getKeyspace();
+        final Insert insert = keyspace.isPresent()
+                ? insertInto(keyspace.get(), meta.getTableOrViewName())
+                : insertInto(meta.getTableOrViewName());
+        for (AbstractProperty<ENTITY, ?, ?> x : meta.partitionKeys) {
+            insert.value(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn));
+        }
+        insert.value(chunkProperty.fieldInfo.quotedCqlColumn, bindMarker(chunkProperty.fieldInfo.quotedCqlColumn));
+        insert.value(blobProperty.fieldInfo.quotedCqlColumn, bindMarker(blobProperty.fieldInfo.quotedCqlColumn));
+        return insert;
+    }
+
+    private RegularStatement buildSelectManifest() {
+        return selectWhere().and(eq(chunkProperty.fieldInfo.quotedCqlColumn, bindMarker(chunkProperty.fieldInfo.quotedCqlColumn)));
+    }
+
+    private RegularStatement buildSelectChunks() {
+        return selectWhere()
+                .and(gte(chunkProperty.fieldInfo.quotedCqlColumn, bindMarker("from_chunk")))
+                .and(lt(chunkProperty.fieldInfo.quotedCqlColumn, bindMarker("to_chunk")))
+                .orderBy(asc(chunkProperty.fieldInfo.quotedCqlColumn));
+    }
+
+    private Select.Where selectWhere() {
+        final Optional<String> keyspace = meta.getKeyspace();
+        final Select.Selection selection = select().column(blobProperty.fieldInfo.quotedCqlColumn);
+        final Select from = keyspace.isPresent()
+                ? selection.from(keyspace.get(), meta.getTableOrViewName())
+                : selection.from(meta.getTableOrViewName());
+        final Select.Where where = from.where();
+        for (AbstractProperty<ENTITY, ?, ?> x : meta.partitionKeys) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+        return where;
+    }
+
+    private RegularStatement buildDeleteChunks() {
+        return deleteWhere()
+                .and(gte(chunkProperty.fieldInfo.quotedCqlColumn, bindMarker("from_chunk")))
+                .and(lte(chunkProperty.fieldInfo.quotedCqlColumn, bindMarker("to_chunk")));
+    }
+
+    private RegularStatement buildDelete() {
+        return deleteWhere();
+    }
+
+    private Delete.Where deleteWhere() {
+        final Optional<String> keyspace = meta.getKeyspace();
+        final Delete.Selection selection = QueryBuilder.delete();
+        final Delete from = keyspace.isPresent()
+                ? selection.from(keyspace.get(), meta.getTableOrViewName())
+                : selection.from(meta.getTableOrViewName());
+        final Delete.Where where = from.where();
+        for (AbstractProperty<ENTITY, ?, ?> x : meta.partitionKeys) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+        return where;
+    }
+
+    static class Manifest {
+        final int firstChunk;
+        final int chunkCount;
+
+        Manifest(int firstChunk, int chunkCount) {
+            this.firstChunk = firstChunk;
+            this.chunkCount = chunkCount;
+        }
+
+        ByteBuffer encode() {
+            final ByteBuffer buffer = ByteBuffer.allocate(8);
+            buffer.putInt(0, firstChunk);
+            buffer.putInt(4, chunkCount);
+            return buffer;
+        }
+
+        static Manifest decode(ByteBuffer buffer) {
+            final int position = buffer.position();
+            return new Manifest(buffer.getInt(position), buffer.getInt(position + 4));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkSupplier {
+        ByteBuffer next() throws IOException;
+    }
+}
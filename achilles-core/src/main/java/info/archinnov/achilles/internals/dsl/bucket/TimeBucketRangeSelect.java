@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl.bucket;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.TimeBucketProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.PreparedStatementGenerator;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.SchemaNameProvider;
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * SELECT of all the entities whose time column is in <em>[from, to)</em>, across all the
+ * time buckets covering this range. Buckets are read concurrently, with at most
+ * <em>parallelism</em> bucket queries in flight, and entities are returned in clustering order
+ * of the time column. Since one query is executed per bucket, a range spanning more than
+ * <em>maxBuckets</em> buckets is rejected before any query is sent
+ */
+public class TimeBucketRangeSelect<ENTITY> extends AbstractOptionsForSelect<TimeBucketRangeSelect<ENTITY>> implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeBucketRangeSelect.class);
+
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final long DEFAULT_MAX_BUCKETS = 10_000L;
+
+    private final RuntimeEngine rte;
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final TimeBucketProperty<ENTITY> timeBucket;
+    private final Object[] partitionKeyValues;
+    private final Object from;
+    private final Object to;
+    private final CassandraOptions options = new CassandraOptions();
+    private int parallelism = DEFAULT_PARALLELISM;
+    private long maxBuckets = DEFAULT_MAX_BUCKETS;
+
+    /**
+     * @param partitionKeyValues values of the partition key components other than the time bucket, in partition key order
+     */
+    public TimeBucketRangeSelect(RuntimeEngine rte, AbstractEntityProperty<ENTITY> meta, Object[] partitionKeyValues, Object from, Object to) {
+        validateTrue(meta.timeBucket.isPresent(), "The entity '%s' has no @TimeBucket partition key", meta.entityClass.getCanonicalName());
+        validateNotNull(from, "The lower bound of the time range should not be null");
+        validateNotNull(to, "The upper bound of the time range should not be null");
+        validateTrue(partitionKeyValues.length == meta.partitionKeys.size() - 1,
+                "There should be exactly %s partition key value(s) other than the time bucket for entity '%s'",
+                meta.partitionKeys.size() - 1, meta.entityClass.getCanonicalName());
+        this.rte = rte;
+        this.meta = meta;
+        this.timeBucket = meta.timeBucket.get();
+        this.partitionKeyValues = partitionKeyValues;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Maximum number of buckets read concurrently, default = 4
+     */
+    public TimeBucketRangeSelect<ENTITY> withParallelism(int parallelism) {
+        validateTrue(parallelism > 0, "The parallelism '%s' should be strictly positive", parallelism);
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Maximum number of buckets the time range may span, default = 10000.
+     * Reading a wider range raises an AchillesException
+     */
+    public TimeBucketRangeSelect<ENTITY> withMaxBuckets(long maxBuckets) {
+        validateTrue(maxBuckets > 0, "The max buckets '%s' should be strictly positive", maxBuckets);
+        this.maxBuckets = maxBuckets;
+        return this;
+    }
+
+    /**
+     * Use the given schema name provider to look up the keyspace and table name at runtime
+     */
+    public TimeBucketRangeSelect<ENTITY> withSchemaNameProvider(SchemaNameProvider schemaNameProvider) {
+        validateNotNull(schemaNameProvider, "The provided schema name provider should not be null");
+        options.setSchemaNameProvider(Optional.of(schemaNameProvider));
+        return this;
+    }
+
+    /**
+     * Execute the SELECT and return a stream of entities, in clustering order of the time column
+     */
+    public Stream<ENTITY> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Execute the SELECT and return a list of entities, in clustering order of the time column
+     */
+    public List<ENTITY> getList() {
+        return stream().collect(toList());
+    }
+
+    /**
+     * Execute the SELECT and return an iterator of entities, in clustering order of the time column.
+     * The next buckets are fetched while the current one is being iterated
+     */
+    public Iterator<ENTITY> iterator() {
+        final long bucketCount = timeBucket.bucketCountBetween(from, to);
+        validateTrue(bucketCount <= maxBuckets,
+                "The time range [%s, %s) of entity '%s' spans %s time buckets of unit %s, more than the maximum of %s. Use withMaxBuckets(long) to raise it",
+                from, to, meta.entityClass.getCanonicalName(), bucketCount, timeBucket.unit, maxBuckets);
+        final PreparedStatement ps = rte.prepareDynamicQuery(PreparedStatementGenerator
+                .generateTimeBucketRangeQuery(meta, timeBucket, options.getSchemaNameProvider()));
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Reading %s time buckets with query %s", bucketCount, ps.getQueryString()));
+        }
+
+        return new BucketIterator(ps, timeBucket.bucketsBetween(from, to));
+    }
+
+    public String getStatementAsString() {
+        return PreparedStatementGenerator.generateTimeBucketRangeQuery(meta, timeBucket, options.getSchemaNameProvider()).getQueryString();
+    }
+
+    @Override
+    protected CassandraOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    protected TimeBucketRangeSelect<ENTITY> getThis() {
+        return this;
+    }
+
+    private StatementWrapper bucketStatement(PreparedStatement ps, Object bucket) {
+        final List<AbstractProperty<ENTITY, ?, ?>> partitionKeys = meta.partitionKeys;
+        final Object[] values = new Object[partitionKeys.size() + 2];
+        final Object[] encodedValues = new Object[partitionKeys.size() + 2];
+        int index = 0;
+        for (int i = 0; i < partitionKeys.size(); i++) {
+            final AbstractProperty<ENTITY, ?, ?> partitionKey = partitionKeys.get(i);
+            values[i] = partitionKey == timeBucket.bucketProperty ? bucket : partitionKeyValues[index++];
+            validateNotNull(values[i], "Partition key '%s' should not be null", partitionKey.fieldName);
+            encodedValues[i] = partitionKey.encodeFromRaw(values[i]);
+        }
+        values[partitionKeys.size()] = from;
+        values[partitionKeys.size() + 1] = to;
+        encodedValues[partitionKeys.size()] = timeBucket.timeProperty.encodeFromRaw(from);
+        encodedValues[partitionKeys.size() + 1] = timeBucket.timeProperty.encodeFromRaw(to);
+
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps, values, encodedValues);
+        statementWrapper.applyOptions(options);
+        return statementWrapper;
+    }
+
+    private class BucketIterator implements Iterator<ENTITY> {
+
+        private final PreparedStatement ps;
+        private final Iterator<Object> buckets;
+        private final Deque<Tuple2<StatementWrapper, CompletableFuture<ResultSet>>> inFlight = new ArrayDeque<>();
+        private Iterator<Row> currentRows = Collections.emptyIterator();
+        private StatementWrapper currentStatement;
+
+        BucketIterator(PreparedStatement ps, Iterator<Object> buckets) {
+            this.ps = ps;
+            this.buckets = buckets;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentRows.hasNext()) {
+                while (inFlight.size() < parallelism && buckets.hasNext()) {
+                    final StatementWrapper statementWrapper = bucketStatement(ps, buckets.next());
+                    inFlight.add(Tuple2.of(statementWrapper, rte.execute(statementWrapper)));
+                }
+                if (inFlight.isEmpty()) return false;
+
+                final Tuple2<StatementWrapper, CompletableFuture<ResultSet>> next = inFlight.poll();
+                currentStatement = next._1();
+                try {
+                    currentRows = Uninterruptibles.getUninterruptibly(next._2()
+                            .thenApply(options::resultSetAsyncListener)
+                            .thenApply(currentStatement::logTrace))
+                            .iterator();
+                } catch (ExecutionException e) {
+                    throw extractCauseFromExecutionException(e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ENTITY next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final Row row = currentRows.next();
+            currentStatement.logReturnedRow(row);
+            options.rowAsyncListener(row);
+            final ENTITY instance = meta.createEntityFrom(row);
+            meta.triggerInterceptorsForEvent(Event.POST_LOAD, instance);
+            return instance;
+        }
+    }
+}
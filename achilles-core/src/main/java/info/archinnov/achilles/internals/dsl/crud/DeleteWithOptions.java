@@ -37,6 +37,7 @@ import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 
 import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.dsl.EntityInterceptorAware;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForUpdateOrDelete;
@@ -48,7 +49,7 @@ import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<DeleteWithOptions<ENTITY>>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, StatementProvider, EntityInterceptorAware {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeleteWithOptions.class);
 
@@ -79,10 +80,7 @@ public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<
 
     public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
 
-        if (this.instance.isPresent()) {
-            final ENTITY entity = this.instance.get();
-            meta.triggerInterceptorsForEvent(PRE_DELETE, entity);
-        }
+        triggerPreMutationInterceptors();
 
         final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
@@ -99,11 +97,24 @@ public class DeleteWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
                 .thenApply(x -> x.getExecutionInfo())
                 .thenApply(x -> {
-                    if (this.instance.isPresent()) meta.triggerInterceptorsForEvent(POST_DELETE, instance.get());
+                    triggerPostMutationInterceptors();
                     return x;
                 });
     }
 
+    @Override
+    public void triggerPreMutationInterceptors() {
+        if (this.instance.isPresent()) {
+            final ENTITY entity = this.instance.get();
+            meta.triggerInterceptorsForEvent(PRE_DELETE, entity);
+        }
+    }
+
+    @Override
+    public void triggerPostMutationInterceptors() {
+        if (this.instance.isPresent()) meta.triggerInterceptorsForEvent(POST_DELETE, instance.get());
+    }
+
     @Override
     protected CassandraOptions getOptions() {
         return options;
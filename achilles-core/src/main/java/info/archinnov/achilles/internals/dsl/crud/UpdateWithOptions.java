@@ -34,6 +34,7 @@ import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 
+import info.archinnov.achilles.internals.dsl.EntityInterceptorAware;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.action.MutationAction;
 import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForCRUDUpdate;
@@ -45,7 +46,7 @@ import info.archinnov.achilles.internals.statements.PreparedStatementGenerator;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 
 public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<UpdateWithOptions<ENTITY>>
-        implements MutationAction, StatementProvider {
+        implements MutationAction, StatementProvider, EntityInterceptorAware {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UpdateWithOptions.class);
 
@@ -65,7 +66,7 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
 
     public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
 
-        meta.triggerInterceptorsForEvent(PRE_UPDATE, instance);
+        triggerPreMutationInterceptors();
 
 
         final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
@@ -83,11 +84,21 @@ public class UpdateWithOptions<ENTITY> extends AbstractOptionsForCRUDUpdate<Upda
                 .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
                 .thenApply(x -> x.getExecutionInfo())
                 .thenApply(x -> {
-                    meta.triggerInterceptorsForEvent(POST_UPDATE, instance);
+                    triggerPostMutationInterceptors();
                     return x;
                 });
     }
 
+    @Override
+    public void triggerPreMutationInterceptors() {
+        meta.triggerInterceptorsForEvent(PRE_UPDATE, instance);
+    }
+
+    @Override
+    public void triggerPostMutationInterceptors() {
+        meta.triggerInterceptorsForEvent(POST_UPDATE, instance);
+    }
+
     @Override
     protected CassandraOptions getOptions() {
         return options;
@@ -80,6 +80,19 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
         return getThis();
     }
 
+    /**
+     * Let Achilles choose the fetch size from the row size and the consumer speed observed for the previous
+     * pages and executions of the same query. A fetch size set with {@link #withFetchSize(int)} is only used
+     * for the first execution.
+     * <br/>
+     * The page size budget is configured at bootstrap with <em>withAdaptiveFetchSizeTargetPageBytes(long)</em>
+     * and the chosen fetch sizes are available with <em>ManagerFactory.adaptiveFetchSizes()</em>
+     */
+    public T withAdaptiveFetchSize() {
+        getOptions().setAdaptiveFetchSize(Optional.of(true));
+        return getThis();
+    }
+
     /**
      * Hint the current statement as idempotent. Useful for retry strategy
      */
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl.projection;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.StatementProvider;
+import info.archinnov.achilles.internals.dsl.action.SelectAction;
+import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProjectionProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ColumnarBatchIterator;
+import info.archinnov.achilles.type.SchemaNameProvider;
+import info.archinnov.achilles.type.columnar.ColumnarBatch;
+import info.archinnov.achilles.type.columnar.ColumnarBufferAllocator;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * SELECT of a projection generated for an interface annotated with
+ * {@link info.archinnov.achilles.annotations.Projection}. Only the projected columns
+ * of the partition are fetched and no entity instance is created
+ */
+public class ProjectionSelect<ENTITY, PROJECTION> extends AbstractOptionsForSelect<ProjectionSelect<ENTITY, PROJECTION>>
+        implements SelectAction<PROJECTION>, StatementProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProjectionSelect.class);
+
+    private final RuntimeEngine rte;
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final AbstractProjectionProperty<ENTITY, PROJECTION> projection;
+    private final Object[] partitionKeyValues;
+    private final Object[] encodedPartitionKeyValues;
+    private final CassandraOptions options = new CassandraOptions();
+
+    public ProjectionSelect(RuntimeEngine rte, AbstractEntityProperty<ENTITY> meta, AbstractProjectionProperty<ENTITY, PROJECTION> projection,
+                            Object[] partitionKeyValues, Object[] encodedPartitionKeyValues) {
+        this.rte = rte;
+        this.meta = meta;
+        this.projection = projection;
+        this.partitionKeyValues = partitionKeyValues;
+        this.encodedPartitionKeyValues = encodedPartitionKeyValues;
+    }
+
+    /**
+     * Use the given schema name provider to look up the keyspace and table name at runtime
+     */
+    public ProjectionSelect<ENTITY, PROJECTION> withSchemaNameProvider(SchemaNameProvider schemaNameProvider) {
+        validateNotNull(schemaNameProvider, "The provided schema name provider should not be null");
+        options.setSchemaNameProvider(Optional.of(schemaNameProvider));
+        return this;
+    }
+
+    /**
+     * Execute the SELECT and return an iterator of projection instances
+     */
+    @Override
+    public Iterator<PROJECTION> iterator() {
+        return iteratorWithExecutionInfo()._1();
+    }
+
+    /**
+     * Execute the SELECT and return an iterator of projection instances with the execution info
+     */
+    @Override
+    public Tuple2<Iterator<PROJECTION>, ExecutionInfo> iteratorWithExecutionInfo() {
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Generate iterator for projection select : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        final ResultSet resultSet = getResultSet(statementWrapper);
+        final Iterator<Row> rows = resultSet.iterator();
+        final Iterator<PROJECTION> iterator = new Iterator<PROJECTION>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public PROJECTION next() {
+                final Row row = rows.next();
+                statementWrapper.logReturnedRow(row);
+                options.rowAsyncListener(row);
+                return projection.createFrom(row);
+            }
+        };
+        return Tuple2.of(iterator, resultSet.getExecutionInfo());
+    }
+
+    /**
+     * Execute the SELECT and return an iterator of columnar batches of the projected columns
+     */
+    @Override
+    public Iterator<ColumnarBatch> columnarBatches(int batchRows, ColumnarBufferAllocator allocator) {
+        validateTrue(batchRows > 0, "The number of rows per columnar batch '%s' should be strictly positive", batchRows);
+        validateNotNull(allocator, "The columnar buffer allocator should not be null");
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        return new ColumnarBatchIterator(rte.execute(statementWrapper), meta, statementWrapper, options, batchRows, allocator);
+    }
+
+    @Override
+    public CompletableFuture<Tuple2<List<PROJECTION>, ExecutionInfo>> getListAsyncWithStats() {
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Projection select async with execution info : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        return rte.execute(statementWrapper)
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(rs -> Tuple2.of(IntStream.range(0, rs.getAvailableWithoutFetching())
+                                .mapToObj(index -> {
+                                    final Row row = rs.one();
+                                    options.rowAsyncListener(row);
+                                    return projection.createFrom(row);
+                                })
+                                .collect(toList()),
+                        rs.getExecutionInfo()));
+    }
+
+    @Override
+    public BoundStatement generateAndGetBoundStatement() {
+        return getInternalBoundStatementWrapper().getBoundStatement();
+    }
+
+    @Override
+    public String getStatementAsString() {
+        return projection.getPreparedStatement(rte, meta, options).getQueryString();
+    }
+
+    @Override
+    public List<Object> getBoundValues() {
+        return Arrays.asList(partitionKeyValues);
+    }
+
+    @Override
+    public List<Object> getEncodedBoundValues() {
+        return Arrays.asList(encodedPartitionKeyValues);
+    }
+
+    @Override
+    protected CassandraOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    protected ProjectionSelect<ENTITY, PROJECTION> getThis() {
+        return this;
+    }
+
+    private ResultSet getResultSet(StatementWrapper statementWrapper) {
+        try {
+            return Uninterruptibles.getUninterruptibly(rte.execute(statementWrapper)
+                    .thenApply(options::resultSetAsyncListener)
+                    .thenApply(statementWrapper::logTrace));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    private StatementWrapper getInternalBoundStatementWrapper() {
+        final PreparedStatement ps = projection.getPreparedStatement(rte, meta, options);
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps,
+                partitionKeyValues, encodedPartitionKeyValues);
+        statementWrapper.applyOptions(options);
+        return statementWrapper;
+    }
+}
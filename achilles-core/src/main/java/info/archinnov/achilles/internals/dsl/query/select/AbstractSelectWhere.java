@@ -16,12 +16,17 @@
 
 package info.archinnov.achilles.internals.dsl.query.select;
 
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
@@ -40,9 +45,12 @@ import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ColumnarBatchIterator;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
 import info.archinnov.achilles.type.TypedMap;
+import info.archinnov.achilles.type.columnar.ColumnarBatch;
+import info.archinnov.achilles.type.columnar.ColumnarBufferAllocator;
 import info.archinnov.achilles.type.interceptor.Event;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
@@ -70,6 +78,22 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
 
     protected abstract RuntimeEngine getRte();
 
+    /**
+     * Serve this SELECT from the result cache of the manager factory. Results are cached for at most <em>ttl</em>
+     * and evicted as soon as a mutation on the same table is executed through the same manager factory.
+     * <br/>
+     * Only the list and typed maps results are cached. Cached entity instances are shared between callers
+     * and <strong>should not be modified</strong>
+     *
+     * @param ttl time to live of the cached result
+     */
+    public T withResultCache(Duration ttl) {
+        validateNotNull(ttl, "The result cache ttl should not be null");
+        validateTrue(!ttl.isNegative() && !ttl.isZero(), "The result cache ttl '%s' should be strictly positive", ttl);
+        getOptions().setResultCacheTTL(Optional.of(ttl));
+        return getThis();
+    }
+
     @Override
     public Iterator<ENTITY> iterator() {
 
@@ -94,6 +118,25 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
 
+    @Override
+    public Iterator<ColumnarBatch> columnarBatches(int batchRows, ColumnarBufferAllocator allocator) {
+        validateTrue(batchRows > 0, "The number of rows per columnar batch '%s' should be strictly positive", batchRows);
+        validateNotNull(allocator, "The columnar buffer allocator should not be null");
+
+        final RuntimeEngine rte = getRte();
+        final CassandraOptions cassandraOptions = getOptions();
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Generate columnar batches iterator for select : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        return new ColumnarBatchIterator(futureRS, getMetaInternal(), statementWrapper, cassandraOptions, batchRows, allocator);
+    }
+
     public CompletableFuture<Tuple2<List<ENTITY>, ExecutionInfo>> getListAsyncWithStats() {
 
         final RuntimeEngine rte = getRte();
@@ -107,9 +150,7 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
-
-        return futureRS
+        final Supplier<CompletableFuture<Tuple2<List<ENTITY>, ExecutionInfo>>> load = () -> rte.execute(statementWrapper)
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                 .thenApply(statementWrapper::logTrace)
@@ -127,6 +168,10 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                     }
                     return tuple2;
                 });
+
+        return options.getResultCacheTTL()
+                .map(ttl -> rte.resultCache.getOrLoad(statementWrapper.getBoundStatement(), meta.entityClass.getName(), ttl, load))
+                .orElseGet(load);
     }
 
     /***************************************************************************************
@@ -143,13 +188,15 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
             LOGGER.trace(format("Select async with execution info : %s",
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        final Supplier<CompletableFuture<Tuple2<List<TypedMap>, ExecutionInfo>>> load = () -> rte.execute(statementWrapper)
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(x -> Tuple2.of(mapResultSetToTypedMaps(x), x.getExecutionInfo()));
 
-        return futureRS
-            .thenApply(options::resultSetAsyncListener)
-                    .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
-                    .thenApply(statementWrapper::logTrace)
-                    .thenApply(x -> Tuple2.of(mapResultSetToTypedMaps(x), x.getExecutionInfo()));
+        return options.getResultCacheTTL()
+                .map(ttl -> rte.resultCache.getOrLoad(statementWrapper.getBoundStatement(), TypedMap.class.getName(), ttl, load))
+                .orElseGet(load);
     }
 
 
@@ -18,6 +18,8 @@ package info.archinnov.achilles.internals.dsl.query.select;
 
 import static java.lang.String.format;
 
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -43,6 +45,8 @@ import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.JSONIteratorWrapper;
+import info.archinnov.achilles.internals.types.NDJSONWriter;
+import info.archinnov.achilles.type.json.NDJSONWriteStats;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public abstract class AbstractSelectWhereJSON<T extends AbstractSelectWhereJSON<T, ENTITY>, ENTITY>
@@ -119,6 +123,28 @@ public abstract class AbstractSelectWhereJSON<T extends AbstractSelectWhereJSON<
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
 
+    @Override
+    public NDJSONWriteStats writeTo(OutputStream outputStream, int flushBudgetBytes) {
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final NDJSONWriter writer = new NDJSONWriter(statementWrapper, getOptions(), flushBudgetBytes);
+        return writer.writeTo(executeForNDJSON(statementWrapper), outputStream);
+    }
+
+    @Override
+    public NDJSONWriteStats writeTo(WritableByteChannel channel, int flushBudgetBytes) {
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        final NDJSONWriter writer = new NDJSONWriter(statementWrapper, getOptions(), flushBudgetBytes);
+        return writer.writeTo(executeForNDJSON(statementWrapper), channel);
+    }
+
+    private CompletableFuture<ResultSet> executeForNDJSON(StatementWrapper statementWrapper) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Stream as NDJSON the query : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+        return getRte().execute(statementWrapper);
+    }
+
     /***************************************************************************************
      * Utility API                                                                         *
      ***************************************************************************************/
@@ -16,9 +16,12 @@
 
 package info.archinnov.achilles.internals.dsl.raw;
 
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -146,6 +149,20 @@ public class NativeQuery implements MutationAction, RawAndTypeMapDefaultImpl {
         return this;
     }
 
+    /**
+     * Serve the typed maps results of this query from the result cache of the manager factory. Results are cached for at most
+     * <em>ttl</em> and evicted as soon as a mutation on the same table is executed through the same manager factory.
+     * Cached typed maps are shared between callers and <strong>should not be modified</strong>
+     *
+     * @param ttl time to live of the cached result
+     */
+    public NativeQuery withResultCache(Duration ttl) {
+        validateNotNull(ttl, "The result cache ttl should not be null");
+        validateTrue(!ttl.isNegative() && !ttl.isZero(), "The result cache ttl '%s' should be strictly positive", ttl);
+        this.options.setResultCacheTTL(Optional.of(ttl));
+        return this;
+    }
+
     /**
      * When DEBUG log is enabled, restrict the Results Display to maximum <strong>DMLResultsDisplaySize</strong> rows. This only applies to SELECT statements
      * <br/>
@@ -16,14 +16,18 @@
 
 package info.archinnov.achilles.internals.dsl.raw;
 
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
@@ -41,7 +45,10 @@ import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ColumnarBatchIterator;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
+import info.archinnov.achilles.type.columnar.ColumnarBatch;
+import info.archinnov.achilles.type.columnar.ColumnarBufferAllocator;
 import info.archinnov.achilles.type.interceptor.Event;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
@@ -139,6 +146,30 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
         return this;
     }
 
+    /**
+     * Let Achilles choose the fetch size from the row size and the consumer speed observed for the previous
+     * pages and executions of the same query. The fetch size set on the bound statement is only used
+     * for the first execution
+     */
+    public TypedQuery<ENTITY> withAdaptiveFetchSize() {
+        this.options.setAdaptiveFetchSize(Optional.of(true));
+        return this;
+    }
+
+    /**
+     * Serve the list results of this query from the result cache of the manager factory. Results are cached for at most
+     * <em>ttl</em> and evicted as soon as a mutation on the same table is executed through the same manager factory.
+     * Cached entity instances are shared between callers and <strong>should not be modified</strong>
+     *
+     * @param ttl time to live of the cached result
+     */
+    public TypedQuery<ENTITY> withResultCache(Duration ttl) {
+        validateNotNull(ttl, "The result cache ttl should not be null");
+        validateTrue(!ttl.isNegative() && !ttl.isZero(), "The result cache ttl '%s' should be strictly positive", ttl);
+        this.options.setResultCacheTTL(Optional.of(ttl));
+        return this;
+    }
+
     /**
      * When DEBUG log is enabled, restrict the Results Display to maximum <strong>DMLResultsDisplaySize</strong> rows. This only applies to SELECT statements
      * <br/>
@@ -165,6 +196,9 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
 
         StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
                 boundStatement, encodedBoundValues);
+        if (options.isAdaptiveFetchSize()) {
+            statementWrapper.enableAdaptiveFetchSize();
+        }
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Generate iterator for typed query : %s",
@@ -186,6 +220,31 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
 
+    /**
+     * Execute the typed query and return an iterator of columnar batches, without creating entity instances
+     *
+     * @return Iterator&lt;ColumnarBatch&gt;
+     */
+    @Override
+    public Iterator<ColumnarBatch> columnarBatches(int batchRows, ColumnarBufferAllocator allocator) {
+        validateTrue(batchRows > 0, "The number of rows per columnar batch '%s' should be strictly positive", batchRows);
+        validateNotNull(allocator, "The columnar buffer allocator should not be null");
+
+        StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
+                boundStatement, encodedBoundValues);
+        if (options.isAdaptiveFetchSize()) {
+            statementWrapper.enableAdaptiveFetchSize();
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Generate columnar batches iterator for typed query : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        return new ColumnarBatchIterator(futureRS, meta, statementWrapper, options, batchRows, allocator);
+    }
+
     /**
      * Execute the typed query asynchronously and return a list of entities with execution info
      *
@@ -195,15 +254,16 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
 
         StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
                 boundStatement, encodedBoundValues);
+        if (options.isAdaptiveFetchSize()) {
+            statementWrapper.enableAdaptiveFetchSize();
+        }
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Select async with execution info : %s",
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
-
-        return futureRS
+        final Supplier<CompletableFuture<Tuple2<List<ENTITY>, ExecutionInfo>>> load = () -> rte.execute(statementWrapper)
                 .thenApply(options::resultSetAsyncListener)
                 .thenApply(x -> statementWrapper.logReturnResults(x, options.computeMaxDisplayedResults(rte.configContext)))
                 .thenApply(statementWrapper::logTrace)
@@ -221,6 +281,10 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, RawAndTypeMapDe
                     }
                     return tuple2;
                 });
+
+        return options.getResultCacheTTL()
+                .map(ttl -> rte.resultCache.getOrLoad(boundStatement, meta.entityClass.getName(), ttl, load))
+                .orElseGet(load);
     }
 
     @Override
@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl.slice;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ClusteringOrder;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.options.AbstractOptionsForSelect;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.columns.ClusteringColumnInfo;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.PreparedStatementGenerator;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.SchemaNameProvider;
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * SELECT of a partition, page by page, seeking after the last seen clustering tuple
+ * (<em>WHERE (c1,c2) &gt; (?,?)</em>) instead of relying on the driver paging state.
+ * <br/>
+ * <br/>
+ * A scan can be resumed from a stateless request with {@link #after(Object...)}, using the clustering
+ * values of the last entity returned. With {@link #parallelSlices(int)}, the range given by
+ * {@link #between(Object, Object)} is split into sub-ranges fetched concurrently and returned in clustering order.
+ * Each sub-range fetches its next page as soon as the previous one is received, up to
+ * {@link #PREFETCHED_PAGES} pages ahead of the iterator, so that all the sub-ranges progress in parallel.
+ * All the clustering columns should have the same clustering order
+ */
+public class SliceSelect<ENTITY> extends AbstractOptionsForSelect<SliceSelect<ENTITY>> implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SliceSelect.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    public static final int PREFETCHED_PAGES = 2;
+
+    private final RuntimeEngine rte;
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final Object[] partitionKeyValues;
+    private final Object[] encodedPartitionKeyValues;
+    private final boolean descending;
+    private final CassandraOptions options = new CassandraOptions();
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int slices = 1;
+    private Object lowerBound;
+    private Object upperBound;
+    private Object[] after;
+
+    /**
+     * @param partitionKeyValues values of the partition key components, in partition key order
+     */
+    public SliceSelect(RuntimeEngine rte, AbstractEntityProperty<ENTITY> meta, Object[] partitionKeyValues) {
+        final String entityClassName = meta.entityClass.getCanonicalName();
+        validateTrue(partitionKeyValues.length == meta.partitionKeys.size(),
+                "There should be exactly %s partition key value(s) for entity '%s'", meta.partitionKeys.size(), entityClassName);
+        validateTrue(meta.clusteringColumns.size() > 0, "The entity '%s' should have clustering columns to be read by slices", entityClassName);
+        final Set<ClusteringOrder> orders = meta.clusteringColumns
+                .stream()
+                .map(x -> ((ClusteringColumnInfo) x.fieldInfo.columnInfo).clusteringOrder)
+                .collect(toSet());
+        validateTrue(orders.size() == 1, "All the clustering columns of entity '%s' should have the same clustering order to be read by slices", entityClassName);
+
+        this.rte = rte;
+        this.meta = meta;
+        this.partitionKeyValues = partitionKeyValues;
+        this.encodedPartitionKeyValues = new Object[partitionKeyValues.length];
+        for (int i = 0; i < partitionKeyValues.length; i++) {
+            final AbstractProperty<ENTITY, ?, ?> partitionKey = meta.partitionKeys.get(i);
+            validateNotNull(partitionKeyValues[i], "Partition key '%s' should not be null", partitionKey.fieldName);
+            this.encodedPartitionKeyValues[i] = partitionKey.encodeFromRaw(partitionKeyValues[i]);
+        }
+        this.descending = orders.contains(ClusteringOrder.DESC);
+    }
+
+    /**
+     * Number of rows fetched per page, default = 1000
+     */
+    public SliceSelect<ENTITY> withPageSize(int pageSize) {
+        validateTrue(pageSize > 0, "The page size '%s' should be strictly positive", pageSize);
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Restrict the first clustering column to the range [lower, upper)
+     */
+    public SliceSelect<ENTITY> between(Object lower, Object upper) {
+        validateNotNull(lower, "The lower bound of the slice should not be null");
+        validateNotNull(upper, "The upper bound of the slice should not be null");
+        this.lowerBound = lower;
+        this.upperBound = upper;
+        return this;
+    }
+
+    /**
+     * Start after the given clustering tuple, in clustering order. Give the clustering values
+     * of the last entity returned by a previous scan to resume it
+     */
+    public SliceSelect<ENTITY> after(Object... clusteringValues) {
+        validateTrue(clusteringValues != null && clusteringValues.length > 0 && clusteringValues.length <= meta.clusteringColumns.size(),
+                "There should be between 1 and %s clustering values to start after", meta.clusteringColumns.size());
+        for (int i = 0; i < clusteringValues.length; i++) {
+            validateNotNull(clusteringValues[i], "Clustering value '%s' to start after should not be null",
+                    meta.clusteringColumns.get(i).fieldName);
+        }
+        this.after = clusteringValues;
+        return this;
+    }
+
+    /**
+     * Split the range given by {@link #between(Object, Object)} into <em>slices</em> sub-ranges of the first
+     * clustering column fetched concurrently. The first clustering column should be of type
+     * Integer, Long or java.util.Date
+     */
+    public SliceSelect<ENTITY> parallelSlices(int slices) {
+        validateTrue(slices > 0, "The number of slices '%s' should be strictly positive", slices);
+        this.slices = slices;
+        return this;
+    }
+
+    /**
+     * Use the given schema name provider to look up the keyspace and table name at runtime
+     */
+    public SliceSelect<ENTITY> withSchemaNameProvider(SchemaNameProvider schemaNameProvider) {
+        validateNotNull(schemaNameProvider, "The provided schema name provider should not be null");
+        options.setSchemaNameProvider(Optional.of(schemaNameProvider));
+        return this;
+    }
+
+    /**
+     * Execute the SELECT and return an iterator of entities in clustering order.
+     * The next pages of each slice are fetched while the current one is iterated
+     */
+    public Iterator<ENTITY> iterator() {
+        final List<SliceCursor> cursors = new ArrayList<>();
+        if (slices > 1) {
+            validateTrue(lowerBound != null, "Parallel slices need a range, call between(lower, upper) first");
+            validateTrue(after == null, "Parallel slices cannot start after a clustering tuple");
+            for (Object[] range : splitRange(lowerBound, upperBound, slices)) {
+                cursors.add(new SliceCursor(range[0], range[1], null));
+            }
+            if (descending) {
+                Collections.reverse(cursors);
+            }
+        } else {
+            cursors.add(new SliceCursor(lowerBound, upperBound, after));
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Reading %s slice(s) of entity %s by pages of %s rows",
+                    cursors.size(), meta.entityClass.getCanonicalName(), pageSize));
+        }
+
+        cursors.forEach(SliceCursor::fetchNextPage);
+        return new SliceIterator(cursors);
+    }
+
+    /**
+     * Execute the SELECT and return a stream of entities in clustering order
+     */
+    public Stream<ENTITY> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Execute the SELECT and return a list of entities in clustering order
+     */
+    public List<ENTITY> getList() {
+        return stream().collect(toList());
+    }
+
+    @Override
+    protected CassandraOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    protected SliceSelect<ENTITY> getThis() {
+        return this;
+    }
+
+    /**
+     * Split [lower, upper) into at most <em>slices</em> contiguous and non-empty sub-ranges, in ascending order
+     */
+    static List<Object[]> splitRange(Object lower, Object upper, int slices) {
+        final long from = toLong(lower);
+        final long to = toLong(upper);
+        final List<Object[]> ranges = new ArrayList<>();
+        if (from >= to) return ranges;
+
+        final long width = Math.max(1L, (to - from + slices - 1) / slices);
+        for (long start = from; start < to; start += width) {
+            final long end = Math.min(to, start + width);
+            ranges.add(new Object[]{fromLong(start, lower), fromLong(end, lower)});
+            if (end == to) break;
+        }
+        return ranges;
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else {
+            throw new AchillesException(format("Cannot split a clustering range of type '%s', only Integer, Long and java.util.Date are supported",
+                    value.getClass().getCanonicalName()));
+        }
+    }
+
+    private static Object fromLong(long value, Object sample) {
+        if (sample instanceof Integer) {
+            return (int) value;
+        } else if (sample instanceof Date) {
+            return new Date(value);
+        } else {
+            return value;
+        }
+    }
+
+    private class SliceCursor {
+        private final Object lower;
+        private final Object upper;
+        private final Deque<CompletableFuture<List<ENTITY>>> pages = new ArrayDeque<>();
+        private Object[] after;
+        private boolean fetchSuspended = false;
+
+        SliceCursor(Object lower, Object upper, Object[] after) {
+            this.lower = lower;
+            this.upper = upper;
+            this.after = after;
+        }
+
+        synchronized void fetchNextPage() {
+            final int seekColumns = after == null ? 0 : after.length;
+            final PreparedStatement ps = rte.prepareDynamicQuery(PreparedStatementGenerator.generateSliceQuery(meta,
+                    options.getSchemaNameProvider(), seekColumns, lower != null, upper != null, descending));
+
+            final List<Object> values = new ArrayList<>(Arrays.asList(partitionKeyValues));
+            final List<Object> encodedValues = new ArrayList<>(Arrays.asList(encodedPartitionKeyValues));
+            final AbstractProperty<ENTITY, ?, ?> firstClustering = meta.clusteringColumns.get(0);
+            final Object startBound = descending ? upper : lower;
+            final Object endBound = descending ? lower : upper;
+
+            if (seekColumns > 0) {
+                for (int i = 0; i < seekColumns; i++) {
+                    values.add(after[i]);
+                    encodedValues.add(meta.clusteringColumns.get(i).encodeFromRaw(after[i]));
+                }
+            } else if (startBound != null) {
+                values.add(startBound);
+                encodedValues.add(firstClustering.encodeFromRaw(startBound));
+            }
+            if (endBound != null) {
+                values.add(endBound);
+                encodedValues.add(firstClustering.encodeFromRaw(endBound));
+            }
+            values.add(pageSize);
+            encodedValues.add(pageSize);
+
+            final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps,
+                    values.toArray(), encodedValues.toArray());
+            statementWrapper.applyOptions(options);
+            statementWrapper.getBoundStatement().setFetchSize(pageSize);
+
+            final CompletableFuture<List<ENTITY>> page = new CompletableFuture<>();
+            pages.add(page);
+            rte.execute(statementWrapper)
+                    .thenApply(options::resultSetAsyncListener)
+                    .thenApply(statementWrapper::logTrace)
+                    .thenApply(rs -> IntStream.range(0, rs.getAvailableWithoutFetching())
+                            .mapToObj(index -> {
+                                final Row row = rs.one();
+                                statementWrapper.logReturnedRow(row);
+                                options.rowAsyncListener(row);
+                                final ENTITY instance = meta.createEntityFrom(row);
+                                meta.triggerInterceptorsForEvent(Event.POST_LOAD, instance);
+                                return instance;
+                            })
+                            .collect(toList()))
+                    .whenComplete((entities, throwable) -> {
+                        if (throwable != null) {
+                            page.completeExceptionally(throwable);
+                        } else {
+                            try {
+                                onPageFetched(entities);
+                                page.complete(entities);
+                            } catch (RuntimeException ex) {
+                                page.completeExceptionally(ex);
+                            }
+                        }
+                    });
+        }
+
+        /**
+         * Seek after the last row of a full page and fetch the next one right away,
+         * unless {@link #PREFETCHED_PAGES} pages are already waiting to be iterated
+         */
+        private synchronized void onPageFetched(List<ENTITY> entities) {
+            if (entities.size() < pageSize) return;
+
+            final ENTITY last = entities.get(entities.size() - 1);
+            after = meta.clusteringColumns
+                    .stream()
+                    .map(x -> x.getJavaValue(last))
+                    .toArray();
+            if (pages.size() < PREFETCHED_PAGES) {
+                fetchNextPage();
+            } else {
+                fetchSuspended = true;
+            }
+        }
+
+        List<ENTITY> awaitPage() {
+            final CompletableFuture<List<ENTITY>> page;
+            synchronized (this) {
+                page = pages.peek();
+            }
+            final List<ENTITY> entities;
+            try {
+                entities = Uninterruptibles.getUninterruptibly(page);
+            } catch (ExecutionException e) {
+                throw extractCauseFromExecutionException(e);
+            }
+            synchronized (this) {
+                pages.poll();
+                if (fetchSuspended) {
+                    fetchSuspended = false;
+                    fetchNextPage();
+                }
+            }
+            return entities;
+        }
+    }
+
+    private class SliceIterator implements Iterator<ENTITY> {
+        private final List<SliceCursor> cursors;
+        private int cursorIndex = 0;
+        private Iterator<ENTITY> current = Collections.emptyIterator();
+
+        SliceIterator(List<SliceCursor> cursors) {
+            this.cursors = cursors;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (cursorIndex >= cursors.size()) return false;
+
+                final SliceCursor cursor = cursors.get(cursorIndex);
+                final List<ENTITY> entities = cursor.awaitPage();
+                if (entities.size() < pageSize) {
+                    cursorIndex++;
+                }
+                current = entities.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public ENTITY next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return current.next();
+        }
+    }
+}
@@ -18,6 +18,9 @@ package info.archinnov.achilles.internals.factory;
 
 import static java.lang.String.format;
 
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,4 +42,15 @@ public class DefaultBeanFactory implements BeanFactory {
             throw new AchillesException(format("Cannot instantiate instance of class '%s'. Did you forget to declare a default constructor ?", clazz.getCanonicalName()));
         }
     }
+
+    /**
+     * Use the default constructor call generated at compile time, if any,
+     * unless a custom bean factory has been provided at bootstrap
+     */
+    public static <T> Supplier<T> instantiatorFor(BeanFactory factory, Class<T> clazz, Optional<Supplier<T>> generatedInstantiator) {
+        if (factory.getClass() == DefaultBeanFactory.class && generatedInstantiator.isPresent()) {
+            return generatedInstantiator.get();
+        }
+        return () -> factory.newInstance(clazz);
+    }
 }
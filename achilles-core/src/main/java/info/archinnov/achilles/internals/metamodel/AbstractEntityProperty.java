@@ -19,10 +19,12 @@ package info.archinnov.achilles.internals.metamodel;
 import static info.archinnov.achilles.internals.schema.SchemaValidator.*;
 import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.*;
 import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +36,7 @@ import com.google.common.collect.BiMap;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.injectable.*;
@@ -87,8 +90,10 @@ public abstract class AbstractEntityProperty<T> implements
     public final List<AbstractProperty<T, ?, ?>> constructorInjectedColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumnsWithComputed;
+    public final Optional<TimeBucketProperty<T>> timeBucket;
     public final List<Interceptor<T>> interceptors = new ArrayList<>();
     protected BeanFactory beanFactory;
+    protected Supplier<T> instantiator;
     protected Optional<String> keyspace = Optional.empty();
     protected ConsistencyLevel readConsistencyLevel;
     protected ConsistencyLevel writeConsistencyLevel;
@@ -120,6 +125,7 @@ public abstract class AbstractEntityProperty<T> implements
         counterColumns = getCounterColumns();
         allColumns = getAllColumns();
         allColumnsWithComputed = getAllColumnsWithComputed();
+        timeBucket = getTimeBucket();
     }
 
     protected abstract Class<T> getEntityClass();
@@ -160,6 +166,13 @@ public abstract class AbstractEntityProperty<T> implements
 
     protected abstract List<AbstractProperty<T, ?, ?>> getConstructorInjectedColumns();
 
+    /**
+     * Time bucket partition key component, if any field is annotated with {@link info.archinnov.achilles.annotations.TimeBucket}
+     */
+    protected Optional<TimeBucketProperty<T>> getTimeBucket() {
+        return Optional.empty();
+    }
+
     protected EntityType getType() {
         return EntityType.TABLE;
     }
@@ -229,6 +242,22 @@ public abstract class AbstractEntityProperty<T> implements
 
     protected abstract T newInstanceFromCustomConstructor(Row row, List<String> cqlColumns);
 
+    /**
+     * Direct call to the default constructor, generated at compile time.
+     * Empty if the entity is created with a custom constructor
+     */
+    protected abstract Optional<Supplier<T>> getInstantiator();
+
+    /**
+     * Create an empty instance through the injected bean factory, to be populated field by field.
+     * Entities having a custom constructor cannot be created this way
+     */
+    public T createEmptyEntity() {
+        validateTrue(constructorInjectedColumns.isEmpty(),
+                "Cannot create an empty instance of entity '%s' having a custom constructor", entityClass.getCanonicalName());
+        return instantiator.get();
+    }
+
     public T createEntityFrom(Row row) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Create entity of type %s from Cassandra row %s",
@@ -238,7 +267,7 @@ public abstract class AbstractEntityProperty<T> implements
             // No custom constructor
             final List<String> cqlColumns = row.getColumnDefinitions().asList().stream().map(def -> def.getName()).collect(toList());
             if (constructorInjectedColumns.size() == 0) {
-                T newInstance = beanFactory.newInstance(entityClass);
+                T newInstance = instantiator.get();
                 allColumnsWithComputed
                         .stream()
                         .filter(x -> cqlColumns.contains(x.getColumnForSelect()))
@@ -259,6 +288,13 @@ public abstract class AbstractEntityProperty<T> implements
         return null;
     }
 
+    /**
+     * Derive the time bucket partition key component of the given instance, if any
+     */
+    public void deriveTimeBucket(T instance) {
+        timeBucket.ifPresent(x -> x.deriveBucket(instance));
+    }
+
     public BoundValuesWrapper extractAllValuesFromEntity(T instance, CassandraOptions cassandraOptions) {
         return BeanValueExtractor.extractAllValues(instance, this, cassandraOptions);
     }
@@ -455,6 +491,7 @@ public abstract class AbstractEntityProperty<T> implements
                     factory, entityClass.getCanonicalName()));
         }
         beanFactory = factory;
+        instantiator = DefaultBeanFactory.instantiatorFor(factory, entityClass, getInstantiator());
 
         for (AbstractProperty<T, ?, ?> x : allColumns) {
             x.inject(factory);
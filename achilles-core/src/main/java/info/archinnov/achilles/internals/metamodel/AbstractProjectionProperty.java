@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.metamodel;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.FIND;
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+
+import info.archinnov.achilles.internals.cache.CacheKey;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.type.SchemaNameProvider;
+
+/**
+ * Meta data of a projection generated for an interface annotated with
+ * {@link info.archinnov.achilles.annotations.Projection}.
+ * <br/>
+ * The SELECT statement only fetches the projected columns, restricted by the partition key(s)
+ * of the entity. Rows are mapped by column index, in the order of <em>columns</em>
+ */
+public abstract class AbstractProjectionProperty<ENTITY, PROJECTION> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractProjectionProperty.class);
+
+    public final Class<PROJECTION> projectionClass;
+    public final List<AbstractProperty<ENTITY, ?, ?>> columns;
+
+    protected AbstractProjectionProperty(Class<PROJECTION> projectionClass, List<AbstractProperty<ENTITY, ?, ?>> columns) {
+        this.projectionClass = projectionClass;
+        this.columns = columns;
+    }
+
+    /**
+     * Create a projection instance from the row. The projected columns
+     * are read by index, in the order of <em>columns</em>
+     */
+    public abstract PROJECTION createFrom(Row row);
+
+    public RegularStatement generateSelectQuery(AbstractEntityProperty<ENTITY> meta, Optional<SchemaNameProvider> schemaNameProvider) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate SELECT query for projection %s of entity %s",
+                    projectionClass.getCanonicalName(), meta.entityClass.getCanonicalName()));
+        }
+
+        final Select.Selection select = QueryBuilder.select();
+        for (AbstractProperty<ENTITY, ?, ?> x : columns) {
+            select.column(x.fieldInfo.quotedCqlColumn);
+        }
+
+        final Select from;
+        if (schemaNameProvider.isPresent()) {
+            final SchemaNameProvider provider = schemaNameProvider.get();
+            from = select.from(provider.keyspaceFor(meta.entityClass), provider.tableNameFor(meta.entityClass));
+        } else {
+            final Optional<String> keyspace = meta.getKeyspace();
+            if (keyspace.isPresent()) {
+                from = select.from(keyspace.get(), meta.getTableOrViewName());
+            } else {
+                from = select.from(meta.getTableOrViewName());
+            }
+        }
+
+        final Select.Where where = from.where();
+        for (AbstractProperty<?, ?, ?> x : meta.partitionKeys) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+        return where;
+    }
+
+    /**
+     * Get the statically prepared SELECT statement of this projection. The statement is prepared
+     * once on first use, because the schema may not exist yet when the entity manager is created
+     */
+    public PreparedStatement getPreparedStatement(RuntimeEngine rte, AbstractEntityProperty<ENTITY> meta, CassandraOptions cassandraOptions) {
+        final CacheKey cacheKey = new CacheKey(projectionClass, FIND);
+        rte.cache.putStaticCache(cacheKey, () -> rte.session.prepare(generateSelectQuery(meta, Optional.empty())));
+
+        final Optional<SchemaNameProvider> provider = cassandraOptions.getSchemaNameProvider();
+        final PreparedStatement psFromCache = rte.getStaticCache(cacheKey);
+        return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateSelectQuery(meta, provider))
+                .orElse(psFromCache);
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Optional;
 
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.GettableData;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.UDTValue;
 import com.google.common.reflect.TypeToken;
@@ -134,6 +135,22 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
 
     abstract VALUEFROM decodeFromGettableInternal(GettableData gettableData);
 
+    /**
+     * Decode the column at the given index of the Row to Java value using Achilles codec system.
+     * Unlike {@link #decodeFromGettable(GettableData)}, the column is not looked up by name
+     * @param row
+     * @param index
+     * @return
+     */
+    public VALUEFROM decodeFromRow(Row row, int index) {
+        if (row.isNull(index) && !isOptional()) return null;
+        return decodeFromRowInternal(row, index);
+    }
+
+    VALUEFROM decodeFromRowInternal(Row row, int index) {
+        return decodeFromGettableInternal(row);
+    }
+
     /**
      * Decode the given raw object to Java value value using Achilles codec system
      * @param o
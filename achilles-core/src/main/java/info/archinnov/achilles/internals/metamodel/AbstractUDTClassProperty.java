@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -34,6 +35,7 @@ import com.datastax.driver.core.schemabuilder.SchemaBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import info.archinnov.achilles.annotations.UDT;
+import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.injectable.*;
@@ -63,6 +65,7 @@ public abstract class AbstractUDTClassProperty<A>
     public final List<AbstractProperty<A, ?, ?>> constructorInjectedProperty;
     public final Class<?> parentEntityClass;
     protected BeanFactory udtFactory;
+    protected Supplier<A> instantiator;
     protected UserTypeFactory userTypeFactory;
     protected UserType userType;
     protected Optional<SchemaNameProvider> schemaNameProvider = Optional.empty();
@@ -99,11 +102,17 @@ public abstract class AbstractUDTClassProperty<A>
 
     protected abstract A newInstanceFromCustomConstructor(UDTValue udtValue);
 
+    /**
+     * Direct call to the default constructor, generated at compile time.
+     * Empty if the UDT is created with a custom constructor
+     */
+    protected abstract Optional<Supplier<A>> getInstantiator();
+
     protected A createBeanFromUDT(UDTValue udtValue) {
         if (udtValue != null) {
             final A instance;
             if (constructorInjectedProperty.size() == 0) {
-                instance = udtFactory.newInstance(udtClass);
+                instance = instantiator.get();
                 componentsProperty
                         .stream()
                         .forEach(x -> x.decodeField(udtValue, instance));
@@ -172,6 +181,7 @@ public abstract class AbstractUDTClassProperty<A>
     @Override
     public void inject(BeanFactory factory) {
         udtFactory = factory;
+        instantiator = DefaultBeanFactory.instantiatorFor(factory, udtClass, getInstantiator());
         for (AbstractProperty<A, ?, ?> x : componentsProperty) {
             x.inject(udtFactory);
         }
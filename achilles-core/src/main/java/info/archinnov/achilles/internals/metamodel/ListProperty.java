@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.GettableData;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -153,6 +154,11 @@ public class ListProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getList(fieldInfo.quotedCqlColumn, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    List<VALUEFROM> decodeFromRowInternal(Row row, int index) {
+        return decodeFromRaw(row.getList(index, valueProperty.valueToTypeToken));
+    }
+
     @Override
     public List<VALUEFROM> decodeFromRaw(Object o) {
         return decodeFromRawInternal(o);
@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.GettableData;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -185,6 +186,11 @@ public class MapProperty<ENTITY, KEYFROM, KEYTO, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getMap(fieldInfo.quotedCqlColumn, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    Map<KEYFROM, VALUEFROM> decodeFromRowInternal(Row row, int index) {
+        return decodeFromRaw(row.getMap(index, keyProperty.valueToTypeToken, valueProperty.valueToTypeToken));
+    }
+
     @Override
     public Map<KEYFROM, VALUEFROM> decodeFromRaw(Object o) {
         return decodeFromRawInternal(o);
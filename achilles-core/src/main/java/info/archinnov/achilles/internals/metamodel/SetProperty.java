@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.GettableData;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.SettableData;
 import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -142,6 +143,11 @@ public class SetProperty<ENTITY, VALUEFROM, VALUETO> extends
         return decodeFromRaw(gettableData.getSet(fieldInfo.quotedCqlColumn, valueProperty.valueToTypeToken));
     }
 
+    @Override
+    Set<VALUEFROM> decodeFromRowInternal(Row row, int index) {
+        return decodeFromRaw(row.getSet(index, valueProperty.valueToTypeToken));
+    }
+
 
     @Override
     public Set<VALUEFROM> decodeFromRaw(Object o) {
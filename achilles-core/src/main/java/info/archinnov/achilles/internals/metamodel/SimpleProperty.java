@@ -28,19 +28,20 @@ import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.datastax.driver.core.DataType;
-import com.datastax.driver.core.GettableData;
-import com.datastax.driver.core.SettableData;
-import com.datastax.driver.core.UDTValue;
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.exceptions.CodecNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.reflect.TypeToken;
 
+import info.archinnov.achilles.internals.codec.FallThroughCodec;
+import info.archinnov.achilles.internals.codec.FusedTypeCodec;
 import info.archinnov.achilles.internals.codec.JSONCodec;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.RuntimeCodecWrapper;
+import info.archinnov.achilles.internals.utils.NamingHelper;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.factory.BeanFactory;
@@ -55,6 +56,10 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
     public final BiConsumer<SettableData, VALUETO> settable;
     public final DataType dataTypeInternal;
 
+    private FusedTypeCodec<VALUEFROM, VALUETO> fusedCodec;
+    private ProtocolVersion protocolVersion;
+    private String quotedColumnForSelect;
+
     public SimpleProperty(FieldInfo<ENTITY, VALUEFROM> fieldInfo, DataType dataType,
                           Function<GettableData, VALUETO> gettable,
                           BiConsumer<SettableData, VALUETO> settable,
@@ -107,9 +112,20 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
             LOGGER.trace(format("Decode '%s' from gettable object %s", fieldName, gettableData));
         }
 
+        if (fusedCodec != null) {
+            return fusedCodec.deserialize(gettableData.getBytesUnsafe(quotedColumnForSelect), protocolVersion);
+        }
         return valueCodec.decode(gettable.apply(gettableData));
     }
 
+    @Override
+    VALUEFROM decodeFromRowInternal(Row row, int index) {
+        if (fusedCodec != null) {
+            return fusedCodec.deserialize(row.getBytesUnsafe(index), protocolVersion);
+        }
+        return valueCodec.decode(row.get(index, valueToTypeToken));
+    }
+
 
     @Override
     public VALUEFROM decodeFromRawInternal(Object o) {
@@ -179,4 +195,35 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
     public void injectKeyspace(String keyspace) {
         // No op
     }
+
+    /**
+     * Compose the Achilles codec of this property with the driver codec of its CQL type
+     * so that columns are decoded straight from their serialized bytes.
+     * Writes still bind the encoded value, which is also exposed as encoded bound value and DML logged.
+     * Properties without Achilles codec or whose target type has no driver codec are left untouched
+     * @param codecRegistry
+     * @param protocolVersion
+     * @return the fused codec, if any
+     */
+    public Optional<FusedTypeCodec<VALUEFROM, VALUETO>> injectFusedCodec(CodecRegistry codecRegistry, ProtocolVersion protocolVersion) {
+        if (valueCodec instanceof FallThroughCodec) {
+            return Optional.empty();
+        }
+
+        final TypeCodec<VALUETO> targetCodec;
+        try {
+            targetCodec = codecRegistry.codecFor(dataTypeInternal, valueToTypeToken);
+        } catch (CodecNotFoundException ex) {
+            LOGGER.debug(format("No driver codec found for '%s' of type %s, cannot fuse its codec", fieldName, dataTypeInternal));
+            return Optional.empty();
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Fuse codec of '%s' with driver codec for %s", fieldName, dataTypeInternal));
+        }
+        this.protocolVersion = protocolVersion;
+        this.quotedColumnForSelect = NamingHelper.maybeQuote(getColumnForSelect());
+        this.fusedCodec = FusedTypeCodec.create(valueCodec, targetCodec, valueFromTypeToken);
+        return Optional.of(fusedCodec);
+    }
 }
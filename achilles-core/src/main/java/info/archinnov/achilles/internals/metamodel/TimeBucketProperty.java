@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.metamodel;
+
+import static java.lang.String.format;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ClusteringOrder;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.metamodel.columns.ClusteringColumnInfo;
+import info.archinnov.achilles.internals.parser.accessors.Setter;
+
+/**
+ * Meta data of a partition key component annotated with {@link info.archinnov.achilles.annotations.TimeBucket}.
+ * <br/>
+ * The bucket is the epoch millis of the start of the <em>unit</em> containing the value of the
+ * <em>timeProperty</em>, which is the first clustering column of the entity
+ */
+public class TimeBucketProperty<ENTITY> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeBucketProperty.class);
+
+    public final AbstractProperty<ENTITY, ?, ?> bucketProperty;
+    public final AbstractProperty<ENTITY, ?, ?> timeProperty;
+    public final TimeUnit unit;
+    public final long bucketMillis;
+
+    public TimeBucketProperty(AbstractProperty<ENTITY, ?, ?> bucketProperty, AbstractProperty<ENTITY, ?, ?> timeProperty, TimeUnit unit) {
+        this.bucketProperty = bucketProperty;
+        this.timeProperty = timeProperty;
+        this.unit = unit;
+        this.bucketMillis = unit.toMillis(1);
+    }
+
+    /**
+     * Set the bucket of the given entity from its time value. Nothing is done if the time value is null
+     */
+    @SuppressWarnings("unchecked")
+    public void deriveBucket(ENTITY instance) {
+        final Object time = timeProperty.getJavaValue(instance);
+        if (time == null) return;
+
+        final Object bucket = toBucketValue(bucketStart(toEpochMillis(time)));
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Derive time bucket %s for field '%s' from time %s", bucket, bucketProperty.fieldName, time));
+        }
+        ((Setter<ENTITY, Object>) bucketProperty.fieldInfo.setter).set(instance, bucket);
+    }
+
+    /**
+     * Number of buckets covering the time range [from, to), computed without listing them
+     */
+    public long bucketCountBetween(Object from, Object to) {
+        final long fromMillis = toEpochMillis(from);
+        final long toMillis = toEpochMillis(to);
+        if (fromMillis >= toMillis) return 0L;
+
+        return (bucketStart(toMillis - 1) - bucketStart(fromMillis)) / bucketMillis + 1;
+    }
+
+    /**
+     * Iterate lazily over the bucket values covering the time range [from, to), in clustering order of the time column
+     */
+    public Iterator<Object> bucketsBetween(Object from, Object to) {
+        final long count = bucketCountBetween(from, to);
+        final long first = bucketStart(toEpochMillis(from));
+        final long step = isDescending() ? -bucketMillis : bucketMillis;
+        final long start = isDescending() ? first + (count - 1) * bucketMillis : first;
+        return new Iterator<Object>() {
+            private long index = 0L;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Object next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return toBucketValue(start + (index++) * step);
+            }
+        };
+    }
+
+    public boolean isDescending() {
+        return ((ClusteringColumnInfo) timeProperty.fieldInfo.columnInfo).clusteringOrder == ClusteringOrder.DESC;
+    }
+
+    private long bucketStart(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+    }
+
+    private Object toBucketValue(long bucketStart) {
+        final Class<?> bucketType = bucketProperty.valueFromTypeToken.getRawType();
+        if (Date.class.equals(bucketType)) {
+            return new Date(bucketStart);
+        } else {
+            return bucketStart;
+        }
+    }
+
+    private long toEpochMillis(Object time) {
+        if (time instanceof Date) {
+            return ((Date) time).getTime();
+        } else if (time instanceof Instant) {
+            return ((Instant) time).toEpochMilli();
+        } else if (time instanceof Long) {
+            return (Long) time;
+        } else {
+            throw new AchillesException(format("Cannot derive time bucket from value '%s' of field '%s'", time, timeProperty.fieldName));
+        }
+    }
+}
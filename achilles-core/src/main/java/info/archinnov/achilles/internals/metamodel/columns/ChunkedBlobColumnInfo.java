@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.metamodel.columns;
+
+public class ChunkedBlobColumnInfo extends ColumnInfo {
+
+    public final int chunkSize;
+    public final int writeParallelism;
+    public final int prefetchChunks;
+
+    public ChunkedBlobColumnInfo(boolean frozen, int chunkSize, int writeParallelism, int prefetchChunks) {
+        super(frozen);
+        this.chunkSize = chunkSize;
+        this.writeParallelism = writeParallelism;
+        this.prefetchChunks = prefetchChunks;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ChunkedBlobColumnInfo{");
+        sb.append("chunkSize=").append(chunkSize);
+        sb.append(", writeParallelism=").append(writeParallelism);
+        sb.append(", prefetchChunks=").append(prefetchChunks);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internals.options;
 
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -47,6 +48,8 @@ public class CassandraOptions {
     private Optional<Long> defaultTimestamp = Optional.empty();
     private Optional<Integer> timeToLive = Optional.empty();
     private Optional<Integer> fetchSize = Optional.empty();
+    private Optional<Boolean> adaptiveFetchSize = Optional.empty();
+    private Optional<Duration> resultCacheTTL = Optional.empty();
     private Optional<Boolean> idempotent = Optional.empty();
     private Optional<Map<String, ByteBuffer>> outgoingPayLoad = Optional.empty();
     private Optional<PagingState> pagingState = Optional.empty();
@@ -150,6 +153,22 @@ public class CassandraOptions {
         this.fetchSize = fetchSize;
     }
 
+    public boolean isAdaptiveFetchSize() {
+        return adaptiveFetchSize.orElse(false);
+    }
+
+    public void setAdaptiveFetchSize(Optional<Boolean> adaptiveFetchSize) {
+        this.adaptiveFetchSize = adaptiveFetchSize;
+    }
+
+    public Optional<Duration> getResultCacheTTL() {
+        return resultCacheTTL;
+    }
+
+    public void setResultCacheTTL(Optional<Duration> resultCacheTTL) {
+        this.resultCacheTTL = resultCacheTTL;
+    }
+
     public boolean hasIdempotent() {
         return idempotent.isPresent();
     }
@@ -311,6 +330,8 @@ public class CassandraOptions {
         sb.append(", defaultTimestamp=").append(defaultTimestamp);
         sb.append(", timeToLive=").append(timeToLive);
         sb.append(", fetchSize=").append(fetchSize);
+        sb.append(", adaptiveFetchSize=").append(adaptiveFetchSize);
+        sb.append(", resultCacheTTL=").append(resultCacheTTL);
         sb.append(", idempotent=").append(idempotent);
         sb.append(", outgoingPayLoad=").append(outgoingPayLoad);
         sb.append(", pagingState=").append(pagingState);
@@ -162,6 +162,10 @@ public class CodecFactory {
                 codec = CodeBlock.builder().add("new $T()", BYTE_ARRAY_CODEC).build();
                 return new CodecInfo(codec, sourceType, BYTE_BUFFER);
             }
+        } else if (sourceType.equals(BYTE_BUFFER) && !codecFromRegistry.isPresent()
+                && context.entityContext.globalContext.readOnlyBlobViews) {
+            codec = CodeBlock.builder().add("new $T()", READ_ONLY_BYTE_BUFFER_CODEC).build();
+            return new CodecInfo(codec, sourceType, BYTE_BUFFER);
         } else {
             if (codecFromRegistry.isPresent()) {
                 return codecFromRegistry.get();
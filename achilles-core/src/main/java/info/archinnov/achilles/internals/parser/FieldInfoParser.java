@@ -206,6 +206,7 @@ public class FieldInfoParser {
         final Optional<TypedMap> partitionKey = extractTypedMap(annotationTree, PartitionKey.class);
         final Optional<TypedMap> clusteringColumn = extractTypedMap(annotationTree, ClusteringColumn.class);
         final Optional<TypedMap> computed = extractTypedMap(annotationTree, Computed.class);
+        final Optional<ChunkedBlob> chunkedBlob = Optional.ofNullable(elm.getAnnotation(ChunkedBlob.class));
 
         context.fieldValidator().validateAllowedFrozen(isFrozen, aptUtils, elm, fieldName, rawEntityClass);
 
@@ -239,6 +240,16 @@ public class FieldInfoParser {
             return Tuple2.of(builder.build(), new ComputedColumnInfo(function, alias, targetColumns, cqlClass));
 
 
+        } else if (chunkedBlob.isPresent()) {
+            final int chunkSize = chunkedBlob.get().chunkSize();
+            final int writeParallelism = chunkedBlob.get().writeParallelism();
+            final int prefetchChunks = chunkedBlob.get().prefetchChunks();
+            aptUtils.validateTrue(chunkSize > 0 && writeParallelism > 0 && prefetchChunks > 0,
+                    "The chunk size, write parallelism and prefetch chunks of @ChunkedBlob field '%s' of class '%s' should be strictly positive",
+                    fieldName, rawEntityClass);
+            builder.add("new $T($L, $L, $L, $L)", CHUNKED_BLOB_COLUMN_INFO, isFrozen, chunkSize, writeParallelism, prefetchChunks);
+            return Tuple2.of(builder.build(), new ChunkedBlobColumnInfo(isFrozen, chunkSize, writeParallelism, prefetchChunks));
+
         } else {
             builder.add("new $T($L)", COLUMN_INFO, isFrozen);
             return Tuple2.of(builder.build(), new ColumnInfo(isFrozen));
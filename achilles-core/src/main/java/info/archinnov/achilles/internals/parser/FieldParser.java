@@ -68,6 +68,7 @@ public class FieldParser {
         entityContext.globalContext.nestedTypesValidator().validate(aptUtils, annotationTree, context.fieldName, context.entityRawType);
 
         final FieldMetaSignature fieldMetaSignature = parseType(annotationTree, context, TypeName.get(elm.asType()));
+        fieldMetaSignature.context.timeBucket = Optional.ofNullable(elm.getAnnotation(TimeBucket.class));
 
         if (fieldMetaSignature.context.indexInfo.sasiInfoContext.isPresent()) {
             entityContext.globalContext.fieldValidator().validateSASIIndex(aptUtils, fieldMetaSignature);
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.parser;
+
+import static info.archinnov.achilles.internals.metamodel.columns.ColumnType.COMPUTED;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import info.archinnov.achilles.annotations.Projection;
+import info.archinnov.achilles.internals.apt.AptUtils;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.parser.FieldParser.FieldMetaSignature;
+
+public class ProjectionParser {
+
+    private final AptUtils aptUtils;
+
+    public ProjectionParser(AptUtils aptUtils) {
+        this.aptUtils = aptUtils;
+    }
+
+    public ProjectionSignature parseProjection(TypeElement elm, List<EntityMetaSignature> tableSignatures) {
+        final TypeName projectionType = ClassName.get(elm);
+
+        aptUtils.validateTrue(elm.getKind() == ElementKind.INTERFACE,
+                "The type '%s' annotated with @Projection should be an interface", projectionType);
+        aptUtils.validateTrue(elm.getTypeParameters().isEmpty(),
+                "The projection interface '%s' should not have type parameters", projectionType);
+
+        final TypeName entityType = TypeName.get(extractProjectedEntity(elm));
+        final Optional<EntityMetaSignature> entitySignature = tableSignatures
+                .stream()
+                .filter(EntityMetaSignature::isTable)
+                .filter(x -> x.entityRawClass.equals(entityType))
+                .findFirst();
+
+        aptUtils.validateTrue(entitySignature.isPresent(),
+                "The entity '%s' of projection '%s' should be annotated with @Table", entityType, projectionType);
+
+        final EntityMetaSignature signature = entitySignature.get();
+        final List<ExecutableElement> getters = ElementFilter.methodsIn(aptUtils.elementUtils.getAllMembers(elm))
+                .stream()
+                .filter(x -> x.getModifiers().contains(Modifier.ABSTRACT))
+                .collect(toList());
+
+        aptUtils.validateFalse(getters.isEmpty(), "The projection interface '%s' should declare at least one getter", projectionType);
+
+        final Set<String> projectedFields = new HashSet<>();
+        final List<ProjectedColumn> columns = new ArrayList<>();
+        for (ExecutableElement getter : getters) {
+            final String getterName = getter.getSimpleName().toString();
+            aptUtils.validateTrue(getter.getParameters().isEmpty(),
+                    "The method '%s' of projection interface '%s' should not have any parameter", getterName, projectionType);
+
+            final TypeName returnType = TypeName.get(getter.getReturnType());
+            final Optional<FieldMetaSignature> field = Optional.ofNullable(findField(signature, toFieldName(getterName))
+                    .orElseGet(() -> findField(signature, getterName).orElse(null)));
+
+            aptUtils.validateTrue(field.isPresent(), "The method '%s' of projection interface '%s' does not match any field of entity '%s'",
+                    getterName, projectionType, entityType);
+
+            final String fieldName = field.get().context.fieldName;
+            aptUtils.validateFalse(field.get().context.columnType == COMPUTED,
+                    "The method '%s' of projection interface '%s' cannot map the computed field '%s'", getterName, projectionType, fieldName);
+            aptUtils.validateTrue(field.get().sourceType.equals(returnType),
+                    "The method '%s' of projection interface '%s' should return '%s' to match the type of field '%s' of entity '%s'",
+                    getterName, projectionType, field.get().sourceType, fieldName, entityType);
+            aptUtils.validateTrue(projectedFields.add(fieldName),
+                    "The field '%s' of entity '%s' is mapped by more than one method in projection interface '%s'",
+                    fieldName, entityType, projectionType);
+
+            columns.add(new ProjectedColumn(getterName, field.get()));
+        }
+
+        return new ProjectionSignature(elm.getSimpleName().toString(), projectionType, signature, columns);
+    }
+
+    private TypeMirror extractProjectedEntity(TypeElement elm) {
+        try {
+            elm.getAnnotation(Projection.class).of();
+        } catch (MirroredTypeException mte) {
+            return mte.getTypeMirror();
+        }
+        throw new IllegalStateException("Cannot read the entity class of projection " + elm.getQualifiedName());
+    }
+
+    private static Optional<FieldMetaSignature> findField(EntityMetaSignature signature, String fieldName) {
+        return signature.fieldMetaSignatures
+                .stream()
+                .filter(x -> x.context.fieldName.equals(fieldName))
+                .findFirst();
+    }
+
+    static String toFieldName(String getterName) {
+        if (getterName.matches("get[A-Z].*")) {
+            return Character.toLowerCase(getterName.charAt(3)) + getterName.substring(4);
+        } else if (getterName.matches("is[A-Z].*")) {
+            return Character.toLowerCase(getterName.charAt(2)) + getterName.substring(3);
+        }
+        return getterName;
+    }
+
+    public static class ProjectionSignature {
+        public final String simpleName;
+        public final TypeName projectionType;
+        public final EntityMetaSignature entitySignature;
+        public final List<ProjectedColumn> columns;
+
+        public ProjectionSignature(String simpleName, TypeName projectionType, EntityMetaSignature entitySignature, List<ProjectedColumn> columns) {
+            this.simpleName = simpleName;
+            this.projectionType = projectionType;
+            this.entitySignature = entitySignature;
+            this.columns = columns;
+        }
+
+        public String generatedClassName() {
+            return simpleName + TypeUtils.PROJECTION_SUFFIX;
+        }
+    }
+
+    public static class ProjectedColumn {
+        public final String getterName;
+        public final FieldMetaSignature field;
+
+        public ProjectedColumn(String getterName, FieldMetaSignature field) {
+            this.getterName = getterName;
+            this.field = field;
+        }
+    }
+}
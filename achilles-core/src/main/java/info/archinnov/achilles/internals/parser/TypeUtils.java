@@ -26,6 +26,8 @@ import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -51,7 +53,10 @@ import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVers
 import info.archinnov.achilles.internals.codec.*;
 import info.archinnov.achilles.internals.codegen.function.InternalSystemFunctionRegistry;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.bucket.TimeBucketRangeSelect;
+import info.archinnov.achilles.internals.dsl.slice.SliceSelect;
 import info.archinnov.achilles.internals.dsl.crud.*;
+import info.archinnov.achilles.internals.dsl.projection.ProjectionSelect;
 import info.archinnov.achilles.internals.dsl.query.delete.*;
 import info.archinnov.achilles.internals.dsl.query.select.*;
 import info.archinnov.achilles.internals.dsl.query.update.*;
@@ -113,12 +118,14 @@ public class TypeUtils {
     public static final String RAW_QUERY_SUFFIX = "_RAW_QUERY";
     public static final String FUNCTION_TYPE_SUFFIX = "_Type";
     public static final String FUNCTION_PROPERTY_SUFFIX = "_FunctionProperty";
+    public static final String PROJECTION_SUFFIX = "_Projection";
     public static final String GENERATED_PACKAGE = "info.archinnov.achilles.generated";
     public static final String ENTITY_META_PACKAGE = "info.archinnov.achilles.generated.meta.entity";
     public static final String UDT_META_PACKAGE = "info.archinnov.achilles.generated.meta.udt";
     public static final String MANAGER_PACKAGE = "info.archinnov.achilles.generated.manager";
     public static final String FUNCTION_PACKAGE = "info.archinnov.achilles.generated.function";
     public static final String DSL_PACKAGE = "info.archinnov.achilles.generated.dsl";
+    public static final String PROJECTION_PACKAGE = "info.archinnov.achilles.generated.projection";
     public static final String MANAGER_FACTORY_BUILDER_CLASS_NAME = "ManagerFactoryBuilder";
     public static final String MANAGER_FACTORY_CLASS_NAME = "ManagerFactory";
     public static final String FUNCTIONS_REGISTRY_CLASS = "FunctionsRegistry";
@@ -134,6 +141,7 @@ public class TypeUtils {
     public static final ClassName ENUM_ORDINAL_CODEC = ClassName.get(EnumOrdinalCodec.class);
     public static final ClassName BYTE_ARRAY_PRIMITIVE_CODEC = ClassName.get(ByteArrayPrimitiveCodec.class);
     public static final ClassName BYTE_ARRAY_CODEC = ClassName.get(ByteArrayCodec.class);
+    public static final ClassName READ_ONLY_BYTE_BUFFER_CODEC = ClassName.get(ReadOnlyByteBufferCodec.class);
     public static final ClassName FALL_THROUGH_CODEC = ClassName.get(FallThroughCodec.class);
     public static final ClassName RUNTIME_CODEC_WRAPPER = ClassName.get(RuntimeCodecWrapper.class);
 
@@ -160,6 +168,7 @@ public class TypeUtils {
     public static final ClassName PARTITION_KEY_INFO = ClassName.get(PartitionKeyInfo.class);
     public static final ClassName CLUSTERING_COLUMN_INFO = ClassName.get(ClusteringColumnInfo.class);
     public static final ClassName COMPUTED_COLUMN_INFO = ClassName.get(ComputedColumnInfo.class);
+    public static final ClassName CHUNKED_BLOB_COLUMN_INFO = ClassName.get(ChunkedBlobColumnInfo.class);
     public static final ClassName COLUMN_INFO = ClassName.get(ColumnInfo.class);
     public static final ClassName CLUSTERING_ORDER = ClassName.get(ClusteringOrder.class);
     public static final ClassName INDEX_INFO = ClassName.get(IndexInfo.class);
@@ -234,6 +243,12 @@ public class TypeUtils {
     public static final ClassName FIND_WITH_OPTIONS = ClassName.get(FindWithOptions.class);
     public static final ClassName DELETE_WITH_OPTIONS = ClassName.get(DeleteWithOptions.class);
     public static final ClassName DELETE_BY_PARTITION_WITH_OPTIONS = ClassName.get(DeleteByPartitionWithOptions.class);
+    public static final ClassName ABSTRACT_PROJECTION_PROPERTY = ClassName.get(AbstractProjectionProperty.class);
+    public static final ClassName PROJECTION_SELECT = ClassName.get(ProjectionSelect.class);
+    public static final ClassName TIME_BUCKET_PROPERTY = ClassName.get(TimeBucketProperty.class);
+    public static final ClassName TIME_BUCKET_RANGE_SELECT = ClassName.get(TimeBucketRangeSelect.class);
+    public static final ClassName SLICE_SELECT = ClassName.get(SliceSelect.class);
+    public static final ClassName TIME_UNIT = ClassName.get(TimeUnit.class);
     public static final ClassName INTERNAL_CASSANDRA_VERSION = ClassName.get(InternalCassandraVersion.class);
 
     // UDF & UDA
@@ -245,10 +260,12 @@ public class TypeUtils {
     // Common
     public static final TypeName WILDCARD = WildcardTypeName.subtypeOf(TypeName.OBJECT);
     public static final ClassName OPTIONAL = ClassName.get(Optional.class);
+    public static final ClassName SUPPLIER = ClassName.get(Supplier.class);
     public static final ClassName CLASS = ClassName.get(Class.class);
     public static final ClassName ARRAYS_UTILS = ClassName.get(ArrayUtils.class);
     public static final ClassName ARRAY_LIST = ClassName.get(ArrayList.class);
     public static final ClassName ARRAYS = ClassName.get(Arrays.class);
+    public static final ClassName OBJECTS = ClassName.get(Objects.class);
     public static final ClassName COLLECTORS = ClassName.get(Collectors.class);
     public static final ClassName SETS = ClassName.get(Sets.class);
     public static final ClassName SIMPLE_DATE_FORMAT = ClassName.get(SimpleDateFormat.class);
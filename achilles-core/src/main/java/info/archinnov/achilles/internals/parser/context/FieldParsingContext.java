@@ -20,12 +20,14 @@ import static info.archinnov.achilles.internals.parser.TypeUtils.FIELD_INFO;
 
 import java.util.Collections;
 import java.util.Objects;
+import java.util.Optional;
 import javax.lang.model.element.TypeElement;
 
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
+import info.archinnov.achilles.annotations.TimeBucket;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnInfo;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
 import info.archinnov.achilles.internals.metamodel.index.IndexInfo;
@@ -48,6 +50,7 @@ public class FieldParsingContext {
     public final ColumnInfo columnInfo;
     public final IndexInfo indexInfo;
     public boolean buildExtractor;
+    public Optional<TimeBucket> timeBucket = Optional.empty();
 
     public static FieldParsingContext forConfig(GlobalParsingContext parsingContext, TypeElement typeElement, TypeName typeName, String className, String fieldName) {
         return new FieldParsingContext(parsingContext, typeElement, typeName, className, fieldName);
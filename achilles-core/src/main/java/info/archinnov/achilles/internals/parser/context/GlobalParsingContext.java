@@ -112,6 +112,7 @@ public class GlobalParsingContext {
     public final FieldFilter fieldFilter;
     public final FieldFilter udtFieldFilter;
     public final Optional<String> projectName;
+    public final boolean readOnlyBlobViews;
     public final Map<TypeName, TypeSpec> udtTypes = new HashMap<>();
     public final Map<TypeName, UDTMetaSignature> udtMetaSignatures = new HashMap<>();
     public final Map<TypeName, CodecInfo> codecRegistry = new HashMap<>();
@@ -124,7 +125,8 @@ public class GlobalParsingContext {
         final Optional<String> projectName = StringUtils.isBlank(compileTimeConfig.projectName())
                 ? Optional.empty()
                 : Optional.of(compileTimeConfig.projectName());
-        return new GlobalParsingContext(version, insertStrategy, namingStrategy, fieldFilters._1(), fieldFilters._2(), projectName);
+        return new GlobalParsingContext(version, insertStrategy, namingStrategy, fieldFilters._1(), fieldFilters._2(), projectName,
+                compileTimeConfig.readOnlyBlobViews());
     }
 
     public static GlobalParsingContext defaultContext() {
@@ -134,6 +136,12 @@ public class GlobalParsingContext {
 
     public GlobalParsingContext(InternalCassandraVersion cassandraVersion, InsertStrategy insertStrategy, InternalNamingStrategy namingStrategy,
                                 FieldFilter fieldFilter, FieldFilter udtFieldFilter, Optional<String> projectName) {
+        this(cassandraVersion, insertStrategy, namingStrategy, fieldFilter, udtFieldFilter, projectName, false);
+    }
+
+    public GlobalParsingContext(InternalCassandraVersion cassandraVersion, InsertStrategy insertStrategy, InternalNamingStrategy namingStrategy,
+                                FieldFilter fieldFilter, FieldFilter udtFieldFilter, Optional<String> projectName, boolean readOnlyBlobViews) {
+        this.readOnlyBlobViews = readOnlyBlobViews;
         this.cassandraVersion = cassandraVersion;
         this.insertStrategy = insertStrategy;
         this.fieldFilter = fieldFilter;
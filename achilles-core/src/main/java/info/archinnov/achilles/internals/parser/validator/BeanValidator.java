@@ -16,6 +16,7 @@
 
 package info.archinnov.achilles.internals.parser.validator;
 
+import static info.archinnov.achilles.internals.parser.TypeUtils.*;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
@@ -31,6 +32,7 @@ import info.archinnov.achilles.annotations.EntityCreator;
 import info.archinnov.achilles.annotations.Immutable;
 import info.archinnov.achilles.internals.apt.AptUtils;
 import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.metamodel.columns.ClusteringColumnInfo;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
 import info.archinnov.achilles.internals.metamodel.columns.ComputedColumnInfo;
 import info.archinnov.achilles.internals.parser.FieldParser.FieldMetaSignature;
@@ -39,6 +41,9 @@ import info.archinnov.achilles.type.tuples.Tuple2;
 
 public abstract class BeanValidator {
 
+    private static final List<TypeName> TIME_BUCKET_TYPES = Arrays.asList(OBJECT_LONG, JAVA_UTIL_DATE);
+    private static final List<TypeName> TIME_SOURCE_TYPES = Arrays.asList(OBJECT_LONG, JAVA_UTIL_DATE, JAVA_TIME_INSTANT);
+
     public final List<String> RESERVED_KEYWORDS = Arrays.asList(
             ("add,allow,alter,and,any,apply,asc,authorize,batch,begin,by,columnfamily,create,delete,desc,drop,each_quorum,from,grant,in,index,inet,infinity," +
                     "insert,into,keyspace,keyspaces,limit,local_one,local_quorum,modify,nan,norecursive,of,on,order,primary,quorum,rename,revoke,schema," +
@@ -241,6 +246,41 @@ public abstract class BeanValidator {
                 });
     }
 
+    public void validateTimeBucket(AptUtils aptUtils, TypeName rawClassType, List<FieldMetaSignature> parsingResults) {
+        final List<FieldMetaSignature> timeBuckets = parsingResults
+                .stream()
+                .filter(x -> x.context.timeBucket.isPresent())
+                .collect(toList());
+
+        if (timeBuckets.isEmpty()) return;
+
+        aptUtils.validateTrue(timeBuckets.size() == 1,
+                "The class '%s' cannot have more than one @TimeBucket field", rawClassType);
+
+        final FieldMetaSignature bucket = timeBuckets.get(0);
+        final String bucketField = bucket.context.fieldName;
+        aptUtils.validateTrue(bucket.context.columnType == ColumnType.PARTITION,
+                "The @TimeBucket field '%s' of class '%s' should be a partition key", bucketField, rawClassType);
+        aptUtils.validateTrue(TIME_BUCKET_TYPES.contains(bucket.sourceType.box()),
+                "The @TimeBucket field '%s' of class '%s' should be of type Long or java.util.Date", bucketField, rawClassType);
+
+        final String source = bucket.context.timeBucket.get().source();
+        final Optional<FieldMetaSignature> timeField = parsingResults
+                .stream()
+                .filter(x -> x.context.fieldName.equals(source))
+                .findFirst();
+
+        aptUtils.validateTrue(timeField.isPresent(),
+                "The source field '%s' of @TimeBucket field '%s' of class '%s' does not exist", source, bucketField, rawClassType);
+        aptUtils.validateTrue(timeField.get().context.columnType == ColumnType.CLUSTERING
+                        && ((ClusteringColumnInfo) timeField.get().context.columnInfo).order == 1,
+                "The source field '%s' of @TimeBucket field '%s' of class '%s' should be the first clustering column",
+                source, bucketField, rawClassType);
+        aptUtils.validateTrue(TIME_SOURCE_TYPES.contains(timeField.get().sourceType.box()),
+                "The source field '%s' of @TimeBucket field '%s' of class '%s' should be of type java.util.Date, Long or java.time.Instant",
+                source, bucketField, rawClassType);
+    }
+
     public void validateViewsAgainstBaseTable(AptUtils aptUtils, List<EntityMetaSignature> viewSignatures, List<EntityMetaSignature> entitySignatures) {
         // No op by default
     }
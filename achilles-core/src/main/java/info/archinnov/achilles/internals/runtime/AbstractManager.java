@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
 
+import info.archinnov.achilles.internals.dsl.blob.ChunkedBlobAccessor;
 import info.archinnov.achilles.internals.dsl.crud.DeleteWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.InsertJSONWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.InsertWithOptions;
@@ -37,6 +38,7 @@ import info.archinnov.achilles.internals.dsl.crud.UpdateWithOptions;
 import info.archinnov.achilles.internals.dsl.raw.NativeQuery;
 import info.archinnov.achilles.internals.dsl.raw.TypedQuery;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
@@ -94,9 +96,45 @@ public abstract class AbstractManager<ENTITY> {
         return rte.getCluster();
     }
 
+    /**
+     * Return the internal meta data of the entity managed by this Manager.
+     * Meant for tooling operating generically on any entity (e.g. <em>achilles-stress</em>)
+     *
+     * @return entity meta data
+     */
+    public AbstractEntityProperty<ENTITY> getEntityMeta() {
+        return meta_internal;
+    }
+
+    /**
+     * Return the runtime engine used by this Manager.
+     * Meant for tooling operating generically on any entity (e.g. <em>achilles-stress</em>)
+     *
+     * @return runtime engine
+     */
+    public RuntimeEngine getRuntimeEngine() {
+        return rte;
+    }
+
+    /**
+     * Access a blob column annotated with {@link info.archinnov.achilles.annotations.ChunkedBlob}
+     * to write and read large payloads split into chunks
+     * <br/>
+     * <pre class="code"><code class="java">
+     * manager.chunkedBlob(Document_AchillesMeta.content).write(inputStream, documentId);
+     * </code></pre>
+     *
+     * @param blobProperty meta property of the chunked blob column, available in the generated <em>XXX_AchillesMeta</em> class
+     * @return ChunkedBlobAccessor
+     */
+    public ChunkedBlobAccessor<ENTITY> chunkedBlob(AbstractProperty<ENTITY, ?, ?> blobProperty) {
+        return new ChunkedBlobAccessor<>(rte, meta_internal, blobProperty);
+    }
+
     protected InsertWithOptions<ENTITY> insertInternal(ENTITY instance, boolean insertStatic, Optional<CassandraOptions> cassandraOptions) {
 
         validateNotNull(instance, "Entity to be inserted should not be null");
+        meta_internal.deriveTimeBucket(instance);
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Create insert CRUD for entity %s", instance));
@@ -114,6 +152,7 @@ public abstract class AbstractManager<ENTITY> {
     protected UpdateWithOptions<ENTITY> updateInternal(ENTITY instance, boolean updateStatic, Optional<CassandraOptions> cassandraOptions) {
 
         validateNotNull(instance, "Entity to be updated to Cassandra should not be null");
+        meta_internal.deriveTimeBucket(instance);
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Create update CRUD for entity %s", instance));
@@ -141,6 +180,7 @@ public abstract class AbstractManager<ENTITY> {
 
     protected DeleteWithOptions<ENTITY> deleteInternal(ENTITY instance, Optional<CassandraOptions> cassandraOptions) {
         validateNotNull(instance, "Entity to be deleted should not be null");
+        meta_internal.deriveTimeBucket(instance);
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Create delete CRUD for entity %s", instance));
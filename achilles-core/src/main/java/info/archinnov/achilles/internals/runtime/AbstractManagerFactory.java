@@ -20,10 +20,14 @@ import static info.archinnov.achilles.internals.schema.SchemaCreator.generateSch
 import static info.archinnov.achilles.internals.schema.SchemaCreator.generateUDTAtRuntime;
 import static java.lang.String.format;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
@@ -41,13 +45,22 @@ import com.datastax.driver.extras.codecs.jdk8.ZonedDateTimeCodec;
 
 import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVersion;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.batch.UnitOfWork;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractUDTClassProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractViewProperty;
+import info.archinnov.achilles.internals.metamodel.SimpleProperty;
 import info.archinnov.achilles.internals.metamodel.functions.FunctionProperty;
 import info.archinnov.achilles.internals.utils.CodecRegistryHelper;
+import info.archinnov.achilles.type.fetchsize.AdaptiveFetchSize;
+import info.archinnov.achilles.type.hotpartition.HotPartition;
+import info.archinnov.achilles.type.lightweighttransaction.LWTQueueMetrics;
+import info.archinnov.achilles.type.resultcache.ResultCacheStats;
+import info.archinnov.achilles.type.serverwarning.ServerWarningStats;
+import info.archinnov.achilles.type.slowquery.SlowQuery;
 
 public abstract class AbstractManagerFactory {
 
@@ -61,10 +74,14 @@ public abstract class AbstractManagerFactory {
     protected List<Class<?>> entityClasses;
     protected List<FunctionProperty> functionProperties;
 
+    private final boolean lazyEntityInitialization;
+    private final Set<Class<?>> initializedEntities = ConcurrentHashMap.newKeySet();
+
     public AbstractManagerFactory(Cluster cluster, ConfigurationContext configContext) {
         this.cluster = cluster;
         this.configContext = configContext;
         this.rte = new RuntimeEngine(configContext);
+        this.lazyEntityInitialization = configContext.isLazyEntityInitialization() && !configContext.isForceSchemaGeneration();
     }
 
     protected abstract InternalCassandraVersion getCassandraVersion();
@@ -81,6 +98,7 @@ public abstract class AbstractManagerFactory {
         final Optional<String> tableName = entityProperties
                 .stream()
                 .filter(x -> x.entityClass.equals(entityClass))
+                .peek(this::initializeIfLazy)
                 .map(x -> x.getKeyspace().map(ks -> ks + "." + x.getTableOrViewName()).orElseGet(x::getTableOrViewName))
                 .findFirst();
 
@@ -92,6 +110,132 @@ public abstract class AbstractManagerFactory {
         return tableName;
     }
 
+    /**
+     * Provide statistics of the per-partition LightWeight Transaction queues.
+     * Only available if LWT partition serialization has been enabled at bootstrap
+     * with <em>withLWTPartitionSerialization(int maxQueueDepthPerPartition)</em>
+     *
+     * @return LWT queues statistics or Optional.empty() if LWT partition serialization is disabled
+     */
+    public Optional<LWTQueueMetrics> lwtQueueMetrics() {
+        return rte.lwtPartitionSerializer.map(LWTPartitionSerializer::metrics);
+    }
+
+    /**
+     * Provide the slowest executions recorded by the slow query log, slowest first.
+     * Only available if the slow query log has been enabled at bootstrap
+     * with <em>withSlowQueryLog(long thresholdInMillis)</em> or a per operation type/entity threshold
+     *
+     * @return slowest executions or an empty list if the slow query log is disabled
+     */
+    public List<SlowQuery> slowQueries() {
+        return rte.slowQueryRecorder.map(SlowQueryRecorder::slowQueries).orElse(Collections.emptyList());
+    }
+
+    /**
+     * Clear the executions recorded by the slow query log
+     */
+    public void resetSlowQueries() {
+        rte.slowQueryRecorder.ifPresent(SlowQueryRecorder::reset);
+    }
+
+    /**
+     * Provide the client warnings returned by Cassandra (tombstone thresholds, large batches ...),
+     * aggregated per query fingerprint, entity and warning category, most frequent first.
+     * Server warning tracking is disabled by default, enable it with <em>withServerWarningTracking(true)</em>
+     *
+     * @return aggregated server warnings or an empty list if server warning tracking is disabled
+     */
+    public List<ServerWarningStats> serverWarnings() {
+        return rte.serverWarningRecorder.map(ServerWarningRecorder::serverWarnings).orElse(Collections.emptyList());
+    }
+
+    /**
+     * Clear the aggregated server warnings
+     */
+    public void resetServerWarnings() {
+        rte.serverWarningRecorder.ifPresent(ServerWarningRecorder::reset);
+    }
+
+    /**
+     * Provide the most frequently accessed partitions per entity, separately for reads and writes, heaviest first.
+     * Only available if hot partition detection has been enabled at bootstrap
+     * with <em>withHotPartitionDetection(int topK)</em>
+     *
+     * @return hot partitions or an empty list if hot partition detection is disabled
+     */
+    public List<HotPartition> hotPartitions() {
+        return rte.hotPartitionDetector.map(HotPartitionDetector::hotPartitions).orElse(Collections.emptyList());
+    }
+
+    /**
+     * Clear the partitions counted by the hot partition detector
+     */
+    public void resetHotPartitions() {
+        rte.hotPartitionDetector.ifPresent(HotPartitionDetector::reset);
+    }
+
+    /**
+     * Provide the hits and misses of the result cache for the queries executed with <em>withResultCache(Duration ttl)</em>
+     *
+     * @return result cache statistics per query fingerprint
+     */
+    public List<ResultCacheStats> resultCacheStats() {
+        return rte.resultCache.stats();
+    }
+
+    /**
+     * Evict all the results cached for queries executed with <em>withResultCache(Duration ttl)</em>.
+     * Useful when tables are mutated outside of this manager factory
+     */
+    public void invalidateResultCache() {
+        rte.resultCache.invalidateAll();
+    }
+
+    /**
+     * Provide the fetch sizes chosen for the queries executed with <em>withAdaptiveFetchSize()</em>,
+     * together with the observed row size and consumer throughput
+     *
+     * @return adaptive fetch sizes per query fingerprint
+     */
+    public List<AdaptiveFetchSize> adaptiveFetchSizes() {
+        return rte.adaptiveFetchSizer.adaptiveFetchSizes();
+    }
+
+    /**
+     * Start a unit of work collecting INSERT, UPDATE and DELETE operations from any manager,
+     * to be executed as LOGGED (default) or UNLOGGED batches
+     * <pre class="code"><code class="java">
+     * managerFactory
+     *     .batch()
+     *     .add(userManager.crud().insert(user))
+     *     .add(userByEmailManager.crud().insert(userByEmail))
+     *     .execute();
+     * </code></pre>
+     *
+     * @return new unit of work
+     */
+    public UnitOfWork batch() {
+        final Configuration configuration = cluster.getConfiguration();
+        return new UnitOfWork(rte, configuration.getProtocolOptions().getProtocolVersion(),
+                configuration.getCodecRegistry(), configContext.getBatchSizeThresholdBytes());
+    }
+
+    /**
+     * Start recording the tables written (INSERT, UPDATE or DELETE) through this manager factory.
+     * Statements executed directly with the Java driver session are <strong>NOT</strong> recorded.
+     * <br/>
+     * Calling this method several times returns the same tracker
+     *
+     * @return tracker of the written tables
+     */
+    public synchronized WrittenTablesTracker trackWrittenTables() {
+        if (!rte.writtenTablesTracker.isPresent()) {
+            rte.writtenTablesTracker = Optional.of(new WrittenTablesTracker());
+        }
+        return rte.writtenTablesTracker.get();
+    }
+
     /**
      * Shutdown the manager factory and the related session and executor service (if they are created by Achilles).
      * If the Java driver Session object and/or the executor service were provided as bootstrap parameter, Achilles
@@ -101,6 +245,10 @@ public abstract class AbstractManagerFactory {
     public void shutDown() {
         LOGGER.info("Calling shutdown on ManagerFactory");
 
+        rte.asyncDMLLogger.ifPresent(AsyncDMLLogger::shutDown);
+        rte.slowQueryRecorder.ifPresent(SlowQueryRecorder::unregisterMBean);
+        rte.hotPartitionDetector.ifPresent(HotPartitionDetector::unregisterMBean);
+
         if (!configContext.isProvidedSession()) {
             LOGGER.info(format("Closing built Session object %s", rte.session));
             rte.session.close();
@@ -113,7 +261,12 @@ public abstract class AbstractManagerFactory {
 
     protected void bootstrap() {
         addNativeCodecs();
+        if (lazyEntityInitialization) {
+            bootstrapLazily();
+            return;
+        }
         injectDependencies();
+        addFusedCodecs();
         if (configContext.isForceSchemaGeneration()) {
             createSchema();
         }
@@ -123,6 +276,85 @@ public abstract class AbstractManagerFactory {
         prepareStaticStatements();
     }
 
+    /**
+     * Only create the tuple and user type factories and validate the functions. Each entity is initialized
+     * on the first call to its <em>forXxx()</em> method, or by the warm-up thread if enabled
+     */
+    protected void bootstrapLazily() {
+        LOGGER.info(format("Lazy initialization of %s entities", entityProperties.size()));
+        initTypeFactories();
+        if (configContext.isValidateSchema()) {
+            functionProperties
+                    .stream()
+                    .forEach(x -> x.validate(configContext));
+        }
+        if (configContext.isLazyEntityWarmUp()) {
+            final Thread warmUp = new Thread(this::warmUp, "achilles-entity-warm-up");
+            warmUp.setDaemon(true);
+            warmUp.start();
+        }
+    }
+
+    /**
+     * Initialize the given entity meta if lazy entity initialization is enabled and it has not been done yet.
+     * Initialization happens at most once per entity, even with concurrent calls
+     * @param entityProperty entity meta
+     * @param manager manager of the entity
+     * @return the given manager
+     */
+    protected <MANAGER> MANAGER initializeLazily(AbstractEntityProperty<?> entityProperty, MANAGER manager) {
+        initializeIfLazy(entityProperty);
+        return manager;
+    }
+
+    private void initializeIfLazy(AbstractEntityProperty<?> entityProperty) {
+        if (lazyEntityInitialization && !initializedEntities.contains(entityProperty.entityClass)) {
+            initializeEntity(entityProperty);
+        }
+    }
+
+    private void initializeEntity(AbstractEntityProperty<?> entityProperty) {
+        synchronized (initializedEntities) {
+            if (initializedEntities.contains(entityProperty.entityClass)) {
+                return;
+            }
+            if (getManageEntities().contains(entityProperty.entityClass)) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(format("Initializing lazily entity %s", entityProperty.entityClass.getCanonicalName()));
+                }
+                configContext.injectDependencies(rte.tupleTypeFactory, rte.userTypeFactory, entityProperty);
+                final Stream<AbstractProperty<?, ?, ?>> udtColumns = entityProperty.allColumns
+                        .stream()
+                        .filter(AbstractProperty::containsUDTProperty)
+                        .flatMap(x -> x.getUDTClassProperties().stream())
+                        .distinct()
+                        .flatMap(x -> x.componentsProperty.stream());
+                registerFusedCodecs(Stream.concat(entityProperty.allColumns.stream(), udtColumns));
+                if (configContext.isValidateSchema()) {
+                    entityProperty.validateSchema(configContext);
+                }
+                entityProperty.prepareStaticStatements(getCassandraVersion(), configContext.getSession(), rte.cache);
+            }
+            initializedEntities.add(entityProperty.entityClass);
+        }
+    }
+
+    private void warmUp() {
+        for (AbstractEntityProperty<?> entityProperty : entityProperties) {
+            try {
+                initializeIfLazy(entityProperty);
+            } catch (RuntimeException ex) {
+                LOGGER.warn(format("Fail warming up entity %s, it will be initialized again on first use : %s",
+                        entityProperty.entityClass.getCanonicalName(), ex.getMessage()));
+            }
+        }
+        LOGGER.info("Lazy entities warm-up done");
+    }
+
+    private List<Class<?>> getManageEntities() {
+        return configContext.getManageEntities().isEmpty() ? entityClasses : configContext.getManageEntities();
+    }
+
     protected void addNativeCodecs() {
         LOGGER.trace("Add Java Driver extra codecs");
         final Configuration configuration = cluster.getConfiguration();
@@ -165,18 +397,51 @@ public abstract class AbstractManagerFactory {
         }
     }
 
-    protected void injectDependencies() {
+    /**
+     * Compose each Achilles codec with the driver codec of its target type. Columns are then decoded
+     * straight from their bytes by the fused codec. The fused codec is also registered in the
+     * CodecRegistry when no codec exists yet for its CQL type and Java type, so building
+     * another ManagerFactory on the same Cluster does not register it twice.
+     * Must run after dependencies injection since JSON codecs need their ObjectMapper
+     */
+    protected void addFusedCodecs() {
+        LOGGER.trace("Add fused Achilles codecs");
+        final Stream<AbstractProperty<?, ?, ?>> entityColumns = entityProperties
+                .stream()
+                .flatMap(x -> x.allColumns.stream());
+        final Stream<AbstractProperty<?, ?, ?>> udtColumns = getUdtClassProperties()
+                .stream()
+                .flatMap(x -> x.componentsProperty.stream());
+
+        registerFusedCodecs(Stream.concat(entityColumns, udtColumns));
+    }
+
+    private void registerFusedCodecs(Stream<AbstractProperty<?, ?, ?>> columns) {
         final CodecRegistry codecRegistry = cluster.getConfiguration().getCodecRegistry();
         final ProtocolVersion protocolVersion = cluster.getConfiguration().getProtocolOptions().getProtocolVersion();
-        final TupleTypeFactory tupleTypeFactory = new TupleTypeFactory(protocolVersion, codecRegistry);
-        final UserTypeFactory userTypeFactory = new UserTypeFactory(protocolVersion, codecRegistry);
-        rte.tupleTypeFactory = tupleTypeFactory;
-        rte.userTypeFactory = userTypeFactory;
-        final List<Class<?>> manageEntities = configContext.getManageEntities().isEmpty() ? entityClasses : configContext.getManageEntities();
+        final CodecRegistryHelper codecRegistryHelper = new CodecRegistryHelper(codecRegistry);
+        columns.filter(x -> x instanceof SimpleProperty)
+                .map(x -> (SimpleProperty<?, ?, ?>) x)
+                .map(x -> x.injectFusedCodec(codecRegistry, protocolVersion))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .forEach(codecRegistryHelper::registerIfAbsent);
+    }
+
+    protected void injectDependencies() {
+        initTypeFactories();
+        final List<Class<?>> manageEntities = getManageEntities();
         entityProperties
                 .stream()
                 .filter(x -> manageEntities.contains(x.entityClass))
-                .forEach(x -> configContext.injectDependencies(tupleTypeFactory, userTypeFactory, x));
+                .forEach(x -> configContext.injectDependencies(rte.tupleTypeFactory, rte.userTypeFactory, x));
+    }
+
+    private void initTypeFactories() {
+        final CodecRegistry codecRegistry = cluster.getConfiguration().getCodecRegistry();
+        final ProtocolVersion protocolVersion = cluster.getConfiguration().getProtocolOptions().getProtocolVersion();
+        rte.tupleTypeFactory = new TupleTypeFactory(protocolVersion, codecRegistry);
+        rte.userTypeFactory = new UserTypeFactory(protocolVersion, codecRegistry);
     }
 
     protected void validateSchema() {
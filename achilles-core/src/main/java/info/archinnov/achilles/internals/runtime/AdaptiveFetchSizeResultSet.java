@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Result set measuring each page read by the application. Once a page is drained, the fetch size
+ * of the statement is updated so that the driver fetches the next page with it
+ */
+class AdaptiveFetchSizeResultSet implements ResultSet {
+
+    private static final int COLUMN_LENGTH_BYTES = 4;
+
+    private final ResultSet delegate;
+    private final Statement statement;
+    private final AdaptiveFetchSizer.FetchSizeStats stats;
+    private int pageRows;
+    private long pageBytes;
+    private long pageStartNanos;
+
+    AdaptiveFetchSizeResultSet(ResultSet delegate, Statement statement, AdaptiveFetchSizer.FetchSizeStats stats) {
+        this.delegate = delegate;
+        this.statement = statement;
+        this.stats = stats;
+    }
+
+    @Override
+    public Row one() {
+        final Row row = delegate.one();
+        if (row != null) {
+            if (pageRows == 0) {
+                pageStartNanos = System.nanoTime();
+            }
+            pageRows++;
+            pageBytes += rowBytes(row);
+            if (delegate.getAvailableWithoutFetching() == 0) {
+                final int nextFetchSize = stats.recordPage(pageRows, pageBytes, System.nanoTime() - pageStartNanos);
+                statement.setFetchSize(nextFetchSize);
+                pageRows = 0;
+                pageBytes = 0L;
+            }
+        }
+        return row;
+    }
+
+    @Override
+    public List<Row> all() {
+        final List<Row> rows = new ArrayList<>(getAvailableWithoutFetching());
+        while (!isExhausted()) {
+            rows.add(one());
+        }
+        return rows;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return one();
+            }
+        };
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return delegate.getColumnDefinitions();
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return delegate.isExhausted();
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        return delegate.getAvailableWithoutFetching();
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return delegate.isFullyFetched();
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        return delegate.fetchMoreResults();
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return delegate.getExecutionInfo();
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        return delegate.getAllExecutionInfo();
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return delegate.wasApplied();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    static long rowBytes(Row row) {
+        long bytes = 0L;
+        final int columns = row.getColumnDefinitions().size();
+        for (int i = 0; i < columns; i++) {
+            final ByteBuffer value = row.getBytesUnsafe(i);
+            bytes += COLUMN_LENGTH_BYTES + (value == null ? 0 : value.remaining());
+        }
+        return bytes;
+    }
+}
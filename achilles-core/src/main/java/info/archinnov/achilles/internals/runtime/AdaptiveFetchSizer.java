@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.runtime.QueryFingerprints.MAX_TRACKED_FINGERPRINTS;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.type.fetchsize.AdaptiveFetchSize;
+
+/**
+ * Choose the fetch size of SELECT statements executed with <em>withAdaptiveFetchSize()</em>, per query fingerprint.
+ * <br/>
+ * <br/>
+ * Each page read by the application is measured (serialized row size and consumer throughput). The fetch size
+ * is then the number of rows fitting into <em>targetPageBytes</em>, further capped to the rows the application
+ * consumes in <em>targetPageMillis</em> so that a slow consumer does not keep large pages on the heap,
+ * and bounded by <em>[minFetchSize, maxFetchSize]</em>. The new fetch size applies to the next pages of the
+ * current result set and to subsequent executions of the same query.
+ * <br/>
+ * At most <em>MAX_TRACKED_FINGERPRINTS</em> distinct queries are tracked, result sets of other queries are returned as is
+ */
+public class AdaptiveFetchSizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveFetchSizer.class);
+
+    static final double SMOOTHING_FACTOR = 0.3;
+    static final int MIN_ROWS_FOR_THROUGHPUT = 16;
+
+    private final ConcurrentMap<String, FetchSizeStats> statsByQuery = new ConcurrentHashMap<>();
+    private final long targetPageBytes;
+    private final long targetPageMillis;
+    private final int minFetchSize;
+    private final int maxFetchSize;
+
+    public AdaptiveFetchSizer(long targetPageBytes, long targetPageMillis, int minFetchSize, int maxFetchSize) {
+        this.targetPageBytes = targetPageBytes;
+        this.targetPageMillis = targetPageMillis;
+        this.minFetchSize = minFetchSize;
+        this.maxFetchSize = maxFetchSize;
+    }
+
+    /**
+     * Set the fetch size chosen for this query on the statement, if the query has already been observed
+     */
+    public void applyFetchSize(String queryString, Statement statement) {
+        final FetchSizeStats stats = statsByQuery.get(queryString);
+        if (stats != null && stats.observedPages > 0) {
+            statement.setFetchSize(stats.fetchSize);
+        }
+    }
+
+    /**
+     * Wrap the result set to measure the pages read by the application
+     */
+    public ResultSet track(String queryString, Statement statement, ResultSet resultSet) {
+        FetchSizeStats stats = statsByQuery.get(queryString);
+        if (stats == null) {
+            if (statsByQuery.size() >= MAX_TRACKED_FINGERPRINTS) {
+                return resultSet;
+            }
+            stats = statsByQuery.computeIfAbsent(queryString, FetchSizeStats::new);
+        }
+        return new AdaptiveFetchSizeResultSet(resultSet, statement, stats);
+    }
+
+    public List<AdaptiveFetchSize> adaptiveFetchSizes() {
+        return statsByQuery
+                .values()
+                .stream()
+                .filter(stats -> stats.observedPages > 0)
+                .map(FetchSizeStats::snapshot)
+                .sorted(Comparator.comparing(AdaptiveFetchSize::queryString))
+                .collect(toList());
+    }
+
+    int computeFetchSize(double averageRowBytes, double consumerRowsPerSecond) {
+        final double bySize = targetPageBytes / Math.max(1d, averageRowBytes);
+        final double byConsumer = consumerRowsPerSecond > 0 ? consumerRowsPerSecond * targetPageMillis / 1000d : Double.MAX_VALUE;
+        return (int) Math.max(minFetchSize, Math.min(maxFetchSize, Math.min(bySize, byConsumer)));
+    }
+
+    class FetchSizeStats {
+        private final String queryString;
+        private double averageRowBytes;
+        private double consumerRowsPerSecond;
+        private volatile long observedPages;
+        private volatile int fetchSize;
+
+        FetchSizeStats(String queryString) {
+            this.queryString = queryString;
+        }
+
+        /**
+         * Record a page read by the application and return the fetch size for the next pages
+         */
+        synchronized int recordPage(int rows, long bytes, long consumeNanos) {
+            if (rows > 0) {
+                final double rowBytes = (double) bytes / rows;
+                averageRowBytes = observedPages == 0 ? rowBytes : averageRowBytes + SMOOTHING_FACTOR * (rowBytes - averageRowBytes);
+                if (rows >= MIN_ROWS_FOR_THROUGHPUT && consumeNanos > 0) {
+                    final double rowsPerSecond = rows * 1_000_000_000d / consumeNanos;
+                    consumerRowsPerSecond = consumerRowsPerSecond == 0 ? rowsPerSecond
+                            : consumerRowsPerSecond + SMOOTHING_FACTOR * (rowsPerSecond - consumerRowsPerSecond);
+                }
+                final int previousFetchSize = fetchSize;
+                fetchSize = computeFetchSize(averageRowBytes, consumerRowsPerSecond);
+                observedPages++;
+                if (previousFetchSize != fetchSize && LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(format("Adaptive fetch size %s -> %s (average row %s bytes, consumer %s rows/s) for query %s",
+                            previousFetchSize, fetchSize, (long) averageRowBytes, (long) consumerRowsPerSecond, queryString));
+                }
+            }
+            return fetchSize;
+        }
+
+        synchronized AdaptiveFetchSize snapshot() {
+            return new AdaptiveFetchSize(QueryFingerprints.fingerprintOf(queryString), queryString, fetchSize,
+                    (long) averageRowBytes, (long) consumerRowsPerSecond, observedPages);
+        }
+    }
+}
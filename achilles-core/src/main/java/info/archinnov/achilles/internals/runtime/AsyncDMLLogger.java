@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.utils.LoggerHelper.replaceByteBuffersByHexString;
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+/**
+ * Asynchronous DML logger. Executed statements are captured (query id, query string, bound values, timings)
+ * into a preallocated ring buffer on the request path and formatted by a single background thread.
+ * <br/>
+ * <br/>
+ * Capturing only copies references into a ring slot. The formatter thread parks while the ring
+ * is empty and is unparked by the next captured statement. When the ring is full, or when the
+ * formatted logs exceed the bytes per second budget, log events are dropped and the number
+ * of dropped events is reported periodically. Returned rows are never logged by this logger
+ */
+public class AsyncDMLLogger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncDMLLogger.class);
+    private static final long ONE_SECOND_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final double defaultSamplingRate;
+    private final Map<Class<?>, Double> samplingRates;
+    private final long maxBytesPerSecond;
+    private final AtomicLong claimSequence = new AtomicLong(0L);
+    private final Thread formatterThread;
+
+    private final LongAdder droppedBufferFull = new LongAdder();
+    private volatile long consumedSequence = 0L;
+    private volatile boolean running = true;
+    private volatile boolean parked = false;
+
+    // Only accessed by the formatter thread
+    private long droppedOverBudget = 0L;
+    private long currentWindowStart = System.nanoTime();
+    private long currentWindowBytes = 0L;
+    private long lastReportedDrops = 0L;
+    private long lastReportNanos = System.nanoTime();
+
+    public AsyncDMLLogger(int bufferSize, double defaultSamplingRate, Map<Class<?>, Double> samplingRates, long maxBytesPerSecond) {
+        final int capacity = Integer.highestOneBit(Integer.max(2, bufferSize) - 1) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.defaultSamplingRate = defaultSamplingRate;
+        this.samplingRates = samplingRates;
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.formatterThread = new Thread(this::formatLoop, "achilles-async-dml-log");
+        this.formatterThread.setDaemon(true);
+        this.formatterThread.start();
+    }
+
+    /**
+     * Decide on the request path whether the given statement should be logged
+     */
+    public boolean shouldLog(StatementWrapper wrapper) {
+        if (!wrapper.getDMLLogger().isDebugEnabled()) {
+            return false;
+        }
+        final AbstractEntityProperty<?> meta = wrapper.getEntityProperty();
+        final double samplingRate = meta == null
+                ? defaultSamplingRate
+                : samplingRates.getOrDefault(meta.entityClass, defaultSamplingRate);
+        return sampled(samplingRate);
+    }
+
+    /**
+     * Decide on the request path whether the child statements of a batch should be logged.
+     * The decision is taken once for the whole batch with the default sampling rate
+     */
+    public boolean shouldLogBatch(Logger dmlLogger) {
+        return dmlLogger.isDebugEnabled() && sampled(defaultSamplingRate);
+    }
+
+    private static boolean sampled(double samplingRate) {
+        return samplingRate >= 1.0 || (samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < samplingRate);
+    }
+
+    /**
+     * Capture an executed statement. Only references are copied, formatting happens on the background thread
+     */
+    public void capture(StatementWrapper wrapper, long startNanos, Throwable error) {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+
+        final Slot slot = slots[(int) (sequence & mask)];
+        final BoundStatement bs = wrapper.getBoundStatement();
+        slot.queryId = wrapper.getQueryId();
+        slot.queryString = bs.preparedStatement().getQueryString();
+        slot.consistencyLevel = bs.getConsistencyLevel();
+        slot.operationType = wrapper.getOperationType();
+        slot.boundValues = wrapper.getBoundValues();
+        slot.encodedBoundValues = wrapper.getEncodedBoundValues();
+        slot.logger = wrapper.getDMLLogger();
+        slot.elapsedNanos = elapsedNanos;
+        slot.error = error;
+        publish(slot, sequence);
+    }
+
+    /**
+     * Capture a child statement of a batch. Only references are copied, formatting happens on the background thread
+     */
+    public void captureBatch(Logger dmlLogger, UUID batchId, String queryString, ConsistencyLevel consistencyLevel) {
+        final long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+
+        final Slot slot = slots[(int) (sequence & mask)];
+        slot.batchId = batchId;
+        slot.queryString = queryString;
+        slot.consistencyLevel = consistencyLevel;
+        slot.logger = dmlLogger;
+        publish(slot, sequence);
+    }
+
+    private long claim() {
+        long sequence;
+        do {
+            sequence = claimSequence.get();
+            if (sequence - consumedSequence >= slots.length) {
+                droppedBufferFull.increment();
+                return -1L;
+            }
+        } while (!claimSequence.compareAndSet(sequence, sequence + 1));
+        return sequence;
+    }
+
+    private void publish(Slot slot, long sequence) {
+        slot.published = sequence;
+        if (parked) {
+            LockSupport.unpark(formatterThread);
+        }
+    }
+
+    public void shutDown() {
+        running = false;
+        LockSupport.unpark(formatterThread);
+        try {
+            formatterThread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void formatLoop() {
+        while (true) {
+            final long sequence = consumedSequence;
+            final Slot slot = slots[(int) (sequence & mask)];
+            if (slot.published == sequence) {
+                try {
+                    write(slot);
+                } catch (RuntimeException ex) {
+                    LOGGER.error(format("Cannot write asynchronous DML log for query %s", slot.queryString), ex);
+                }
+                slot.clear();
+                consumedSequence = sequence + 1;
+            } else if (!running && claimSequence.get() == sequence) {
+                reportDrops();
+                return;
+            } else {
+                reportDrops();
+                parked = true;
+                // Re-check after announcing the park so that a concurrent publish either is seen here or unparks us
+                if (slot.published != sequence && (running || claimSequence.get() != sequence)) {
+                    if (hasUnreportedDrops()) {
+                        LockSupport.parkNanos(this, ONE_SECOND_IN_NANOS);
+                    } else {
+                        LockSupport.park(this);
+                    }
+                }
+                parked = false;
+            }
+        }
+    }
+
+    private void write(Slot slot) {
+        if (slot.batchId != null) {
+            writeBatchStatement(slot);
+            return;
+        }
+        final StringBuilder logBuilder = new StringBuilder("\n");
+        logBuilder.append(format("Query ID %s [statement id %08x] : [%s] %s with CONSISTENCY LEVEL [%s] %s in %s us",
+                slot.queryId, slot.queryString.hashCode(), slot.queryString, slot.operationType, slot.consistencyLevel,
+                slot.error == null ? "succeeded" : "failed (" + slot.error.getMessage() + ")",
+                TimeUnit.NANOSECONDS.toMicros(slot.elapsedNanos)));
+        if (ArrayUtils.isNotEmpty(slot.boundValues)) {
+            logBuilder.append(format("\n\t Java bound values : %s", replaceByteBuffersByHexString(duplicateByteBuffers(slot.boundValues))));
+        }
+        if (ArrayUtils.isNotEmpty(slot.encodedBoundValues)) {
+            logBuilder.append(format("\n\t Encoded bound values : %s", replaceByteBuffersByHexString(duplicateByteBuffers(slot.encodedBoundValues))));
+        }
+
+        writeWithinBudget(slot.logger, logBuilder.toString());
+    }
+
+    private void writeBatchStatement(Slot slot) {
+        writeWithinBudget(slot.logger, format("\nBatch ID %s : [%s] with CONSISTENCY LEVEL [%s]",
+                slot.batchId, slot.queryString, slot.consistencyLevel));
+    }
+
+    private void writeWithinBudget(Logger logger, String log) {
+        if (withinBudget(log.length())) {
+            logger.debug(log);
+        } else {
+            droppedOverBudget++;
+        }
+    }
+
+    private boolean withinBudget(int logLength) {
+        if (maxBytesPerSecond <= 0) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        if (now - currentWindowStart >= ONE_SECOND_IN_NANOS) {
+            currentWindowStart = now;
+            currentWindowBytes = 0L;
+        }
+        if (currentWindowBytes + logLength > maxBytesPerSecond) {
+            return false;
+        }
+        currentWindowBytes += logLength;
+        return true;
+    }
+
+    private boolean hasUnreportedDrops() {
+        return droppedBufferFull.sum() + droppedOverBudget > lastReportedDrops;
+    }
+
+    private void reportDrops() {
+        final long drops = droppedBufferFull.sum() + droppedOverBudget;
+        if (drops > lastReportedDrops && System.nanoTime() - lastReportNanos >= ONE_SECOND_IN_NANOS) {
+            LOGGER.warn(format("%s asynchronous DML log events dropped so far (%s because the ring buffer was full, %s because of the bytes/sec budget)",
+                    drops, droppedBufferFull.sum(), droppedOverBudget));
+            lastReportedDrops = drops;
+            lastReportNanos = System.nanoTime();
+        }
+    }
+
+    private static Object[] duplicateByteBuffers(Object[] values) {
+        final Object[] copy = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i] instanceof ByteBuffer ? ((ByteBuffer) values[i]).duplicate() : values[i];
+        }
+        return copy;
+    }
+
+    private static class Slot {
+        private volatile long published = -1L;
+        private UUID queryId;
+        private UUID batchId;
+        private String queryString;
+        private ConsistencyLevel consistencyLevel;
+        private OperationType operationType;
+        private Object[] boundValues;
+        private Object[] encodedBoundValues;
+        private Logger logger;
+        private long elapsedNanos;
+        private Throwable error;
+
+        private void clear() {
+            queryId = null;
+            batchId = null;
+            queryString = null;
+            boundValues = null;
+            encodedBoundValues = null;
+            logger = null;
+            error = null;
+        }
+    }
+}
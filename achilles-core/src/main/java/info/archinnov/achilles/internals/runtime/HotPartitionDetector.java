@@ -0,0 +1,422 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.runtime.QueryFingerprints.MAX_TRACKED_FINGERPRINTS;
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.ObjectName;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.utils.Bytes;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.utils.JmxHelper;
+import info.archinnov.achilles.type.hotpartition.HotPartition;
+import info.archinnov.achilles.type.hotpartition.HotPartition.AccessType;
+
+/**
+ * Detect the most frequently accessed partitions, per entity and separately for reads and writes.
+ * <br/>
+ * <br/>
+ * The serialized partition key values of each sampled statement are fed into a <em>Space-Saving</em>
+ * heavy hitters sketch holding at most <em>topK</em> counters, whatever the key cardinality. Any partition
+ * accessed more than <em>1/topK</em> of the time is guaranteed to be kept, and the count of each kept
+ * partition is overestimated by at most the count of the counter it replaced.
+ * <br/>
+ * Counts are kept per observation window. The heavy hitters of the last completed window are reported,
+ * or those of the current window until the first window completes. Statements whose partition key
+ * is not fully bound (IN clause, token ranges, full scans) are ignored.
+ */
+public class HotPartitionDetector implements HotPartitionDetectorMXBean {
+
+    private static final int[] NO_PARTITION_KEY = new int[0];
+
+    private final int topK;
+    private final double samplingRate;
+    private final long windowNanos;
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<String, int[]> partitionKeyIndexesByQuery = new ConcurrentHashMap<>();
+    private final ConcurrentMap<SketchKey, WindowedSketch> sketches = new ConcurrentHashMap<>();
+    private final LongAdder sampledStatements = new LongAdder();
+    private Optional<ObjectName> registeredName = Optional.empty();
+
+    public HotPartitionDetector(int topK, double samplingRate, long windowSeconds, ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+        this(topK, samplingRate, windowSeconds, protocolVersion, codecRegistry, System::nanoTime);
+    }
+
+    HotPartitionDetector(int topK, double samplingRate, long windowSeconds, ProtocolVersion protocolVersion,
+                         CodecRegistry codecRegistry, LongSupplier nanoClock) {
+        this.topK = topK;
+        this.samplingRate = samplingRate;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.protocolVersion = protocolVersion;
+        this.codecRegistry = codecRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    public void record(StatementWrapper wrapper) {
+        final AbstractEntityProperty<?> meta = wrapper.getEntityProperty();
+        if (meta == null) {
+            return;
+        }
+
+        final AccessType accessType;
+        switch (wrapper.getOperationType()) {
+            case SELECT:
+                accessType = AccessType.READ;
+                break;
+            case INSERT:
+            case UPDATE:
+            case DELETE:
+                accessType = AccessType.WRITE;
+                break;
+            default:
+                return;
+        }
+
+        if (samplingRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return;
+        }
+
+        final BoundStatement boundStatement = wrapper.getBoundStatement();
+        final ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+        final int[] indexes = partitionKeyIndexes(meta, boundStatement.preparedStatement().getQueryString(), variables);
+        if (indexes.length == 0) {
+            return;
+        }
+
+        final ByteBuffer[] components = new ByteBuffer[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            if (!boundStatement.isSet(indexes[i]) || (components[i] = boundStatement.getBytesUnsafe(indexes[i])) == null) {
+                return;
+            }
+        }
+
+        sampledStatements.increment();
+        sketches.computeIfAbsent(new SketchKey(meta.entityClass, accessType), key -> new WindowedSketch(key, nanoClock.getAsLong()))
+                .offer(new PartitionSample(components, variables, indexes), nanoClock.getAsLong());
+    }
+
+    /**
+     * @return heavy hitters per entity and access type, heaviest first within each entity and access type
+     */
+    public List<HotPartition> hotPartitions() {
+        final long now = nanoClock.getAsLong();
+        final List<HotPartition> hotPartitions = new ArrayList<>();
+        sketches.entrySet()
+                .stream()
+                .sorted(Comparator.comparing((Map.Entry<SketchKey, WindowedSketch> entry) -> entry.getKey().entityClass.getCanonicalName())
+                        .thenComparing(entry -> entry.getKey().accessType))
+                .forEach(entry -> hotPartitions.addAll(entry.getValue().hotPartitions(now)));
+        return hotPartitions;
+    }
+
+    @Override
+    public long getSampledStatementCount() {
+        return sampledStatements.sum();
+    }
+
+    @Override
+    public String[] getHotPartitions() {
+        return hotPartitions().stream().map(HotPartition::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public void reset() {
+        sketches.clear();
+        sampledStatements.reset();
+    }
+
+    public void registerMBean(String keyspace) {
+        registeredName = JmxHelper.registerMBean(this, "HotPartitionDetector", keyspace, "hot partition detector");
+    }
+
+    public void unregisterMBean() {
+        JmxHelper.unregisterMBean(registeredName, "hot partition detector");
+        registeredName = Optional.empty();
+    }
+
+    private int[] partitionKeyIndexes(AbstractEntityProperty<?> meta, String queryString, ColumnDefinitions variables) {
+        final int[] cached = partitionKeyIndexesByQuery.get(queryString);
+        if (cached != null) {
+            return cached;
+        }
+        final String[] columns = new String[meta.partitionKeys.size()];
+        final DataType[] types = new DataType[meta.partitionKeys.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = meta.partitionKeys.get(i).fieldInfo.quotedCqlColumn;
+            types[i] = meta.partitionKeys.get(i).getDataType();
+        }
+        return cacheIndexes(queryString, partitionKeyIndexes(columns, types, variables));
+    }
+
+    /**
+     * Index of the bound variable of each partition key column, or an empty array if one of them is missing
+     * or not bound to a single value (<em>col IN :col</em> is bound to a list of values)
+     */
+    static int[] partitionKeyIndexes(String[] columns, DataType[] types, ColumnDefinitions variables) {
+        final int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (!variables.contains(columns[i])) {
+                return NO_PARTITION_KEY;
+            }
+            indexes[i] = variables.getIndexOf(columns[i]);
+            if (!types[i].equals(variables.getType(indexes[i]))) {
+                return NO_PARTITION_KEY;
+            }
+        }
+        return indexes;
+    }
+
+    private int[] cacheIndexes(String queryString, int[] indexes) {
+        if (partitionKeyIndexesByQuery.size() < MAX_TRACKED_FINGERPRINTS) {
+            partitionKeyIndexesByQuery.putIfAbsent(queryString, indexes);
+        }
+        return indexes;
+    }
+
+    private List<String> describe(PartitionSample sample) {
+        final List<String> partitionKey = new ArrayList<>(sample.components.length);
+        for (int i = 0; i < sample.components.length; i++) {
+            final int index = sample.indexes[i];
+            Object value;
+            try {
+                value = codecRegistry.codecFor(sample.variables.getType(index))
+                        .deserialize(sample.components[i].duplicate(), protocolVersion);
+            } catch (RuntimeException ex) {
+                value = Bytes.toHexString(sample.components[i]);
+            }
+            partitionKey.add(format("%s=%s", sample.variables.getName(index), value));
+        }
+        return partitionKey;
+    }
+
+    /**
+     * Space-Saving sketch: at most <em>capacity</em> counters. When a new partition arrives and all the
+     * counters are taken, the smallest counter is reassigned to it and its count becomes the overestimation bound.
+     * <br/>
+     * The counters are also kept in a min-heap on their count so that finding the smallest one is O(1)
+     * and each offer is O(log capacity)
+     */
+    static class HeavyHitters {
+        private final int capacity;
+        private final Map<PartitionSample, Counter> counters;
+        private final Counter[] heap;
+
+        HeavyHitters(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+            this.heap = new Counter[capacity];
+        }
+
+        void offer(PartitionSample sample) {
+            final Counter counter = counters.get(sample);
+            if (counter != null) {
+                counter.count++;
+                siftDown(counter.heapIndex);
+            } else if (counters.size() < capacity) {
+                final Counter newCounter = new Counter(sample, 1L, 0L);
+                newCounter.heapIndex = counters.size();
+                heap[newCounter.heapIndex] = newCounter;
+                counters.put(sample, newCounter);
+                siftUp(newCounter.heapIndex);
+            } else {
+                final Counter min = heap[0];
+                counters.remove(min.sample);
+                final Counter newCounter = new Counter(sample, min.count + 1, min.count);
+                newCounter.heapIndex = 0;
+                heap[0] = newCounter;
+                counters.put(sample, newCounter);
+                siftDown(0);
+            }
+        }
+
+        List<Counter> top() {
+            final List<Counter> top = new ArrayList<>(counters.values());
+            top.sort(Comparator.comparingLong((Counter counter) -> counter.count).reversed());
+            return top;
+        }
+
+        int size() {
+            return counters.size();
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                final int parent = (index - 1) / 2;
+                if (heap[parent].count <= heap[index].count) break;
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            final int size = counters.size();
+            while (true) {
+                final int left = 2 * index + 1;
+                if (left >= size) break;
+                final int right = left + 1;
+                final int smallest = right < size && heap[right].count < heap[left].count ? right : left;
+                if (heap[index].count <= heap[smallest].count) break;
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            final Counter counter = heap[i];
+            heap[i] = heap[j];
+            heap[j] = counter;
+            heap[i].heapIndex = i;
+            heap[j].heapIndex = j;
+        }
+    }
+
+    static class Counter {
+        final PartitionSample sample;
+        long count;
+        final long error;
+        int heapIndex;
+
+        Counter(PartitionSample sample, long count, long error) {
+            this.sample = sample;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    static class PartitionSample {
+        final ByteBuffer[] components;
+        final ColumnDefinitions variables;
+        final int[] indexes;
+        private final int hashCode;
+
+        PartitionSample(ByteBuffer[] components, ColumnDefinitions variables, int[] indexes) {
+            this.components = components;
+            this.variables = variables;
+            this.indexes = indexes;
+            this.hashCode = Arrays.hashCode(components);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(components, ((PartitionSample) o).components);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private class WindowedSketch {
+        private final SketchKey key;
+        private HeavyHitters current = new HeavyHitters(topK);
+        private long currentStartNanos;
+        private long currentStartMillis = System.currentTimeMillis();
+        private List<HotPartition> lastCompletedWindow = Collections.emptyList();
+        private boolean completedWindow = false;
+
+        WindowedSketch(SketchKey key, long nowNanos) {
+            this.key = key;
+            this.currentStartNanos = nowNanos;
+        }
+
+        synchronized void offer(PartitionSample sample, long nowNanos) {
+            maybeRotate(nowNanos);
+            current.offer(sample);
+        }
+
+        synchronized List<HotPartition> hotPartitions(long nowNanos) {
+            maybeRotate(nowNanos);
+            if (completedWindow) {
+                return lastCompletedWindow;
+            }
+            return snapshot(Long.max(nowNanos - currentStartNanos, 1L));
+        }
+
+        private void maybeRotate(long nowNanos) {
+            final long elapsedNanos = nowNanos - currentStartNanos;
+            if (elapsedNanos < windowNanos) {
+                return;
+            }
+            // Nothing has been recorded in the last complete window if more than 2 windows have elapsed
+            lastCompletedWindow = elapsedNanos < 2 * windowNanos ? snapshot(windowNanos) : Collections.emptyList();
+            completedWindow = true;
+            final long elapsedWindows = elapsedNanos / windowNanos;
+            currentStartNanos += elapsedWindows * windowNanos;
+            currentStartMillis += TimeUnit.NANOSECONDS.toMillis(elapsedWindows * windowNanos);
+            current = new HeavyHitters(topK);
+        }
+
+        private List<HotPartition> snapshot(long durationNanos) {
+            final double durationSeconds = durationNanos / 1_000_000_000d;
+            final String entityClass = key.entityClass.getCanonicalName();
+            final long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            final List<HotPartition> hotPartitions = new ArrayList<>(current.size());
+            for (Counter counter : current.top()) {
+                final long estimatedCount = Math.round(counter.count / samplingRate);
+                hotPartitions.add(new HotPartition(entityClass, key.accessType, describe(counter.sample), estimatedCount,
+                        Math.round(counter.error / samplingRate), estimatedCount / durationSeconds, currentStartMillis, durationMillis));
+            }
+            return hotPartitions;
+        }
+    }
+
+    private static class SketchKey {
+        private final Class<?> entityClass;
+        private final AccessType accessType;
+
+        SketchKey(Class<?> entityClass, AccessType accessType) {
+            this.entityClass = entityClass;
+            this.accessType = accessType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SketchKey that = (SketchKey) o;
+            return Objects.equals(entityClass, that.entityClass) && accessType == that.accessType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityClass, accessType);
+        }
+    }
+}
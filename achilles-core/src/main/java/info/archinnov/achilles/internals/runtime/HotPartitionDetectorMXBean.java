@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+/**
+ * JMX view of the hot partition detector
+ */
+public interface HotPartitionDetectorMXBean {
+
+    /**
+     * @return number of statements sampled since startup or last reset
+     */
+    long getSampledStatementCount();
+
+    /**
+     * @return heaviest partitions per entity and access type, heaviest first
+     */
+    String[] getHotPartitions();
+
+    /**
+     * Clear all heavy hitters and restart the observation window
+     */
+    void reset();
+}
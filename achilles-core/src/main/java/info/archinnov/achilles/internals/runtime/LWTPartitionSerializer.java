@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.dsl.LWTHelper;
+import info.archinnov.achilles.internals.types.LWTReplayResultSet;
+import info.archinnov.achilles.internals.types.ResultSetWrapper;
+import info.archinnov.achilles.type.lightweighttransaction.LWTQueueMetrics;
+
+/**
+ * Serialize LightWeight Transaction statements per partition so that only one of them
+ * is in flight at a time for a given partition from this JVM. Other LWT statements
+ * targeting the same partition are queued (up to <em>maxQueueDepth</em>) and executed
+ * once the previous one completes.
+ * <br/>
+ * <br/>
+ * If conflict short-circuit is enabled, a queued statement that is strictly identical (same query
+ * string, same serialized bound values) to an LWT that has just been rejected on the same partition
+ * while it was waiting is not sent to Cassandra. The previous rejection result is replayed instead
+ * so that LWT result listeners are triggered with the current values returned by the rejection.
+ */
+public class LWTPartitionSerializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LWTPartitionSerializer.class);
+
+    private final ConcurrentMap<PartitionKey, PartitionLane> lanes = new ConcurrentHashMap<>();
+    private final int maxQueueDepth;
+    private final boolean conflictShortCircuit;
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong(0L);
+
+    public LWTPartitionSerializer(int maxQueueDepth, boolean conflictShortCircuit, ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+        this.maxQueueDepth = maxQueueDepth;
+        this.conflictShortCircuit = conflictShortCircuit;
+        this.protocolVersion = protocolVersion;
+        this.codecRegistry = codecRegistry;
+    }
+
+    /**
+     * Execute the given LWT statement, waiting for any other LWT statement on the same partition to complete first.
+     * Non LWT statements and statements whose routing key cannot be computed are executed immediately
+     */
+    public CompletableFuture<ResultSet> submit(BoundStatement boundStatement, Supplier<CompletableFuture<ResultSet>> execution) {
+        if (!LWTHelper.isLWTOperation(boundStatement.preparedStatement().getQueryString())) {
+            return execution.get();
+        }
+
+        final ByteBuffer routingKey = boundStatement.getRoutingKey(protocolVersion, codecRegistry);
+        if (routingKey == null) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("No routing key for LWT query %s, executing it without serialization",
+                        boundStatement.preparedStatement().getQueryString()));
+            }
+            return execution.get();
+        }
+
+        submitted.increment();
+        final PartitionKey partitionKey = new PartitionKey(boundStatement.getKeyspace(), extractTableName(boundStatement), routingKey);
+        final PendingLWT pending = new PendingLWT(partitionKey, boundStatement, execution);
+
+        lanes.compute(partitionKey, (key, lane) -> {
+            if (lane == null) {
+                pending.startNow = true;
+                return new PartitionLane();
+            } else if (lane.queue.size() >= maxQueueDepth) {
+                pending.rejected = true;
+                return lane;
+            } else {
+                lane.queue.add(pending);
+                return lane;
+            }
+        });
+
+        if (pending.rejected) {
+            rejected.increment();
+            pending.future.completeExceptionally(new AchillesException(format(
+                    "Cannot queue LWT query %s, there are already %s LWT operations waiting on the same partition",
+                    boundStatement.preparedStatement().getQueryString(), maxQueueDepth)));
+        } else if (pending.startNow) {
+            start(pending);
+        } else {
+            contended.increment();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("LWT query %s queued behind another LWT operation on the same partition",
+                        boundStatement.preparedStatement().getQueryString()));
+            }
+        }
+        return pending.future;
+    }
+
+    public LWTQueueMetrics metrics() {
+        final long waitingStatements = lanes.values().stream().mapToLong(lane -> lane.queue.size()).sum();
+        return new LWTQueueMetrics(submitted.sum(), contended.sum(), rejected.sum(), shortCircuited.sum(),
+                lanes.size(), waitingStatements, totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    /**
+     * Start the given statement and then, as long as each started statement completes synchronously
+     * (short-circuit, execution failing or returning an already completed future), the next one of its lane.
+     * Draining in a loop keeps the stack flat whatever the queue depth
+     */
+    private void start(PendingLWT first) {
+        PendingLWT pending = first;
+        while (pending != null) {
+            pending = dispatch(pending);
+        }
+    }
+
+    /**
+     * @return the next statement of the lane to start if the given one has completed synchronously, null otherwise
+     */
+    private PendingLWT dispatch(PendingLWT pending) {
+        final long waitNanos = System.nanoTime() - pending.enqueuedAt;
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+        final LastLWTOutcome lastOutcome = pending.lastOutcome;
+        if (conflictShortCircuit && lastOutcome != null && lastOutcome.sameStatement(pending)) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Short-circuit LWT query %s, identical statement has just been rejected",
+                        lastOutcome.queryString));
+            }
+            shortCircuited.increment();
+            final PendingLWT next = release(pending.partitionKey, lastOutcome);
+            pending.future.complete(new LWTReplayResultSet(lastOutcome.rejectionRow, lastOutcome.executionInfo));
+            return next;
+        }
+
+        final CompletableFuture<ResultSet> execution;
+        try {
+            execution = pending.execution.get();
+        } catch (RuntimeException ex) {
+            final PendingLWT next = release(pending.partitionKey, null);
+            pending.future.completeExceptionally(ex);
+            return next;
+        }
+
+        // The callback runs on this thread only if the execution is already completed,
+        // its next statement is then handed back to the loop of start() instead of being started recursively
+        final Thread dispatchingThread = Thread.currentThread();
+        execution.whenComplete((resultSet, throwable) -> {
+            final PendingLWT next = complete(pending, resultSet, throwable);
+            if (Thread.currentThread() == dispatchingThread && pending.dispatching) {
+                pending.synchronousNext = next;
+            } else {
+                start(next);
+            }
+        });
+        pending.dispatching = false;
+        return pending.synchronousNext;
+    }
+
+    private PendingLWT complete(PendingLWT pending, ResultSet resultSet, Throwable throwable) {
+        final PendingLWT next;
+        if (throwable != null) {
+            next = release(pending.partitionKey, null);
+            pending.future.completeExceptionally(throwable);
+        } else if (!resultSet.wasApplied()) {
+            final ResultSetWrapper wrapper = new ResultSetWrapper(resultSet);
+            final LastLWTOutcome outcome = new LastLWTOutcome(pending, wrapper.peek(), resultSet.getExecutionInfo());
+            next = release(pending.partitionKey, outcome);
+            pending.future.complete(wrapper);
+        } else {
+            next = release(pending.partitionKey, null);
+            pending.future.complete(resultSet);
+        }
+        return next;
+    }
+
+    /**
+     * Release the lane of the completed statement
+     * @return the next statement of the lane to start, or null if the lane is empty
+     */
+    private PendingLWT release(PartitionKey partitionKey, LastLWTOutcome outcome) {
+        final PendingLWT[] next = new PendingLWT[1];
+        lanes.computeIfPresent(partitionKey, (key, lane) -> {
+            next[0] = lane.queue.poll();
+            if (next[0] == null) {
+                return null;
+            }
+            next[0].lastOutcome = outcome;
+            return lane;
+        });
+        return next[0];
+    }
+
+    private static String extractTableName(BoundStatement boundStatement) {
+        final ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+        return variables.size() > 0 ? variables.getTable(0) : "";
+    }
+
+    private static List<ByteBuffer> serializedValues(BoundStatement boundStatement) {
+        final int size = boundStatement.preparedStatement().getVariables().size();
+        final List<ByteBuffer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(boundStatement.isSet(i) ? boundStatement.getBytesUnsafe(i) : null);
+        }
+        return values;
+    }
+
+    private static class PartitionKey {
+        private final String keyspace;
+        private final String table;
+        private final ByteBuffer routingKey;
+
+        PartitionKey(String keyspace, String table, ByteBuffer routingKey) {
+            this.keyspace = keyspace;
+            this.table = table;
+            this.routingKey = routingKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PartitionKey that = (PartitionKey) o;
+            return Objects.equals(keyspace, that.keyspace) &&
+                    Objects.equals(table, that.table) &&
+                    Objects.equals(routingKey, that.routingKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyspace, table, routingKey);
+        }
+    }
+
+    private static class PartitionLane {
+        private final ArrayDeque<PendingLWT> queue = new ArrayDeque<>();
+    }
+
+    private static class PendingLWT {
+        private final PartitionKey partitionKey;
+        private final BoundStatement boundStatement;
+        private final Supplier<CompletableFuture<ResultSet>> execution;
+        private final CompletableFuture<ResultSet> future = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+        private boolean startNow = false;
+        private boolean rejected = false;
+        private volatile LastLWTOutcome lastOutcome;
+        // Only accessed by the dispatching thread
+        private boolean dispatching = true;
+        private PendingLWT synchronousNext;
+
+        PendingLWT(PartitionKey partitionKey, BoundStatement boundStatement, Supplier<CompletableFuture<ResultSet>> execution) {
+            this.partitionKey = partitionKey;
+            this.boundStatement = boundStatement;
+            this.execution = execution;
+        }
+    }
+
+    private static class LastLWTOutcome {
+        private final String queryString;
+        private final List<ByteBuffer> serializedValues;
+        private final Row rejectionRow;
+        private final ExecutionInfo executionInfo;
+
+        LastLWTOutcome(PendingLWT pending, Row rejectionRow, ExecutionInfo executionInfo) {
+            this.queryString = pending.boundStatement.preparedStatement().getQueryString();
+            this.serializedValues = serializedValues(pending.boundStatement);
+            this.rejectionRow = rejectionRow;
+            this.executionInfo = executionInfo;
+        }
+
+        boolean sameStatement(PendingLWT pending) {
+            return queryString.equals(pending.boundStatement.preparedStatement().getQueryString())
+                    && serializedValues.equals(serializedValues(pending.boundStatement));
+        }
+    }
+}
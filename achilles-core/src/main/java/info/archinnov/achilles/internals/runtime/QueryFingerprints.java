@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+/**
+ * Fingerprint of a query string, shared by the query statistics of the manager factory
+ * (slow queries, server warnings, hot partitions, result cache, adaptive fetch size).
+ * <br/>
+ * The number of distinct queries tracked by each of them is bounded by <em>MAX_TRACKED_FINGERPRINTS</em>
+ * so that applications generating non-prepared query strings cannot grow them without limit
+ */
+final class QueryFingerprints {
+
+    static final int MAX_TRACKED_FINGERPRINTS = 10_000;
+
+    private QueryFingerprints() {
+    }
+
+    static String fingerprintOf(String queryString) {
+        return format("%08x", queryString.hashCode());
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.runtime.QueryFingerprints.MAX_TRACKED_FINGERPRINTS;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+
+import info.archinnov.achilles.type.resultcache.ResultCacheStats;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Cache of decoded SELECT results for queries executed with <em>withResultCache(Duration ttl)</em>.
+ * <br/>
+ * <br/>
+ * Results are keyed by prepared query string, serialized bound values and consistency level.
+ * The cache is bounded by the total number of cached rows. An entry expires after its own TTL
+ * or as soon as a mutation on the same table is executed through the same manager factory.
+ * Statements executed directly with the Java driver session do <strong>NOT</strong> invalidate the cache.
+ * <br/>
+ * <br/>
+ * Each caller gets its own copy of the result list but the decoded entities and typed maps are the
+ * instances held by the cache, they must be treated as immutable. Nothing is allocated and mutations
+ * are not tracked until a query is executed with <em>withResultCache(Duration ttl)</em>
+ */
+public class ResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    private static final Pattern TABLE_PATTERN = Pattern.compile("\\b(?:FROM|INTO|UPDATE)\\s+([\\w.\"]+)", Pattern.CASE_INSENSITIVE);
+
+    private final long maxRows;
+    private final ConcurrentMap<String, Set<ResultCacheKey>> keysByTable = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> tableGenerations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueryStats> statsByQuery = new ConcurrentHashMap<>();
+    private final String currentKeyspace;
+    private volatile Cache<ResultCacheKey, CachedResult> cache;
+
+    public ResultCache(long maxRows, String currentKeyspace) {
+        this.maxRows = maxRows;
+        this.currentKeyspace = currentKeyspace;
+    }
+
+    /**
+     * Return the cached result for this statement if it has not expired, otherwise execute the loader and cache its result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<Tuple2<List<T>, ExecutionInfo>> getOrLoad(BoundStatement boundStatement, String resultType, Duration ttl,
+                                                                           Supplier<CompletableFuture<Tuple2<List<T>, ExecutionInfo>>> loader) {
+        final Cache<ResultCacheKey, CachedResult> cache = cache();
+        final String queryString = boundStatement.preparedStatement().getQueryString();
+        final ResultCacheKey key = new ResultCacheKey(queryString, resultType, boundStatement.getConsistencyLevel(), serializedValues(boundStatement));
+        final QueryStats stats = statsFor(queryString);
+
+        final CachedResult cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired() && cached.generation == generationOf(cached.table).get()) {
+            stats.hits.increment();
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Result cache hit for query %s", queryString));
+            }
+            return CompletableFuture.completedFuture(Tuple2.of(new ArrayList<>((List<T>) cached.rows), cached.executionInfo));
+        } else if (cached != null) {
+            cache.invalidate(key);
+        }
+
+        stats.misses.increment();
+        final Optional<String> table = tableOf(boundStatement);
+        if (!table.isPresent()) {
+            return loader.get();
+        }
+
+        final AtomicLong generation = generationOf(table.get());
+        final long generationBeforeLoad = generation.get();
+        return loader.get().thenApply(result -> {
+            if (generation.get() == generationBeforeLoad) {
+                keysByTable.computeIfAbsent(table.get(), x -> ConcurrentHashMap.newKeySet()).add(key);
+                cache.put(key, new CachedResult(table.get(), generationBeforeLoad, new ArrayList<>(result._1()), result._2(), System.nanoTime() + ttl.toNanos()));
+                if (generation.get() != generationBeforeLoad) {
+                    cache.invalidate(key);
+                }
+            }
+            return Tuple2.of(new ArrayList<>(result._1()), result._2());
+        });
+    }
+
+    /**
+     * Invalidate the cached results of the table mutated by this statement
+     */
+    public void invalidateForMutation(Statement statement) {
+        if (cache == null) return;
+
+        if (statement instanceof BoundStatement) {
+            final Optional<String> table = tableOf((BoundStatement) statement);
+            if (table.isPresent()) {
+                invalidateTable(table.get());
+            } else {
+                invalidateAll();
+            }
+        } else if (statement instanceof BatchStatement) {
+            ((BatchStatement) statement).getStatements().forEach(this::invalidateForMutation);
+        } else {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateTable(String qualifiedTableName) {
+        if (cache == null) return;
+
+        generationOf(qualifiedTableName).incrementAndGet();
+        final Set<ResultCacheKey> keys = keysByTable.get(qualifiedTableName);
+        if (keys != null && !keys.isEmpty()) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Invalidating %s cached result(s) for table %s", keys.size(), qualifiedTableName));
+            }
+            cache.invalidateAll(new ArrayList<>(keys));
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache == null) return;
+
+        tableGenerations.values().forEach(AtomicLong::incrementAndGet);
+        cache.invalidateAll();
+    }
+
+    public List<ResultCacheStats> stats() {
+        return statsByQuery
+                .values()
+                .stream()
+                .map(stats -> new ResultCacheStats(QueryFingerprints.fingerprintOf(stats.queryString), stats.queryString,
+                        stats.hits.sum(), stats.misses.sum()))
+                .sorted(Comparator.comparing(ResultCacheStats::queryString))
+                .collect(toList());
+    }
+
+    long cachedRows() {
+        if (cache == null) return 0L;
+
+        return cache.asMap().values().stream().mapToLong(CachedResult::weight).sum();
+    }
+
+    Optional<String> tableOf(BoundStatement boundStatement) {
+        final PreparedStatement ps = boundStatement.preparedStatement();
+        final ColumnDefinitions variables = ps.getVariables();
+        if (variables.size() > 0) {
+            return Optional.of((variables.getKeyspace(0) + "." + variables.getTable(0)).toLowerCase());
+        }
+        final Matcher matcher = TABLE_PATTERN.matcher(ps.getQueryString());
+        if (matcher.find()) {
+            final String tableName = matcher.group(1).replaceAll("\"", "");
+            return Optional.of((tableName.contains(".") ? tableName : currentKeyspace + "." + tableName).toLowerCase());
+        }
+        return Optional.empty();
+    }
+
+    private QueryStats statsFor(String queryString) {
+        final QueryStats stats = statsByQuery.get(queryString);
+        if (stats != null) {
+            return stats;
+        }
+        // Beyond the cap, hits and misses are counted but not reported
+        return statsByQuery.size() < MAX_TRACKED_FINGERPRINTS
+                ? statsByQuery.computeIfAbsent(queryString, QueryStats::new)
+                : new QueryStats(queryString);
+    }
+
+    private Cache<ResultCacheKey, CachedResult> cache() {
+        Cache<ResultCacheKey, CachedResult> current = cache;
+        if (current == null) {
+            synchronized (this) {
+                current = cache;
+                if (current == null) {
+                    current = CacheBuilder.newBuilder()
+                            .maximumWeight(maxRows)
+                            .weigher((ResultCacheKey key, CachedResult value) -> value.weight())
+                            .removalListener(this::onRemoval)
+                            .build();
+                    cache = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private AtomicLong generationOf(String qualifiedTableName) {
+        return tableGenerations.computeIfAbsent(qualifiedTableName, x -> new AtomicLong(0L));
+    }
+
+    private void onRemoval(RemovalNotification<ResultCacheKey, CachedResult> notification) {
+        // A replaced entry is still cached under the same key, it must stay indexed for invalidation
+        if (notification.getCause() == RemovalCause.REPLACED) return;
+
+        final CachedResult removed = notification.getValue();
+        if (removed != null) {
+            final Set<ResultCacheKey> keys = keysByTable.get(removed.table);
+            if (keys != null) {
+                keys.remove(notification.getKey());
+            }
+        }
+    }
+
+    private static List<ByteBuffer> serializedValues(BoundStatement boundStatement) {
+        final int size = boundStatement.preparedStatement().getVariables().size();
+        final List<ByteBuffer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(boundStatement.isSet(i) ? boundStatement.getBytesUnsafe(i) : null);
+        }
+        return values;
+    }
+
+    private static class ResultCacheKey {
+        private final String queryString;
+        private final String resultType;
+        private final ConsistencyLevel consistencyLevel;
+        private final List<ByteBuffer> serializedValues;
+
+        ResultCacheKey(String queryString, String resultType, ConsistencyLevel consistencyLevel, List<ByteBuffer> serializedValues) {
+            this.queryString = queryString;
+            this.resultType = resultType;
+            this.consistencyLevel = consistencyLevel;
+            this.serializedValues = serializedValues;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ResultCacheKey that = (ResultCacheKey) o;
+            return Objects.equals(queryString, that.queryString) &&
+                    Objects.equals(resultType, that.resultType) &&
+                    consistencyLevel == that.consistencyLevel &&
+                    Objects.equals(serializedValues, that.serializedValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryString, resultType, consistencyLevel, serializedValues);
+        }
+    }
+
+    private static class CachedResult {
+        private final String table;
+        private final long generation;
+        private final List<?> rows;
+        private final ExecutionInfo executionInfo;
+        private final long expiresAtNanos;
+
+        CachedResult(String table, long generation, List<?> rows, ExecutionInfo executionInfo, long expiresAtNanos) {
+            this.table = table;
+            this.generation = generation;
+            this.rows = rows;
+            this.executionInfo = executionInfo;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+
+        int weight() {
+            return rows.size() + 1;
+        }
+    }
+
+    private static class QueryStats {
+        private final String queryString;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        QueryStats(String queryString) {
+            this.queryString = queryString;
+        }
+    }
+}
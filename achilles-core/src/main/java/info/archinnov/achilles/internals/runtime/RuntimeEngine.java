@@ -20,6 +20,7 @@ import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletabl
 import static java.lang.String.format;
 
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
@@ -35,6 +36,7 @@ import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.type.SchemaNameProvider;
 
@@ -47,9 +49,17 @@ public class RuntimeEngine {
     public final Session session;
     public final String currentKeyspace;
     public final ExecutorService executor;
+    public final Optional<LWTPartitionSerializer> lwtPartitionSerializer;
+    public final Optional<AsyncDMLLogger> asyncDMLLogger;
+    public final Optional<SlowQueryRecorder> slowQueryRecorder;
+    public final Optional<HotPartitionDetector> hotPartitionDetector;
+    public final Optional<ServerWarningRecorder> serverWarningRecorder;
+    public final AdaptiveFetchSizer adaptiveFetchSizer;
+    public final ResultCache resultCache;
 
     public TupleTypeFactory tupleTypeFactory;
     public UserTypeFactory userTypeFactory;
+    public volatile Optional<WrittenTablesTracker> writtenTablesTracker = Optional.empty();
 
     public RuntimeEngine(ConfigurationContext configContext) {
         this.configContext = configContext;
@@ -57,6 +67,17 @@ public class RuntimeEngine {
         this.cache = configContext.getStatementsCache();
         this.currentKeyspace = configContext.getCurrentKeyspace().orElseGet(session::getLoggedKeyspace);
         this.executor = configContext.getExecutorService();
+        this.lwtPartitionSerializer = initLWTPartitionSerializer(configContext);
+        this.asyncDMLLogger = initAsyncDMLLogger(configContext);
+        this.slowQueryRecorder = initSlowQueryRecorder(configContext);
+        this.hotPartitionDetector = initHotPartitionDetector(configContext);
+        this.serverWarningRecorder = configContext.isServerWarningTrackingEnabled()
+                ? Optional.of(new ServerWarningRecorder(configContext.getServerWarningLogIntervalMillis()))
+                : Optional.empty();
+        this.adaptiveFetchSizer = new AdaptiveFetchSizer(configContext.getAdaptiveFetchSizeTargetPageBytes(),
+                configContext.getAdaptiveFetchSizeTargetPageMillis(), configContext.getAdaptiveFetchSizeMin(),
+                configContext.getAdaptiveFetchSizeMax());
+        this.resultCache = new ResultCache(configContext.getResultCacheMaxRows(), currentKeyspace);
     }
 
     public PreparedStatement getStaticCache(CacheKey cacheKey) {
@@ -68,8 +89,51 @@ public class RuntimeEngine {
             LOGGER.debug(format("Executing statement %s", wrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
+        final boolean asyncLog = asyncDMLLogger.isPresent() && asyncDMLLogger.get().shouldLog(wrapper);
+        asyncDMLLogger.ifPresent(logger -> wrapper.disableSynchronousLogging());
         wrapper.logDML();
-        return toCompletableFuture(session.executeAsync(wrapper.getBoundStatement()), executor);
+        final BoundStatement boundStatement = wrapper.getBoundStatement();
+        writtenTablesTracker.ifPresent(tracker -> tracker.record(boundStatement, currentKeyspace));
+
+        slowQueryRecorder.ifPresent(recorder -> recorder.maybeEnableTracing(wrapper));
+        hotPartitionDetector.ifPresent(detector -> detector.record(wrapper));
+
+        final boolean mutation = wrapper.getOperationType() != OperationType.SELECT;
+        if (mutation) {
+            resultCache.invalidateForMutation(boundStatement);
+        }
+
+        final boolean adaptiveFetchSize = wrapper.isAdaptiveFetchSize();
+        if (adaptiveFetchSize) {
+            adaptiveFetchSizer.applyFetchSize(boundStatement.preparedStatement().getQueryString(), boundStatement);
+        }
+
+        final long startNanos = asyncLog || slowQueryRecorder.isPresent() ? System.nanoTime() : 0L;
+        final CompletableFuture<ResultSet> future;
+        if (lwtPartitionSerializer.isPresent()) {
+            future = lwtPartitionSerializer.get().submit(boundStatement,
+                    () -> toCompletableFuture(session.executeAsync(boundStatement), executor));
+        } else {
+            future = toCompletableFuture(session.executeAsync(boundStatement), executor);
+        }
+
+        if (asyncLog) {
+            future.whenComplete((resultSet, throwable) -> asyncDMLLogger.get().capture(wrapper, startNanos, throwable));
+        }
+        if (slowQueryRecorder.isPresent()) {
+            future.whenComplete((resultSet, throwable) -> slowQueryRecorder.get().record(wrapper, System.nanoTime() - startNanos, resultSet));
+        }
+        if (serverWarningRecorder.isPresent()) {
+            future.whenComplete((resultSet, throwable) -> serverWarningRecorder.get().record(wrapper, resultSet));
+        }
+        if (mutation) {
+            future.whenComplete((resultSet, throwable) -> resultCache.invalidateForMutation(boundStatement));
+        }
+        if (adaptiveFetchSize) {
+            return future.thenApply(resultSet -> adaptiveFetchSizer.track(boundStatement.preparedStatement().getQueryString(),
+                    boundStatement, resultSet));
+        }
+        return future;
     }
 
     public CompletableFuture<ResultSet> execute(BoundStatement boundStatement) {
@@ -87,7 +151,31 @@ public class RuntimeEngine {
                             .map(Statement::toString)
                             .reduce("", (x, y) -> x + y)));
         }
-        return toCompletableFuture(session.executeAsync(batchStatement), executor);
+        logBatchDML(batchStatement);
+        resultCache.invalidateForMutation(batchStatement);
+        final CompletableFuture<ResultSet> future = toCompletableFuture(session.executeAsync(batchStatement), executor);
+        future.whenComplete((resultSet, throwable) -> resultCache.invalidateForMutation(batchStatement));
+        serverWarningRecorder.ifPresent(recorder -> future.whenComplete((resultSet, throwable) -> recorder.recordBatch(resultSet)));
+        return future;
+    }
+
+    private void logBatchDML(BatchStatement batchStatement) {
+        final UUID batchId = UUID.randomUUID();
+        final boolean asyncLog = asyncDMLLogger.isPresent() && asyncDMLLogger.get().shouldLogBatch(StatementWrapper.DML_LOGGER);
+        for (Statement statement : batchStatement.getStatements()) {
+            if (statement instanceof BoundStatement) {
+                final BoundStatement boundStatement = (BoundStatement) statement;
+                writtenTablesTracker.ifPresent(tracker -> tracker.record(boundStatement, currentKeyspace));
+                if (asyncLog) {
+                    asyncDMLLogger.get().captureBatch(StatementWrapper.DML_LOGGER, batchId,
+                            boundStatement.preparedStatement().getQueryString(), batchStatement.getConsistencyLevel());
+                } else if (!asyncDMLLogger.isPresent() && StatementWrapper.DML_LOGGER.isDebugEnabled()) {
+                    StatementWrapper.DML_LOGGER.debug(format("\nBatch ID %s : [%s] with CONSISTENCY LEVEL [%s]", batchId,
+                            boundStatement.preparedStatement().getQueryString(),
+                            batchStatement.getConsistencyLevel()));
+                }
+            }
+        }
     }
 
     public PreparedStatement prepareDynamicQuery(RegularStatement statement) {
@@ -123,4 +211,57 @@ public class RuntimeEngine {
     public Cluster getCluster() {
         return session.getCluster();
     }
+
+    private Optional<AsyncDMLLogger> initAsyncDMLLogger(ConfigurationContext configContext) {
+        final int bufferSize = configContext.getAsyncDMLLogBufferSize();
+        if (bufferSize > 0) {
+            LOGGER.info(format("Enabling asynchronous DML logging with ring buffer size %s", bufferSize));
+            return Optional.of(new AsyncDMLLogger(bufferSize, configContext.getAsyncDMLLogSamplingRate(),
+                    configContext.getAsyncDMLLogSamplingRateMap(), configContext.getAsyncDMLLogMaxBytesPerSecond()));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<SlowQueryRecorder> initSlowQueryRecorder(ConfigurationContext configContext) {
+        final long thresholdInMillis = configContext.getSlowQueryThresholdInMillis();
+        if (thresholdInMillis > 0 || !configContext.getSlowQueryThresholdByOperation().isEmpty()
+                || !configContext.getSlowQueryThresholdByEntity().isEmpty()) {
+            LOGGER.info(format("Enabling slow query log with default threshold %s ms", thresholdInMillis));
+            final SlowQueryRecorder recorder = new SlowQueryRecorder(thresholdInMillis, configContext.getSlowQueryThresholdByOperation(),
+                    configContext.getSlowQueryThresholdByEntity(), configContext.getSlowQueryTopN(),
+                    configContext.getSlowQueryTraceSampleCount(), configContext.getSlowQueryBoundValuesMaxLength());
+            if (configContext.isSlowQueryJMXEnabled()) {
+                recorder.registerMBean(currentKeyspace);
+            }
+            return Optional.of(recorder);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<HotPartitionDetector> initHotPartitionDetector(ConfigurationContext configContext) {
+        final int topK = configContext.getHotPartitionTopK();
+        if (topK > 0) {
+            LOGGER.info(format("Enabling hot partition detection with top %s partitions per entity", topK));
+            final Configuration configuration = session.getCluster().getConfiguration();
+            final HotPartitionDetector detector = new HotPartitionDetector(topK, configContext.getHotPartitionSamplingRate(),
+                    configContext.getHotPartitionWindowSeconds(), configuration.getProtocolOptions().getProtocolVersion(),
+                    configuration.getCodecRegistry());
+            if (configContext.isHotPartitionJMXEnabled()) {
+                detector.registerMBean(currentKeyspace);
+            }
+            return Optional.of(detector);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<LWTPartitionSerializer> initLWTPartitionSerializer(ConfigurationContext configContext) {
+        final int queueDepth = configContext.getLWTPartitionSerializationQueueDepth();
+        if (queueDepth > 0) {
+            LOGGER.info(format("Enabling LWT partition serialization with max queue depth %s per partition", queueDepth));
+            final Configuration configuration = session.getCluster().getConfiguration();
+            return Optional.of(new LWTPartitionSerializer(queueDepth, configContext.isLWTConflictShortCircuit(),
+                    configuration.getProtocolOptions().getProtocolVersion(), configuration.getCodecRegistry()));
+        }
+        return Optional.empty();
+    }
 }
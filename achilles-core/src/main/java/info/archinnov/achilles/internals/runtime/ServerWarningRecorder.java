@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.runtime.QueryFingerprints.MAX_TRACKED_FINGERPRINTS;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.logger.AchillesLoggers;
+import info.archinnov.achilles.type.serverwarning.ServerWarningStats;
+import info.archinnov.achilles.type.serverwarning.ServerWarningStats.Category;
+
+/**
+ * Aggregate the client warnings returned by Cassandra in <em>ExecutionInfo.getWarnings()</em>,
+ * per query fingerprint, entity and warning category.
+ * <br/>
+ * <br/>
+ * Each warning is logged to the ACHILLES_SERVER_WARNING logger, at most once per <em>logIntervalMillis</em>
+ * for a given query fingerprint and category, together with the number of warnings suppressed since the
+ * previous log. For tombstone warnings, the number of tombstone cells scanned is extracted from the warning text.
+ * <br/>
+ * Only the warnings of the first page are seen, warnings of the pages fetched later by the driver are not recorded
+ */
+public class ServerWarningRecorder {
+
+    private static final Logger SERVER_WARNING_LOGGER = LoggerFactory.getLogger(AchillesLoggers.ACHILLES_SERVER_WARNING);
+    private static final Pattern TOMBSTONE_PATTERN = Pattern.compile("(\\d+) tombstone");
+    static final String BATCH_QUERY_STRING = "BATCH";
+
+    private final long logIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<WarningKey, WarningCounters> counters = new ConcurrentHashMap<>();
+
+    public ServerWarningRecorder(long logIntervalMillis) {
+        this(logIntervalMillis, System::nanoTime);
+    }
+
+    ServerWarningRecorder(long logIntervalMillis, LongSupplier nanoClock) {
+        this.logIntervalNanos = TimeUnit.MILLISECONDS.toNanos(logIntervalMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    public void record(StatementWrapper wrapper, ResultSet resultSet) {
+        if (resultSet == null) {
+            return;
+        }
+        final AbstractEntityProperty<?> meta = wrapper.getEntityProperty();
+        record(wrapper.getBoundStatement().preparedStatement().getQueryString(),
+                Optional.ofNullable(meta).map(x -> x.entityClass.getCanonicalName()), resultSet.getExecutionInfo());
+    }
+
+    public void recordBatch(ResultSet resultSet) {
+        if (resultSet == null) {
+            return;
+        }
+        record(BATCH_QUERY_STRING, Optional.empty(), resultSet.getExecutionInfo());
+    }
+
+    void record(String queryString, Optional<String> entityClass, ExecutionInfo executionInfo) {
+        final List<String> warnings = executionInfo == null ? null : executionInfo.getWarnings();
+        if (warnings == null || warnings.isEmpty()) {
+            return;
+        }
+        for (String warning : warnings) {
+            final WarningKey key = new WarningKey(queryString, entityClass, categorize(warning));
+            WarningCounters warningCounters = counters.get(key);
+            if (warningCounters == null) {
+                if (counters.size() >= MAX_TRACKED_FINGERPRINTS) {
+                    continue;
+                }
+                warningCounters = counters.computeIfAbsent(key, x -> new WarningCounters(nanoClock.getAsLong() - logIntervalNanos));
+            }
+            warningCounters.add(warning, extractTombstones(key.category, warning));
+            maybeLog(key, warningCounters, warning);
+        }
+    }
+
+    /**
+     * @return aggregated warnings, most frequent first
+     */
+    public List<ServerWarningStats> serverWarnings() {
+        return counters.entrySet()
+                .stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .sorted(Comparator.comparingLong(ServerWarningStats::count).reversed()
+                        .thenComparing(ServerWarningStats::category)
+                        .thenComparing(ServerWarningStats::fingerprint))
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private void maybeLog(WarningKey key, WarningCounters warningCounters, String warning) {
+        if (!SERVER_WARNING_LOGGER.isWarnEnabled()) {
+            return;
+        }
+        final long now = nanoClock.getAsLong();
+        final long lastLogged = warningCounters.lastLoggedNanos.get();
+        if (now - lastLogged >= logIntervalNanos && warningCounters.lastLoggedNanos.compareAndSet(lastLogged, now)) {
+            final long total = warningCounters.count.sum();
+            final long suppressed = total - warningCounters.countAtLastLog.getAndSet(total) - 1;
+            SERVER_WARNING_LOGGER.warn(format("Server warning [%s] for query %s [%s] on entity %s (%s similar warnings suppressed, %s in total) : %s",
+                    key.category, QueryFingerprints.fingerprintOf(key.queryString), key.queryString, key.entityClass.orElse("none"),
+                    Long.max(0L, suppressed), total, warning));
+        }
+    }
+
+    static Category categorize(String warning) {
+        final String lowerCase = warning.toLowerCase();
+        if (lowerCase.contains("tombstone")) {
+            return Category.TOMBSTONE;
+        } else if (lowerCase.contains("batch")) {
+            return Category.BATCH;
+        } else if (lowerCase.contains("aggregation")) {
+            return Category.AGGREGATION;
+        }
+        return Category.OTHER;
+    }
+
+    static long extractTombstones(Category category, String warning) {
+        if (category != Category.TOMBSTONE) {
+            return 0L;
+        }
+        final Matcher matcher = TOMBSTONE_PATTERN.matcher(warning);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+
+    private static class WarningCounters {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTombstones = new LongAdder();
+        private final LongAccumulator maxTombstones = new LongAccumulator(Long::max, 0L);
+        private final AtomicLong lastLoggedNanos;
+        private final AtomicLong countAtLastLog = new AtomicLong(0L);
+        private volatile String lastWarning;
+        private volatile long lastSeenMillis;
+
+        WarningCounters(long lastLoggedNanos) {
+            this.lastLoggedNanos = new AtomicLong(lastLoggedNanos);
+        }
+
+        void add(String warning, long tombstones) {
+            count.increment();
+            if (tombstones > 0) {
+                totalTombstones.add(tombstones);
+                maxTombstones.accumulate(tombstones);
+            }
+            lastWarning = warning;
+            lastSeenMillis = System.currentTimeMillis();
+        }
+
+        ServerWarningStats toStats(WarningKey key) {
+            return new ServerWarningStats(QueryFingerprints.fingerprintOf(key.queryString), key.queryString, key.entityClass,
+                    key.category, count.sum(), lastWarning, lastSeenMillis, maxTombstones.get(), totalTombstones.sum());
+        }
+    }
+
+    private static class WarningKey {
+        private final String queryString;
+        private final Optional<String> entityClass;
+        private final Category category;
+
+        WarningKey(String queryString, Optional<String> entityClass, Category category) {
+            this.queryString = queryString;
+            this.entityClass = entityClass;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            WarningKey that = (WarningKey) o;
+            return Objects.equals(queryString, that.queryString) &&
+                    Objects.equals(entityClass, that.entityClass) &&
+                    category == that.category;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queryString, entityClass, category);
+        }
+    }
+}
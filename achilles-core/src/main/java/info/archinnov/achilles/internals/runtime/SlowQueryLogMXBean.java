@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+/**
+ * JMX view of the slow query log
+ */
+public interface SlowQueryLogMXBean {
+
+    /**
+     * @return total number of slow executions recorded since startup or last reset
+     */
+    long getSlowQueryCount();
+
+    /**
+     * @return slowest executions, slowest first
+     */
+    String[] getSlowestQueries();
+
+    /**
+     * @return number of slow executions per fingerprint, as "fingerprint : count : query"
+     */
+    String[] getSlowQueryCountByFingerprint();
+
+    /**
+     * Clear all recorded slow executions
+     */
+    void reset();
+}
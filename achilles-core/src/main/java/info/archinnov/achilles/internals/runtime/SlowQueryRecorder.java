@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.runtime.QueryFingerprints.MAX_TRACKED_FINGERPRINTS;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.utils.JmxHelper;
+import info.archinnov.achilles.logger.AchillesLoggers;
+import info.archinnov.achilles.type.slowquery.SlowQuery;
+
+/**
+ * Record executions slower than a threshold, per query fingerprint.
+ * <br/>
+ * <br/>
+ * The fingerprint is derived from the prepared query string, which is the same for all executions
+ * of a given DSL or CRUD shape. Thresholds can be defined globally, per operation type or per entity,
+ * the entity threshold taking precedence over the operation type threshold.
+ * <br/>
+ * Only the <em>topN</em> slowest executions are kept. Optionally, tracing is enabled for the
+ * next <em>traceSampleCount</em> executions of a fingerprint after a slow execution
+ */
+public class SlowQueryRecorder implements SlowQueryLogMXBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryRecorder.class);
+    private static final Logger SLOW_QUERY_LOGGER = LoggerFactory.getLogger(AchillesLoggers.ACHILLES_SLOW_QUERY);
+    private static final String REDACTED = "<redacted>";
+
+    private final long defaultThresholdNanos;
+    private final Map<OperationType, Long> thresholdNanosByOperation;
+    private final Map<Class<?>, Long> thresholdNanosByEntity;
+    private final int topN;
+    private final int traceSampleCount;
+    private final int boundValuesMaxLength;
+
+    private final PriorityQueue<SlowQuery> slowest = new PriorityQueue<>(Comparator.comparingLong(SlowQuery::elapsedMicros));
+    private final ConcurrentMap<String, LongAdder> countByQueryString = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> pendingTraces = new ConcurrentHashMap<>();
+    private final LongAdder slowQueryCount = new LongAdder();
+    private Optional<ObjectName> registeredName = Optional.empty();
+
+    public SlowQueryRecorder(long defaultThresholdMillis, Map<OperationType, Long> thresholdMillisByOperation,
+                             Map<Class<?>, Long> thresholdMillisByEntity, int topN, int traceSampleCount, int boundValuesMaxLength) {
+        this.defaultThresholdNanos = defaultThresholdMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(defaultThresholdMillis) : Long.MAX_VALUE;
+        this.thresholdNanosByOperation = toNanos(thresholdMillisByOperation);
+        this.thresholdNanosByEntity = toNanos(thresholdMillisByEntity);
+        this.topN = topN;
+        this.traceSampleCount = traceSampleCount;
+        this.boundValuesMaxLength = boundValuesMaxLength;
+    }
+
+    /**
+     * Enable tracing on the statement if a previous execution of the same fingerprint was slow
+     * and the trace sample for this fingerprint is not exhausted yet
+     */
+    public void maybeEnableTracing(StatementWrapper wrapper) {
+        if (pendingTraces.isEmpty()) {
+            return;
+        }
+        final BoundStatement boundStatement = wrapper.getBoundStatement();
+        final String queryString = boundStatement.preparedStatement().getQueryString();
+        final AtomicInteger remaining = pendingTraces.get(queryString);
+        if (remaining != null) {
+            if (remaining.getAndDecrement() > 0) {
+                boundStatement.enableTracing();
+            } else {
+                pendingTraces.remove(queryString, remaining);
+            }
+        }
+    }
+
+    public void record(StatementWrapper wrapper, long elapsedNanos, ResultSet resultSet) {
+        final BoundStatement boundStatement = wrapper.getBoundStatement();
+        final String queryString = boundStatement.preparedStatement().getQueryString();
+        final Optional<UUID> traceId = extractTraceId(boundStatement, resultSet);
+
+        if (elapsedNanos < thresholdFor(wrapper)) {
+            traceId.ifPresent(id -> {
+                if (SLOW_QUERY_LOGGER.isInfoEnabled()) {
+                    SLOW_QUERY_LOGGER.info(format("Traced execution of previously slow query %s [%s] took %s us, trace id %s",
+                            QueryFingerprints.fingerprintOf(queryString), queryString, TimeUnit.NANOSECONDS.toMicros(elapsedNanos), id));
+                }
+            });
+            return;
+        }
+
+        slowQueryCount.increment();
+        final AbstractEntityProperty<?> meta = wrapper.getEntityProperty();
+        final SlowQuery slowQuery = new SlowQuery(QueryFingerprints.fingerprintOf(queryString), queryString,
+                Optional.ofNullable(meta).map(x -> x.entityClass.getCanonicalName()),
+                wrapper.getOperationType().name(), TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                System.currentTimeMillis(), formatBoundValues(wrapper.getBoundValues()), traceId);
+
+        synchronized (slowest) {
+            if (slowest.size() < topN) {
+                slowest.add(slowQuery);
+            } else if (slowest.peek().elapsedMicros() < slowQuery.elapsedMicros()) {
+                slowest.poll();
+                slowest.add(slowQuery);
+            }
+        }
+
+        if (countByQueryString.size() < MAX_TRACKED_FINGERPRINTS || countByQueryString.containsKey(queryString)) {
+            countByQueryString.computeIfAbsent(queryString, x -> new LongAdder()).increment();
+        }
+
+        if (traceSampleCount > 0 && !traceId.isPresent() && pendingTraces.size() < MAX_TRACKED_FINGERPRINTS) {
+            pendingTraces.putIfAbsent(queryString, new AtomicInteger(traceSampleCount));
+        }
+
+        if (SLOW_QUERY_LOGGER.isInfoEnabled()) {
+            SLOW_QUERY_LOGGER.info(slowQuery.toString());
+        }
+    }
+
+    /**
+     * @return slowest executions, slowest first
+     */
+    public List<SlowQuery> slowQueries() {
+        final List<SlowQuery> slowQueries;
+        synchronized (slowest) {
+            slowQueries = new ArrayList<>(slowest);
+        }
+        slowQueries.sort(Comparator.comparingLong(SlowQuery::elapsedMicros).reversed());
+        return slowQueries;
+    }
+
+    @Override
+    public long getSlowQueryCount() {
+        return slowQueryCount.sum();
+    }
+
+    @Override
+    public String[] getSlowestQueries() {
+        return slowQueries().stream().map(SlowQuery::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getSlowQueryCountByFingerprint() {
+        return countByQueryString.entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .map(entry -> format("%s : %s : %s", QueryFingerprints.fingerprintOf(entry.getKey()), entry.getValue().sum(), entry.getKey()))
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public void reset() {
+        synchronized (slowest) {
+            slowest.clear();
+        }
+        countByQueryString.clear();
+        pendingTraces.clear();
+        slowQueryCount.reset();
+    }
+
+    public void registerMBean(String keyspace) {
+        registeredName = JmxHelper.registerMBean(this, "SlowQueryLog", keyspace, "slow query log");
+    }
+
+    public void unregisterMBean() {
+        JmxHelper.unregisterMBean(registeredName, "slow query log");
+        registeredName = Optional.empty();
+    }
+
+    private long thresholdFor(StatementWrapper wrapper) {
+        final AbstractEntityProperty<?> meta = wrapper.getEntityProperty();
+        if (meta != null) {
+            final Long entityThreshold = thresholdNanosByEntity.get(meta.entityClass);
+            if (entityThreshold != null) {
+                return entityThreshold;
+            }
+        }
+        return thresholdNanosByOperation.getOrDefault(wrapper.getOperationType(), defaultThresholdNanos);
+    }
+
+    private List<String> formatBoundValues(Object[] boundValues) {
+        if (boundValues == null || boundValues.length == 0) {
+            return Collections.emptyList();
+        }
+        final List<String> formatted = new ArrayList<>(boundValues.length);
+        for (Object boundValue : boundValues) {
+            if (boundValuesMaxLength <= 0) {
+                formatted.add(REDACTED);
+            } else {
+                final String value = String.valueOf(boundValue);
+                formatted.add(value.length() > boundValuesMaxLength ? value.substring(0, boundValuesMaxLength) + "..." : value);
+            }
+        }
+        return formatted;
+    }
+
+    private static Optional<UUID> extractTraceId(BoundStatement boundStatement, ResultSet resultSet) {
+        if (resultSet == null || !boundStatement.isTracing()) {
+            return Optional.empty();
+        }
+        final ExecutionInfo executionInfo = resultSet.getExecutionInfo();
+        final QueryTrace queryTrace = executionInfo == null ? null : executionInfo.getQueryTrace();
+        return Optional.ofNullable(queryTrace).map(QueryTrace::getTraceId);
+    }
+
+    private static <T> Map<T, Long> toNanos(Map<T, Long> thresholdsInMillis) {
+        final Map<T, Long> thresholdsInNanos = new HashMap<>();
+        thresholdsInMillis.forEach((key, millis) -> thresholdsInNanos.put(key, TimeUnit.MILLISECONDS.toNanos(millis)));
+        return thresholdsInNanos;
+    }
+}
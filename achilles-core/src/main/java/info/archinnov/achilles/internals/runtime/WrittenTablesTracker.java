@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+
+/**
+ * Record the tables written (INSERT, UPDATE or DELETE) through the runtime engine,
+ * as <em>keyspace.table</em> using the internal names: unquoted identifiers in lower case,
+ * quoted identifiers with their case preserved and without quotes.
+ * <br/>
+ * <br/>
+ * Mainly used by test resources to only truncate the tables that have been modified by a test
+ */
+public class WrittenTablesTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WrittenTablesTracker.class);
+
+    private static final Pattern WRITE_PATTERN = Pattern.compile("^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\s.*?\\sFROM)\\s+([\\w.\"]+)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("^(?:(\"(?:[^\"]|\"\")+\"|[^.\"]+)\\.)?(\"(?:[^\"]|\"\")+\"|[^.\"]+)$");
+    private static final Pattern WRITE_PREFIX = Pattern.compile("^\\s*(?:INSERT|UPDATE|DELETE)\\s", Pattern.CASE_INSENSITIVE);
+
+    private final Set<String> writtenTables = ConcurrentHashMap.newKeySet();
+
+    public void record(BoundStatement boundStatement, String currentKeyspace) {
+        final String queryString = boundStatement.preparedStatement().getQueryString();
+        if (!WRITE_PREFIX.matcher(queryString).find()) {
+            return;
+        }
+
+        final ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+        final String qualifiedTableName;
+        if (variables.size() > 0) {
+            qualifiedTableName = variables.getKeyspace(0) + "." + variables.getTable(0);
+        } else {
+            final Matcher matcher = WRITE_PATTERN.matcher(queryString);
+            if (!matcher.find()) {
+                return;
+            }
+            qualifiedTableName = qualifiedTableName(matcher.group(1), currentKeyspace);
+        }
+
+        if (writtenTables.add(qualifiedTableName) && LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Recording write on table %s", qualifiedTableName));
+        }
+    }
+
+    /**
+     * Return all the tables written since the last call and reset the tracker
+     *
+     * @return written tables as <em>keyspace.table</em>
+     */
+    public Set<String> drain() {
+        final Set<String> drained = new HashSet<>();
+        for (String table : writtenTables) {
+            if (writtenTables.remove(table)) {
+                drained.add(table);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Convert a CQL table name, optionally qualified with its keyspace and possibly quoted,
+     * to <em>keyspace.table</em> with internal names
+     *
+     * @param table           CQL table name, e.g. <em>my_table</em>, <em>ks."MyTable"</em>
+     * @param currentKeyspace keyspace used when the table name is not qualified
+     * @return qualified table name with internal names, e.g. <em>ks.MyTable</em>
+     */
+    public static String qualifiedTableName(String table, String currentKeyspace) {
+        final Matcher matcher = QUALIFIED_NAME.matcher(table.trim());
+        if (!matcher.matches()) {
+            return table;
+        }
+        final String keyspace = matcher.group(1) == null ? currentKeyspace : internalName(matcher.group(1));
+        return keyspace + "." + internalName(matcher.group(2));
+    }
+
+    private static String internalName(String identifier) {
+        if (identifier.length() > 1 && identifier.startsWith("\"") && identifier.endsWith("\"")) {
+            return identifier.substring(1, identifier.length() - 1).replace("\"\"", "\"");
+        }
+        return identifier.toLowerCase();
+    }
+}
@@ -43,6 +43,8 @@ public class BoundStatementWrapper implements StatementWrapper {
     private final Logger actualLogger;
     private BoundStatement bs;
     private UUID queryId;
+    private boolean synchronousLogging = true;
+    private boolean adaptiveFetchSize = false;
 
 
     public BoundStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, PreparedStatement ps,
@@ -70,14 +72,57 @@ public class BoundStatementWrapper implements StatementWrapper {
         return boundValues;
     }
 
+    @Override
+    public Object[] getEncodedBoundValues() {
+        return encodedBoundValues;
+    }
+
     @Override
     public BoundStatement getBoundStatement() {
         return bs;
     }
 
+    @Override
+    public UUID getQueryId() {
+        return queryId;
+    }
+
+    @Override
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    @Override
+    public AbstractEntityProperty<?> getEntityProperty() {
+        return meta;
+    }
+
+    @Override
+    public Logger getDMLLogger() {
+        return actualLogger;
+    }
+
+    @Override
+    public void disableSynchronousLogging() {
+        this.synchronousLogging = false;
+    }
+
     @Override
     public void applyOptions(CassandraOptions cassandraOptions) {
         cassandraOptions.applyOptions(operationType, meta, bs);
+        if (cassandraOptions.isAdaptiveFetchSize()) {
+            enableAdaptiveFetchSize();
+        }
+    }
+
+    @Override
+    public void enableAdaptiveFetchSize() {
+        this.adaptiveFetchSize = true;
+    }
+
+    @Override
+    public boolean isAdaptiveFetchSize() {
+        return adaptiveFetchSize;
     }
 
     @Override
@@ -87,7 +132,7 @@ public class BoundStatementWrapper implements StatementWrapper {
         }
 
         queryId = UUID.randomUUID();
-        if (actualLogger.isDebugEnabled()) {
+        if (synchronousLogging && actualLogger.isDebugEnabled()) {
             writeDMLStatementLog(actualLogger, queryId, bs.preparedStatement().getQueryString(), bs.getConsistencyLevel(), boundValues, encodedBoundValues);
         }
     }
@@ -98,7 +143,7 @@ public class BoundStatementWrapper implements StatementWrapper {
             LOGGER.trace(format("Log returned results for query %s", bs.preparedStatement().getQueryString()));
         }
 
-        if (actualLogger.isDebugEnabled()) {
+        if (synchronousLogging && actualLogger.isDebugEnabled()) {
             final ResultSetWrapper wrapper = new ResultSetWrapper(originalResultSet);
             logReturnedResultsInternal(actualLogger, queryId, wrapper, maxDisplayedRows);
             return wrapper;
@@ -113,7 +158,7 @@ public class BoundStatementWrapper implements StatementWrapper {
             LOGGER.trace(format("Log returned row for query %s", bs.preparedStatement().getQueryString()));
         }
 
-        if (actualLogger.isDebugEnabled()) {
+        if (synchronousLogging && actualLogger.isDebugEnabled()) {
             logReturnedRowInternal(actualLogger, queryId, row);
         }
         return row;
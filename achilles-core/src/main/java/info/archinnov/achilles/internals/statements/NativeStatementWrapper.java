@@ -20,6 +20,8 @@ import static java.lang.String.format;
 
 import java.util.UUID;
 
+import org.slf4j.Logger;
+
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
@@ -35,6 +37,8 @@ public class NativeStatementWrapper implements StatementWrapper {
     private final Object[] encodedBoundValues;
     private final UUID queryId = UUID.randomUUID();
     private final OperationType operationType;
+    private boolean synchronousLogging = true;
+    private boolean adaptiveFetchSize = false;
 
 
     public NativeStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, BoundStatement boundStatement, Object[] encodedBoundValues) {
@@ -49,18 +53,64 @@ public class NativeStatementWrapper implements StatementWrapper {
         return encodedBoundValues;
     }
 
+    @Override
+    public Object[] getEncodedBoundValues() {
+        return encodedBoundValues;
+    }
+
     @Override
     public BoundStatement getBoundStatement() {
         return boundStatement;
     }
 
+    @Override
+    public UUID getQueryId() {
+        return queryId;
+    }
+
+    @Override
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    @Override
+    public AbstractEntityProperty<?> getEntityProperty() {
+        return meta;
+    }
+
+    @Override
+    public Logger getDMLLogger() {
+        return DML_LOGGER;
+    }
+
+    @Override
+    public void disableSynchronousLogging() {
+        this.synchronousLogging = false;
+    }
+
     @Override
     public void applyOptions(CassandraOptions cassandraOptions) {
         cassandraOptions.applyOptions(operationType, meta, boundStatement);
+        if (cassandraOptions.isAdaptiveFetchSize()) {
+            enableAdaptiveFetchSize();
+        }
+    }
+
+    @Override
+    public void enableAdaptiveFetchSize() {
+        this.adaptiveFetchSize = true;
+    }
+
+    @Override
+    public boolean isAdaptiveFetchSize() {
+        return adaptiveFetchSize;
     }
 
     @Override
     public void logDML() {
+        if (!synchronousLogging) {
+            return;
+        }
         writeDMLStatementLog(DML_LOGGER, queryId,
                 boundStatement.preparedStatement().getQueryString(),
                 boundStatement.getConsistencyLevel(), new Object[0], encodedBoundValues);
@@ -68,7 +118,7 @@ public class NativeStatementWrapper implements StatementWrapper {
 
     @Override
     public ResultSet logReturnResults(ResultSet originalResultSet, int maxDisplayedRows) {
-        if (DML_LOGGER.isDebugEnabled()) {
+        if (synchronousLogging && DML_LOGGER.isDebugEnabled()) {
             final ResultSetWrapper wrapper = new ResultSetWrapper(originalResultSet);
             logReturnedResultsInternal(DML_LOGGER, queryId, wrapper, maxDisplayedRows);
             return wrapper;
@@ -79,7 +129,7 @@ public class NativeStatementWrapper implements StatementWrapper {
 
     @Override
     public Row logReturnedRow(Row row) {
-        if (DML_LOGGER.isDebugEnabled()) {
+        if (synchronousLogging && DML_LOGGER.isDebugEnabled()) {
             logReturnedRowInternal(DML_LOGGER, queryId, row);
         }
         return row;
@@ -19,7 +19,10 @@ package info.archinnov.achilles.internals.statements;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.*;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -36,6 +39,7 @@ import info.archinnov.achilles.internals.cassandra_version.InternalCassandraVers
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.internals.metamodel.ComputedProperty;
+import info.archinnov.achilles.internals.metamodel.TimeBucketProperty;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
 import info.archinnov.achilles.internals.metamodel.columns.ComputedColumnInfo;
 import info.archinnov.achilles.internals.options.CassandraOptions;
@@ -46,16 +50,92 @@ public class PreparedStatementGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PreparedStatementGenerator.class);
 
+    public static final String TIME_BUCKET_FROM = "timebucket_from";
+    public static final String TIME_BUCKET_TO = "timebucket_to";
+    public static final String SLICE_LOWER_BOUND = "slice_lower";
+    public static final String SLICE_UPPER_BOUND = "slice_upper";
+    public static final String SLICE_LIMIT = "slice_limit";
+
     public static void generateStaticSelectQuery(Session session, StatementsCache cache,  AbstractEntityProperty<?> entityProperty) {
         final RegularStatement where = generateSelectQuery(entityProperty, Optional.empty());
         cache.putStaticCache(new CacheKey(entityProperty.entityClass, FIND), () -> session.prepare(where));
     }
 
     public static RegularStatement generateSelectQuery( AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
+
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generate SELECT query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
 
+        final Select.Where where = generateSelectForPartition(entityProperty, schemaNameProvider);
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
+            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        }
+
+        return where;
+    }
+
+    /**
+     * Generate the SELECT of all columns for one time bucket, restricted on the time column
+     * to <em>[:timebucket_from, :timebucket_to)</em>
+     */
+    public static RegularStatement generateTimeBucketRangeQuery(AbstractEntityProperty<?> entityProperty, TimeBucketProperty<?> timeBucket,
+                                                                Optional<SchemaNameProvider> schemaNameProvider) {
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate SELECT time bucket range query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        final String timeColumn = timeBucket.timeProperty.fieldInfo.quotedCqlColumn;
+        return generateSelectForPartition(entityProperty, schemaNameProvider)
+                .and(gte(timeColumn, bindMarker(TIME_BUCKET_FROM)))
+                .and(lt(timeColumn, bindMarker(TIME_BUCKET_TO)));
+    }
+
+    /**
+     * Generate the SELECT of all columns for one page of a clustering slice. Pages are read in clustering order,
+     * starting after the last seen clustering tuple when <em>seekColumns</em> &gt; 0, or else from the optional
+     * range bound on the first clustering column. The page size is bound to the LIMIT marker
+     */
+    public static RegularStatement generateSliceQuery(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider,
+                                                      int seekColumns, boolean hasLowerBound, boolean hasUpperBound, boolean descending) {
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate SELECT slice query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        final Select.Where where = generateSelectForPartition(entityProperty, schemaNameProvider);
+        final List<String> firstColumn = Collections.singletonList(entityProperty.clusteringColumns.get(0).fieldInfo.quotedCqlColumn);
+
+        if (seekColumns > 0) {
+            final List<String> seekNames = entityProperty.clusteringColumns
+                    .stream()
+                    .limit(seekColumns)
+                    .map(x -> x.fieldInfo.quotedCqlColumn)
+                    .collect(toList());
+            final List<Object> seekMarkers = entityProperty.clusteringColumns
+                    .stream()
+                    .limit(seekColumns)
+                    .map(x -> bindMarker("seek_" + x.fieldInfo.cqlColumn))
+                    .collect(toList());
+            where.and(descending ? lt(seekNames, seekMarkers) : gt(seekNames, seekMarkers));
+        } else if (descending && hasUpperBound) {
+            where.and(lt(firstColumn, Collections.singletonList(bindMarker(SLICE_UPPER_BOUND))));
+        } else if (!descending && hasLowerBound) {
+            where.and(gte(firstColumn, Collections.singletonList(bindMarker(SLICE_LOWER_BOUND))));
+        }
+
+        if (descending && hasLowerBound) {
+            where.and(gte(firstColumn, Collections.singletonList(bindMarker(SLICE_LOWER_BOUND))));
+        } else if (!descending && hasUpperBound) {
+            where.and(lt(firstColumn, Collections.singletonList(bindMarker(SLICE_UPPER_BOUND))));
+        }
+
+        return where.limit(bindMarker(SLICE_LIMIT));
+    }
+
+    private static Select.Where generateSelectForPartition(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
         final Select.Selection select = QueryBuilder.select();
         final Optional<String> keyspace = entityProperty.getKeyspace();
 
@@ -96,10 +176,6 @@ public class PreparedStatementGenerator {
             where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
         }
 
-        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
-            where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
-        }
-
         return where;
     }
 
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.exceptions.TraceRetrievalException;
 
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.CassandraOptions;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
 import info.archinnov.achilles.logger.AchillesLoggers;
@@ -42,10 +43,32 @@ public interface StatementWrapper {
 
     Object[] getBoundValues();
 
+    Object[] getEncodedBoundValues();
+
     BoundStatement getBoundStatement();
 
+    UUID getQueryId();
+
+    OperationType getOperationType();
+
+    AbstractEntityProperty<?> getEntityProperty();
+
+    Logger getDMLLogger();
+
+    /**
+     * Statement logs are handled asynchronously, skip synchronous DML and returned rows logging
+     */
+    void disableSynchronousLogging();
+
     void applyOptions(CassandraOptions cassandraOptions);
 
+    /**
+     * Let the fetch size be chosen from the pages previously read for the same query
+     */
+    void enableAdaptiveFetchSize();
+
+    boolean isAdaptiveFetchSize();
+
     void logDML();
 
     ResultSet logReturnResults(ResultSet resultSet, int maxDisplayedRows);
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+/**
+ * Stream the chunks of a chunked blob, one row per chunk.
+ * <br/>
+ * Chunks are read directly from the driver buffers without copy. When less than
+ * <em>prefetchChunks</em> chunks remain in the current page, the next page is fetched asynchronously.
+ * <br/>
+ * If less than <em>expectedChunks</em> chunks are found, the payload has been overwritten or deleted while
+ * being read and an {@link IOException} is thrown
+ */
+public class ChunkedBlobInputStream extends InputStream {
+
+    private final ResultSet resultSet;
+    private final int prefetchChunks;
+    private final int expectedChunks;
+    private int readChunks = 0;
+    private ByteBuffer current = ByteBuffer.allocate(0);
+
+    public ChunkedBlobInputStream(ResultSet resultSet, int prefetchChunks, int expectedChunks) {
+        this.resultSet = resultSet;
+        this.prefetchChunks = prefetchChunks;
+        this.expectedChunks = expectedChunks;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunkIfNeeded()) return -1;
+        return current.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) return 0;
+        if (!nextChunkIfNeeded()) return -1;
+        final int count = Math.min(length, current.remaining());
+        current.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current.remaining();
+    }
+
+    private boolean nextChunkIfNeeded() throws IOException {
+        while (!current.hasRemaining()) {
+            final Row row = resultSet.one();
+            if (row == null) {
+                if (readChunks < expectedChunks) {
+                    throw new IOException(String.format("Expected %s chunks but found %s, the payload has been modified while being read",
+                            expectedChunks, readChunks));
+                }
+                return false;
+            }
+            readChunks++;
+            if (resultSet.getAvailableWithoutFetching() < prefetchChunks && !resultSet.isFullyFetched()) {
+                resultSet.fetchMoreResults();
+            }
+            final ByteBuffer chunk = row.getBytesUnsafe(0);
+            if (chunk != null) {
+                current = chunk.duplicate();
+            }
+        }
+        return true;
+    }
+}
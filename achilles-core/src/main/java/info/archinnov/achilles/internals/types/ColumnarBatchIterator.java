@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.columnar.*;
+
+/**
+ * Iterate over a SELECT result set by batches of rows decoded column by column
+ * into {@link ColumnarBatch}, without creating any entity instance.
+ * <br/>
+ * Columns without codec of type bigint, counter, timestamp, time, int, smallint, tinyint,
+ * double, float, boolean, text, varchar and ascii are decoded directly into primitive or dictionary-encoded vectors.
+ * Other columns are decoded into {@link ObjectVector} using the entity property, so that codecs are applied
+ */
+public class ColumnarBatchIterator implements Iterator<ColumnarBatch>, AsyncAware {
+
+    private final ResultSet resultSet;
+    private final CassandraOptions options;
+    private final int batchRows;
+    private final ColumnarBufferAllocator allocator;
+    private final List<ColumnDecoder> decoders;
+    private ExecutionInfo executionInfo;
+
+    public ColumnarBatchIterator(CompletableFuture<ResultSet> futureRS, AbstractEntityProperty<?> meta, StatementWrapper statementWrapper,
+                                 CassandraOptions cassandraOptions, int batchRows, ColumnarBufferAllocator allocator) {
+        this.options = cassandraOptions;
+        this.batchRows = batchRows;
+        this.allocator = allocator;
+        try {
+            this.resultSet = Uninterruptibles.getUninterruptibly(futureRS
+                    .thenApply(cassandraOptions::resultSetAsyncListener)
+                    .thenApply(statementWrapper::logTrace)
+                    .thenApply(rs -> {
+                        ColumnarBatchIterator.this.executionInfo = rs.getExecutionInfo();
+                        return rs;
+                    }));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+        this.decoders = buildDecoders(resultSet.getColumnDefinitions(), meta);
+    }
+
+    public ExecutionInfo getExecutionInfo() {
+        return this.executionInfo;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !resultSet.isExhausted();
+    }
+
+    @Override
+    public ColumnarBatch next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in result set");
+        }
+
+        if (resultSet.getAvailableWithoutFetching() < batchRows && !resultSet.isFullyFetched()) {
+            resultSet.fetchMoreResults();
+        }
+
+        final List<ColumnVector> vectors = new ArrayList<>(decoders.size());
+        for (ColumnDecoder decoder : decoders) {
+            vectors.add(decoder.newVector(batchRows, allocator));
+        }
+
+        int rowCount = 0;
+        while (rowCount < batchRows && !resultSet.isExhausted()) {
+            final Row row = resultSet.one();
+            options.rowAsyncListener(row);
+            for (int i = 0; i < decoders.size(); i++) {
+                decoders.get(i).decode(row, vectors.get(i));
+            }
+            rowCount++;
+        }
+        return new ColumnarBatch(rowCount, vectors);
+    }
+
+    private static List<ColumnDecoder> buildDecoders(ColumnDefinitions columnDefinitions, AbstractEntityProperty<?> meta) {
+        final List<ColumnDecoder> decoders = new ArrayList<>(columnDefinitions.size());
+        for (int index = 0; index < columnDefinitions.size(); index++) {
+            final String cqlColumn = columnDefinitions.getName(index);
+            final DataType cqlType = columnDefinitions.getType(index);
+            final AbstractProperty<?, ?, ?> property = findProperty(meta, cqlColumn);
+            final String name = property != null ? property.fieldName : cqlColumn;
+            final boolean hasCodec = property != null && !property.valueFromTypeToken.equals(property.valueToTypeToken);
+            decoders.add(new ColumnDecoder(index, name, cqlType, hasCodec ? VectorKind.OBJECT : VectorKind.of(cqlType), property));
+        }
+        return decoders;
+    }
+
+    private static AbstractProperty<?, ?, ?> findProperty(AbstractEntityProperty<?> meta, String cqlColumn) {
+        if (meta == null) {
+            return null;
+        }
+        for (AbstractProperty<?, ?, ?> property : meta.allColumnsWithComputed) {
+            if (property.getColumnForSelect().equals(cqlColumn)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private enum VectorKind {
+        LONG, INT, DOUBLE, BOOLEAN, STRING, OBJECT;
+
+        static VectorKind of(DataType cqlType) {
+            switch (cqlType.getName()) {
+                case BIGINT:
+                case COUNTER:
+                case TIMESTAMP:
+                case TIME:
+                    return LONG;
+                case INT:
+                case SMALLINT:
+                case TINYINT:
+                    return INT;
+                case DOUBLE:
+                case FLOAT:
+                    return DOUBLE;
+                case BOOLEAN:
+                    return BOOLEAN;
+                case TEXT:
+                case VARCHAR:
+                case ASCII:
+                    return STRING;
+                default:
+                    return OBJECT;
+            }
+        }
+    }
+
+    private static class ColumnDecoder {
+        private final int index;
+        private final String name;
+        private final DataType cqlType;
+        private final DataType.Name cqlTypeName;
+        private final VectorKind kind;
+        private final AbstractProperty<?, ?, ?> property;
+
+        ColumnDecoder(int index, String name, DataType cqlType, VectorKind kind, AbstractProperty<?, ?, ?> property) {
+            this.index = index;
+            this.name = name;
+            this.cqlType = cqlType;
+            this.cqlTypeName = cqlType.getName();
+            this.kind = kind;
+            this.property = property;
+        }
+
+        ColumnVector newVector(int capacity, ColumnarBufferAllocator allocator) {
+            switch (kind) {
+                case LONG:
+                    return new LongVector(name, cqlType, capacity, allocator);
+                case INT:
+                    return new IntVector(name, cqlType, capacity, allocator);
+                case DOUBLE:
+                    return new DoubleVector(name, cqlType, capacity, allocator);
+                case BOOLEAN:
+                    return new BooleanVector(name, cqlType, capacity);
+                case STRING:
+                    return new DictionaryStringVector(name, cqlType, capacity, allocator);
+                default:
+                    return new ObjectVector(name, cqlType, capacity);
+            }
+        }
+
+        void decode(Row row, ColumnVector vector) {
+            if (row.isNull(index)) {
+                vector.appendNull();
+                return;
+            }
+            switch (kind) {
+                case LONG:
+                    ((LongVector) vector).append(decodeLong(row));
+                    break;
+                case INT:
+                    ((IntVector) vector).append(decodeInt(row));
+                    break;
+                case DOUBLE:
+                    ((DoubleVector) vector).append(cqlTypeName == DataType.Name.FLOAT ? row.getFloat(index) : row.getDouble(index));
+                    break;
+                case BOOLEAN:
+                    ((BooleanVector) vector).append(row.getBool(index));
+                    break;
+                case STRING:
+                    ((DictionaryStringVector) vector).append(row.getString(index));
+                    break;
+                default:
+                    ((ObjectVector) vector).append(property != null ? property.decodeFromGettable(row) : row.getObject(index));
+            }
+        }
+
+        private long decodeLong(Row row) {
+            switch (cqlTypeName) {
+                case TIMESTAMP:
+                    return row.getTimestamp(index).getTime();
+                case TIME:
+                    return row.getTime(index);
+                default:
+                    return row.getLong(index);
+            }
+        }
+
+        private int decodeInt(Row row) {
+            switch (cqlTypeName) {
+                case SMALLINT:
+                    return row.getShort(index);
+                case TINYINT:
+                    return row.getByte(index);
+                default:
+                    return row.getInt(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Single-row, not-applied result set replaying the rejection of a previous
+ * LightWeight Transaction on the same partition
+ */
+public class LWTReplayResultSet implements ResultSet {
+
+    private final ColumnDefinitions columnDefinitions;
+    private final ExecutionInfo executionInfo;
+    private final LinkedList<Row> values = new LinkedList<>();
+
+    public LWTReplayResultSet(Row rejectionRow, ExecutionInfo executionInfo) {
+        this.columnDefinitions = rejectionRow.getColumnDefinitions();
+        this.executionInfo = executionInfo;
+        this.values.add(rejectionRow);
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return columnDefinitions;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return values.isEmpty();
+    }
+
+    @Override
+    public Row one() {
+        return values.poll();
+    }
+
+    @Override
+    public List<Row> all() {
+        final List<Row> rows = new ArrayList<>(values);
+        values.clear();
+        return rows;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return all().iterator();
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        return values.size();
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return true;
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        return Futures.<ResultSet>immediateFuture(this);
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return executionInfo;
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        return Collections.singletonList(executionInfo);
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "LWTReplayResultSet[ not applied, " + columnDefinitions + "]";
+    }
+}
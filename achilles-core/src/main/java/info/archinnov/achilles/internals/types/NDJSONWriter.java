@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.json.NDJSONWriteStats;
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Stream the rows of a SELECT JSON query as newline-delimited JSON.
+ * <br/>
+ * <br/>
+ * The <strong>[json]</strong> column is copied straight from the UTF-8 bytes returned by the driver,
+ * no intermediate String is created. While the rows of the current page are written, the next page is
+ * fetched in the background. Rows are accumulated in a buffer of <em>flushBudgetBytes</em> and the output
+ * is flushed each time the buffer is full, and once at the end
+ */
+public class NDJSONWriter implements AsyncAware {
+
+    public static final int DEFAULT_FLUSH_BUDGET_BYTES = 64 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NDJSONWriter.class);
+    private static final byte NEW_LINE = '\n';
+
+    private final StatementWrapper statementWrapper;
+    private final CassandraOptions options;
+    private final int flushBudgetBytes;
+
+    public NDJSONWriter(StatementWrapper statementWrapper, CassandraOptions options, int flushBudgetBytes) {
+        Validator.validateTrue(flushBudgetBytes > 0, "The flush budget '%s' for NDJSON output should be strictly positive", flushBudgetBytes);
+        this.statementWrapper = statementWrapper;
+        this.options = options;
+        this.flushBudgetBytes = flushBudgetBytes;
+    }
+
+    public NDJSONWriteStats writeTo(CompletableFuture<ResultSet> futureRS, OutputStream outputStream) {
+        return write(futureRS, new OutputStreamSink(outputStream));
+    }
+
+    public NDJSONWriteStats writeTo(CompletableFuture<ResultSet> futureRS, WritableByteChannel channel) {
+        return write(futureRS, new ChannelSink(channel));
+    }
+
+    NDJSONWriteStats write(CompletableFuture<ResultSet> futureRS, Sink sink) {
+        final ResultSet resultSet;
+        try {
+            resultSet = Uninterruptibles.getUninterruptibly(futureRS
+                    .thenApply(options::resultSetAsyncListener)
+                    .thenApply(statementWrapper::logTrace));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(flushBudgetBytes);
+        long rows = 0L;
+        long bytes = 0L;
+        int pages = 0;
+        int flushes = 0;
+        int remainingInPage = 0;
+
+        try {
+            while (true) {
+                if (remainingInPage == 0) {
+                    // Blocks only when the page prefetched below has not arrived yet
+                    if (resultSet.isExhausted()) break;
+                    remainingInPage = resultSet.getAvailableWithoutFetching();
+                    pages++;
+                    if (!resultSet.isFullyFetched()) {
+                        resultSet.fetchMoreResults();
+                    }
+                }
+
+                final Row row = resultSet.one();
+                remainingInPage--;
+                statementWrapper.logReturnedRow(row);
+                options.rowAsyncListener(row);
+
+                final ByteBuffer json = row.getBytesUnsafe(0).duplicate();
+                final int rowLength = json.remaining() + 1;
+                if (buffer.remaining() < rowLength && buffer.position() > 0) {
+                    drain(buffer, sink);
+                    flushes++;
+                }
+                if (buffer.remaining() < rowLength) {
+                    // Row larger than the flush budget, bypass the buffer
+                    sink.write(json);
+                    sink.write(ByteBuffer.wrap(new byte[]{NEW_LINE}));
+                    sink.flush();
+                    flushes++;
+                } else {
+                    buffer.put(json).put(NEW_LINE);
+                }
+                rows++;
+                bytes += rowLength;
+            }
+
+            if (buffer.position() > 0) {
+                drain(buffer, sink);
+                flushes++;
+            }
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot write NDJSON output for query '%s' after %s rows",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString(), rows), e);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Written %s JSON rows (%s bytes, %s pages) for query %s",
+                    rows, bytes, pages, statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+        return new NDJSONWriteStats(rows, bytes, pages, flushes);
+    }
+
+    private static void drain(ByteBuffer buffer, Sink sink) throws IOException {
+        buffer.flip();
+        sink.write(buffer);
+        sink.flush();
+        buffer.clear();
+    }
+
+    interface Sink {
+        void write(ByteBuffer bytes) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static class OutputStreamSink implements Sink {
+        private final OutputStream outputStream;
+
+        OutputStreamSink(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(ByteBuffer bytes) throws IOException {
+            if (bytes.hasArray()) {
+                outputStream.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                bytes.position(bytes.limit());
+            } else {
+                final byte[] copy = new byte[bytes.remaining()];
+                bytes.get(copy);
+                outputStream.write(copy);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+    }
+
+    private static class ChannelSink implements Sink {
+        private final WritableByteChannel channel;
+
+        ChannelSink(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Channels have no user-space buffer
+        }
+    }
+}
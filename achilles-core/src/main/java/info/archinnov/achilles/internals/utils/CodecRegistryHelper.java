@@ -18,7 +18,9 @@ package info.archinnov.achilles.internals.utils;
 
 import com.datastax.driver.core.CodecRegistry;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.TypeCodec;
 import com.datastax.driver.core.exceptions.CodecNotFoundException;
+import com.google.common.reflect.TypeToken;
 
 public class CodecRegistryHelper {
 
@@ -35,4 +37,26 @@ public class CodecRegistryHelper {
             return false;
         }
     }
+
+    public <T> boolean hasCodecFor(DataType cqlType, TypeToken<T> javaType) {
+        try {
+            return codecRegistry.codecFor(cqlType, javaType) != null;
+        } catch (CodecNotFoundException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Register the codec unless the registry already has a codec for its CQL type and Java type,
+     * e.g. when another ManagerFactory has been built on the same Cluster
+     * @param codec codec to register
+     * @return true if the codec has been registered
+     */
+    public <T> boolean registerIfAbsent(TypeCodec<T> codec) {
+        if (hasCodecFor(codec.getCqlType(), codec.getJavaType())) {
+            return false;
+        }
+        codecRegistry.register(codec);
+        return true;
+    }
 }
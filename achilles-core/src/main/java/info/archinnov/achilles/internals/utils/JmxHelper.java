@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.utils;
+
+import static java.lang.String.format;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class JmxHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxHelper.class);
+
+    /**
+     * Register the given MBean in the platform MBean server as
+     * <em>info.archinnov.achilles:type=&lt;type&gt;,keyspace=&lt;keyspace&gt;,id=&lt;identity hash&gt;</em>.
+     * Registration failures are logged and ignored
+     *
+     * @param mBean       MBean to register
+     * @param type        JMX type of the MBean
+     * @param keyspace    keyspace of the manager factory
+     * @param description description of the MBean for logging
+     * @return the registered object name, or Optional.empty() if the registration failed
+     */
+    public static Optional<ObjectName> registerMBean(Object mBean, String type, String keyspace, String description) {
+        try {
+            final ObjectName objectName = new ObjectName(format("info.archinnov.achilles:type=%s,keyspace=%s,id=%s",
+                    type, ObjectName.quote(keyspace), Integer.toHexString(System.identityHashCode(mBean))));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mBean, objectName);
+            LOGGER.info(format("%s registered in JMX as %s", description, objectName));
+            return Optional.of(objectName);
+        } catch (Exception ex) {
+            LOGGER.warn(format("Cannot register %s in JMX", description), ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Unregister the MBean registered with {@link #registerMBean(Object, String, String, String)}, if any
+     */
+    public static void unregisterMBean(Optional<ObjectName> registeredName, String description) {
+        registeredName.ifPresent(objectName -> {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception ex) {
+                LOGGER.warn(format("Cannot unregister %s %s from JMX", description, objectName), ex);
+            }
+        });
+    }
+}
@@ -28,6 +28,8 @@ import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
 public enum DefaultJacksonMapper {
     DEFAULT(defaultJacksonMapper());
 
+    static final String NATIVE_IMAGE_PROPERTY = "org.graalvm.nativeimage.imagecode";
+
     private final ObjectMapper jacksonMapper;
 
 
@@ -41,11 +43,24 @@ public enum DefaultJacksonMapper {
         defaultMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         defaultMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         AnnotationIntrospector primary = new JacksonAnnotationIntrospector();
-        AnnotationIntrospector secondary = new JaxbAnnotationIntrospector(TypeFactory.defaultInstance());
-        defaultMapper.setAnnotationIntrospector(AnnotationIntrospector.pair(primary, secondary));
+        if (isNativeImage()) {
+            defaultMapper.setAnnotationIntrospector(primary);
+        } else {
+            AnnotationIntrospector secondary = new JaxbAnnotationIntrospector(TypeFactory.defaultInstance());
+            defaultMapper.setAnnotationIntrospector(AnnotationIntrospector.pair(primary, secondary));
+        }
         return defaultMapper;
     }
 
+    /**
+     * The JAXB introspector relies on runtime reflection over the <em>javax.xml.bind</em> annotations,
+     * which is not available in a GraalVM native image unless explicitly configured, so only the
+     * Jackson annotations are honored there
+     */
+    static boolean isNativeImage() {
+        return System.getProperty(NATIVE_IMAGE_PROPERTY) != null;
+    }
+
     public ObjectMapper get() {
         return jacksonMapper;
     }
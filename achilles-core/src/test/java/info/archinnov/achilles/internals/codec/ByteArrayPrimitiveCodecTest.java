@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class ByteArrayPrimitiveCodecTest {
+
+    private final ByteArrayPrimitiveCodec codec = new ByteArrayPrimitiveCodec();
+
+    @Test
+    public void should_return_backing_array_without_copy() throws Exception {
+        //Given
+        final byte[] bytes = {1, 2, 3};
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        //When
+        final byte[] actual = codec.decode(buffer);
+
+        //Then
+        assertThat(actual).isSameAs(bytes);
+    }
+
+    @Test
+    public void should_copy_slice_without_consuming_buffer() throws Exception {
+        //Given
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, 3, 4});
+        buffer.position(1);
+
+        //When
+        final byte[] actual = codec.decode(buffer);
+
+        //Then
+        assertThat(actual).isEqualTo(new byte[]{2, 3, 4});
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_decode_read_only_view() throws Exception {
+        //Given
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2});
+
+        //When
+        final ByteBuffer actual = new ReadOnlyByteBufferCodec().decode(buffer);
+
+        //Then
+        assertThat(actual.isReadOnly()).isTrue();
+        assertThat(actual).isEqualTo(buffer);
+    }
+}
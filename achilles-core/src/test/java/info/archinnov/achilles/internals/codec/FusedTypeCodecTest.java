@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+public class FusedTypeCodecTest {
+
+    private static final ProtocolVersion V4 = ProtocolVersion.V4;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_serialize_and_deserialize_enum_name_without_intermediate_string() throws Exception {
+        //Given
+        final EnumNameCodec<ConsistencyLevel> codec = EnumNameCodec.create(Arrays.asList(ConsistencyLevel.values()), ConsistencyLevel.class);
+        final FusedTypeCodec<ConsistencyLevel, String> fused = FusedTypeCodec.create(codec, TypeCodec.varchar(), TypeToken.of(ConsistencyLevel.class));
+        final ByteBuffer bytes = ByteBuffer.wrap("xxLOCAL_QUORUM".getBytes(UTF_8));
+        bytes.position(2);
+
+        //When
+        final ByteBuffer serialized = fused.serialize(ConsistencyLevel.EACH_QUORUM, V4);
+        final ConsistencyLevel deserialized = fused.deserialize(bytes, V4);
+
+        //Then
+        assertThat(fused).isInstanceOf(FusedTypeCodec.FusedEnumNameTypeCodec.class);
+        assertThat(TypeCodec.varchar().deserialize(serialized, V4)).isEqualTo("EACH_QUORUM");
+        assertThat(fused.serialize(ConsistencyLevel.EACH_QUORUM, V4).remaining()).isEqualTo(11);
+        assertThat(deserialized).isSameAs(ConsistencyLevel.LOCAL_QUORUM);
+        assertThat(fused.deserialize(null, V4)).isNull();
+    }
+
+    @Test
+    public void should_fail_deserializing_unknown_enum_name() throws Exception {
+        //Given
+        final EnumNameCodec<ConsistencyLevel> codec = EnumNameCodec.create(Arrays.asList(ConsistencyLevel.values()), ConsistencyLevel.class);
+        final FusedTypeCodec<ConsistencyLevel, String> fused = FusedTypeCodec.create(codec, TypeCodec.varchar(), TypeToken.of(ConsistencyLevel.class));
+
+        //When
+        exception.expect(AchillesTranscodingException.class);
+        exception.expectMessage("Cannot find matching enum values for 'UNKNOWN'");
+
+        fused.deserialize(ByteBuffer.wrap("UNKNOWN".getBytes(UTF_8)), V4);
+    }
+
+    @Test
+    public void should_serialize_and_deserialize_json_bytes() throws Exception {
+        //Given
+        final JSONCodec<Map<String, List<Integer>>> codec = new JSONCodec<>(Map.class,
+                JSONCodec.TYPE_FACTORY_INSTANCE.constructType(new TypeToken<Map<String, List<Integer>>>() {}.getType()));
+        codec.setObjectMapper(new ObjectMapper());
+        final TypeToken<Map<String, List<Integer>>> javaType = new TypeToken<Map<String, List<Integer>>>() {};
+        final FusedTypeCodec<Map<String, List<Integer>>, String> fused = FusedTypeCodec.create(codec, TypeCodec.varchar(), javaType);
+
+        //When
+        final ByteBuffer serialized = fused.serialize(ImmutableMap.of("a", Arrays.asList(1, 2)), V4);
+        final Map<String, List<Integer>> deserialized = fused.deserialize(serialized, V4);
+
+        //Then
+        assertThat(fused).isInstanceOf(FusedTypeCodec.FusedJSONTypeCodec.class);
+        assertThat(TypeCodec.varchar().deserialize(serialized, V4)).isEqualTo("{\"a\":[1,2]}");
+        assertThat(deserialized).isEqualTo(ImmutableMap.of("a", Arrays.asList(1, 2)));
+        assertThat(serialized.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_chain_other_codecs_with_target_driver_codec() throws Exception {
+        //Given
+        final EnumOrdinalCodec<ConsistencyLevel> codec = EnumOrdinalCodec.create(Arrays.asList(ConsistencyLevel.values()), ConsistencyLevel.class);
+        final FusedTypeCodec<ConsistencyLevel, Integer> fused = FusedTypeCodec.create(codec, TypeCodec.cint(), TypeToken.of(ConsistencyLevel.class));
+
+        //When
+        final ByteBuffer serialized = fused.serialize(ConsistencyLevel.QUORUM, V4);
+
+        //Then
+        assertThat(fused.getCqlType()).isEqualTo(TypeCodec.cint().getCqlType());
+        assertThat(TypeCodec.cint().deserialize(serialized, V4)).isEqualTo(ConsistencyLevel.QUORUM.ordinal());
+        assertThat(fused.deserialize(serialized, V4)).isSameAs(ConsistencyLevel.QUORUM);
+        assertThat(fused.format(ConsistencyLevel.QUORUM)).isEqualTo(String.valueOf(ConsistencyLevel.QUORUM.ordinal()));
+    }
+
+    @Test
+    public void should_give_null_column_to_achilles_codec() throws Exception {
+        //Given
+        final Codec<ConsistencyLevel, String> codec = new Codec<ConsistencyLevel, String>() {
+            @Override
+            public Class<ConsistencyLevel> sourceType() {
+                return ConsistencyLevel.class;
+            }
+
+            @Override
+            public Class<String> targetType() {
+                return String.class;
+            }
+
+            @Override
+            public String encode(ConsistencyLevel fromJava) {
+                return fromJava.name().toLowerCase();
+            }
+
+            @Override
+            public ConsistencyLevel decode(String fromCassandra) {
+                return fromCassandra == null ? ConsistencyLevel.ONE : ConsistencyLevel.valueOf(fromCassandra.toUpperCase());
+            }
+        };
+        final FusedTypeCodec<ConsistencyLevel, String> fused = FusedTypeCodec.create(codec, TypeCodec.varchar(), TypeToken.of(ConsistencyLevel.class));
+
+        //When
+        final ConsistencyLevel decoded = fused.deserialize(TypeCodec.varchar().serialize("quorum", V4), V4);
+        final ConsistencyLevel decodedNull = fused.deserialize(null, V4);
+
+        //Then
+        assertThat(decoded).isSameAs(ConsistencyLevel.QUORUM);
+        assertThat(decodedNull).isSameAs(ConsistencyLevel.ONE);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codegen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeSpec;
+
+public class NativeImageConfigCodeGenTest {
+
+    @Test
+    public void should_build_reflect_config_for_user_and_generated_types() throws Exception {
+        //Given
+        final TypeSpec dsl = TypeSpec.classBuilder("User_Select")
+                .addType(TypeSpec.classBuilder("Cols").build())
+                .addType(TypeSpec.classBuilder("Where")
+                        .addType(TypeSpec.classBuilder("End").build())
+                        .build())
+                .build();
+
+        //When
+        final String reflectConfig = new NativeImageConfigCodeGen()
+                .addUserType(ClassName.get("com.sample", "User"))
+                .addUserType(ClassName.get("com.sample", "Outer", "Address"))
+                .addGeneratedType("info.archinnov.achilles.generated.dsl", dsl)
+                .buildReflectConfig();
+
+        //Then
+        assertThat(reflectConfig.trim()).isEqualTo("[\n" +
+                "  { \"name\" : \"com.sample.Outer$Address\", \"allDeclaredConstructors\" : true, \"allDeclaredFields\" : true, \"allDeclaredMethods\" : true },\n" +
+                "  { \"name\" : \"com.sample.User\", \"allDeclaredConstructors\" : true, \"allDeclaredFields\" : true, \"allDeclaredMethods\" : true },\n" +
+                "  { \"name\" : \"info.archinnov.achilles.generated.dsl.User_Select\", \"allPublicConstructors\" : true, \"allPublicFields\" : true, \"allPublicMethods\" : true },\n" +
+                "  { \"name\" : \"info.archinnov.achilles.generated.dsl.User_Select$Cols\", \"allPublicConstructors\" : true, \"allPublicFields\" : true, \"allPublicMethods\" : true },\n" +
+                "  { \"name\" : \"info.archinnov.achilles.generated.dsl.User_Select$Where\", \"allPublicConstructors\" : true, \"allPublicFields\" : true, \"allPublicMethods\" : true },\n" +
+                "  { \"name\" : \"info.archinnov.achilles.generated.dsl.User_Select$Where$End\", \"allPublicConstructors\" : true, \"allPublicFields\" : true, \"allPublicMethods\" : true }\n" +
+                "]");
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl.batch;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.dsl.EntityInterceptorAware;
+import info.archinnov.achilles.internals.dsl.StatementProvider;
+import info.archinnov.achilles.internals.dsl.action.MutationAction;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.type.batch.BatchExecutionInfo;
+
+public class UnitOfWorkTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final RuntimeEngine rte = mock(RuntimeEngine.class, RETURNS_DEEP_STUBS);
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    public void should_split_statements_exceeding_size_threshold() throws Exception {
+        //Given
+        final BoundStatement bs1 = statement("ks", 1, 3000);
+        final BoundStatement bs2 = statement("ks", 2, 3000);
+        final BoundStatement bs3 = statement("ks", 3, 1000);
+
+        //When
+        final List<List<BoundStatement>> chunks = UnitOfWork.splitBySize(asList(bs1, bs2, bs3), 5120);
+
+        //Then
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).containsExactly(bs1);
+        assertThat(chunks.get(1)).containsExactly(bs2, bs3);
+    }
+
+    @Test
+    public void should_group_unlogged_statements_by_partition() throws Exception {
+        //Given
+        final UnitOfWork unitOfWork = new UnitOfWork(rte, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE, 5120);
+        final BoundStatement partition1Table1 = statement("ks", 1, 10);
+        final BoundStatement partition2 = statement("ks", 2, 10);
+        final BoundStatement partition1Table2 = statement("ks", 1, 10);
+        unitOfWork
+                .add(new FakeMutation("INSERT INTO ks.table1", partition1Table1))
+                .add(new FakeMutation("INSERT INTO ks.table2", partition2))
+                .add(new FakeMutation("INSERT INTO ks.table3", partition1Table2))
+                .unlogged();
+
+        //When
+        final List<BatchStatement> batches = unitOfWork.buildBatches();
+
+        //Then
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).getStatements()).containsExactly(partition1Table1, partition1Table2);
+        assertThat(batches.get(0).getConsistencyLevel()).isEqualTo(ConsistencyLevel.QUORUM);
+        assertThat(batches.get(1).getStatements()).containsExactly(partition2);
+    }
+
+    @Test
+    public void should_execute_logged_batch_and_trigger_interceptors() throws Exception {
+        //Given
+        final UnitOfWork unitOfWork = new UnitOfWork(rte, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE, 5120);
+        final ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+        when(rte.execute(any(BatchStatement.class))).thenAnswer(invocation -> {
+            events.add("batch");
+            return CompletableFuture.completedFuture(resultSet);
+        });
+
+        //When
+        final BatchExecutionInfo info = unitOfWork
+                .add(new FakeMutation("INSERT INTO ks.table1", statement("ks", 1, 10)))
+                .add(new FakeMutation("INSERT INTO ks.table2", statement("ks", 2, 10)))
+                .executeWithStats();
+
+        //Then
+        assertThat(info.type()).isEqualTo(BatchStatement.Type.LOGGED);
+        assertThat(info.statementCount()).isEqualTo(2);
+        assertThat(info.batchCount()).isEqualTo(1);
+        assertThat(events).containsExactly("pre INSERT INTO ks.table1", "pre INSERT INTO ks.table2", "batch",
+                "post INSERT INTO ks.table1", "post INSERT INTO ks.table2");
+    }
+
+    @Test
+    public void should_send_counter_statements_in_separate_counter_batch() throws Exception {
+        //Given
+        final UnitOfWork unitOfWork = new UnitOfWork(rte, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE, 5120);
+        final ColumnMetadata counterColumn = mock(ColumnMetadata.class);
+        when(counterColumn.getType()).thenReturn(DataType.counter());
+        when(rte.getCluster().getMetadata().getKeyspace("\"ks\"").getTable("\"counter_table\"").getColumns()).thenReturn(asList(counterColumn));
+        final BoundStatement regular = statement("ks", 1, 10);
+        final BoundStatement counter = statement("ks", 1, 10);
+        when(counter.preparedStatement().getVariables().getKeyspace(0)).thenReturn("ks");
+        when(counter.preparedStatement().getVariables().getTable(0)).thenReturn("counter_table");
+
+        unitOfWork
+                .add(new FakeMutation("UPDATE ks.counter_table SET count=count+:count", counter))
+                .add(new FakeMutation("INSERT INTO ks.table1", regular));
+
+        //When
+        final List<BatchStatement> batches = unitOfWork.buildBatches();
+
+        //Then
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).getStatements()).containsExactly(regular);
+        assertThat(batches.get(1).getStatements()).containsExactly(counter);
+        assertThat(batchType(batches.get(0))).isEqualTo(BatchStatement.Type.LOGGED);
+        assertThat(batchType(batches.get(1))).isEqualTo(BatchStatement.Type.COUNTER);
+    }
+
+    @Test
+    public void should_reject_lightweight_transaction() throws Exception {
+        //Given
+        final UnitOfWork unitOfWork = new UnitOfWork(rte, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE, 5120);
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("LightWeight Transaction operation 'INSERT INTO ks.table1 IF NOT EXISTS' cannot be added to a batch");
+
+        unitOfWork.add(new FakeMutation("INSERT INTO ks.table1 IF NOT EXISTS", statement("ks", 1, 10)));
+    }
+
+    private BatchStatement.Type batchType(BatchStatement batch) throws Exception {
+        final Field batchType = BatchStatement.class.getDeclaredField("batchType");
+        batchType.setAccessible(true);
+        return (BatchStatement.Type) batchType.get(batch);
+    }
+
+    private BoundStatement statement(String keyspace, int partition, int valueSize) {
+        final BoundStatement statement = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(statement.getKeyspace()).thenReturn(keyspace);
+        when(statement.getRoutingKey(any(ProtocolVersion.class), any(CodecRegistry.class)))
+                .thenReturn(ByteBuffer.allocate(4).putInt(0, partition));
+        when(statement.preparedStatement().getVariables().size()).thenReturn(1);
+        when(statement.isSet(0)).thenReturn(true);
+        when(statement.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(valueSize));
+        when(statement.getConsistencyLevel()).thenReturn(ConsistencyLevel.QUORUM);
+        return statement;
+    }
+
+    private class FakeMutation implements MutationAction, StatementProvider, EntityInterceptorAware {
+        private final String query;
+        private final BoundStatement boundStatement;
+
+        FakeMutation(String query, BoundStatement boundStatement) {
+            this.query = query;
+            this.boundStatement = boundStatement;
+        }
+
+        @Override
+        public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BoundStatement generateAndGetBoundStatement() {
+            return boundStatement;
+        }
+
+        @Override
+        public String getStatementAsString() {
+            return query;
+        }
+
+        @Override
+        public List<Object> getBoundValues() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<Object> getEncodedBoundValues() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void triggerPreMutationInterceptors() {
+            events.add("pre " + query);
+        }
+
+        @Override
+        public void triggerPostMutationInterceptors() {
+            events.add("post " + query);
+        }
+    }
+}
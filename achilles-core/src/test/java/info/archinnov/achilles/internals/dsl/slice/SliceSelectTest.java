@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.dsl.slice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+public class SliceSelectTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_split_range_into_contiguous_slices() throws Exception {
+        //When
+        final List<Object[]> ranges = SliceSelect.splitRange(0, 10, 3);
+
+        //Then
+        assertThat(ranges).hasSize(3);
+        assertThat(ranges.get(0)).containsExactly(0, 4);
+        assertThat(ranges.get(1)).containsExactly(4, 8);
+        assertThat(ranges.get(2)).containsExactly(8, 10);
+    }
+
+    @Test
+    public void should_not_create_empty_slices() throws Exception {
+        //When
+        final List<Object[]> ranges = SliceSelect.splitRange(5L, 7L, 4);
+        final List<Object[]> empty = SliceSelect.splitRange(7L, 7L, 4);
+
+        //Then
+        assertThat(ranges).hasSize(2);
+        assertThat(ranges.get(0)).containsExactly(5L, 6L);
+        assertThat(ranges.get(1)).containsExactly(6L, 7L);
+        assertThat(empty).isEmpty();
+    }
+
+    @Test
+    public void should_split_date_range() throws Exception {
+        //When
+        final List<Object[]> ranges = SliceSelect.splitRange(new Date(0L), new Date(2000L), 2);
+
+        //Then
+        assertThat(ranges).hasSize(2);
+        assertThat(ranges.get(0)).containsExactly(new Date(0L), new Date(1000L));
+        assertThat(ranges.get(1)).containsExactly(new Date(1000L), new Date(2000L));
+    }
+
+    @Test
+    public void should_fail_splitting_unsupported_type() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot split a clustering range of type 'java.lang.String'");
+
+        //When
+        SliceSelect.splitRange("a", "z", 2);
+    }
+}
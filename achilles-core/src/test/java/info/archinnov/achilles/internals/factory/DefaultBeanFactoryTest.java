@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.type.factory.BeanFactory;
+
+public class DefaultBeanFactoryTest {
+
+    @Test
+    public void should_use_generated_instantiator_with_default_bean_factory() throws Exception {
+        //Given
+        final StringBuilder generated = new StringBuilder("generated");
+
+        //When
+        final Supplier<StringBuilder> instantiator = DefaultBeanFactory.instantiatorFor(new DefaultBeanFactory(),
+                StringBuilder.class, Optional.of(() -> generated));
+
+        //Then
+        assertThat(instantiator.get()).isSameAs(generated);
+    }
+
+    @Test
+    public void should_use_custom_bean_factory_over_generated_instantiator() throws Exception {
+        //Given
+        final StringBuilder custom = new StringBuilder("custom");
+        final BeanFactory customFactory = new BeanFactory() {
+            @Override
+            public <T> T newInstance(Class<T> clazz) {
+                return clazz.cast(custom);
+            }
+        };
+
+        //When
+        final Supplier<StringBuilder> instantiator = DefaultBeanFactory.instantiatorFor(customFactory,
+                StringBuilder.class, Optional.of(StringBuilder::new));
+
+        //Then
+        assertThat(instantiator.get()).isSameAs(custom);
+    }
+
+    @Test
+    public void should_fallback_to_reflection_without_generated_instantiator() throws Exception {
+        //When
+        final Supplier<StringBuilder> instantiator = DefaultBeanFactory.instantiatorFor(new DefaultBeanFactory(),
+                StringBuilder.class, Optional.empty());
+
+        //Then
+        assertThat(instantiator.get()).isNotNull();
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import com.datastax.driver.core.ClusteringOrder;
 import com.datastax.driver.core.ConsistencyLevel;
@@ -189,6 +190,11 @@ public class CodeCompilationTester extends AbstractEntityProperty<TestEntityWith
         return new TestEntityWithCustomConstructor(id_value,date_value,value_value);
     }
 
+    @Override
+    protected Optional<Supplier<TestEntityWithCustomConstructor>> getInstantiator() {
+        return Optional.empty();
+    }
+
     /**
      * Utility class to expose all fields with their CQL type for function call */
     public static final class ColumnsForFunctions {
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.parser;
+
+import static com.google.common.truth.Truth.assert_;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+import org.junit.Test;
+
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+
+import info.archinnov.achilles.internals.apt_utils.AbstractTestProcessor;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.parser.ProjectionParser.ProjectionSignature;
+import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
+import info.archinnov.achilles.internals.sample_classes.parser.entity.TestEntitySensor;
+import info.archinnov.achilles.internals.sample_classes.parser.projection.TestProjectionSensor;
+import info.archinnov.achilles.internals.sample_classes.parser.projection.TestProjectionSensorWithWrongType;
+
+public class ProjectionParserTest extends AbstractTestProcessor {
+
+    private final GlobalParsingContext globalParsingContext = GlobalParsingContext.defaultContext();
+
+    @Test
+    public void should_parse_projection_javac() throws Exception {
+        //Given
+        setExec(aptUtils -> {
+            try {
+                final EntityMetaSignature entitySignature = new EntityParser(aptUtils)
+                        .parseEntity(aptUtils.elementUtils.getTypeElement(TestEntitySensor.class.getCanonicalName()), globalParsingContext);
+                final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestProjectionSensor.class.getCanonicalName());
+
+                //When
+                final ProjectionSignature signature = new ProjectionParser(aptUtils).parseProjection(typeElement, asList(entitySignature));
+
+                //Then
+                assertThat(signature.generatedClassName()).isEqualTo("TestProjectionSensor_Projection");
+                assertThat(signature.columns.stream().map(x -> x.field.context.fieldName).collect(toList()))
+                        .containsOnly("date", "value");
+            } catch (Exception ex) {
+                ex.printStackTrace();
+                aptUtils.messager.printMessage(Diagnostic.Kind.ERROR, ex.getMessage());
+            }
+        });
+
+        assert_().about(JavaSourcesSubjectFactory.javaSources())
+                .that(asList(loadClass(TestProjectionSensor.class), loadClass(TestEntitySensor.class)))
+                .processedWith(this)
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void should_fail_because_projection_getter_type_does_not_match_field_type_javac() throws Exception {
+        //Given
+        setExec(aptUtils -> {
+            try {
+                final EntityMetaSignature entitySignature = new EntityParser(aptUtils)
+                        .parseEntity(aptUtils.elementUtils.getTypeElement(TestEntitySensor.class.getCanonicalName()), globalParsingContext);
+                final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestProjectionSensorWithWrongType.class.getCanonicalName());
+                new ProjectionParser(aptUtils).parseProjection(typeElement, asList(entitySignature));
+            } catch (Exception ex) {
+                ex.printStackTrace();
+                aptUtils.messager.printMessage(Diagnostic.Kind.ERROR, ex.getMessage());
+            }
+        });
+
+        assert_().about(JavaSourcesSubjectFactory.javaSources())
+                .that(asList(loadClass(TestProjectionSensorWithWrongType.class), loadClass(TestEntitySensor.class)))
+                .processedWith(this)
+                .failsToCompile()
+                .withErrorContaining("The method 'getValue' of projection interface " +
+                        "'info.archinnov.achilles.internals.sample_classes.parser.projection.TestProjectionSensorWithWrongType' " +
+                        "should return 'java.lang.Double' to match the type of field 'value'");
+    }
+
+    @Test
+    public void should_convert_getter_name_to_field_name() throws Exception {
+        assertThat(ProjectionParser.toFieldName("getValue")).isEqualTo("value");
+        assertThat(ProjectionParser.toFieldName("isActive")).isEqualTo("active");
+        assertThat(ProjectionParser.toFieldName("issue")).isEqualTo("issue");
+        assertThat(ProjectionParser.toFieldName("value")).isEqualTo("value");
+    }
+}
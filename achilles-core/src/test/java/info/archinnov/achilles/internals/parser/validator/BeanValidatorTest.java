@@ -18,6 +18,7 @@ package info.archinnov.achilles.internals.parser.validator;
 
 import static info.archinnov.achilles.internals.parser.context.ConstructorInfo.ConstructorType.ENTITY_CREATOR;
 import static info.archinnov.achilles.internals.parser.context.ConstructorInfo.ConstructorType.IMMUTABLE;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import javax.lang.model.element.TypeElement;
@@ -28,7 +29,10 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.TypeName;
 
 import info.archinnov.achilles.internals.apt_utils.AbstractTestProcessor;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.parser.EntityParser;
 import info.archinnov.achilles.internals.parser.context.ConstructorInfo;
+import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
 import info.archinnov.achilles.internals.sample_classes.parser.validator.*;
 
 public class BeanValidatorTest extends AbstractTestProcessor {
@@ -102,4 +106,28 @@ public class BeanValidatorTest extends AbstractTestProcessor {
         });
         launchTest();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void should_validate_entity_with_time_bucket() throws Exception {
+        setExec(aptUtils -> {
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityWithTimeBucket.class.getCanonicalName());
+            final EntityMetaSignature signature = new EntityParser(aptUtils).parseEntity(typeElement, GlobalParsingContext.defaultContext());
+
+            assertThat(signature.fieldMetaSignatures.stream().filter(x -> x.context.timeBucket.isPresent()).map(x -> x.context.fieldName).collect(toList()))
+                    .containsExactly("bucket");
+        });
+        launchTest(TestEntityWithTimeBucket.class);
+    }
+
+    @Test
+    public void should_fail_validating_time_bucket_whose_source_is_not_first_clustering_column() throws Exception {
+        setExec(aptUtils -> {
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityWithTimeBucketOnSecondClustering.class.getCanonicalName());
+            new EntityParser(aptUtils).parseEntity(typeElement, GlobalParsingContext.defaultContext());
+        });
+        failTestWithMessage("The source field 'time' of @TimeBucket field 'bucket' of class " +
+                        "'info.archinnov.achilles.internals.sample_classes.parser.validator.TestEntityWithTimeBucketOnSecondClustering' " +
+                        "should be the first clustering column",
+                TestEntityWithTimeBucketOnSecondClustering.class);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.type.fetchsize.AdaptiveFetchSize;
+
+public class AdaptiveFetchSizerTest {
+
+    private static final String QUERY = "SELECT * FROM ks.table WHERE id=?";
+
+    @Test
+    public void should_compute_fetch_size_from_page_bytes_budget() throws Exception {
+        //Given
+        final AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(10_000L, 1000L, 10, 1000);
+
+        //When
+        //Then
+        assertThat(sizer.computeFetchSize(100d, 0d)).isEqualTo(100);
+        assertThat(sizer.computeFetchSize(5d, 0d)).isEqualTo(1000);
+        assertThat(sizer.computeFetchSize(5000d, 0d)).isEqualTo(10);
+    }
+
+    @Test
+    public void should_cap_fetch_size_for_slow_consumer() throws Exception {
+        //Given
+        final AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(10_000L, 500L, 10, 1000);
+
+        //When
+        //Then
+        assertThat(sizer.computeFetchSize(10d, 60d)).isEqualTo(30);
+    }
+
+    @Test
+    public void should_update_fetch_size_at_end_of_page() throws Exception {
+        //Given
+        final AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(200L, 1000L, 1, 1000);
+        final BoundStatement statement = mock(BoundStatement.class);
+        final ResultSet delegate = mock(ResultSet.class);
+        final Row row = rowOfBytes(16);
+        when(delegate.one()).thenReturn(row, row, null);
+        when(delegate.getAvailableWithoutFetching()).thenReturn(2, 1, 0);
+        when(delegate.isExhausted()).thenReturn(false, false, true);
+
+        //When
+        final List<Row> rows = sizer.track(QUERY, statement, delegate).all();
+
+        //Then
+        assertThat(rows).hasSize(2);
+        verify(statement).setFetchSize(10);
+        final List<AdaptiveFetchSize> fetchSizes = sizer.adaptiveFetchSizes();
+        assertThat(fetchSizes).hasSize(1);
+        assertThat(fetchSizes.get(0).fetchSize()).isEqualTo(10);
+        assertThat(fetchSizes.get(0).averageRowBytes()).isEqualTo(20L);
+        assertThat(fetchSizes.get(0).observedPages()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_apply_fetch_size_only_once_query_observed() throws Exception {
+        //Given
+        final AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(200L, 1000L, 1, 1000);
+        final BoundStatement statement = mock(BoundStatement.class);
+        final ResultSet delegate = mock(ResultSet.class);
+        final Row row = rowOfBytes(16);
+        when(delegate.one()).thenReturn(row);
+        when(delegate.getAvailableWithoutFetching()).thenReturn(0);
+
+        //When
+        sizer.applyFetchSize(QUERY, statement);
+        sizer.track(QUERY, statement, delegate).one();
+        sizer.applyFetchSize(QUERY, statement);
+
+        //Then
+        verify(statement, times(2)).setFetchSize(10);
+    }
+
+    @Test
+    public void should_not_track_more_than_max_fingerprints() throws Exception {
+        //Given
+        final AdaptiveFetchSizer sizer = new AdaptiveFetchSizer(200L, 1000L, 1, 1000);
+        final BoundStatement statement = mock(BoundStatement.class);
+        final ResultSet delegate = mock(ResultSet.class);
+        for (int i = 0; i < QueryFingerprints.MAX_TRACKED_FINGERPRINTS; i++) {
+            sizer.track(QUERY + " AND value=" + i, statement, delegate);
+        }
+
+        //When
+        final ResultSet tracked = sizer.track(QUERY + " AND value=" + QueryFingerprints.MAX_TRACKED_FINGERPRINTS, statement, delegate);
+        final ResultSet alreadyTracked = sizer.track(QUERY + " AND value=0", statement, delegate);
+
+        //Then
+        assertThat(tracked).isSameAs(delegate);
+        assertThat(alreadyTracked).isNotSameAs(delegate);
+    }
+
+    private Row rowOfBytes(int bytes) {
+        final Row row = mock(Row.class, RETURNS_DEEP_STUBS);
+        when(row.getColumnDefinitions().size()).thenReturn(1);
+        when(row.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(bytes));
+        return row;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import com.datastax.driver.core.ConsistencyLevel;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+public class AsyncDMLLoggerTest {
+
+    private final Logger logger = mock(Logger.class);
+
+    @Test
+    public void should_format_captured_statement_on_background_thread() throws Exception {
+        //Given
+        final AsyncDMLLogger asyncDMLLogger = new AsyncDMLLogger(16, 1.0, new HashMap<>(), 0L);
+        final StatementWrapper wrapper = wrapperFor("INSERT INTO ks.table(id, value) VALUES(?, ?)", 10L, ByteBuffer.wrap(new byte[]{1, 2}));
+
+        //When
+        assertThat(asyncDMLLogger.shouldLog(wrapper)).isTrue();
+        asyncDMLLogger.capture(wrapper, System.nanoTime(), null);
+
+        //Then
+        verify(logger, timeout(2000)).debug(contains("[INSERT INTO ks.table(id, value) VALUES(?, ?)] INSERT with CONSISTENCY LEVEL [ONE] succeeded"));
+        verify(logger, timeout(2000)).debug(contains("Java bound values : [10, 0x0102]"));
+        asyncDMLLogger.shutDown();
+    }
+
+    @Test
+    public void should_not_log_when_sampling_rate_is_zero() throws Exception {
+        //Given
+        final AsyncDMLLogger asyncDMLLogger = new AsyncDMLLogger(16, 0.0, new HashMap<>(), 0L);
+        final StatementWrapper wrapper = wrapperFor("DELETE FROM ks.table WHERE id=?", 10L);
+
+        //When
+        final boolean shouldLog = asyncDMLLogger.shouldLog(wrapper);
+
+        //Then
+        assertThat(shouldLog).isFalse();
+        asyncDMLLogger.shutDown();
+    }
+
+    @Test
+    public void should_drop_logs_exceeding_bytes_budget() throws Exception {
+        //Given
+        final AsyncDMLLogger asyncDMLLogger = new AsyncDMLLogger(16, 1.0, new HashMap<>(), 10L);
+        final StatementWrapper wrapper = wrapperFor("DELETE FROM ks.table WHERE id=?", 10L);
+
+        //When
+        asyncDMLLogger.capture(wrapper, System.nanoTime(), null);
+        asyncDMLLogger.shutDown();
+
+        //Then
+        verify(logger, never()).debug(anyString());
+    }
+
+    @Test
+    public void should_format_batch_statements_on_background_thread() throws Exception {
+        //Given
+        final AsyncDMLLogger asyncDMLLogger = new AsyncDMLLogger(16, 1.0, new HashMap<>(), 0L);
+        final UUID batchId = UUID.randomUUID();
+        when(logger.isDebugEnabled()).thenReturn(true);
+
+        //When
+        assertThat(asyncDMLLogger.shouldLogBatch(logger)).isTrue();
+        asyncDMLLogger.captureBatch(logger, batchId, "DELETE FROM ks.table WHERE id=?", ConsistencyLevel.QUORUM);
+
+        //Then
+        verify(logger, timeout(2000)).debug("\nBatch ID " + batchId + " : [DELETE FROM ks.table WHERE id=?] with CONSISTENCY LEVEL [QUORUM]");
+        asyncDMLLogger.shutDown();
+    }
+
+    @Test
+    public void should_park_formatter_thread_when_idle_and_wake_it_up_on_capture() throws Exception {
+        //Given
+        final AsyncDMLLogger asyncDMLLogger = new AsyncDMLLogger(16, 1.0, new HashMap<>(), 0L);
+        final StatementWrapper wrapper = wrapperFor("DELETE FROM ks.table WHERE id=?", 10L);
+        final long deadline = System.currentTimeMillis() + 2000;
+        while (!formatterThreadsWaiting() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        //When
+        final boolean waitingWhenIdle = formatterThreadsWaiting();
+        asyncDMLLogger.capture(wrapper, System.nanoTime(), null);
+
+        //Then
+        assertThat(waitingWhenIdle).isTrue();
+        verify(logger, timeout(2000)).debug(contains("[DELETE FROM ks.table WHERE id=?] DELETE with CONSISTENCY LEVEL [ONE] succeeded"));
+        asyncDMLLogger.shutDown();
+    }
+
+    private boolean formatterThreadsWaiting() {
+        return Thread.getAllStackTraces().keySet()
+                .stream()
+                .filter(thread -> thread.getName().equals("achilles-async-dml-log"))
+                .allMatch(thread -> thread.getState() == Thread.State.WAITING);
+    }
+
+    private StatementWrapper wrapperFor(String queryString, Object... boundValues) {
+        final StatementWrapper wrapper = mock(StatementWrapper.class, RETURNS_DEEP_STUBS);
+        when(wrapper.getDMLLogger()).thenReturn(logger);
+        when(logger.isDebugEnabled()).thenReturn(true);
+        when(wrapper.getEntityProperty()).thenReturn(null);
+        when(wrapper.getQueryId()).thenReturn(UUID.randomUUID());
+        when(wrapper.getOperationType()).thenReturn(OperationType.valueOf(queryString.substring(0, 6)));
+        when(wrapper.getBoundValues()).thenReturn(boundValues);
+        when(wrapper.getEncodedBoundValues()).thenReturn(boundValues);
+        when(wrapper.getBoundStatement().preparedStatement().getQueryString()).thenReturn(queryString);
+        when(wrapper.getBoundStatement().getConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+        return wrapper;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+
+import info.archinnov.achilles.internals.runtime.HotPartitionDetector.Counter;
+import info.archinnov.achilles.internals.runtime.HotPartitionDetector.HeavyHitters;
+import info.archinnov.achilles.internals.runtime.HotPartitionDetector.PartitionSample;
+
+public class HotPartitionDetectorTest {
+
+    @Test
+    public void should_keep_heavy_hitters_with_bounded_counters() throws Exception {
+        //Given
+        final HeavyHitters heavyHitters = new HeavyHitters(10);
+
+        //When
+        for (long key = 0; key < 10_000; key++) {
+            heavyHitters.offer(sample(key));
+            if (key % 2 == 0) {
+                heavyHitters.offer(sample(-1L));
+            }
+            if (key % 5 == 0) {
+                heavyHitters.offer(sample(-2L));
+            }
+        }
+
+        //Then
+        final List<Counter> top = heavyHitters.top();
+        assertThat(heavyHitters.size()).isEqualTo(10);
+        assertThat(top.get(0).sample).isEqualTo(sample(-1L));
+        assertThat(top.get(1).sample).isEqualTo(sample(-2L));
+        assertThat(top.get(0).count).isGreaterThanOrEqualTo(5_000L);
+        assertThat(top.get(0).count - top.get(0).error).isLessThanOrEqualTo(5_000L);
+        assertThat(top.get(1).count).isGreaterThanOrEqualTo(2_000L);
+    }
+
+    @Test
+    public void should_count_exactly_below_capacity() throws Exception {
+        //Given
+        final HeavyHitters heavyHitters = new HeavyHitters(10);
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            heavyHitters.offer(sample(1L));
+        }
+        heavyHitters.offer(sample(2L));
+
+        //Then
+        final List<Counter> top = heavyHitters.top();
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).count).isEqualTo(5L);
+        assertThat(top.get(0).error).isEqualTo(0L);
+        assertThat(top.get(1).count).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_replace_smallest_counter_when_full() throws Exception {
+        //Given
+        final HeavyHitters heavyHitters = new HeavyHitters(3);
+        for (int i = 0; i < 5; i++) heavyHitters.offer(sample(1L));
+        for (int i = 0; i < 4; i++) heavyHitters.offer(sample(2L));
+        heavyHitters.offer(sample(3L));
+
+        //When
+        heavyHitters.offer(sample(4L));
+        heavyHitters.offer(sample(5L));
+
+        //Then
+        final List<Counter> top = heavyHitters.top();
+        assertThat(top).extracting("sample").containsExactly(sample(1L), sample(2L), sample(5L));
+        assertThat(top.get(2).count).isEqualTo(3L);
+        assertThat(top.get(2).error).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_ignore_partition_key_bound_to_in_clause() throws Exception {
+        //Given
+        final ColumnDefinitions equality = variables(DataType.bigint());
+        final ColumnDefinitions inClause = variables(DataType.list(DataType.bigint()));
+        final String[] columns = {"id"};
+        final DataType[] types = {DataType.bigint()};
+
+        //When
+        final int[] equalityIndexes = HotPartitionDetector.partitionKeyIndexes(columns, types, equality);
+        final int[] inClauseIndexes = HotPartitionDetector.partitionKeyIndexes(columns, types, inClause);
+
+        //Then
+        assertThat(equalityIndexes).containsExactly(0);
+        assertThat(inClauseIndexes).isEmpty();
+    }
+
+    private static ColumnDefinitions variables(DataType idType) {
+        final ColumnDefinitions variables = mock(ColumnDefinitions.class);
+        when(variables.contains("id")).thenReturn(true);
+        when(variables.getIndexOf("id")).thenReturn(0);
+        when(variables.getType(0)).thenReturn(idType);
+        return variables;
+    }
+
+    private static PartitionSample sample(long key) {
+        final ByteBuffer bytes = ByteBuffer.allocate(8);
+        bytes.putLong(0, key);
+        return new PartitionSample(new ByteBuffer[]{bytes}, null, new int[]{0});
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.lightweighttransaction.LWTQueueMetrics;
+
+public class LWTPartitionSerializerTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final LWTPartitionSerializer serializer = new LWTPartitionSerializer(1, false, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE);
+
+    @Test
+    public void should_execute_lwt_on_same_partition_one_at_a_time() throws Exception {
+        //Given
+        final BoundStatement bs = boundStatementFor(ByteBuffer.wrap(new byte[]{1}));
+        final CompletableFuture<ResultSet> first = new CompletableFuture<>();
+        final CompletableFuture<ResultSet> second = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger(0);
+
+        //When
+        final CompletableFuture<ResultSet> firstResult = serializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return first;
+        });
+        final CompletableFuture<ResultSet> secondResult = serializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return second;
+        });
+
+        //Then
+        assertThat(started.get()).isEqualTo(1);
+
+        first.complete(appliedResultSet());
+        assertThat(firstResult.isDone()).isTrue();
+        assertThat(started.get()).isEqualTo(2);
+
+        second.complete(appliedResultSet());
+        assertThat(secondResult.isDone()).isTrue();
+
+        final LWTQueueMetrics metrics = serializer.metrics();
+        assertThat(metrics.submittedCount()).isEqualTo(2L);
+        assertThat(metrics.contendedCount()).isEqualTo(1L);
+        assertThat(metrics.activePartitions()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_execute_lwt_on_different_partitions_concurrently() throws Exception {
+        //Given
+        final AtomicInteger started = new AtomicInteger(0);
+
+        //When
+        serializer.submit(boundStatementFor(ByteBuffer.wrap(new byte[]{1})), () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        serializer.submit(boundStatementFor(ByteBuffer.wrap(new byte[]{2})), () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        //Then
+        assertThat(started.get()).isEqualTo(2);
+        assertThat(serializer.metrics().activePartitions()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_reject_lwt_when_partition_queue_is_full() throws Exception {
+        //Given
+        final BoundStatement bs = boundStatementFor(ByteBuffer.wrap(new byte[]{1}));
+        serializer.submit(bs, CompletableFuture::new);
+        serializer.submit(bs, CompletableFuture::new);
+
+        //When
+        final CompletableFuture<ResultSet> rejected = serializer.submit(bs, CompletableFuture::new);
+
+        //Then
+        assertThat(rejected.isCompletedExceptionally()).isTrue();
+        assertThat(serializer.metrics().rejectedCount()).isEqualTo(1L);
+
+        exception.expect(CompletionException.class);
+        exception.expectMessage(AchillesException.class.getCanonicalName() + ": Cannot queue LWT query");
+        rejected.join();
+    }
+
+    @Test
+    public void should_short_circuit_identical_lwt_rejected_while_queued() throws Exception {
+        //Given
+        final LWTPartitionSerializer shortCircuitSerializer = new LWTPartitionSerializer(1, true, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE);
+        final BoundStatement bs = boundStatementFor(ByteBuffer.wrap(new byte[]{1}));
+        final CompletableFuture<ResultSet> first = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger(0);
+        final Row rejectionRow = mock(Row.class);
+
+        //When
+        shortCircuitSerializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return first;
+        });
+        final CompletableFuture<ResultSet> secondResult = shortCircuitSerializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        first.complete(rejectedResultSet(rejectionRow));
+
+        //Then
+        assertThat(started.get()).isEqualTo(1);
+        assertThat(secondResult.isDone()).isTrue();
+        final ResultSet replayed = secondResult.get();
+        assertThat(replayed.wasApplied()).isFalse();
+        assertThat(replayed.one()).isSameAs(rejectionRow);
+        assertThat(shortCircuitSerializer.metrics().shortCircuitedCount()).isEqualTo(1L);
+        assertThat(shortCircuitSerializer.metrics().activePartitions()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_drain_deep_queue_of_short_circuited_lwt_without_recursion() throws Exception {
+        //Given
+        final int queued = 10_000;
+        final LWTPartitionSerializer shortCircuitSerializer = new LWTPartitionSerializer(queued, true, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE);
+        final BoundStatement bs = boundStatementFor(ByteBuffer.wrap(new byte[]{1}));
+        final CompletableFuture<ResultSet> first = new CompletableFuture<>();
+        shortCircuitSerializer.submit(bs, () -> first);
+        final List<CompletableFuture<ResultSet>> results = new ArrayList<>(queued);
+        for (int i = 0; i < queued; i++) {
+            results.add(shortCircuitSerializer.submit(bs, CompletableFuture::new));
+        }
+
+        //When
+        first.complete(rejectedResultSet(mock(Row.class)));
+
+        //Then
+        assertThat(results.stream().allMatch(CompletableFuture::isDone)).isTrue();
+        assertThat(shortCircuitSerializer.metrics().shortCircuitedCount()).isEqualTo((long) queued);
+        assertThat(shortCircuitSerializer.metrics().activePartitions()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_drain_deep_queue_of_lwt_completing_synchronously_without_recursion() throws Exception {
+        //Given
+        final int queued = 10_000;
+        final LWTPartitionSerializer deepSerializer = new LWTPartitionSerializer(queued, false, ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE);
+        final BoundStatement bs = boundStatementFor(ByteBuffer.wrap(new byte[]{1}));
+        final ResultSet applied = appliedResultSet();
+        final CompletableFuture<ResultSet> first = new CompletableFuture<>();
+        deepSerializer.submit(bs, () -> first);
+        final List<CompletableFuture<ResultSet>> results = new ArrayList<>(queued);
+        for (int i = 0; i < queued; i++) {
+            final boolean failing = i % 2 == 0;
+            results.add(deepSerializer.submit(bs, () -> {
+                if (failing) {
+                    throw new IllegalStateException("no connection");
+                }
+                return CompletableFuture.completedFuture(applied);
+            }));
+        }
+
+        //When
+        first.complete(applied);
+
+        //Then
+        assertThat(results.stream().allMatch(CompletableFuture::isDone)).isTrue();
+        assertThat(results.get(0).isCompletedExceptionally()).isTrue();
+        assertThat(results.get(1).get()).isSameAs(applied);
+        assertThat(deepSerializer.metrics().activePartitions()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_not_serialize_non_lwt_statement() throws Exception {
+        //Given
+        final BoundStatement bs = boundStatementFor(ByteBuffer.wrap(new byte[]{1}));
+        when(bs.preparedStatement().getQueryString()).thenReturn("INSERT INTO ks.table(id) VALUES(:id)");
+        final AtomicInteger started = new AtomicInteger(0);
+
+        //When
+        serializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        serializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        //Then
+        assertThat(started.get()).isEqualTo(2);
+        assertThat(serializer.metrics().submittedCount()).isEqualTo(0L);
+        assertThat(serializer.metrics().activePartitions()).isEqualTo(0L);
+        verify(bs, never()).getRoutingKey(ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE);
+    }
+
+    @Test
+    public void should_not_serialize_lwt_without_routing_key() throws Exception {
+        //Given
+        final BoundStatement bs = boundStatementFor(null);
+        final AtomicInteger started = new AtomicInteger(0);
+
+        //When
+        serializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        serializer.submit(bs, () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        //Then
+        assertThat(started.get()).isEqualTo(2);
+        assertThat(serializer.metrics().submittedCount()).isEqualTo(0L);
+    }
+
+    private BoundStatement boundStatementFor(ByteBuffer routingKey) {
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(bs.getRoutingKey(ProtocolVersion.V4, CodecRegistry.DEFAULT_INSTANCE)).thenReturn(routingKey);
+        when(bs.getKeyspace()).thenReturn("ks");
+        when(bs.preparedStatement().getQueryString()).thenReturn("INSERT INTO ks.table(id) VALUES(:id) IF NOT EXISTS");
+        when(bs.preparedStatement().getVariables().size()).thenReturn(0);
+        return bs;
+    }
+
+    private ResultSet rejectedResultSet(Row rejectionRow) {
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.wasApplied()).thenReturn(false);
+        when(resultSet.one()).thenReturn(rejectionRow);
+        return resultSet;
+    }
+
+    private ResultSet appliedResultSet() {
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.wasApplied()).thenReturn(true);
+        return resultSet;
+    }
+}
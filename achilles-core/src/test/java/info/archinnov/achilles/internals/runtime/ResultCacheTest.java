@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+
+import info.archinnov.achilles.type.resultcache.ResultCacheStats;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+public class ResultCacheTest {
+
+    private static final String SELECT = "SELECT * FROM ks.table WHERE id=:id";
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final AtomicInteger loads = new AtomicInteger(0);
+
+    @Test
+    public void should_serve_cached_result_for_same_bound_values() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(100L, "ks");
+
+        //When
+        final List<String> first = cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("a", "b")).get()._1();
+        final List<String> second = cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("c")).get()._1();
+        cache.getOrLoad(statement(SELECT, 2L), "String", TTL, loader("d")).get();
+
+        //Then
+        assertThat(first).containsExactly("a", "b");
+        assertThat(second).containsExactly("a", "b");
+        assertThat(loads.get()).isEqualTo(2);
+        final List<ResultCacheStats> stats = cache.stats();
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).hitCount()).isEqualTo(1L);
+        assertThat(stats.get(0).missCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_invalidate_results_on_mutation_of_same_table() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(100L, "ks");
+        cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("a")).get();
+
+        //When
+        cache.invalidateForMutation(statement("DELETE FROM ks.other WHERE id=:id", 1L));
+        cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("b")).get();
+        cache.invalidateForMutation(statement("DELETE FROM ks.table WHERE id=:id", 1L));
+        final List<String> actual = cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("c")).get()._1();
+
+        //Then
+        assertThat(actual).containsExactly("c");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_not_cache_result_loaded_during_mutation() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(100L, "ks");
+        final CompletableFuture<Tuple2<List<String>, ExecutionInfo>> pending = new CompletableFuture<>();
+
+        //When
+        final CompletableFuture<Tuple2<List<String>, ExecutionInfo>> first = cache.getOrLoad(statement(SELECT, 1L), "String", TTL, () -> pending);
+        cache.invalidateForMutation(statement("UPDATE ks.table SET value=:value WHERE id=:id", 1L));
+        pending.complete(Tuple2.of(asList("stale"), mock(ExecutionInfo.class)));
+        final List<String> second = cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("fresh")).get()._1();
+
+        //Then
+        assertThat(first.get()._1()).containsExactly("stale");
+        assertThat(second).containsExactly("fresh");
+    }
+
+    @Test
+    public void should_invalidate_result_cached_by_concurrent_loads() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(100L, "ks");
+        final CompletableFuture<Tuple2<List<String>, ExecutionInfo>> firstLoad = new CompletableFuture<>();
+        final CompletableFuture<Tuple2<List<String>, ExecutionInfo>> secondLoad = new CompletableFuture<>();
+        cache.getOrLoad(statement(SELECT, 1L), "String", TTL, () -> firstLoad);
+        cache.getOrLoad(statement(SELECT, 1L), "String", TTL, () -> secondLoad);
+        firstLoad.complete(Tuple2.of(asList("first"), mock(ExecutionInfo.class)));
+        secondLoad.complete(Tuple2.of(asList("second"), mock(ExecutionInfo.class)));
+
+        //When
+        cache.invalidateForMutation(statement("UPDATE ks.table SET value=:value WHERE id=:id", 1L));
+        final List<String> actual = cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("fresh")).get()._1();
+
+        //Then
+        assertThat(actual).containsExactly("fresh");
+        assertThat(cache.cachedRows()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_expire_result_after_ttl() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(100L, "ks");
+        cache.getOrLoad(statement(SELECT, 1L), "String", Duration.ofNanos(1), loader("a")).get();
+        Thread.sleep(2);
+
+        //When
+        final List<String> actual = cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("b")).get()._1();
+
+        //Then
+        assertThat(actual).containsExactly("b");
+    }
+
+    @Test
+    public void should_bound_cache_by_number_of_rows() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(5L, "ks");
+
+        //When
+        cache.getOrLoad(statement(SELECT, 1L), "String", TTL, loader("a", "b", "c")).get();
+        cache.getOrLoad(statement(SELECT, 2L), "String", TTL, loader("d", "e", "f")).get();
+
+        //Then
+        assertThat(cache.cachedRows()).isLessThanOrEqualTo(5L);
+    }
+
+    @Test
+    public void should_share_cached_entities_but_not_result_list() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(100L, "ks");
+        final List<StringBuilder> first = cache.getOrLoad(statement(SELECT, 1L), "StringBuilder", TTL,
+                () -> CompletableFuture.completedFuture(Tuple2.of(asList(new StringBuilder("a")), mock(ExecutionInfo.class)))).get()._1();
+
+        //When
+        first.get(0).append("-modified");
+        first.clear();
+        final List<StringBuilder> second = cache.getOrLoad(statement(SELECT, 1L), "StringBuilder", TTL,
+                () -> CompletableFuture.completedFuture(Tuple2.of(asList(new StringBuilder("b")), mock(ExecutionInfo.class)))).get()._1();
+
+        //Then
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).toString()).isEqualTo("a-modified");
+    }
+
+    @Test
+    public void should_not_build_cache_nor_track_mutations_until_used() throws Exception {
+        //Given
+        final ResultCache cache = new ResultCache(100L, "ks");
+        final BoundStatement mutation = mock(BoundStatement.class);
+
+        //When
+        cache.invalidateForMutation(mutation);
+        cache.invalidateAll();
+
+        //Then
+        verifyZeroInteractions(mutation);
+        assertThat(cache.cachedRows()).isEqualTo(0L);
+        assertThat(cache.stats()).isEmpty();
+    }
+
+    private Supplier<CompletableFuture<Tuple2<List<String>, ExecutionInfo>>> loader(String... rows) {
+        return () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(Tuple2.of(asList(rows), mock(ExecutionInfo.class)));
+        };
+    }
+
+    private BoundStatement statement(String queryString, long id) {
+        final BoundStatement statement = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(statement.preparedStatement().getQueryString()).thenReturn(queryString);
+        when(statement.preparedStatement().getVariables().size()).thenReturn(1);
+        when(statement.preparedStatement().getVariables().getKeyspace(0)).thenReturn("ks");
+        when(statement.preparedStatement().getVariables().getTable(0)).thenReturn(queryString.replaceAll(".*ks\\.(\\w+).*", "$1"));
+        when(statement.getConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+        when(statement.isSet(0)).thenReturn(true);
+        when(statement.getBytesUnsafe(0)).thenReturn((ByteBuffer) ByteBuffer.allocate(8).putLong(0, id));
+        return statement;
+    }
+}
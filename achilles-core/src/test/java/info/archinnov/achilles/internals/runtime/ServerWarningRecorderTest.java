@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ExecutionInfo;
+
+import info.archinnov.achilles.type.serverwarning.ServerWarningStats;
+import info.archinnov.achilles.type.serverwarning.ServerWarningStats.Category;
+
+public class ServerWarningRecorderTest {
+
+    private static final String SELECT = "SELECT * FROM ks.table WHERE id=?";
+
+    @Test
+    public void should_aggregate_tombstone_warnings_per_query() throws Exception {
+        //Given
+        final ServerWarningRecorder recorder = new ServerWarningRecorder(60_000L);
+
+        //When
+        recorder.record(SELECT, Optional.of("Entity"), executionInfo("Read 10 live rows and 1200 tombstone cells for query SELECT * FROM ks.table WHERE id = 1 LIMIT 100 (see tombstone_warn_threshold)"));
+        recorder.record(SELECT, Optional.of("Entity"), executionInfo("Read 3 live rows and 3500 tombstone cells for query SELECT * FROM ks.table WHERE id = 2 LIMIT 100 (see tombstone_warn_threshold)"));
+        recorder.record(SELECT, Optional.of("Entity"), executionInfo());
+
+        //Then
+        final List<ServerWarningStats> warnings = recorder.serverWarnings();
+        assertThat(warnings).hasSize(1);
+        final ServerWarningStats stats = warnings.get(0);
+        assertThat(stats.category()).isEqualTo(Category.TOMBSTONE);
+        assertThat(stats.count()).isEqualTo(2L);
+        assertThat(stats.maxTombstones()).isEqualTo(3500L);
+        assertThat(stats.totalTombstones()).isEqualTo(4700L);
+        assertThat(stats.entityClass().get()).isEqualTo("Entity");
+        assertThat(stats.lastWarning()).contains("3500 tombstone cells");
+    }
+
+    @Test
+    public void should_separate_warning_categories() throws Exception {
+        //Given
+        final ServerWarningRecorder recorder = new ServerWarningRecorder(0L);
+
+        //When
+        recorder.record(ServerWarningRecorder.BATCH_QUERY_STRING, Optional.empty(),
+                executionInfo("Batch for [ks.table] is of size 6.5KiB, exceeding specified threshold of 5.0KiB by 1.5KiB."));
+        recorder.record(SELECT, Optional.empty(), executionInfo("Aggregation query used without partition key", "Something else"));
+        recorder.record(SELECT, Optional.empty(), executionInfo("Aggregation query used without partition key"));
+
+        //Then
+        final List<ServerWarningStats> warnings = recorder.serverWarnings();
+        assertThat(warnings).extracting("category").containsExactly(Category.AGGREGATION, Category.BATCH, Category.OTHER);
+        assertThat(warnings.get(0).count()).isEqualTo(2L);
+        assertThat(warnings.get(1).maxTombstones()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_reset_warnings() throws Exception {
+        //Given
+        final ServerWarningRecorder recorder = new ServerWarningRecorder(60_000L);
+        recorder.record(SELECT, Optional.empty(), executionInfo("Aggregation query used without partition key"));
+
+        //When
+        recorder.reset();
+
+        //Then
+        assertThat(recorder.serverWarnings()).isEmpty();
+    }
+
+    private static ExecutionInfo executionInfo(String... warnings) {
+        final ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        when(executionInfo.getWarnings()).thenReturn(asList(warnings));
+        return executionInfo;
+    }
+}
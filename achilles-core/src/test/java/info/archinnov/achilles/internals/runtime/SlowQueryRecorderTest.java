@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.slowquery.SlowQuery;
+
+public class SlowQueryRecorderTest {
+
+    @Test
+    public void should_keep_only_top_n_slowest_executions() throws Exception {
+        //Given
+        final SlowQueryRecorder recorder = new SlowQueryRecorder(10L, new HashMap<>(), new HashMap<>(), 2, 0, 0);
+        final StatementWrapper wrapper = wrapperFor("SELECT * FROM ks.table WHERE id=?", 10L);
+
+        //When
+        recorder.record(wrapper, MILLISECONDS.toNanos(5), null);
+        recorder.record(wrapper, MILLISECONDS.toNanos(20), null);
+        recorder.record(wrapper, MILLISECONDS.toNanos(40), null);
+        recorder.record(wrapper, MILLISECONDS.toNanos(30), null);
+
+        //Then
+        final List<SlowQuery> slowQueries = recorder.slowQueries();
+        assertThat(slowQueries).extracting("elapsedMicros").containsExactly(40_000L, 30_000L);
+        assertThat(slowQueries.get(0).boundValues()).containsExactly("<redacted>");
+        assertThat(slowQueries.get(0).operationType()).isEqualTo("SELECT");
+        assertThat(recorder.getSlowQueryCount()).isEqualTo(3L);
+        assertThat(recorder.getSlowQueryCountByFingerprint()).hasSize(1);
+    }
+
+    @Test
+    public void should_apply_threshold_by_operation_type() throws Exception {
+        //Given
+        final Map<OperationType, Long> thresholds = new HashMap<>();
+        thresholds.put(OperationType.DELETE, 100L);
+        final SlowQueryRecorder recorder = new SlowQueryRecorder(10L, thresholds, new HashMap<>(), 10, 0, 4);
+
+        //When
+        recorder.record(wrapperFor("DELETE FROM ks.table WHERE id=?", 10L), MILLISECONDS.toNanos(50), null);
+        recorder.record(wrapperFor("SELECT * FROM ks.table WHERE id=?", 123456789L), MILLISECONDS.toNanos(50), null);
+
+        //Then
+        final List<SlowQuery> slowQueries = recorder.slowQueries();
+        assertThat(slowQueries).hasSize(1);
+        assertThat(slowQueries.get(0).queryString()).isEqualTo("SELECT * FROM ks.table WHERE id=?");
+        assertThat(slowQueries.get(0).boundValues()).containsExactly("1234...");
+    }
+
+    @Test
+    public void should_enable_tracing_for_next_executions_of_slow_fingerprint() throws Exception {
+        //Given
+        final SlowQueryRecorder recorder = new SlowQueryRecorder(10L, new HashMap<>(), new HashMap<>(), 10, 2, 0);
+        final StatementWrapper wrapper = wrapperFor("SELECT * FROM ks.table WHERE id=?", 10L);
+        final BoundStatement boundStatement = wrapper.getBoundStatement();
+
+        //When
+        recorder.maybeEnableTracing(wrapper);
+        recorder.record(wrapper, MILLISECONDS.toNanos(50), null);
+        recorder.maybeEnableTracing(wrapper);
+        recorder.maybeEnableTracing(wrapper);
+        recorder.maybeEnableTracing(wrapper);
+
+        //Then
+        verify(boundStatement, times(2)).enableTracing();
+    }
+
+    @Test
+    public void should_reset_recorded_executions() throws Exception {
+        //Given
+        final SlowQueryRecorder recorder = new SlowQueryRecorder(10L, new HashMap<>(), new HashMap<>(), 10, 0, 0);
+        recorder.record(wrapperFor("SELECT * FROM ks.table WHERE id=?", 10L), MILLISECONDS.toNanos(50), null);
+
+        //When
+        recorder.reset();
+
+        //Then
+        assertThat(recorder.slowQueries()).isEmpty();
+        assertThat(recorder.getSlowQueryCount()).isEqualTo(0L);
+    }
+
+    private StatementWrapper wrapperFor(String queryString, Object... boundValues) {
+        final StatementWrapper wrapper = mock(StatementWrapper.class, RETURNS_DEEP_STUBS);
+        when(wrapper.getEntityProperty()).thenReturn(null);
+        when(wrapper.getOperationType()).thenReturn(OperationType.valueOf(queryString.substring(0, 6)));
+        when(wrapper.getBoundValues()).thenReturn(boundValues);
+        when(wrapper.getBoundStatement().preparedStatement().getQueryString()).thenReturn(queryString);
+        return wrapper;
+    }
+}
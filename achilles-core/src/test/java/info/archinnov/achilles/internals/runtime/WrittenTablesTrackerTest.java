@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+
+public class WrittenTablesTrackerTest {
+
+    private final WrittenTablesTracker tracker = new WrittenTablesTracker();
+
+    @Test
+    public void should_record_written_table_from_bound_variables() throws Exception {
+        //Given
+        final BoundStatement bs = boundStatementFor("INSERT INTO ks.\"myTable\"(id) VALUES(?)", 1);
+        when(bs.preparedStatement().getVariables().getKeyspace(0)).thenReturn("ks");
+        when(bs.preparedStatement().getVariables().getTable(0)).thenReturn("myTable");
+
+        //When
+        tracker.record(bs, "other_ks");
+
+        //Then
+        assertThat(tracker.drain()).containsOnly("ks.myTable");
+        assertThat(tracker.drain()).isEmpty();
+    }
+
+    @Test
+    public void should_record_written_table_from_query_string() throws Exception {
+        //Given
+        final BoundStatement delete = boundStatementFor("DELETE value FROM my_table WHERE id=1", 0);
+        final BoundStatement update = boundStatementFor("update ks.counter_table SET count = count + 1 WHERE id=1", 0);
+
+        //When
+        tracker.record(delete, "current_ks");
+        tracker.record(update, "current_ks");
+
+        //Then
+        assertThat(tracker.drain()).containsOnly("current_ks.my_table", "ks.counter_table");
+    }
+
+    @Test
+    public void should_keep_case_of_quoted_identifiers() throws Exception {
+        //Given
+        final BoundStatement insert = boundStatementFor("INSERT INTO \"MyKs\".\"MyTable\"(id) VALUES(1)", 0);
+
+        //When
+        tracker.record(insert, "current_ks");
+
+        //Then
+        assertThat(tracker.drain()).containsOnly("MyKs.MyTable");
+        assertThat(WrittenTablesTracker.qualifiedTableName("My_Table", "ks")).isEqualTo("ks.my_table");
+        assertThat(WrittenTablesTracker.qualifiedTableName("Ks.\"My\"\"Table\"", "other")).isEqualTo("ks.My\"Table");
+    }
+
+    @Test
+    public void should_not_record_select() throws Exception {
+        //Given
+        final BoundStatement bs = boundStatementFor("SELECT * FROM ks.table WHERE id=?", 1);
+
+        //When
+        tracker.record(bs, "ks");
+
+        //Then
+        assertThat(tracker.drain()).isEmpty();
+    }
+
+    private BoundStatement boundStatementFor(String queryString, int variablesCount) {
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(bs.preparedStatement().getQueryString()).thenReturn(queryString);
+        when(bs.preparedStatement().getVariables().size()).thenReturn(variablesCount);
+        return bs;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.sample_classes.parser.validator;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import info.archinnov.achilles.annotations.*;
+import info.archinnov.achilles.internals.sample_classes.APUnitTest;
+
+@APUnitTest
+@Table
+public class TestEntityWithTimeBucket {
+
+    @PartitionKey(1)
+    private String sensorId;
+
+    @PartitionKey(2)
+    @TimeBucket(source = "time", unit = TimeUnit.DAYS)
+    private Long bucket;
+
+    @ClusteringColumn(1)
+    private Date time;
+
+    @ClusteringColumn(2)
+    private UUID eventId;
+
+    @Column
+    private Double value;
+
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    public void setSensorId(String sensorId) {
+        this.sensorId = sensorId;
+    }
+
+    public Long getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Long bucket) {
+        this.bucket = bucket;
+    }
+
+    public Date getTime() {
+        return time;
+    }
+
+    public void setTime(Date time) {
+        this.time = time;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public Double getValue() {
+        return value;
+    }
+
+    public void setValue(Double value) {
+        this.value = value;
+    }
+}
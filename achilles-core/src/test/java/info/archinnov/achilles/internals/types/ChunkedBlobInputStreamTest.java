@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+public class ChunkedBlobInputStreamTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_stream_chunks_and_prefetch_next_page() throws Exception {
+        //Given
+        final ResultSet resultSet = mock(ResultSet.class);
+        final Row row1 = chunk(new byte[]{1, 2, 3});
+        final Row row2 = chunk(new byte[]{4, 5});
+        when(resultSet.one()).thenReturn(row1, row2, null);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(1, 0);
+        when(resultSet.isFullyFetched()).thenReturn(false, true);
+
+        //When
+        final byte[] actual = IOUtils.toByteArray(new ChunkedBlobInputStream(resultSet, 2, 2));
+
+        //Then
+        assertThat(actual).isEqualTo(new byte[]{1, 2, 3, 4, 5});
+        verify(resultSet, times(1)).fetchMoreResults();
+    }
+
+    @Test
+    public void should_not_consume_driver_buffer() throws Exception {
+        //Given
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{7, 8});
+        final Row row = mock(Row.class);
+        when(row.getBytesUnsafe(0)).thenReturn(buffer);
+        when(resultSet.one()).thenReturn(row, (Row) null);
+        when(resultSet.isFullyFetched()).thenReturn(true);
+        final ChunkedBlobInputStream inputStream = new ChunkedBlobInputStream(resultSet, 1, 1);
+
+        //When
+        final int first = inputStream.read();
+
+        //Then
+        assertThat(first).isEqualTo(7);
+        assertThat(inputStream.available()).isEqualTo(1);
+        assertThat(buffer.position()).isEqualTo(0);
+        assertThat(inputStream.read()).isEqualTo(8);
+        assertThat(inputStream.read()).isEqualTo(-1);
+    }
+
+    @Test
+    public void should_fail_when_chunks_are_missing() throws Exception {
+        //Given
+        final ResultSet resultSet = mock(ResultSet.class);
+        final Row row = chunk(new byte[]{1, 2});
+        when(resultSet.one()).thenReturn(row, (Row) null);
+        when(resultSet.isFullyFetched()).thenReturn(true);
+
+        exception.expect(IOException.class);
+        exception.expectMessage("Expected 2 chunks but found 1, the payload has been modified while being read");
+
+        //When
+        IOUtils.toByteArray(new ChunkedBlobInputStream(resultSet, 1, 2));
+    }
+
+    private Row chunk(byte[] bytes) {
+        final Row row = mock(Row.class);
+        when(row.getBytesUnsafe(0)).thenReturn(ByteBuffer.wrap(bytes));
+        return row;
+    }
+}
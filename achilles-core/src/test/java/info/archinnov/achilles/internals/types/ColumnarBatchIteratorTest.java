@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.columnar.*;
+
+public class ColumnarBatchIteratorTest {
+
+    @Test
+    public void should_decode_rows_into_column_vectors_by_batch() throws Exception {
+        //Given
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ColumnDefinitions columnDefinitions = mock(ColumnDefinitions.class);
+        when(resultSet.getColumnDefinitions()).thenReturn(columnDefinitions);
+        when(columnDefinitions.size()).thenReturn(3);
+        when(columnDefinitions.getName(0)).thenReturn("id");
+        when(columnDefinitions.getName(1)).thenReturn("price");
+        when(columnDefinitions.getName(2)).thenReturn("label");
+        when(columnDefinitions.getType(0)).thenReturn(DataType.bigint());
+        when(columnDefinitions.getType(1)).thenReturn(DataType.cdouble());
+        when(columnDefinitions.getType(2)).thenReturn(DataType.text());
+
+        final Row row1 = row(1L, 1.5d, "a");
+        final Row row2 = row(2L, null, "b");
+        final Row row3 = row(3L, 3.5d, "a");
+        when(resultSet.isExhausted()).thenReturn(false, false, false, false, false, false, false, true);
+        when(resultSet.one()).thenReturn(row1, row2, row3);
+        when(resultSet.isFullyFetched()).thenReturn(true);
+
+        final StatementWrapper statementWrapper = mock(StatementWrapper.class);
+        when(statementWrapper.logTrace(resultSet)).thenReturn(resultSet);
+
+        //When
+        final ColumnarBatchIterator iterator = new ColumnarBatchIterator(CompletableFuture.completedFuture(resultSet), null,
+                statementWrapper, new CassandraOptions(), 2, ColumnarBufferAllocator.OFF_HEAP);
+
+        //Then
+        assertThat(iterator.hasNext()).isTrue();
+        final ColumnarBatch first = iterator.next();
+        assertThat(first.rowCount()).isEqualTo(2);
+        assertThat(first.column("id", LongVector.class).toArray()).containsExactly(1L, 2L);
+        final DoubleVector prices = first.column("price", DoubleVector.class);
+        assertThat(prices.getDouble(0)).isEqualTo(1.5d);
+        assertThat(prices.isNull(1)).isTrue();
+        assertThat(prices.getObject(1)).isNull();
+
+        assertThat(iterator.hasNext()).isTrue();
+        final ColumnarBatch second = iterator.next();
+        assertThat(second.rowCount()).isEqualTo(1);
+        final DictionaryStringVector labels = second.column("label", DictionaryStringVector.class);
+        assertThat(labels.getString(0)).isEqualTo("a");
+        assertThat(labels.dictionary()).containsExactly("a");
+
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void should_dictionary_encode_strings() throws Exception {
+        //Given
+        final DictionaryStringVector vector = new DictionaryStringVector("label", DataType.text(), 4, ColumnarBufferAllocator.HEAP);
+
+        //When
+        vector.append("a");
+        vector.append("b");
+        vector.appendNull();
+        vector.append("a");
+
+        //Then
+        assertThat(vector.size()).isEqualTo(4);
+        assertThat(vector.dictionary()).containsExactly("a", "b");
+        assertThat(vector.getCode(0)).isEqualTo(0);
+        assertThat(vector.getCode(2)).isEqualTo(-1);
+        assertThat(vector.getCode(3)).isEqualTo(0);
+        assertThat(vector.getString(1)).isEqualTo("b");
+        assertThat(vector.nullBitmap().get(2)).isTrue();
+    }
+
+    private Row row(long id, Double price, String label) {
+        final Row row = mock(Row.class);
+        when(row.getLong(0)).thenReturn(id);
+        when(row.isNull(1)).thenReturn(price == null);
+        when(row.getDouble(1)).thenReturn(price == null ? 0d : price);
+        when(row.getString(2)).thenReturn(label);
+        return row;
+    }
+}
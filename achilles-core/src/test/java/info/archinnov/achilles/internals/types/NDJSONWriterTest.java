@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internals.options.CassandraOptions;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.json.NDJSONWriteStats;
+
+public class NDJSONWriterTest {
+
+    private final StatementWrapper statementWrapper = mock(StatementWrapper.class, RETURNS_DEEP_STUBS);
+    private final ResultSet resultSet = mock(ResultSet.class);
+
+    @Test
+    public void should_stream_rows_as_ndjson_and_prefetch_next_page() throws Exception {
+        //Given
+        final Row row1 = jsonRow("{\"id\":1}");
+        final Row row2 = jsonRow("{\"id\":2}");
+        final Row row3 = jsonRow("{\"id\":3}");
+        when(statementWrapper.logTrace(resultSet)).thenReturn(resultSet);
+        when(resultSet.isExhausted()).thenReturn(false, false, true);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(2, 1);
+        when(resultSet.isFullyFetched()).thenReturn(false, true);
+        when(resultSet.one()).thenReturn(row1, row2, row3);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //When
+        final NDJSONWriteStats stats = new NDJSONWriter(statementWrapper, new CassandraOptions(), 20)
+                .writeTo(CompletableFuture.completedFuture(resultSet), output);
+
+        //Then
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n");
+        assertThat(stats.rowsWritten()).isEqualTo(3L);
+        assertThat(stats.bytesWritten()).isEqualTo(27L);
+        assertThat(stats.pagesFetched()).isEqualTo(2);
+        assertThat(stats.flushes()).isEqualTo(2);
+        verify(resultSet, times(1)).fetchMoreResults();
+        verify(statementWrapper, times(3)).logReturnedRow(any(Row.class));
+    }
+
+    @Test
+    public void should_write_rows_larger_than_flush_budget_to_channel() throws Exception {
+        //Given
+        final Row small = jsonRow("{}");
+        final Row large = jsonRow("{\"value\":\"0123456789\"}");
+        when(statementWrapper.logTrace(resultSet)).thenReturn(resultSet);
+        when(resultSet.isExhausted()).thenReturn(false, true);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(2);
+        when(resultSet.isFullyFetched()).thenReturn(true);
+        when(resultSet.one()).thenReturn(small, large);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //When
+        final NDJSONWriteStats stats = new NDJSONWriter(statementWrapper, new CassandraOptions(), 8)
+                .writeTo(CompletableFuture.completedFuture(resultSet), Channels.newChannel(output));
+
+        //Then
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo("{}\n{\"value\":\"0123456789\"}\n");
+        assertThat(stats.rowsWritten()).isEqualTo(2L);
+        assertThat(stats.pagesFetched()).isEqualTo(1);
+        assertThat(stats.flushes()).isEqualTo(2);
+        verify(resultSet, never()).fetchMoreResults();
+    }
+
+    private Row jsonRow(String json) {
+        final Row row = mock(Row.class);
+        when(row.getBytesUnsafe(0)).thenReturn(ByteBuffer.wrap(json.getBytes(UTF_8)));
+        return row;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.TypeCodec;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.internals.codec.EnumNameCodec;
+import info.archinnov.achilles.internals.codec.FusedTypeCodec;
+
+public class CodecRegistryHelperTest {
+
+    @Test
+    public void should_register_fused_codec_only_once_for_several_manager_factories() throws Exception {
+        //Given
+        final CodecRegistry codecRegistry = new CodecRegistry();
+        final CodecRegistryHelper firstManagerFactory = new CodecRegistryHelper(codecRegistry);
+        final CodecRegistryHelper secondManagerFactory = new CodecRegistryHelper(codecRegistry);
+
+        //When
+        final FusedTypeCodec<ConsistencyLevel, String> firstCodec = fusedEnumNameCodec();
+        final boolean firstRegistered = firstManagerFactory.registerIfAbsent(firstCodec);
+        final boolean secondRegistered = secondManagerFactory.registerIfAbsent(fusedEnumNameCodec());
+
+        //Then
+        assertThat(firstRegistered).isTrue();
+        assertThat(secondRegistered).isFalse();
+        assertThat(codecRegistry.codecFor(DataType.varchar(), ConsistencyLevel.class)).isSameAs(firstCodec);
+    }
+
+    @Test
+    public void should_not_register_fused_codec_when_driver_codec_exists() throws Exception {
+        //Given
+        final CodecRegistry codecRegistry = new CodecRegistry();
+        final CodecRegistryHelper helper = new CodecRegistryHelper(codecRegistry);
+        final EnumNameCodec<DataType.Name> codec = EnumNameCodec.create(Arrays.asList(DataType.Name.values()), DataType.Name.class);
+        final FusedTypeCodec<DataType.Name, String> fused = FusedTypeCodec.create(codec, TypeCodec.varchar(), TypeToken.of(DataType.Name.class));
+        final TypeCodec<DataType.Name> driverCodec = new com.datastax.driver.extras.codecs.enums.EnumNameCodec<>(DataType.Name.class);
+        codecRegistry.register(driverCodec);
+
+        //When
+        final boolean registered = helper.registerIfAbsent(fused);
+
+        //Then
+        assertThat(registered).isFalse();
+        assertThat(codecRegistry.codecFor(DataType.varchar(), DataType.Name.class)).isSameAs(driverCodec);
+    }
+
+    @Test
+    public void should_find_codec_by_cql_type_and_java_type_token() throws Exception {
+        //Given
+        final CodecRegistryHelper helper = new CodecRegistryHelper(new CodecRegistry());
+
+        //When
+        final boolean hasStringCodec = helper.hasCodecFor(DataType.varchar(), TypeToken.of(String.class));
+        final boolean hasEnumCodec = helper.hasCodecFor(DataType.varchar(), TypeToken.of(ConsistencyLevel.class));
+
+        //Then
+        assertThat(hasStringCodec).isTrue();
+        assertThat(hasEnumCodec).isFalse();
+    }
+
+    private FusedTypeCodec<ConsistencyLevel, String> fusedEnumNameCodec() {
+        final EnumNameCodec<ConsistencyLevel> codec = EnumNameCodec.create(Arrays.asList(ConsistencyLevel.values()), ConsistencyLevel.class);
+        return FusedTypeCodec.create(codec, TypeCodec.varchar(), TypeToken.of(ConsistencyLevel.class));
+    }
+}
@@ -37,6 +37,7 @@ public class AchillesCassandraConfig implements ConfigurationLoader {
     static final String ACHILLES_EMBEDDED_CASSANDRA_BROADCAST_ADDRESS = "ACHILLES_EMBEDDED_CASSANDRA_BROADCAST_ADDRESS";
     static final String ACHILLES_EMBEDDED_CASSANDRA_RPC_ADDRESS = "ACHILLES_EMBEDDED_CASSANDRA_RPC_ADDRESS";
     static final String ACHILLES_EMBEDDED_CASSANDRA_BROADCAST_RPC_ADDRESS = "ACHILLES_EMBEDDED_CASSANDRA_BROADCAST_RPC_ADDRESS";
+    static final String ACHILLES_EMBEDDED_CASSANDRA_SEEDS = "ACHILLES_EMBEDDED_CASSANDRA_SEEDS";
 
 
     static final String ACHILLES_EMBEDDED_CASSANDRA_DATA_FOLDER = "ACHILLES_EMBEDDED_CASSANDRA_DATA_FOLDER";
@@ -44,6 +45,9 @@ public class AchillesCassandraConfig implements ConfigurationLoader {
     static final String ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER = "ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER";
     static final String ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER = "ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER";
     static final String ACHILLES_EMBEDDED_CASSANDRA_CDC_RAW_FOLDER = "ACHILLES_EMBEDDED_CASSANDRA_CDC_RAW_FOLDER";
+    static final String ACHILLES_EMBEDDED_CASSANDRA_CDC_ENABLED = "ACHILLES_EMBEDDED_CASSANDRA_CDC_ENABLED";
+
+    static final String ACHILLES_EMBEDDED_CASSANDRA_TEST_OPTIMIZED = "ACHILLES_EMBEDDED_CASSANDRA_TEST_OPTIMIZED";
 
     @Override
     public Config loadConfig() throws ConfigurationException {
@@ -127,7 +131,7 @@ public class AchillesCassandraConfig implements ConfigurationLoader {
         config.disk_failure_policy = Config.DiskFailurePolicy.stop_paranoid;
 
         final Map<String, String> seedsMap = new HashMap<>();
-        seedsMap.put("seeds", config.listen_address);
+        seedsMap.put("seeds", System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_SEEDS, config.listen_address));
         config.seed_provider = new ParameterizedClass("org.apache.cassandra.locator.SimpleSeedProvider", seedsMap);
 
         config.data_file_directories = new String[]{System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_DATA_FOLDER)};
@@ -135,6 +139,40 @@ public class AchillesCassandraConfig implements ConfigurationLoader {
         config.saved_caches_directory = System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER);
         config.hints_directory = System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER);
         config.cdc_raw_directory = System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_CDC_RAW_FOLDER);
+        config.cdc_enabled = Boolean.parseBoolean(System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_CDC_ENABLED, "false"));
+
+        if (Boolean.parseBoolean(System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_TEST_OPTIMIZED, "false"))) {
+            applyTestOptimizedSettings(config);
+        }
         return config;
     }
+
+    /**
+     * Trade durability for startup time and I/O. Only suitable for tests
+     */
+    private void applyTestOptimizedSettings(Config config) {
+        // Commit log is almost never synced, data is thrown away after the tests anyway
+        config.commitlog_sync = Config.CommitLogSync.periodic;
+        config.commitlog_sync_period_in_ms = 24 * 3600 * 1000;
+        config.commitlog_segment_size_in_mb = 16;
+
+        // Tiny memtables
+        config.memtable_heap_space_in_mb = 16;
+        config.memtable_offheap_space_in_mb = 16;
+        config.memtable_flush_writers = 1;
+
+        // No hints, no caches to save
+        config.hinted_handoff_enabled = false;
+        config.max_hints_delivery_threads = 1;
+        config.key_cache_size_in_mb = 0L;
+        config.key_cache_save_period = 0;
+        config.counter_cache_size_in_mb = 0L;
+        config.counter_cache_save_period = 0;
+
+        // Minimal background work
+        config.concurrent_compactors = 1;
+        config.index_summary_resize_interval_in_minutes = -1;
+        config.incremental_backups = false;
+        config.auto_snapshot = false;
+    }
 }
@@ -56,19 +56,24 @@ public class AchillesInitializer {
         synchronized (STARTED) {
             final String keyspaceName = extractAndValidateKeyspaceName(parameters);
             final Boolean durableWrite = parameters.getTyped(KEYSPACE_DURABLE_WRITE);
+            final Integer replicationFactor = parameters.getTypedOr(KEYSPACE_REPLICATION_FACTOR, DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_REPLICATION_FACTOR);
             if (STARTED.get() == false) {
                 LOGGER.debug("Creating cluster and session singletons");
-                singletonCluster = initializeCluster(cassandraHost, parameters);
+                singletonCluster = StartupPhaseTimer.time("connect driver", () -> initializeCluster(cassandraHost, parameters));
                 final Session tempSession = singletonCluster.connect();
-                createKeyspaceIfNeeded(tempSession, keyspaceName, durableWrite);
+                createKeyspaceIfNeeded(tempSession, keyspaceName, replicationFactor, durableWrite);
                 tempSession.close();
                 singletonSession = singletonCluster.connect(keyspaceName);
                 ServerStarter.CASSANDRA_EMBEDDED.getShutdownHook().addSession(singletonSession);
-                executeStartupScripts(singletonSession, parameters);
+                if (isRestoredFromSnapshot(parameters)) {
+                    LOGGER.info("Data folder restored from snapshot, skipping startup scripts");
+                } else {
+                    StartupPhaseTimer.time("execute startup scripts", () -> executeStartupScripts(singletonSession, parameters));
+                }
                 STARTED.getAndSet(true);
             } else {
                 LOGGER.debug("Cluster and session singletons already created");
-                createKeyspaceIfNeeded(singletonSession, keyspaceName, durableWrite);
+                createKeyspaceIfNeeded(singletonSession, keyspaceName, replicationFactor, durableWrite);
                 final boolean useSingletonSession = singletonSession.getLoggedKeyspace().toLowerCase()
                         .equals(keyspaceName.toLowerCase());
 
@@ -85,6 +90,10 @@ public class AchillesInitializer {
         }
     }
 
+    static boolean isRestoredFromSnapshot(TypedMap parameters) {
+        return parameters.getTypedOr(DATA_FOLDER_SNAPSHOT_RESTORED, false);
+    }
+
     private Cluster initializeCluster(String cassandraHost, TypedMap parameters) {
 
         String hostname;
@@ -135,10 +144,11 @@ public class AchillesInitializer {
         return keyspaceName;
     }
 
-    private void createKeyspaceIfNeeded(Session session, String keyspaceName, Boolean keyspaceDurableWrite) {
+    private void createKeyspaceIfNeeded(Session session, String keyspaceName, Integer replicationFactor, Boolean keyspaceDurableWrite) {
         StringBuilder createKeyspaceStatement = new StringBuilder("CREATE keyspace IF NOT EXISTS ");
         createKeyspaceStatement.append(keyspaceName);
-        createKeyspaceStatement.append(" WITH REPLICATION = {'class':'SimpleStrategy', 'replication_factor':1}");
+        createKeyspaceStatement.append(" WITH REPLICATION = {'class':'SimpleStrategy', 'replication_factor':")
+                .append(replicationFactor).append("}");
         if (!keyspaceDurableWrite) {
             createKeyspaceStatement.append(" AND DURABLE_WRITES=false");
         }
@@ -52,6 +52,8 @@ public class CassandraEmbeddedConfigParameters {
 
     public static final String CDC_RAW_FOLDER = "cdcRawFolder";
 
+    public static final String CDC_ENABLED = "cdcEnabled";
+
     public static final String LOGBACK_FILE = "logbackXmlFile";
 
     public static final String CLUSTER_NAME = "clusterName";
@@ -82,9 +84,19 @@ public class CassandraEmbeddedConfigParameters {
 
     public static final String KEYSPACE_DURABLE_WRITE = "keyspaceDurableWrite";
 
+    public static final String KEYSPACE_REPLICATION_FACTOR = "keyspaceReplicationFactor";
+
+    public static final String NODES = "nodes";
+
     public static final String SCRIPT_LOCATIONS = "scriptLocations";
     public static final String SCRIPT_TEMPLATES = "scriptTemplates";
 
+    public static final String TEST_OPTIMIZED_SETTINGS = "testOptimizedSettings";
+
+    public static final String DATA_FOLDER_SNAPSHOT = "dataFolderSnapshot";
+
+    static final String DATA_FOLDER_SNAPSHOT_RESTORED = "dataFolderSnapshotRestored";
+
     /*
      * Default values
      */
@@ -105,6 +117,9 @@ public class CassandraEmbeddedConfigParameters {
     static final String DEFAULT_CASSANDRA_EMBEDDED_RPC_ADDRESS = "localhost";
     static final String DEFAULT_CASSANDRA_EMBEDDED_BROADCAST_ADDRESS = "localhost";
     static final String DEFAULT_CASSANDRA_EMBEDDED_BROADCAST_RPC_ADDRESS = "localhost";
+    static final String DEFAULT_TMPFS_FOLDER = "/dev/shm";
+    static final Integer DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_REPLICATION_FACTOR = 1;
+    static final Integer DEFAULT_CASSANDRA_EMBEDDED_NODES = 1;
 
     /**
      * Default values
@@ -119,6 +134,8 @@ public class CassandraEmbeddedConfigParameters {
         defaultParams.put(BROADCAST_RPC_ADDRESS, DEFAULT_CASSANDRA_EMBEDDED_BROADCAST_RPC_ADDRESS);
 
         defaultParams.put(USE_UNSAFE_CASSANDRA_DAEMON, false);
+        defaultParams.put(TEST_OPTIMIZED_SETTINGS, false);
+        defaultParams.put(CDC_ENABLED, false);
         defaultParams.put(CLEAN_CASSANDRA_DATA_FILES, true);
         defaultParams.put(CLEAN_CASSANDRA_CONFIG_FILE, true);
         defaultParams.put(DATA_FILE_FOLDER, DEFAULT_ACHILLES_TEST_DATA_FOLDER);
@@ -130,6 +147,8 @@ public class CassandraEmbeddedConfigParameters {
         defaultParams.put(CLUSTER_NAME, DEFAULT_CASSANDRA_EMBEDDED_CLUSTER_NAME);
         defaultParams.put(DEFAULT_KEYSPACE_NAME, DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME);
         defaultParams.put(KEYSPACE_DURABLE_WRITE, DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_DURABLE_WRITE);
+        defaultParams.put(KEYSPACE_REPLICATION_FACTOR, DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_REPLICATION_FACTOR);
+        defaultParams.put(NODES, DEFAULT_CASSANDRA_EMBEDDED_NODES);
         defaultParams.put(COMPRESSION_TYPE, ProtocolOptions.Compression.NONE);
         defaultParams.put(LOAD_BALANCING_POLICY, Policies.defaultLoadBalancingPolicy());
         defaultParams.put(RETRY_POLICY, Policies.defaultRetryPolicy());
@@ -15,8 +15,17 @@
  */
 package info.archinnov.achilles.embedded;
 
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_NODES;
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.NODES;
 import static info.archinnov.achilles.embedded.ServerStarter.CASSANDRA_EMBEDDED;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.cassandra.config.Schema;
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.Keyspace;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +34,7 @@ import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 
 import info.archinnov.achilles.type.TypedMap;
+import info.archinnov.achilles.validation.Validator;
 
 public class CassandraEmbeddedServer {
 
@@ -34,6 +44,7 @@ public class CassandraEmbeddedServer {
 
     static final Object SEMAPHORE = new Object();
     static boolean embeddedServerStarted = false;
+    static int embeddedNodes = 1;
     private static final AchillesInitializer initializer = new AchillesInitializer();
 
 
@@ -56,12 +67,17 @@ public class CassandraEmbeddedServer {
                 if (!embeddedServerStarted) {
                     CASSANDRA_EMBEDDED.startServer(cassandraHost, parameters);
                     CassandraEmbeddedServer.embeddedServerStarted = true;
+                    CassandraEmbeddedServer.embeddedNodes = parameters.getTypedOr(NODES, DEFAULT_CASSANDRA_EMBEDDED_NODES);
                 } else {
                     CASSANDRA_EMBEDDED.checkAndConfigurePorts(parameters);
                 }
             }
         }
         initializer.initializeFromParameters(cassandraHost, parameters);
+
+        if (StringUtils.isBlank(cassandraHost) && parameters.containsKey(CassandraEmbeddedConfigParameters.DATA_FOLDER_SNAPSHOT)) {
+            StartupPhaseTimer.time("save data folder snapshot", () -> DataFolderSnapshot.saveIfNeeded(parameters));
+        }
     }
 
 
@@ -76,4 +92,60 @@ public class CassandraEmbeddedServer {
     public void registerSessionForShutdown(Session session) {
         ServerStarter.CASSANDRA_EMBEDDED.getShutdownHook().addSession(session);
     }
+
+    /**
+     * Whether the Cassandra server has been started in the current JVM or
+     * whether Achilles is connected to an external server (see {@link #CASSANDRA_HOST})
+     *
+     * @return true if the Cassandra server runs in the current JVM
+     */
+    public boolean isRunningInProcess() {
+        synchronized (SEMAPHORE) {
+            return embeddedServerStarted && StringUtils.isBlank(System.getProperty(CASSANDRA_HOST));
+        }
+    }
+
+    /**
+     * Whether tables can be truncated directly on the in-process Cassandra server. It requires the server
+     * to run in the current JVM and to be the only node of the ring, other nodes would otherwise keep their data
+     *
+     * @return true if {@link #truncateTablesInProcess(Collection)} can be used
+     */
+    public boolean canTruncateInProcess() {
+        synchronized (SEMAPHORE) {
+            return isRunningInProcess() && embeddedNodes == 1;
+        }
+    }
+
+    /**
+     * Truncate the given tables directly on the column family stores of the in-process Cassandra server,
+     * bypassing the native protocol and the truncate messaging round-trip. Tables are truncated in parallel.
+     * <br/>
+     * Only available if {@link #canTruncateInProcess()} returns true
+     *
+     * @param qualifiedTableNames tables to truncate, as <em>keyspace.table</em> with internal names
+     *                            (case-sensitive, without quotes)
+     * @return the tables that cannot be found in the local schema and have not been truncated
+     */
+    public Set<String> truncateTablesInProcess(Collection<String> qualifiedTableNames) {
+        Validator.validateTrue(canTruncateInProcess(), "Cannot truncate tables in process, the Cassandra server is not running in this JVM or is not the only node");
+        final Set<String> notFound = ConcurrentHashMap.newKeySet();
+        qualifiedTableNames
+                .parallelStream()
+                .forEach(qualifiedTableName -> {
+                    final String[] keyspaceAndTable = qualifiedTableName.split("\\.", 2);
+                    Validator.validateTrue(keyspaceAndTable.length == 2, "Table name '%s' should be qualified with its keyspace", qualifiedTableName);
+                    if (Schema.instance.getCFMetaData(keyspaceAndTable[0], keyspaceAndTable[1]) == null) {
+                        LOGGER.debug("Table {} not found in the local schema, cannot truncate it in process", qualifiedTableName);
+                        notFound.add(qualifiedTableName);
+                        return;
+                    }
+                    final ColumnFamilyStore cfs = Keyspace.open(keyspaceAndTable[0]).getColumnFamilyStore(keyspaceAndTable[1]);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Truncating table {} in process", qualifiedTableName);
+                    }
+                    cfs.truncateBlocking();
+                });
+        return notFound;
+    }
 }
@@ -100,8 +100,18 @@ public class CassandraEmbeddedServerBuilder {
 
     private boolean durableWrite = false;
 
+    private int replicationFactor;
+
+    private int nodes;
+
     private boolean useUnsafeCassandraDaemon = false;
 
+    private boolean testOptimizedSettings = false;
+
+    private boolean cdcEnabled = false;
+
+    private String dataFolderSnapshot;
+
     private List<String> scriptLocations = new ArrayList<>();
 
     private Map<String, Map<String, Object>> scriptTemplates = new HashMap<>();
@@ -263,6 +273,18 @@ public class CassandraEmbeddedServerBuilder {
         return this;
     }
 
+    /**
+     * Enable Change Data Capture (<em>cdc_enabled: true</em>) on the embedded Cassandra server.
+     * Commit log segments containing mutations of tables created with <em>WITH cdc = true</em>
+     * are then moved to the cdc_raw folder once they are discarded. Default value is false
+     *
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withCdcEnabled() {
+        this.cdcEnabled = true;
+        return this;
+    }
+
     /**
      * Whether to clean all data files in data folder, commit log folder and
      * saved caches folder at startup or not. Default value = 'true'
@@ -389,6 +411,41 @@ public class CassandraEmbeddedServerBuilder {
         return this;
     }
 
+    /**
+     * Specify the replication factor of the default keyspace created by the embedded Cassandra server.
+     * Default value is 1
+     *
+     * @param replicationFactor replication factor of the default keyspace
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withReplicationFactor(int replicationFactor) {
+        Validator.validateTrue(replicationFactor > 0, "The replication factor should be strictly positive while executing CassandraEmbeddedServerBuilder.withReplicationFactor()");
+        this.replicationFactor = replicationFactor;
+        return this;
+    }
+
+    /**
+     * Start a ring of <em>nodes</em> Cassandra instances instead of a single one. The first node runs in the
+     * current JVM, the others are started in child JVMs sharing the current class path.
+     * <br/>
+     * Node <em>i</em> listens on <em>127.0.0.i</em> and uses its own data folders, located next to the data folder
+     * of the first node. All nodes share the same CQL and storage ports, they are distinguished by their address.
+     * <br/>
+     * <br/>
+     * Use it with {@link #withReplicationFactor(int)} to exercise consistency levels, token-aware routing or
+     * LightWeight Transactions against a real multi-node cluster.
+     * <br/>
+     * <strong>On Mac OS, the loopback aliases 127.0.0.2 ... 127.0.0.n should be created beforehand</strong>
+     *
+     * @param nodes number of Cassandra nodes in the ring, default = 1
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withNodes(int nodes) {
+        Validator.validateTrue(nodes > 0, "The number of nodes should be strictly positive while executing CassandraEmbeddedServerBuilder.withNodes()");
+        this.nodes = nodes;
+        return this;
+    }
+
     /**
      * Load an CQL script in the class path and execute it upon initialization
      * of the embedded Cassandra server
@@ -511,6 +568,43 @@ public class CassandraEmbeddedServerBuilder {
         return this;
     }
 
+    /**
+     * Use settings tuned for fast startup and low I/O, at the expense of durability. This profile will:
+     * <ul>
+     *     <li>use the unsafe Cassandra daemon (see {@link #useUnsafeCassandraDeamon()}), which disables auto compaction</li>
+     *     <li>relocate the <strong>default</strong> data, commit log, saved caches, hints and cdc_raw folders to tmpfs (/dev/shm), if available</li>
+     *     <li>use periodic commit log sync with a period of 24 hours</li>
+     *     <li>use tiny memtables (16Mb on heap, 16Mb off heap) with a single flush writer</li>
+     *     <li>disable hints, key cache and counter cache</li>
+     *     <li>disable index summary resampling and use a single compactor</li>
+     * </ul>
+     * <strong>This should be only used for unit testing and not for production !</strong>
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withTestOptimizedSettings() {
+        this.testOptimizedSettings = true;
+        return this;
+    }
+
+    /**
+     * Restore the data folder from a snapshot folder instead of executing the startup CQL scripts.
+     * <br/>
+     * If the snapshot folder does not exist or is empty, the startup scripts are executed as usual, then all tables
+     * are flushed and the data folder is copied into the snapshot folder to speed up the next runs.
+     * <br/>
+     * <br/>
+     * <strong>The snapshot is only valid for the same cluster name and server configuration.
+     * Delete the snapshot folder whenever your startup scripts change</strong>
+     *
+     * @param dataFolderSnapshot folder to restore the data folder from, or to save the data folder to
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withDataFolderSnapshot(String dataFolderSnapshot) {
+        Validator.validateNotBlank(dataFolderSnapshot, "The data folder snapshot should not be blank while executing CassandraEmbeddedServerBuilder.withDataFolderSnapshot()");
+        this.dataFolderSnapshot = dataFolderSnapshot.trim();
+        return this;
+    }
+
     /**
      * Start an embedded Cassandra server but DO NOT bootstrap Achilles
      *
@@ -571,6 +665,9 @@ public class CassandraEmbeddedServerBuilder {
         if (isNotBlank(cdcRawFolder))
             cassandraParams.put(CDC_RAW_FOLDER, cdcRawFolder);
 
+        if (cdcEnabled)
+            cassandraParams.put(CDC_ENABLED, true);
+
         if (isNotBlank(clusterName))
             cassandraParams.put(CLUSTER_NAME, clusterName);
 
@@ -611,8 +708,21 @@ public class CassandraEmbeddedServerBuilder {
             cassandraParams.put(USE_UNSAFE_CASSANDRA_DAEMON, true);
         }
 
+        if (testOptimizedSettings) {
+            cassandraParams.put(TEST_OPTIMIZED_SETTINGS, true);
+        }
+
+        if (isNotBlank(dataFolderSnapshot))
+            cassandraParams.put(DATA_FOLDER_SNAPSHOT, dataFolderSnapshot);
+
         cassandraParams.put(KEYSPACE_DURABLE_WRITE, durableWrite);
 
+        if (replicationFactor > 0)
+            cassandraParams.put(KEYSPACE_REPLICATION_FACTOR, replicationFactor);
+
+        if (nodes > 0)
+            cassandraParams.put(NODES, nodes);
+
         TypedMap parameters = CassandraEmbeddedConfigParameters.mergeWithDefaultParameters(cassandraParams);
         return parameters;
     }
@@ -43,6 +43,7 @@ import org.slf4j.LoggerFactory;
  * <strong>Please note that upon call on <em>shutdownNow()</em>, Achilles will trigger the shutdown of:</strong>
  * <ul>
  *     <li><strong>the embedded Cassandra server</strong></li>
+ *     <li><strong>the additional Cassandra nodes, if any</strong></li>
  *     <li><strong>the associated Cluster object</strong></li>
  *     <li><strong>the associated Session object</strong></li>
  * </ul>
@@ -54,6 +55,7 @@ public class CassandraShutDownHook {
     private AtomicReference<CassandraDaemon> cassandraDaemonRef;
     private OrderedShutdownHook orderedShutdownHook;
     private ExecutorService executor;
+    private EmbeddedClusterNodes clusterNodes;
 
     void addCassandraDaemonRef(AtomicReference<CassandraDaemon> cassandraDaemonRef) {
         this.cassandraDaemonRef = cassandraDaemonRef;
@@ -67,6 +69,10 @@ public class CassandraShutDownHook {
         this.executor = executor;
     }
 
+    void addClusterNodes(EmbeddedClusterNodes clusterNodes) {
+        this.clusterNodes = clusterNodes;
+    }
+
     /**
      * Trigger the shutdown of:
      * <ul>
@@ -87,6 +93,11 @@ public class CassandraShutDownHook {
             LOGGER.info("Shutting down embedded Cassandra server");
             // Then shutdown the server
             executor.shutdownNow();
+
+            if (clusterNodes != null) {
+                LOGGER.info("Shutting down additional embedded Cassandra nodes");
+                clusterNodes.shutdown();
+            }
             CassandraEmbeddedServer.embeddedServerStarted = false;
         }
     }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.embedded;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.Keyspace;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.TypedMap;
+
+/**
+ * Restore the embedded Cassandra data folder from a snapshot folder taken by a previous run,
+ * instead of replaying all the CQL startup scripts.
+ * <br/>
+ * <br/>
+ * If the snapshot folder does not exist yet, the server starts normally, executes the startup scripts,
+ * flushes all tables and copies the data folder into the snapshot folder for the next runs.
+ * <br/>
+ * <strong>The snapshot folder is only valid for the same cluster name and the same server configuration.
+ * Delete it whenever your startup scripts change</strong>
+ */
+public class DataFolderSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataFolderSnapshot.class);
+
+    private static final AtomicBoolean SNAPSHOT_HANDLED = new AtomicBoolean(false);
+
+    static boolean restoreIfAvailable(TypedMap parameters) {
+        if (!parameters.containsKey(DATA_FOLDER_SNAPSHOT)) {
+            return false;
+        }
+
+        final File snapshotFolder = new File(parameters.<String>getTyped(DATA_FOLDER_SNAPSHOT));
+        final File dataFolder = new File(parameters.<String>getTyped(DATA_FILE_FOLDER));
+        final String[] existingSnapshotFiles = snapshotFolder.list();
+        final String[] existingDataFiles = dataFolder.list();
+
+        if (existingSnapshotFiles == null || existingSnapshotFiles.length == 0) {
+            LOGGER.info("No data folder snapshot found at '{}', it will be created after startup scripts execution",
+                    snapshotFolder.getAbsolutePath());
+            return false;
+        } else if (existingDataFiles != null && existingDataFiles.length > 0) {
+            LOGGER.warn("Data folder '{}' is not empty, skipping restore of data folder snapshot '{}'",
+                    dataFolder.getAbsolutePath(), snapshotFolder.getAbsolutePath());
+            return false;
+        }
+
+        LOGGER.info("Restoring data folder '{}' from snapshot '{}'", dataFolder.getAbsolutePath(), snapshotFolder.getAbsolutePath());
+        try {
+            FileUtils.copyDirectory(snapshotFolder, dataFolder);
+        } catch (IOException e) {
+            throw new AchillesException(String.format("Cannot restore data folder snapshot %s", snapshotFolder.getAbsolutePath()), e);
+        }
+        parameters.put(DATA_FOLDER_SNAPSHOT_RESTORED, true);
+        SNAPSHOT_HANDLED.set(true);
+        return true;
+    }
+
+    static void saveIfNeeded(TypedMap parameters) {
+        if (!parameters.containsKey(DATA_FOLDER_SNAPSHOT) || SNAPSHOT_HANDLED.getAndSet(true)) {
+            return;
+        }
+
+        final File snapshotFolder = new File(parameters.<String>getTyped(DATA_FOLDER_SNAPSHOT));
+        final File dataFolder = new File(parameters.<String>getTyped(DATA_FILE_FOLDER));
+
+        LOGGER.info("Flushing all tables before saving data folder snapshot to '{}'", snapshotFolder.getAbsolutePath());
+        for (Keyspace keyspace : Keyspace.all()) {
+            for (ColumnFamilyStore cfs : keyspace.getColumnFamilyStores()) {
+                cfs.forceBlockingFlush();
+            }
+        }
+        copyToSnapshot(dataFolder, snapshotFolder);
+    }
+
+    /**
+     * Copy the data folder into a temporary folder first so that an interrupted copy never leaves a partial snapshot
+     */
+    static void copyToSnapshot(File dataFolder, File snapshotFolder) {
+        final File tmpSnapshotFolder = new File(snapshotFolder.getAbsolutePath() + ".tmp");
+        try {
+            FileUtils.deleteDirectory(tmpSnapshotFolder);
+            FileUtils.copyDirectory(dataFolder, tmpSnapshotFolder);
+            FileUtils.deleteDirectory(snapshotFolder);
+            FileUtils.moveDirectory(tmpSnapshotFolder, snapshotFolder);
+        } catch (IOException e) {
+            throw new AchillesException(String.format("Cannot save data folder snapshot %s", snapshotFolder.getAbsolutePath()), e);
+        }
+    }
+}
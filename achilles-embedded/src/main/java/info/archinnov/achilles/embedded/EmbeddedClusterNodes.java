@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.embedded;
+
+import static info.archinnov.achilles.embedded.AchillesCassandraConfig.*;
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.*;
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.cassandra.service.CassandraDaemon;
+import org.apache.cassandra.service.StorageService;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.TypedMap;
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Start additional Cassandra nodes in child JVMs so that, together with the in-process server, they form
+ * a real ring of <em>n</em> nodes on the loopback interface.
+ * <br/>
+ * <br/>
+ * Node <em>i</em> (starting from 1 for the in-process server) is bound to <em>127.0.0.i</em> and uses its own
+ * data, commit log, saved caches, hints and cdc_raw folders. All nodes share the same storage and native
+ * transport ports because Cassandra gossip and the Java driver expect a single port across the cluster,
+ * the nodes are told apart by their address. The in-process server is the only seed.
+ * <br/>
+ * <br/>
+ * <strong>On Mac OS, the loopback aliases 127.0.0.2 ... 127.0.0.n must be created beforehand
+ * (<em>sudo ifconfig lo0 alias 127.0.0.2 up</em>)</strong>
+ * <br/>
+ * <em>This class is not meant to be used directly. Please use
+ * {@code info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder.withNodes(int)} instead</em>
+ */
+public class EmbeddedClusterNodes {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedClusterNodes.class);
+
+    static final String LOOPBACK_PREFIX = "127.0.0.";
+    static final String ACHILLES_EMBEDDED_CASSANDRA_UNSAFE_DAEMON = "ACHILLES_EMBEDDED_CASSANDRA_UNSAFE_DAEMON";
+
+    private static final long RING_JOIN_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(180);
+    private static final long RING_JOIN_POLL_MS = 500;
+
+    private final List<Process> processes = new ArrayList<>();
+
+    /**
+     * Entry point of the child JVMs. The whole node configuration is passed as system properties
+     * and read by {@link AchillesCassandraConfig}
+     */
+    public static void main(String[] args) {
+        final boolean useUnsafeCassandra = Boolean.parseBoolean(System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_UNSAFE_DAEMON, "false"));
+        final CassandraDaemon cassandraDaemon = useUnsafeCassandra
+                ? new AchillesCassandraDaemon() : new CassandraDaemon();
+        cassandraDaemon.completeSetup();
+        cassandraDaemon.activate();
+    }
+
+    /**
+     * Bind the in-process server to 127.0.0.1 when its addresses have been left to their default value
+     */
+    static void configureSeedNode(TypedMap parameters) {
+        final int nodes = parameters.getTypedOr(NODES, DEFAULT_CASSANDRA_EMBEDDED_NODES);
+        Validator.validateTrue(nodes <= 254, "Cannot start more than 254 embedded Cassandra nodes on the loopback interface");
+        replaceDefaultAddress(parameters, LISTEN_ADDRESS, DEFAULT_CASSANDRA_EMBEDDED_LISTEN_ADDRESS);
+        replaceDefaultAddress(parameters, RPC_ADDRESS, DEFAULT_CASSANDRA_EMBEDDED_RPC_ADDRESS);
+        replaceDefaultAddress(parameters, BROADCAST_ADDRESS, DEFAULT_CASSANDRA_EMBEDDED_BROADCAST_ADDRESS);
+        replaceDefaultAddress(parameters, BROADCAST_RPC_ADDRESS, DEFAULT_CASSANDRA_EMBEDDED_BROADCAST_RPC_ADDRESS);
+    }
+
+    /**
+     * Start nodes 2 ... n in child JVMs, once the in-process server is up, and wait until
+     * all of them are live members of the ring
+     */
+    static EmbeddedClusterNodes startAdditionalNodes(TypedMap parameters) {
+        final int nodes = parameters.getTypedOr(NODES, DEFAULT_CASSANDRA_EMBEDDED_NODES);
+        final EmbeddedClusterNodes clusterNodes = new EmbeddedClusterNodes();
+        Runtime.getRuntime().addShutdownHook(new Thread(clusterNodes::shutdown));
+
+        final List<InetAddress> addresses = new ArrayList<>();
+        for (int nodeIndex = 2; nodeIndex <= nodes; nodeIndex++) {
+            final String address = LOOPBACK_PREFIX + nodeIndex;
+            addresses.add(toInetAddress(address));
+            clusterNodes.processes.add(clusterNodes.startNode(nodeIndex, address, parameters));
+        }
+
+        StartupPhaseTimer.time("wait for embedded Cassandra ring", () -> clusterNodes.waitForRing(addresses));
+        return clusterNodes;
+    }
+
+    void shutdown() {
+        for (Process process : processes) {
+            if (process.isAlive()) {
+                process.destroy();
+            }
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Process startNode(int nodeIndex, String address, TypedMap parameters) {
+        final File nodeFolder = new File(new File(parameters.<String>getTyped(DATA_FILE_FOLDER)).getAbsoluteFile().getParentFile(), "node" + nodeIndex);
+        if (parameters.<Boolean>getTyped(CLEAN_CASSANDRA_DATA_FILES)) {
+            FileUtils.deleteQuietly(nodeFolder);
+        }
+        final File logFile = new File(nodeFolder, "system.log");
+        final List<String> command = new ArrayList<>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getAbsolutePath());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_LISTEN_ADDRESS, address);
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_RPC_ADDRESS, address);
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_BROADCAST_ADDRESS, address);
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_BROADCAST_RPC_ADDRESS, address);
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_SEEDS, parameters.getTyped(LISTEN_ADDRESS));
+
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_THRIFT_PORT, parameters.<Integer>getTyped(CASSANDRA_THRIFT_PORT).toString());
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_CQL_PORT, parameters.<Integer>getTyped(CASSANDRA_CQL_PORT).toString());
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_STORAGE_PORT, parameters.<Integer>getTyped(CASSANDRA_STORAGE_PORT).toString());
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_STORAGE_SSL_PORT, parameters.<Integer>getTyped(CASSANDRA_STORAGE_SSL_PORT).toString());
+
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_DATA_FOLDER, createFolder(nodeFolder, "data"));
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_COMMITLOG_FOLDER, createFolder(nodeFolder, "commitlog"));
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER, createFolder(nodeFolder, "saved_caches"));
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER, createFolder(nodeFolder, "hints"));
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_CDC_RAW_FOLDER, createFolder(nodeFolder, "cdc_raw"));
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_CDC_ENABLED, System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_CDC_ENABLED, "false"));
+
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_TEST_OPTIMIZED, parameters.getTypedOr(TEST_OPTIMIZED_SETTINGS, false).toString());
+        addProperty(command, ACHILLES_EMBEDDED_CASSANDRA_UNSAFE_DAEMON, parameters.getTypedOr(USE_UNSAFE_CASSANDRA_DAEMON, false).toString());
+
+        addProperty(command, "cassandra.config.loader", AchillesCassandraConfig.class.getName());
+        addProperty(command, "cassandra.triggers_dir", System.getProperty("cassandra.triggers_dir"));
+        addProperty(command, "cassandra.embedded.concurrent.reads", System.getProperty("cassandra.embedded.concurrent.reads"));
+        addProperty(command, "cassandra.embedded.concurrent.writes", System.getProperty("cassandra.embedded.concurrent.writes"));
+        addProperty(command, "cassandra-num-tokens", System.getProperty("cassandra-num-tokens", "256"));
+        addProperty(command, "cassandra-foreground", "true");
+        addProperty(command, "cassandra.jmx.local.port", PortFinder.findAvailableBetween(7501, 7999).toString());
+        addProperty(command, "cassandra.skip_wait_for_gossip_to_settle", "0");
+        // Fresh test cluster, there is no data to stream so nodes can join without bootstrapping
+        addProperty(command, "cassandra.auto_bootstrap", "false");
+
+        command.add(EmbeddedClusterNodes.class.getName());
+
+        LOGGER.info("Starting embedded Cassandra node {} on {}, logs in '{}'", nodeIndex, address, logFile.getAbsolutePath());
+        try {
+            return new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile)
+                    .start();
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot start embedded Cassandra node %s on %s", nodeIndex, address), e);
+        }
+    }
+
+    private void waitForRing(List<InetAddress> addresses) {
+        final long deadline = System.currentTimeMillis() + RING_JOIN_TIMEOUT_MS;
+        while (true) {
+            final Set<InetAddress> liveMembers = StorageService.instance.getLiveRingMembers();
+            if (liveMembers.containsAll(addresses)) {
+                LOGGER.info("Embedded Cassandra ring formed with {} nodes", liveMembers.size());
+                return;
+            }
+
+            for (int i = 0; i < processes.size(); i++) {
+                Validator.validateTrue(processes.get(i).isAlive(), "Embedded Cassandra node %s has stopped before joining the ring, check its logs", i + 2);
+            }
+
+            if (System.currentTimeMillis() > deadline) {
+                final List<InetAddress> missing = addresses.stream()
+                        .filter(address -> !liveMembers.contains(address))
+                        .collect(Collectors.toList());
+                shutdown();
+                throw new AchillesException(format("Timeout waiting for embedded Cassandra nodes %s to join the ring", missing));
+            }
+
+            try {
+                Thread.sleep(RING_JOIN_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AchillesException("Interrupted while waiting for the embedded Cassandra ring", e);
+            }
+        }
+    }
+
+    private static void replaceDefaultAddress(TypedMap parameters, String addressParameter, String defaultAddress) {
+        if (defaultAddress.equals(parameters.getTyped(addressParameter))) {
+            parameters.put(addressParameter, LOOPBACK_PREFIX + 1);
+        }
+    }
+
+    private static void addProperty(List<String> command, String name, String value) {
+        if (value != null) {
+            command.add(format("-D%s=%s", name, value));
+        }
+    }
+
+    private static String createFolder(File nodeFolder, String name) {
+        final File folder = new File(nodeFolder, name);
+        try {
+            FileUtils.forceMkdir(folder);
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot create folder %s", folder.getAbsolutePath()), e);
+        }
+        return folder.getAbsolutePath();
+    }
+
+    private static InetAddress toInetAddress(String address) {
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            throw new AchillesException(format("Cannot resolve address %s", address), e);
+        }
+    }
+}
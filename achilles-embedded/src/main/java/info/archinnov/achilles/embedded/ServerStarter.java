@@ -83,13 +83,30 @@ public enum ServerStarter {
         if (StringUtils.isBlank(cassandraHost)) {
 
             LOGGER.debug("Do start embedded Cassandra server ");
-            validateDataFolders(parameters);
-            cleanCassandraDataFiles(parameters);
+            if (parameters.getTypedOr(TEST_OPTIMIZED_SETTINGS, false)) {
+                applyTestOptimizedSettings(parameters);
+            }
+            StartupPhaseTimer.time("validate data folders", () -> validateDataFolders(parameters));
+            StartupPhaseTimer.time("clean data folders", () -> cleanCassandraDataFiles(parameters));
+            if (parameters.containsKey(DATA_FOLDER_SNAPSHOT)) {
+                StartupPhaseTimer.time("restore data folder snapshot", () -> DataFolderSnapshot.restoreIfAvailable(parameters));
+            }
+            final boolean multiNodes = parameters.getTypedOr(NODES, DEFAULT_CASSANDRA_EMBEDDED_NODES) > 1;
+            if (multiNodes) {
+                EmbeddedClusterNodes.configureSeedNode(parameters);
+            }
             randomizePortsIfNeeded(parameters);
 
 
             // Start embedded server
-            CASSANDRA_EMBEDDED.start(parameters);
+            StartupPhaseTimer.time("start Cassandra daemon", () -> CASSANDRA_EMBEDDED.start(parameters));
+
+            if (multiNodes) {
+                final EmbeddedClusterNodes clusterNodes = EmbeddedClusterNodes.startAdditionalNodes(parameters);
+                if (parameters.containsKey(SHUTDOWN_HOOK)) {
+                    parameters.<CassandraShutDownHook>getTyped(SHUTDOWN_HOOK).addClusterNodes(clusterNodes);
+                }
+            }
         }
     }
 
@@ -139,6 +156,7 @@ public enum ServerStarter {
         System.setProperty("cassandra.embedded.concurrent.reads", parameters.getTypedOr(CASSANDRA_CONCURRENT_READS, 32).toString());
         System.setProperty("cassandra.embedded.concurrent.writes", parameters.getTypedOr(CASSANDRA_CONCURRENT_WRITES, 32).toString());
         System.setProperty("cassandra-foreground", "true");
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_TEST_OPTIMIZED, parameters.getTypedOr(TEST_OPTIMIZED_SETTINGS, false).toString());
 
         final boolean useUnsafeCassandra = parameters.getTyped(USE_UNSAFE_CASSANDRA_DAEMON);
 
@@ -171,6 +189,9 @@ public enum ServerStarter {
         } catch (InterruptedException e) {
             LOGGER.error("Timeout starting Cassandra embedded", e);
             throw new IllegalStateException("Timeout starting Cassandra embedded", e);
+        } finally {
+            // Only read by the configuration loader of this server, do not leak it to the rest of the JVM
+            System.clearProperty(ACHILLES_EMBEDDED_CASSANDRA_TEST_OPTIMIZED);
         }
 
         if (parameters.containsKey(SHUTDOWN_HOOK)) {
@@ -198,6 +219,45 @@ public enum ServerStarter {
 
     }
 
+    private void applyTestOptimizedSettings(TypedMap parameters) {
+        applyTestOptimizedSettings(parameters, new File(DEFAULT_TMPFS_FOLDER));
+    }
+
+    /**
+     * Only update the parameters. The Cassandra settings themselves are applied by
+     * {@link AchillesCassandraConfig} when the server started with these parameters loads its configuration
+     */
+    void applyTestOptimizedSettings(TypedMap parameters, File tmpfsFolder) {
+        LOGGER.info("Using test-optimized settings for embedded Cassandra server. Do not use them for production !");
+        parameters.put(USE_UNSAFE_CASSANDRA_DAEMON, true);
+
+        if (tmpfsFolder.isDirectory() && tmpfsFolder.canWrite()) {
+            final String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+            final File tmpfsRoot = new File(tmpfsFolder, "achilles_cassandra_embedded_" + pid);
+            relocateDefaultFolderToTmpfs(parameters, DATA_FILE_FOLDER, DEFAULT_ACHILLES_TEST_DATA_FOLDER, tmpfsRoot);
+            relocateDefaultFolderToTmpfs(parameters, COMMIT_LOG_FOLDER, DEFAULT_ACHILLES_TEST_COMMIT_LOG_FOLDER, tmpfsRoot);
+            relocateDefaultFolderToTmpfs(parameters, SAVED_CACHES_FOLDER, DEFAULT_ACHILLES_TEST_SAVED_CACHES_FOLDER, tmpfsRoot);
+            relocateDefaultFolderToTmpfs(parameters, HINTS_FOLDER, DEFAULT_ACHILLES_TEST_HINTS_FOLDER, tmpfsRoot);
+            relocateDefaultFolderToTmpfs(parameters, CDC_RAW_FOLDER, DEFAULT_ACHILLES_TEST_CDC_RAW_FOLDER, tmpfsRoot);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> FileUtils.deleteQuietly(tmpfsRoot)));
+        } else {
+            LOGGER.info("No writable tmpfs folder '{}' found, keeping data folders on disk", tmpfsFolder.getAbsolutePath());
+        }
+    }
+
+    private void relocateDefaultFolderToTmpfs(TypedMap parameters, String folderParameter, String defaultFolder, File tmpfsRoot) {
+        if (defaultFolder.equals(parameters.getTyped(folderParameter))) {
+            final File tmpfsFolder = new File(tmpfsRoot, new File(defaultFolder).getName());
+            try {
+                FileUtils.forceMkdir(tmpfsFolder);
+            } catch (IOException e) {
+                throw new AchillesException(String.format("Cannot create tmpfs folder %s", tmpfsFolder.getAbsolutePath()), e);
+            }
+            LOGGER.info("Relocating '{}' to tmpfs folder '{}'", folderParameter, tmpfsFolder.getAbsolutePath());
+            parameters.put(folderParameter, tmpfsFolder.getAbsolutePath());
+        }
+    }
+
     private void validateDataFolders(Map<String, Object> parameters) {
         final String dataFolder = (String) parameters.get(DATA_FILE_FOLDER);
         final String commitLogFolder = (String) parameters.get(COMMIT_LOG_FOLDER);
@@ -222,6 +282,7 @@ public enum ServerStarter {
         System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER, savedCachesFolder);
         System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER, hintsFolder);
         System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_CDC_RAW_FOLDER, cdcRawFolder);
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_CDC_ENABLED, parameters.getOrDefault(CDC_ENABLED, false).toString());
 
     }
 
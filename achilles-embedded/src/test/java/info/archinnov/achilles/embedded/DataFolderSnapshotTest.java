@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.embedded;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import info.archinnov.achilles.type.TypedMap;
+
+public class DataFolderSnapshotTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_save_then_restore_data_folder_and_skip_startup_scripts() throws Exception {
+        //Given
+        final File firstRunData = temporaryFolder.newFolder("first_run_data");
+        FileUtils.write(new File(firstRunData, "ks/table-1234/mc-1-big-Data.db"), "sstable", StandardCharsets.UTF_8);
+        final File snapshotFolder = new File(temporaryFolder.getRoot(), "snapshot");
+        final File secondRunData = temporaryFolder.newFolder("second_run_data");
+        final TypedMap parameters = TypedMap.of(DATA_FOLDER_SNAPSHOT, snapshotFolder.getAbsolutePath());
+        parameters.put(DATA_FILE_FOLDER, secondRunData.getAbsolutePath());
+
+        //When
+        DataFolderSnapshot.copyToSnapshot(firstRunData, snapshotFolder);
+        final boolean restored = DataFolderSnapshot.restoreIfAvailable(parameters);
+
+        //Then
+        assertThat(restored).isTrue();
+        assertThat(new File(snapshotFolder.getAbsolutePath() + ".tmp")).doesNotExist();
+        assertThat(FileUtils.readFileToString(new File(secondRunData, "ks/table-1234/mc-1-big-Data.db"), StandardCharsets.UTF_8)).isEqualTo("sstable");
+        assertThat(AchillesInitializer.isRestoredFromSnapshot(parameters)).isTrue();
+    }
+
+    @Test
+    public void should_execute_startup_scripts_when_no_snapshot_exists() throws Exception {
+        //Given
+        final File dataFolder = temporaryFolder.newFolder("data");
+        final TypedMap parameters = TypedMap.of(DATA_FOLDER_SNAPSHOT, new File(temporaryFolder.getRoot(), "snapshot").getAbsolutePath());
+        parameters.put(DATA_FILE_FOLDER, dataFolder.getAbsolutePath());
+
+        //When
+        final boolean restored = DataFolderSnapshot.restoreIfAvailable(parameters);
+
+        //Then
+        assertThat(restored).isFalse();
+        assertThat(dataFolder.list()).isEmpty();
+        assertThat(AchillesInitializer.isRestoredFromSnapshot(parameters)).isFalse();
+    }
+
+    @Test
+    public void should_not_restore_snapshot_over_existing_data() throws Exception {
+        //Given
+        final File snapshotFolder = temporaryFolder.newFolder("snapshot");
+        FileUtils.write(new File(snapshotFolder, "from_snapshot"), "snapshot", StandardCharsets.UTF_8);
+        final File dataFolder = temporaryFolder.newFolder("data");
+        FileUtils.write(new File(dataFolder, "existing"), "data", StandardCharsets.UTF_8);
+        final TypedMap parameters = TypedMap.of(DATA_FOLDER_SNAPSHOT, snapshotFolder.getAbsolutePath());
+        parameters.put(DATA_FILE_FOLDER, dataFolder.getAbsolutePath());
+
+        //When
+        final boolean restored = DataFolderSnapshot.restoreIfAvailable(parameters);
+
+        //Then
+        assertThat(restored).isFalse();
+        assertThat(dataFolder.list()).containsOnly("existing");
+        assertThat(AchillesInitializer.isRestoredFromSnapshot(parameters)).isFalse();
+    }
+
+    @Test
+    public void should_relocate_default_data_folders_to_tmpfs_with_test_optimized_settings() throws Exception {
+        //Given
+        final File tmpfsFolder = temporaryFolder.newFolder("shm");
+        final File customCommitLog = temporaryFolder.newFolder("commitlog");
+        final TypedMap parameters = TypedMap.of(DATA_FILE_FOLDER, DEFAULT_ACHILLES_TEST_DATA_FOLDER);
+        parameters.put(COMMIT_LOG_FOLDER, customCommitLog.getAbsolutePath());
+
+        //When
+        ServerStarter.CASSANDRA_EMBEDDED.applyTestOptimizedSettings(parameters, tmpfsFolder);
+
+        //Then
+        final String relocatedData = parameters.getTyped(DATA_FILE_FOLDER);
+        assertThat(relocatedData).startsWith(tmpfsFolder.getAbsolutePath() + File.separator + "achilles_cassandra_embedded_");
+        assertThat(new File(relocatedData)).isDirectory();
+        assertThat(parameters.<String>getTyped(COMMIT_LOG_FOLDER)).isEqualTo(customCommitLog.getAbsolutePath());
+        assertThat(parameters.<Boolean>getTyped(USE_UNSAFE_CASSANDRA_DAEMON)).isTrue();
+        assertThat(System.getProperty(AchillesCassandraConfig.ACHILLES_EMBEDDED_CASSANDRA_TEST_OPTIMIZED)).isNull();
+    }
+
+    @Test
+    public void should_keep_data_folders_on_disk_without_tmpfs() throws Exception {
+        //Given
+        final TypedMap parameters = TypedMap.of(DATA_FILE_FOLDER, DEFAULT_ACHILLES_TEST_DATA_FOLDER);
+
+        //When
+        ServerStarter.CASSANDRA_EMBEDDED.applyTestOptimizedSettings(parameters, new File(temporaryFolder.getRoot(), "no_tmpfs"));
+
+        //Then
+        assertThat(parameters.<String>getTyped(DATA_FILE_FOLDER)).isEqualTo(DEFAULT_ACHILLES_TEST_DATA_FOLDER);
+    }
+}
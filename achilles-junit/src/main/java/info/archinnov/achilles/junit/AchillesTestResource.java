@@ -20,9 +20,12 @@ import static info.archinnov.achilles.junit.AchillesTestResource.Steps.BOTH;
 import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.util.stream.Collectors.toList;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
@@ -33,12 +36,14 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 
 import info.archinnov.achilles.embedded.CassandraEmbeddedServer;
 import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
+import info.archinnov.achilles.internals.runtime.WrittenTablesTracker;
 import info.archinnov.achilles.logger.AchillesLoggers;
 import info.archinnov.achilles.script.ScriptExecutor;
 import info.archinnov.achilles.type.TypedMap;
@@ -98,12 +103,15 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
 
     private final TypedMap cassandraParams;
     private final Optional<String> keyspaceName;
-    private final List<PreparedStatement> truncateStatements;
+    private final Map<String, PreparedStatement> truncateStatements;
     private final CassandraEmbeddedServer server;
     private final T managerFactory;
     private final Session session;
     private final ScriptExecutor scriptExecutor;
     private final Steps steps;
+    private final Optional<WrittenTablesTracker> writtenTablesTracker;
+    private final boolean truncateInProcess;
+    private boolean allTablesTruncated = false;
 
     public AchillesTestResource(BiFunction<Cluster, StatementsCache, T> managerFactoryBuilder, TypedMap cassandraParams,
                                 Optional<String> keyspaceName, List<String> tablesToTruncate, List<Class<?>> entityClassesToTruncate) {
@@ -112,6 +120,20 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
 
     public AchillesTestResource(BiFunction<Cluster, StatementsCache, T> managerFactoryBuilder, TypedMap cassandraParams,
                                 Optional<String> keyspaceName, Steps cleanUpSteps, List<String> tablesToTruncate, List<Class<?>> entityClassesToTruncate) {
+        this(managerFactoryBuilder, cassandraParams, keyspaceName, cleanUpSteps, false, tablesToTruncate, entityClassesToTruncate);
+    }
+
+    public AchillesTestResource(BiFunction<Cluster, StatementsCache, T> managerFactoryBuilder, TypedMap cassandraParams,
+                                Optional<String> keyspaceName, Steps cleanUpSteps, boolean truncateOnlyWrittenTables,
+                                List<String> tablesToTruncate, List<Class<?>> entityClassesToTruncate) {
+        this(managerFactoryBuilder, cassandraParams, keyspaceName, cleanUpSteps, truncateOnlyWrittenTables, false,
+                tablesToTruncate, entityClassesToTruncate);
+    }
+
+    public AchillesTestResource(BiFunction<Cluster, StatementsCache, T> managerFactoryBuilder, TypedMap cassandraParams,
+                                Optional<String> keyspaceName, Steps cleanUpSteps, boolean truncateOnlyWrittenTables,
+                                boolean truncateInProcess, List<String> tablesToTruncate, List<Class<?>> entityClassesToTruncate) {
+        this.truncateInProcess = truncateInProcess;
         this.cassandraParams = cassandraParams;
         this.keyspaceName = keyspaceName;
         this.steps = cleanUpSteps;
@@ -120,6 +142,9 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
         this.scriptExecutor = new ScriptExecutor(this.session);
         this.managerFactory = buildManagerFactory(this.server, managerFactoryBuilder);
         this.truncateStatements = determineTableToTruncate(this.managerFactory, this.session, tablesToTruncate, entityClassesToTruncate);
+        this.writtenTablesTracker = truncateOnlyWrittenTables && this.managerFactory != null
+                ? Optional.of(this.managerFactory.trackWrittenTables())
+                : Optional.empty();
     }
 
     public Session getNativeSession() {
@@ -158,7 +183,7 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
         return session;
     }
 
-    private List<PreparedStatement> determineTableToTruncate(T managerFactory, Session session, List<String> tablesToTruncate, List<Class<?>> entityClassesToTruncate) {
+    private Map<String, PreparedStatement> determineTableToTruncate(T managerFactory, Session session, List<String> tablesToTruncate, List<Class<?>> entityClassesToTruncate) {
 
         entityClassesToTruncate
                 .forEach(clazz -> validateTrue(managerFactory.staticTableNameFor(clazz).isPresent(),
@@ -171,11 +196,15 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
 
         maybeGenerateTruncateStatement(session, tablesToTruncate);
 
-        return
-                Stream.concat(tablesToTruncate.stream(),
-                        entityClassesToTruncate.stream().map(clazz -> managerFactory.staticTableNameFor(clazz).get().toLowerCase()))
-                        .map(TABLES_TO_TRUNCATE::get)
-                        .collect(toList());
+        final Map<String, PreparedStatement> truncateStatements = new LinkedHashMap<>();
+        Stream.concat(tablesToTruncate.stream(),
+                entityClassesToTruncate.stream().map(clazz -> managerFactory.staticTableNameFor(clazz).get().toLowerCase()))
+                .forEach(table -> truncateStatements.put(qualifiedTableName(session, table), TABLES_TO_TRUNCATE.get(table)));
+        return truncateStatements;
+    }
+
+    private static String qualifiedTableName(Session session, String table) {
+        return WrittenTablesTracker.qualifiedTableName(table, session.getLoggedKeyspace());
     }
 
     private void maybeGenerateTruncateStatement(Session session, List<String> tablesToTruncate) {
@@ -196,14 +225,55 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
             truncateTables();
     }
 
+    /**
+     * Truncate the configured tables. If the resource has been built with <em>truncateOnlyWrittenTables()</em>,
+     * only the tables written through the manager factory since the last truncation are truncated.
+     * <br/>
+     * TRUNCATE statements are executed concurrently. If the resource has been built with <em>truncateTablesInProcess()</em>
+     * and the Cassandra server runs in the current JVM as a single node, tables are truncated directly on the server
+     * column family stores instead, falling back to TRUNCATE statements for the tables not found there
+     */
     public void truncateTables() {
-        truncateStatements
-                .forEach(statement -> {
+        final Set<String> tablesToTruncate = selectTablesToTruncate();
+        if (tablesToTruncate.isEmpty()) {
+            return;
+        }
+
+        if (truncateInProcess && server.canTruncateInProcess()) {
+            if (DML_LOG.isDebugEnabled()) {
+                DML_LOG.debug("Truncating in process tables " + tablesToTruncate);
+            }
+            executeTruncateStatements(server.truncateTablesInProcess(tablesToTruncate));
+        } else {
+            executeTruncateStatements(tablesToTruncate);
+        }
+    }
+
+    private void executeTruncateStatements(Set<String> tablesToTruncate) {
+        final List<ResultSetFuture> futures = tablesToTruncate
+                .stream()
+                .map(truncateStatements::get)
+                .map(statement -> {
                     if (DML_LOG.isDebugEnabled()) {
                         DML_LOG.debug(statement.getQueryString());
                     }
-                    session.execute(statement.bind());
-                });
+                    return session.executeAsync(statement.bind());
+                })
+                .collect(toList());
+        futures.forEach(ResultSetFuture::getUninterruptibly);
+    }
+
+    private Set<String> selectTablesToTruncate() {
+        final Set<String> tablesToTruncate = new HashSet<>(truncateStatements.keySet());
+        if (writtenTablesTracker.isPresent()) {
+            final Set<String> writtenTables = writtenTablesTracker.get().drain();
+            // Truncate all tables the first time since they may contain data from previous test classes
+            if (allTablesTruncated) {
+                tablesToTruncate.retainAll(writtenTables);
+            }
+        }
+        allTablesTruncated = true;
+        return tablesToTruncate;
     }
 
     public enum Steps {
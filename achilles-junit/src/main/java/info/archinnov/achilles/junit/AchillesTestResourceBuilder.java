@@ -64,6 +64,8 @@ public class AchillesTestResourceBuilder {
     private List<String> scriptLocations = new ArrayList<>();
     private Map<String, Map<String, Object>> scriptTemplates = new HashMap<>();
     private List<String> tablesToTruncate = new ArrayList<>();
+    private boolean truncateOnlyWrittenTables = false;
+    private boolean truncateInProcess = false;
 
     private AchillesTestResourceBuilder() {
     }
@@ -206,6 +208,33 @@ public class AchillesTestResourceBuilder {
         return this;
     }
 
+    /**
+     * Only truncate the tables that have been written (INSERT, UPDATE or DELETE) through the ManagerFactory
+     * since the last truncation, among the configured tables to truncate. All the configured tables are
+     * truncated the first time.
+     * <br/>
+     * <strong>Writes done directly with the native session or the ScriptExecutor are not tracked,
+     * do not use this option if your tests insert data that way</strong>
+     *
+     * @return AchillesTestResourceBuilder
+     */
+    public AchillesTestResourceBuilder truncateOnlyWrittenTables() {
+        this.truncateOnlyWrittenTables = true;
+        return this;
+    }
+
+    /**
+     * When the Cassandra server runs in the current JVM, truncate the tables directly on its column family stores
+     * instead of sending TRUNCATE statements. Tables not found in the local schema are still truncated with
+     * TRUNCATE statements. This option has no effect with an external Cassandra server or with several embedded nodes
+     *
+     * @return AchillesTestResourceBuilder
+     */
+    public AchillesTestResourceBuilder truncateTablesInProcess() {
+        this.truncateInProcess = true;
+        return this;
+    }
+
     /**
      * Provide a lambda function to build the ManagerFactory instance with the given Cluster object
      *
@@ -214,7 +243,8 @@ public class AchillesTestResourceBuilder {
      */
     public <T extends AbstractManagerFactory> AchillesTestResource<T> build(BiFunction<Cluster, StatementsCache, T> managerFactoryBuilder) {
         final TypedMap cassandraParams = buildCassandraParams();
-        return new AchillesTestResource<>(managerFactoryBuilder, cassandraParams, keyspace, cleanupSteps, tablesToTruncate, entityClassesToCleanUp);
+        return new AchillesTestResource<>(managerFactoryBuilder, cassandraParams, keyspace, cleanupSteps, truncateOnlyWrittenTables,
+                truncateInProcess, tablesToTruncate, entityClassesToCleanUp);
     }
 
     /**
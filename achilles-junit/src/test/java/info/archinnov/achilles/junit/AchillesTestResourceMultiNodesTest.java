@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.junit;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.KEYSPACE_REPLICATION_FACTOR;
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.NODES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+
+import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
+
+/**
+ * Starts a 2 nodes embedded ring, it runs in its own JVM (see the <em>multi-nodes-test</em> surefire execution)
+ */
+public class AchillesTestResourceMultiNodesTest {
+
+    private AchillesTestResource<AbstractManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .withCassandraParams(twoNodesWithReplicationFactorTwo())
+            .withScript("AchillesTestResourceMultiNodesTest/schema.cql")
+            .tablesToTruncate("simple_table")
+            .truncateTablesInProcess()
+            .build((cluster, statementsCache) -> (AbstractManagerFactory) null);
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_truncate_tables_on_every_node() throws Exception {
+        //Given
+        session.execute(new SimpleStatement("INSERT INTO simple_table(id, value) VALUES(1, 'val')")
+                .setConsistencyLevel(ConsistencyLevel.ALL));
+
+        //When
+        resource.truncateTables();
+
+        //Then
+        assertThat(session.execute(new SimpleStatement("SELECT * FROM simple_table")
+                .setConsistencyLevel(ConsistencyLevel.ALL)).all()).isEmpty();
+    }
+
+    private static Map<String, Object> twoNodesWithReplicationFactorTwo() {
+        final Map<String, Object> params = new HashMap<>();
+        params.put(NODES, 2);
+        params.put(KEYSPACE_REPLICATION_FACTOR, 2);
+        return params;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.junit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
+
+public class AchillesTestResourceTruncateTest {
+
+    private AchillesTestResource<AbstractManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .withScript("AchillesTestResourceTruncateTest/schema.cql")
+            .tablesToTruncate("\"CaseSensitiveTable\"")
+            .build((cluster, statementsCache) -> (AbstractManagerFactory) null);
+
+    private AchillesTestResource<AbstractManagerFactory> inProcessResource = AchillesTestResourceBuilder
+            .forJunit()
+            .withScript("AchillesTestResourceTruncateTest/schema.cql")
+            .tablesToTruncate("\"CaseSensitiveTable\"")
+            .truncateTablesInProcess()
+            .build((cluster, statementsCache) -> (AbstractManagerFactory) null);
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_truncate_case_sensitive_table() throws Exception {
+        //Given
+        session.execute("INSERT INTO \"CaseSensitiveTable\"(id, value) VALUES(1, 'val')");
+
+        //When
+        resource.truncateTables();
+
+        //Then
+        assertThat(session.execute("SELECT * FROM \"CaseSensitiveTable\"").all()).isEmpty();
+    }
+
+    @Test
+    public void should_truncate_case_sensitive_table_in_process() throws Exception {
+        //Given
+        session.execute("INSERT INTO \"CaseSensitiveTable\"(id, value) VALUES(1, 'val')");
+
+        //When
+        inProcessResource.truncateTables();
+
+        //Then
+        assertThat(session.execute("SELECT * FROM \"CaseSensitiveTable\"").all()).isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+
+ * Indicate that a <strong>blob</strong> column stores one chunk of a large payload.
+ * The payload is split into chunks of <em>chunkSize()</em> bytes, one chunk per clustering row, so the entity
+ * should have a single <strong>int</strong> clustering column holding the chunk index.
+ * Each partition stores one payload. The chunk index -1 is reserved for a manifest row pointing to the chunks
+ * of the current payload, so that overwriting a payload is atomic for readers.
+
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Table
+ * public class Document {
+ *
+ *     {@literal @}PartitionKey
+ *     private UUID id;
+ *
+ *     {@literal @}ClusteringColumn
+ *     private int chunk;
+ *
+ *     {@literal @}Column
+ *     <strong>{@literal @}ChunkedBlob(chunkSize = 512 * 1024)</strong>
+ *     private ByteBuffer content;
+ * }
+
+ * //Write a payload, chunks are inserted with at most writeParallelism() requests in flight
+ * manager.chunkedBlob(Document_AchillesMeta.content).write(inputStream, documentId);
+
+ * //Read the payload back as a stream
+ * InputStream payload = manager.chunkedBlob(Document_AchillesMeta.content).read(documentId);
+ * </code></pre>
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface ChunkedBlob {
+
+    /**
+     * Size of each chunk in bytes, default = 1MB
+     */
+    int chunkSize() default 1024 * 1024;
+
+    /**
+     * Maximum number of chunk inserts in flight when writing a payload, default = 4
+     */
+    int writeParallelism() default 4;
+
+    /**
+     * Number of chunks fetched ahead when reading a payload, default = 2
+     */
+    int prefetchChunks() default 2;
+}
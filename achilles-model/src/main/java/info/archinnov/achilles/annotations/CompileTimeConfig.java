@@ -41,6 +41,8 @@ import info.archinnov.achilles.type.strategy.NamingStrategy;
  *     See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Compile-Time-Config"> for more details</li>
  *     <li><em>projectName()</em>: optionally the name of your project in the context of multi-project support.
  *     See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Multi-Project-Support"> for more details</li>
+ *     <li><em>readOnlyBlobViews()</em>: whether <strong>ByteBuffer</strong> columns are read as read-only views
+ *     over the driver buffers, default = false</li>
  * </ul>
  * <br/>
  * See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Compile-Time-Config">Configuring Achilles at compile time</a> for further details
@@ -79,4 +81,11 @@ public @interface CompileTimeConfig {
      * See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Multi-Project-Support"> for more details
      */
     String projectName() default "";
+
+    /**
+     * Expose <strong>ByteBuffer</strong> columns read from Cassandra as read-only views
+     * over the buffers returned by the driver, default = false.
+     * In both cases the value is not copied
+     */
+    boolean readOnlyBlobViews() default false;
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+
+ * Marks an interface as a read-only projection of an entity. Each getter of the interface
+ * must match a non-computed column of the entity, by field name and type.
+ * <br/>
+ * <strong>Achilles</strong> generates an implementation class <em>UserSummary_Projection</em>
+ * and a <em>selectAs_UserSummary(...)</em> method on the entity DSL that only fetches the projected columns
+ * for a whole partition, using a statically prepared statement
+ * <pre class="code"><code class="java">
+ * <strong>{@literal @}Projection(of = UserEntity.class)</strong>
+ * public interface UserSummary {
+ *     Long getId();
+ *     String getLogin();
+ * }
+ *
+ * List&lt;UserSummary&gt; summaries = manager.dsl().selectAs_UserSummary(id).getList();
+ * </code></pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Projection {
+
+    /**
+     * (<strong>Mandatory</strong>) The entity class (table or materialized view) from which the columns are projected
+     */
+    Class<?> of();
+}
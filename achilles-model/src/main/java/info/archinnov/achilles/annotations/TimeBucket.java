@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+
+ * Indicate that a partition key component is a time bucket derived from a time column.
+ * On insert, update and delete, the bucket is computed from the <em>source()</em> column
+ * by truncating its value to the <em>unit()</em>, so that time series partitions do not grow unbounded.
+ * <br/>
+ * The annotated field should be a <strong>@PartitionKey</strong> of type <strong>Long</strong> (epoch millis of the bucket start)
+ * or <strong>java.util.Date</strong>. The source column should be the first <strong>@ClusteringColumn</strong>
+ * of type <strong>java.util.Date</strong>, <strong>Long</strong> (epoch millis) or <strong>java.time.Instant</strong>.
+ * Only one time bucket is allowed per entity.
+
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Table
+ * public class SensorEvent {
+ *
+ *     {@literal @}PartitionKey(1)
+ *     private String sensorId;
+ *
+ *     {@literal @}PartitionKey(2)
+ *     <strong>{@literal @}TimeBucket(source = "time", unit = TimeUnit.HOURS)</strong>
+ *     private Long bucket;
+ *
+ *     {@literal @}ClusteringColumn
+ *     private Date time;
+ *
+ *     ...
+ * }
+
+ * //Read all events of a sensor between 2 dates across buckets, 4 buckets read concurrently
+ * Stream&lt;SensorEvent&gt; events = manager.dsl().betweenTimes(sensorId, from, to).withParallelism(4).stream();
+ * </code></pre>
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface TimeBucket {
+
+    /**
+     * Name of the field holding the time from which the bucket is derived
+     */
+    String source();
+
+    /**
+     * Size of a bucket, default = HOURS
+     */
+    TimeUnit unit() default TimeUnit.HOURS;
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.batch;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ExecutionInfo;
+
+/**
+ * Combined execution info of the batches sent for a <em>managerFactory.batch()</em> unit of work
+ * <pre class="code"><code class="java">
+ * BatchExecutionInfo info = managerFactory
+ *     .batch()
+ *     .add(userManager.crud().insert(user))
+ *     .add(userByEmailManager.crud().insert(userByEmail))
+ *     .executeWithStats();
+ *
+ * assert info.batchCount() == 1;
+ * </code></pre>
+ */
+public class BatchExecutionInfo {
+
+    private final BatchStatement.Type type;
+    private final int statementCount;
+    private final List<ExecutionInfo> executionInfos;
+
+    public BatchExecutionInfo(BatchStatement.Type type, int statementCount, List<ExecutionInfo> executionInfos) {
+        this.type = type;
+        this.statementCount = statementCount;
+        this.executionInfos = executionInfos;
+    }
+
+    /**
+     * @return LOGGED or UNLOGGED
+     */
+    public BatchStatement.Type type() {
+        return type;
+    }
+
+    /**
+     * @return number of statements of the unit of work
+     */
+    public int statementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return number of batches sent to Cassandra after grouping by partition and splitting by size
+     */
+    public int batchCount() {
+        return executionInfos.size();
+    }
+
+    /**
+     * @return execution info of each batch, in the order they have been built
+     */
+    public List<ExecutionInfo> executionInfos() {
+        return executionInfos;
+    }
+
+    /**
+     * @return server-side warnings of all the batches (e.g. batch size warnings)
+     */
+    public List<String> warnings() {
+        return executionInfos
+                .stream()
+                .flatMap(x -> x.getWarnings().stream())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return format("BatchExecutionInfo{type=%s, statements=%s, batches=%s}", type, statementCount, batchCount());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import java.util.BitSet;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Vector of <strong>boolean</strong> values, stored as a bitmap
+ */
+public class BooleanVector extends ColumnVector {
+
+    private final BitSet values;
+
+    public BooleanVector(String name, DataType cqlType, int capacity) {
+        super(name, cqlType, capacity);
+        this.values = new BitSet(capacity);
+    }
+
+    public void append(boolean value) {
+        values.set(size++, value);
+    }
+
+    public boolean getBoolean(int row) {
+        checkRow(row);
+        return values.get(row);
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return isNull(row) ? null : values.get(row);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import java.util.BitSet;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Values of a single column for all the rows of a {@link ColumnarBatch}.
+ * <br/>
+ * Null values are tracked in a bitmap, see {@link #isNull(int)}. The value returned
+ * by typed accessors for a null row is the default value of the type (0, false, null)
+ */
+public abstract class ColumnVector {
+
+    protected final String name;
+    protected final DataType cqlType;
+    protected final BitSet nulls;
+    protected int size;
+
+    protected ColumnVector(String name, DataType cqlType, int capacity) {
+        this.name = name;
+        this.cqlType = cqlType;
+        this.nulls = new BitSet(capacity);
+    }
+
+    /**
+     * @return field name of the entity if the column is mapped, CQL column name otherwise
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return CQL type of the column
+     */
+    public DataType cqlType() {
+        return cqlType;
+    }
+
+    /**
+     * @return number of values in this vector
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        checkRow(row);
+        return nulls.get(row);
+    }
+
+    /**
+     * @return copy of the null bitmap, bit <em>i</em> is set if the value at row <em>i</em> is null
+     */
+    public BitSet nullBitmap() {
+        return (BitSet) nulls.clone();
+    }
+
+    /**
+     * @return boxed value at the given row, or null
+     */
+    public abstract Object getObject(int row);
+
+    public void appendNull() {
+        nulls.set(size);
+        size++;
+    }
+
+    protected void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for column '" + name + "' of size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{name='" + name + "', cqlType=" + cqlType + ", size=" + size + "}";
+    }
+}
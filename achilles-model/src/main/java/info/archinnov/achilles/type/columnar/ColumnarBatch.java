@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import static info.archinnov.achilles.validation.Validator.validateInstanceOf;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch of rows decoded column by column, without creating entity instances.
+ * <br/>
+ * Each selected column is exposed as a {@link ColumnVector}, named after the entity field
+ * (or after the CQL column for columns not mapped in the entity)
+ * <pre class="code"><code class="java">
+ * Iterator&lt;ColumnarBatch&gt; batches = manager.dsl().select().allColumns_FromBaseTable().where().id().Eq(id)
+ *      .columnarBatches(10_000);
+ * while (batches.hasNext()) {
+ *     ColumnarBatch batch = batches.next();
+ *     LongVector counts = batch.column("count", LongVector.class);
+ *     for (int i = 0; i &lt; batch.rowCount(); i++) {
+ *         total += counts.getLong(i);
+ *     }
+ * }
+ * </code></pre>
+ */
+public class ColumnarBatch {
+
+    private final int rowCount;
+    private final List<ColumnVector> columns;
+    private final Map<String, ColumnVector> columnsByName = new LinkedHashMap<>();
+
+    public ColumnarBatch(int rowCount, List<ColumnVector> columns) {
+        this.rowCount = rowCount;
+        this.columns = Collections.unmodifiableList(columns);
+        columns.forEach(column -> columnsByName.put(column.name(), column));
+    }
+
+    /**
+     * @return number of rows in this batch
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return column vectors, in the order of the selected columns
+     */
+    public List<ColumnVector> columns() {
+        return columns;
+    }
+
+    /**
+     * @param name entity field name or CQL column name
+     * @return the column vector with the given name
+     */
+    public ColumnVector column(String name) {
+        final ColumnVector column = columnsByName.get(name);
+        validateNotNull(column, "Cannot find column '%s' in columnar batch, available columns are %s", name, columnsByName.keySet());
+        return column;
+    }
+
+    /**
+     * @param name       entity field name or CQL column name
+     * @param vectorType expected vector type
+     * @return the column vector with the given name, cast to the expected vector type
+     */
+    public <T extends ColumnVector> T column(String name, Class<T> vectorType) {
+        final ColumnVector column = column(name);
+        validateInstanceOf(column, vectorType, "Column '%s' is a %s, not a %s",
+                name, column.getClass().getSimpleName(), vectorType.getSimpleName());
+        return vectorType.cast(column);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarBatch{rowCount=" + rowCount + ", columns=" + columns + "}";
+    }
+}
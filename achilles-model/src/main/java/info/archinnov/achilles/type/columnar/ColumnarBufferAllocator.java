@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocator for the buffers backing primitive column vectors of a {@link ColumnarBatch}.
+ * <br/>
+ * Use {@link #OFF_HEAP} for very large exports to keep the column values outside of the Java heap
+ */
+@FunctionalInterface
+public interface ColumnarBufferAllocator {
+
+    /**
+     * Allocate buffers on the Java heap
+     */
+    ColumnarBufferAllocator HEAP = ByteBuffer::allocate;
+
+    /**
+     * Allocate direct (off-heap) buffers
+     */
+    ColumnarBufferAllocator OFF_HEAP = ByteBuffer::allocateDirect;
+
+    /**
+     * Allocate a buffer of the given capacity
+     *
+     * @param capacityInBytes capacity in bytes
+     * @return a new buffer, with position 0 and limit = capacity
+     */
+    ByteBuffer allocate(int capacityInBytes);
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Dictionary-encoded vector of <strong>text</strong>, <strong>varchar</strong> and <strong>ascii</strong> values.
+ * <br/>
+ * Each distinct value of the batch is stored once in the dictionary, rows only hold the index
+ * of their value in the dictionary (-1 for null)
+ */
+public class DictionaryStringVector extends ColumnVector {
+
+    private final IntBuffer codes;
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+    public DictionaryStringVector(String name, DataType cqlType, int capacity, ColumnarBufferAllocator allocator) {
+        super(name, cqlType, capacity);
+        this.codes = allocator.allocate(capacity * Integer.BYTES).asIntBuffer();
+    }
+
+    public void append(String value) {
+        Integer code = dictionaryIndex.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            dictionaryIndex.put(value, code);
+        }
+        codes.put(size++, code);
+    }
+
+    @Override
+    public void appendNull() {
+        codes.put(size, -1);
+        super.appendNull();
+    }
+
+    /**
+     * @return dictionary code of the value at the given row, -1 if null
+     */
+    public int getCode(int row) {
+        checkRow(row);
+        return codes.get(row);
+    }
+
+    public String getString(int row) {
+        final int code = getCode(row);
+        return code < 0 ? null : dictionary.get(code);
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return getString(row);
+    }
+
+    /**
+     * @return distinct values of this vector, indexed by code
+     */
+    public List<String> dictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    /**
+     * @return read-only view of the codes, from index 0 to {@link #size()}
+     */
+    public IntBuffer codes() {
+        final IntBuffer view = codes.asReadOnlyBuffer();
+        view.position(0).limit(size);
+        return view;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import java.nio.DoubleBuffer;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Vector of <strong>double</strong> and <strong>float</strong> values
+ */
+public class DoubleVector extends ColumnVector {
+
+    private final DoubleBuffer values;
+
+    public DoubleVector(String name, DataType cqlType, int capacity, ColumnarBufferAllocator allocator) {
+        super(name, cqlType, capacity);
+        this.values = allocator.allocate(capacity * Double.BYTES).asDoubleBuffer();
+    }
+
+    public void append(double value) {
+        values.put(size++, value);
+    }
+
+    @Override
+    public void appendNull() {
+        values.put(size, 0d);
+        super.appendNull();
+    }
+
+    public double getDouble(int row) {
+        checkRow(row);
+        return values.get(row);
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return isNull(row) ? null : values.get(row);
+    }
+
+    /**
+     * @return read-only view of the values, from index 0 to {@link #size()}
+     */
+    public DoubleBuffer values() {
+        final DoubleBuffer view = values.asReadOnlyBuffer();
+        view.position(0).limit(size);
+        return view;
+    }
+
+    /**
+     * @return copy of the values as a Java array
+     */
+    public double[] toArray() {
+        final double[] array = new double[size];
+        values().get(array);
+        return array;
+    }
+}
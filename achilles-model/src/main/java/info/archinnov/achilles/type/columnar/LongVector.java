@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import java.nio.LongBuffer;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Vector of <strong>bigint</strong>, <strong>counter</strong>, <strong>timestamp</strong> (epoch milliseconds)
+ * and <strong>time</strong> (nanoseconds of the day) values
+ */
+public class LongVector extends ColumnVector {
+
+    private final LongBuffer values;
+
+    public LongVector(String name, DataType cqlType, int capacity, ColumnarBufferAllocator allocator) {
+        super(name, cqlType, capacity);
+        this.values = allocator.allocate(capacity * Long.BYTES).asLongBuffer();
+    }
+
+    public void append(long value) {
+        values.put(size++, value);
+    }
+
+    @Override
+    public void appendNull() {
+        values.put(size, 0L);
+        super.appendNull();
+    }
+
+    public long getLong(int row) {
+        checkRow(row);
+        return values.get(row);
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return isNull(row) ? null : values.get(row);
+    }
+
+    /**
+     * @return read-only view of the values, from index 0 to {@link #size()}
+     */
+    public LongBuffer values() {
+        final LongBuffer view = values.asReadOnlyBuffer();
+        view.position(0).limit(size);
+        return view;
+    }
+
+    /**
+     * @return copy of the values as a Java array
+     */
+    public long[] toArray() {
+        final long[] array = new long[size];
+        values().get(array);
+        return array;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.columnar;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Vector of values without a primitive representation (collections, UDT, uuid, blob, decimal ...)
+ * or of columns mapped with a codec, holding the decoded Java values
+ */
+public class ObjectVector extends ColumnVector {
+
+    private final Object[] values;
+
+    public ObjectVector(String name, DataType cqlType, int capacity) {
+        super(name, cqlType, capacity);
+        this.values = new Object[capacity];
+    }
+
+    public void append(Object value) {
+        if (value == null) {
+            appendNull();
+        } else {
+            values[size++] = value;
+        }
+    }
+
+    @Override
+    public Object getObject(int row) {
+        checkRow(row);
+        return values[row];
+    }
+}
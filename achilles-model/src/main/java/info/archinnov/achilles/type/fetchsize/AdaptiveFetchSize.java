@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.fetchsize;
+
+import static java.lang.String.format;
+
+/**
+ * Fetch size chosen by the adaptive fetch size mode for a query fingerprint, with the observations it is derived from.
+ * <br>
+ * Only queries executed with <em>withAdaptiveFetchSize()</em> are tracked
+ * <pre class="code"><code class="java">
+ * for (AdaptiveFetchSize adaptive : managerFactory.adaptiveFetchSizes()) {
+ *     System.out.println(adaptive.queryString() + " fetched by " + adaptive.fetchSize() + " rows");
+ * }
+ * </code></pre>
+ */
+public class AdaptiveFetchSize {
+
+    private final String fingerprint;
+    private final String queryString;
+    private final int fetchSize;
+    private final long averageRowBytes;
+    private final long consumerRowsPerSecond;
+    private final long observedPages;
+
+    public AdaptiveFetchSize(String fingerprint, String queryString, int fetchSize, long averageRowBytes,
+                             long consumerRowsPerSecond, long observedPages) {
+        this.fingerprint = fingerprint;
+        this.queryString = queryString;
+        this.fetchSize = fetchSize;
+        this.averageRowBytes = averageRowBytes;
+        this.consumerRowsPerSecond = consumerRowsPerSecond;
+        this.observedPages = observedPages;
+    }
+
+    /**
+     * @return fingerprint of the query shape, derived from the prepared query string
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return prepared query string
+     */
+    public String queryString() {
+        return queryString;
+    }
+
+    /**
+     * @return fetch size applied to the next pages and executions of this query
+     */
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * @return moving average of the serialized row size, in bytes
+     */
+    public long averageRowBytes() {
+        return averageRowBytes;
+    }
+
+    /**
+     * @return moving average of the rows consumed per second by the application, 0 if not measured yet
+     */
+    public long consumerRowsPerSecond() {
+        return consumerRowsPerSecond;
+    }
+
+    /**
+     * @return number of pages observed for this query
+     */
+    public long observedPages() {
+        return observedPages;
+    }
+
+    @Override
+    public String toString() {
+        return format("AdaptiveFetchSize{fingerprint=%s, fetchSize=%s, averageRowBytes=%s, consumerRowsPerSecond=%s, observedPages=%s, query=%s}",
+                fingerprint, fetchSize, averageRowBytes, consumerRowsPerSecond, observedPages, queryString);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.hotpartition;
+
+import static java.lang.String.format;
+
+import java.util.List;
+
+/**
+ * A partition whose access frequency is among the highest of its entity, as estimated by the hot partition detector.
+ * <br>
+ * Available only when hot partition detection is enabled with
+ * <em>ManagerFactoryBuilder.withHotPartitionDetection(int topK)</em>
+ * <pre class="code"><code class="java">
+ * for (HotPartition hotPartition : managerFactory.hotPartitions()) {
+ *     System.out.println(hotPartition.entityClass() + " " + hotPartition.partitionKey()
+ *         + " : " + hotPartition.estimatedRatePerSecond() + " " + hotPartition.accessType() + "/s");
+ * }
+ * </code></pre>
+ * Counts are estimations: the true count lies between <em>estimatedCount() - maxOverestimation()</em>
+ * and <em>estimatedCount()</em>, scaled by the sampling rate
+ */
+public class HotPartition {
+
+    private final String entityClass;
+    private final AccessType accessType;
+    private final List<String> partitionKey;
+    private final long estimatedCount;
+    private final long maxOverestimation;
+    private final double estimatedRatePerSecond;
+    private final long windowStartMillis;
+    private final long windowDurationMillis;
+
+    public HotPartition(String entityClass, AccessType accessType, List<String> partitionKey, long estimatedCount,
+                        long maxOverestimation, double estimatedRatePerSecond, long windowStartMillis, long windowDurationMillis) {
+        this.entityClass = entityClass;
+        this.accessType = accessType;
+        this.partitionKey = partitionKey;
+        this.estimatedCount = estimatedCount;
+        this.maxOverestimation = maxOverestimation;
+        this.estimatedRatePerSecond = estimatedRatePerSecond;
+        this.windowStartMillis = windowStartMillis;
+        this.windowDurationMillis = windowDurationMillis;
+    }
+
+    /**
+     * @return canonical name of the entity class
+     */
+    public String entityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return READ for SELECT statements, WRITE for INSERT, UPDATE and DELETE statements
+     */
+    public AccessType accessType() {
+        return accessType;
+    }
+
+    /**
+     * @return partition key components, as "column=value"
+     */
+    public List<String> partitionKey() {
+        return partitionKey;
+    }
+
+    /**
+     * @return estimated number of accesses to this partition during the window
+     */
+    public long estimatedCount() {
+        return estimatedCount;
+    }
+
+    /**
+     * @return upper bound of the overestimation of <em>estimatedCount()</em>
+     */
+    public long maxOverestimation() {
+        return maxOverestimation;
+    }
+
+    /**
+     * @return estimated number of accesses per second during the window
+     */
+    public double estimatedRatePerSecond() {
+        return estimatedRatePerSecond;
+    }
+
+    /**
+     * @return start of the observation window, in milliseconds since epoch
+     */
+    public long windowStartMillis() {
+        return windowStartMillis;
+    }
+
+    /**
+     * @return duration of the observation window, in milliseconds
+     */
+    public long windowDurationMillis() {
+        return windowDurationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return format("HotPartition{entity=%s, access=%s, partitionKey=%s, estimatedCount=%s, maxOverestimation=%s, estimatedRatePerSecond=%.2f, windowStartMillis=%s, windowDurationMillis=%s}",
+                entityClass, accessType, partitionKey, estimatedCount, maxOverestimation, estimatedRatePerSecond,
+                windowStartMillis, windowDurationMillis);
+    }
+
+    public enum AccessType {
+        READ,
+        WRITE
+    }
+}
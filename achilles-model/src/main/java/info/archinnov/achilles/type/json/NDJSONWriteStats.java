@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.json;
+
+import static java.lang.String.format;
+
+/**
+ * Statistics of a SELECT JSON query streamed as newline-delimited JSON
+ * <pre class="code"><code class="java">
+ * NDJSONWriteStats stats = manager
+ *     .dsl()
+ *     .selectJSON()
+ *     ...
+ *     .writeTo(httpResponse.getOutputStream());
+ *
+ * LOGGER.info("Exported " + stats.rowsWritten() + " rows, " + stats.bytesWritten() + " bytes");
+ * </code></pre>
+ */
+public class NDJSONWriteStats {
+
+    private final long rowsWritten;
+    private final long bytesWritten;
+    private final int pagesFetched;
+    private final int flushes;
+
+    public NDJSONWriteStats(long rowsWritten, long bytesWritten, int pagesFetched, int flushes) {
+        this.rowsWritten = rowsWritten;
+        this.bytesWritten = bytesWritten;
+        this.pagesFetched = pagesFetched;
+        this.flushes = flushes;
+    }
+
+    /**
+     * @return number of JSON rows written
+     */
+    public long rowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * @return number of bytes written, including the new line separators
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return number of result pages read from Cassandra
+     */
+    public int pagesFetched() {
+        return pagesFetched;
+    }
+
+    /**
+     * @return number of times the buffered bytes were flushed to the output
+     */
+    public int flushes() {
+        return flushes;
+    }
+
+    @Override
+    public String toString() {
+        return format("NDJSONWriteStats{rows=%s, bytes=%s, pages=%s, flushes=%s}",
+                rowsWritten, bytesWritten, pagesFetched, flushes);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.lightweighttransaction;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of the per-partition LightWeight Transaction queues statistics.
+ * <br>
+ * Available only when LWT partition serialization is enabled with
+ * <em>ManagerFactoryBuilder.withLWTPartitionSerialization(int maxQueueDepthPerPartition)</em>
+ * <pre class="code"><code class="java">
+ * LWTQueueMetrics metrics = managerFactory.lwtQueueMetrics().get();
+ * long contended = metrics.contendedCount();
+ * double averageWaitMs = metrics.averageWaitNanos() / 1_000_000d;
+ * </code></pre>
+ */
+public class LWTQueueMetrics {
+
+    private final long submittedCount;
+    private final long contendedCount;
+    private final long rejectedCount;
+    private final long shortCircuitedCount;
+    private final long activePartitions;
+    private final long waitingStatements;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    public LWTQueueMetrics(long submittedCount, long contendedCount, long rejectedCount, long shortCircuitedCount,
+                           long activePartitions, long waitingStatements, long totalWaitNanos, long maxWaitNanos) {
+        this.submittedCount = submittedCount;
+        this.contendedCount = contendedCount;
+        this.rejectedCount = rejectedCount;
+        this.shortCircuitedCount = shortCircuitedCount;
+        this.activePartitions = activePartitions;
+        this.waitingStatements = waitingStatements;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * @return total number of LWT statements submitted to the per-partition queues
+     */
+    public long submittedCount() {
+        return submittedCount;
+    }
+
+    /**
+     * @return number of LWT statements that had to wait for another LWT on the same partition
+     */
+    public long contendedCount() {
+        return contendedCount;
+    }
+
+    /**
+     * @return number of LWT statements rejected because the partition queue was full
+     */
+    public long rejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return number of LWT statements not sent to Cassandra because an identical statement has just been rejected
+     */
+    public long shortCircuitedCount() {
+        return shortCircuitedCount;
+    }
+
+    /**
+     * @return number of partitions with an LWT statement currently in flight
+     */
+    public long activePartitions() {
+        return activePartitions;
+    }
+
+    /**
+     * @return number of LWT statements currently waiting in the queues
+     */
+    public long waitingStatements() {
+        return waitingStatements;
+    }
+
+    /**
+     * @return cumulated time spent by LWT statements waiting in the queues, in nanoseconds
+     */
+    public long totalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    /**
+     * @return longest time spent by an LWT statement waiting in a queue, in nanoseconds
+     */
+    public long maxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * @return average time spent by LWT statements waiting in the queues, in nanoseconds
+     */
+    public long averageWaitNanos() {
+        final long started = submittedCount - rejectedCount;
+        return started > 0 ? totalWaitNanos / started : 0L;
+    }
+
+    @Override
+    public String toString() {
+        return format("LWTQueueMetrics{submitted=%s, contended=%s, rejected=%s, shortCircuited=%s, activePartitions=%s, waiting=%s, totalWaitNanos=%s, maxWaitNanos=%s}",
+                submittedCount, contendedCount, rejectedCount, shortCircuitedCount, activePartitions, waitingStatements, totalWaitNanos, maxWaitNanos);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.resultcache;
+
+import static java.lang.String.format;
+
+/**
+ * Hits and misses of the result cache for a query fingerprint.
+ * <br>
+ * Only queries executed with <em>withResultCache(Duration ttl)</em> are tracked
+ * <pre class="code"><code class="java">
+ * for (ResultCacheStats stats : managerFactory.resultCacheStats()) {
+ *     System.out.println(stats.queryString() + " hit ratio " + stats.hitRatio());
+ * }
+ * </code></pre>
+ */
+public class ResultCacheStats {
+
+    private final String fingerprint;
+    private final String queryString;
+    private final long hitCount;
+    private final long missCount;
+
+    public ResultCacheStats(String fingerprint, String queryString, long hitCount, long missCount) {
+        this.fingerprint = fingerprint;
+        this.queryString = queryString;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    /**
+     * @return fingerprint of the query shape, derived from the prepared query string
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return prepared query string
+     */
+    public String queryString() {
+        return queryString;
+    }
+
+    /**
+     * @return number of executions served from the cache
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of executions sent to Cassandra
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return ratio of executions served from the cache, between 0 and 1
+     */
+    public double hitRatio() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0d : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return format("ResultCacheStats{fingerprint=%s, hits=%s, misses=%s, hitRatio=%.3f, query=%s}",
+                fingerprint, hitCount, missCount, hitRatio(), queryString);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.serverwarning;
+
+import static java.lang.String.format;
+
+import java.util.Optional;
+
+/**
+ * Client warnings returned by Cassandra for a query shape, aggregated since startup or last reset.
+ * <br>
+ * <pre class="code"><code class="java">
+ * managerFactory.serverWarnings()
+ *     .stream()
+ *     .filter(stats -> stats.category() == ServerWarningStats.Category.TOMBSTONE)
+ *     .forEach(stats -> System.out.println(stats.queryString() + " scanned up to " + stats.maxTombstones() + " tombstones"));
+ * </code></pre>
+ */
+public class ServerWarningStats {
+
+    private final String fingerprint;
+    private final String queryString;
+    private final Optional<String> entityClass;
+    private final Category category;
+    private final long count;
+    private final String lastWarning;
+    private final long lastSeenMillis;
+    private final long maxTombstones;
+    private final long totalTombstones;
+
+    public ServerWarningStats(String fingerprint, String queryString, Optional<String> entityClass, Category category,
+                              long count, String lastWarning, long lastSeenMillis, long maxTombstones, long totalTombstones) {
+        this.fingerprint = fingerprint;
+        this.queryString = queryString;
+        this.entityClass = entityClass;
+        this.category = category;
+        this.count = count;
+        this.lastWarning = lastWarning;
+        this.lastSeenMillis = lastSeenMillis;
+        this.maxTombstones = maxTombstones;
+        this.totalTombstones = totalTombstones;
+    }
+
+    /**
+     * @return fingerprint of the query shape, derived from the prepared query string
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return prepared query string, or <em>BATCH</em> for batch statements
+     */
+    public String queryString() {
+        return queryString;
+    }
+
+    /**
+     * @return canonical name of the entity class, if any
+     */
+    public Optional<String> entityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return kind of warning
+     */
+    public Category category() {
+        return category;
+    }
+
+    /**
+     * @return number of warnings received for this query shape and category
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return text of the last warning received
+     */
+    public String lastWarning() {
+        return lastWarning;
+    }
+
+    /**
+     * @return reception time of the last warning, in milliseconds since epoch
+     */
+    public long lastSeenMillis() {
+        return lastSeenMillis;
+    }
+
+    /**
+     * @return highest number of tombstone cells scanned by a single read, for TOMBSTONE warnings
+     */
+    public long maxTombstones() {
+        return maxTombstones;
+    }
+
+    /**
+     * @return total number of tombstone cells scanned by the reads which triggered a warning, for TOMBSTONE warnings
+     */
+    public long totalTombstones() {
+        return totalTombstones;
+    }
+
+    @Override
+    public String toString() {
+        return format("ServerWarningStats{fingerprint=%s, query='%s', entity=%s, category=%s, count=%s, maxTombstones=%s, totalTombstones=%s, lastSeenMillis=%s, lastWarning='%s'}",
+                fingerprint, queryString, entityClass.orElse("none"), category, count, maxTombstones, totalTombstones,
+                lastSeenMillis, lastWarning);
+    }
+
+    public enum Category {
+        /**
+         * Read scanning more tombstone cells than <em>tombstone_warn_threshold</em>
+         */
+        TOMBSTONE,
+        /**
+         * Batch larger than <em>batch_size_warn_threshold_in_kb</em>, or unlogged batch spanning many partitions
+         */
+        BATCH,
+        /**
+         * Aggregation query without partition key
+         */
+        AGGREGATION,
+        OTHER
+    }
+}
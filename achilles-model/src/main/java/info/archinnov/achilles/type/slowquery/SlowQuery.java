@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.slowquery;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A slow execution recorded by the slow query log.
+ * <br>
+ * Available only when the slow query log is enabled with
+ * <em>ManagerFactoryBuilder.withSlowQueryLog(long thresholdInMillis)</em>
+ * <pre class="code"><code class="java">
+ * for (SlowQuery slowQuery : managerFactory.slowQueries()) {
+ *     System.out.println(slowQuery.fingerprint() + " took " + slowQuery.elapsedMicros() + " us");
+ * }
+ * </code></pre>
+ */
+public class SlowQuery {
+
+    private final String fingerprint;
+    private final String queryString;
+    private final Optional<String> entityClass;
+    private final String operationType;
+    private final long elapsedMicros;
+    private final long executedAtMillis;
+    private final List<String> boundValues;
+    private final Optional<UUID> traceId;
+
+    public SlowQuery(String fingerprint, String queryString, Optional<String> entityClass, String operationType,
+                     long elapsedMicros, long executedAtMillis, List<String> boundValues, Optional<UUID> traceId) {
+        this.fingerprint = fingerprint;
+        this.queryString = queryString;
+        this.entityClass = entityClass;
+        this.operationType = operationType;
+        this.elapsedMicros = elapsedMicros;
+        this.executedAtMillis = executedAtMillis;
+        this.boundValues = boundValues;
+        this.traceId = traceId;
+    }
+
+    /**
+     * @return fingerprint of the query shape, derived from the prepared query string
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return prepared query string
+     */
+    public String queryString() {
+        return queryString;
+    }
+
+    /**
+     * @return canonical name of the entity class, if any
+     */
+    public Optional<String> entityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return operation type: INSERT, UPDATE, DELETE, SELECT or OTHER
+     */
+    public String operationType() {
+        return operationType;
+    }
+
+    /**
+     * @return execution time, in microseconds
+     */
+    public long elapsedMicros() {
+        return elapsedMicros;
+    }
+
+    /**
+     * @return completion time, in milliseconds since epoch
+     */
+    public long executedAtMillis() {
+        return executedAtMillis;
+    }
+
+    /**
+     * @return bound values, either redacted or truncated
+     */
+    public List<String> boundValues() {
+        return boundValues;
+    }
+
+    /**
+     * @return Cassandra trace id if this execution was traced
+     */
+    public Optional<UUID> traceId() {
+        return traceId;
+    }
+
+    @Override
+    public String toString() {
+        return format("SlowQuery{fingerprint=%s, query='%s', entity=%s, operation=%s, elapsedMicros=%s, executedAtMillis=%s, boundValues=%s, traceId=%s}",
+                fingerprint, queryString, entityClass.orElse("none"), operationType, elapsedMicros, executedAtMillis,
+                boundValues, traceId.map(UUID::toString).orElse("none"));
+    }
+}
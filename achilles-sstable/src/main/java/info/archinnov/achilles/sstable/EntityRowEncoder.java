@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.sstable;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.cassandra.io.sstable.CQLSSTableWriter;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.querybuilder.Insert;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.utils.CollectionsHelper;
+
+/**
+ * Encode an entity into the serialized values of the INSERT statement used by the CQLSSTableWriter,
+ * through the Achilles codecs of each column then the driver codec of its CQL type.
+ * <br/>
+ * Null values of non primary key columns are left unset so that no tombstone is written.
+ * Not thread-safe, each producer should use its own instance
+ */
+class EntityRowEncoder<ENTITY> {
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final List<AbstractProperty<ENTITY, ?, ?>> columns;
+    private final int partitionKeysCount;
+    private final int primaryKeysCount;
+    private final TypeCodec<Object>[] codecs;
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+
+    @SuppressWarnings("unchecked")
+    EntityRowEncoder(AbstractEntityProperty<ENTITY> meta, ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+        this.meta = meta;
+        this.columns = CollectionsHelper.appendAll(meta.partitionKeys, meta.clusteringColumns, meta.staticColumns, meta.normalColumns);
+        this.partitionKeysCount = meta.partitionKeys.size();
+        this.primaryKeysCount = partitionKeysCount + meta.clusteringColumns.size();
+        this.codecs = new TypeCodec[columns.size()];
+        this.protocolVersion = protocolVersion;
+        this.codecRegistry = codecRegistry;
+    }
+
+    String insertStatement(String keyspace, String table) {
+        final Insert insert = insertInto(keyspace, table);
+        columns.forEach(x -> insert.value(x.fieldInfo.quotedCqlColumn, bindMarker(x.fieldInfo.quotedCqlColumn)));
+        return insert.getQueryString();
+    }
+
+    /**
+     * @return serialized values, in the order of the INSERT statement bound variables.
+     * The partition key components come first
+     */
+    List<ByteBuffer> encode(ENTITY entity) {
+        final List<ByteBuffer> values = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            final AbstractProperty<ENTITY, ?, ?> column = columns.get(i);
+            final Object encoded = column.encodeField(entity, Optional.empty());
+            if (encoded == null) {
+                if (i < primaryKeysCount) {
+                    validateNotNull(encoded, "The primary key column '%s' of entity '%s' should not be null",
+                            column.fieldName, meta.entityClass.getCanonicalName());
+                }
+                values.add(CQLSSTableWriter.UNSET_VALUE);
+            } else {
+                values.add(codecFor(i, column, encoded).serialize(encoded, protocolVersion));
+            }
+        }
+        return values;
+    }
+
+    List<ByteBuffer> partitionKeyComponents(List<ByteBuffer> values) {
+        return values.subList(0, partitionKeysCount);
+    }
+
+    private TypeCodec<Object> codecFor(int index, AbstractProperty<ENTITY, ?, ?> column, Object encoded) {
+        TypeCodec<Object> codec = codecs[index];
+        if (codec == null || !codec.accepts(encoded)) {
+            codec = codecRegistry.codecFor(column.getDataType(), encoded);
+            codecs[index] = codec;
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.sstable;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Statistics of an SSTable export
+ */
+public class SSTableExportStats {
+
+    private final File tableDirectory;
+    private final long rowCount;
+    private final List<Long> rowCountPerWriter;
+    private final long elapsedMillis;
+
+    SSTableExportStats(File tableDirectory, long rowCount, List<Long> rowCountPerWriter, long elapsedMillis) {
+        this.tableDirectory = tableDirectory;
+        this.rowCount = rowCount;
+        this.rowCountPerWriter = Collections.unmodifiableList(rowCountPerWriter);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return the <em>&lt;output directory&gt;/&lt;keyspace&gt;/&lt;table&gt;</em> folder containing the SSTables,
+     * to be given as is to <em>sstableloader</em>
+     */
+    public File tableDirectory() {
+        return tableDirectory;
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of rows written by each writer, writer <em>i</em> owning the <em>i</em>-th token range
+     */
+    public List<Long> rowCountPerWriter() {
+        return rowCountPerWriter;
+    }
+
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? 0d : rowCount * 1000d / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return format("SSTableExportStats{tableDirectory=%s, rowCount=%s, rowCountPerWriter=%s, elapsedMillis=%s}",
+                tableDirectory, rowCount, rowCountPerWriter, elapsedMillis);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.sstable;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.cassandra.io.sstable.CQLSSTableWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+
+/**
+ * Write entities directly into SSTables, without going through Cassandra, for offline bulk loading
+ * with <em>sstableloader</em>.
+ * <br/>
+ * <br/>
+ * The table and UDT schemas are derived from the entity meta class, the same way as with
+ * <em>doForceSchemaCreation(true)</em>, and each column is encoded with its Achilles codec.
+ * The Murmur3 token ring is split into as many contiguous ranges as parallel writers, each writer
+ * owning one range and buffering its rows in memory (<em>bufferSizeInMB</em>) before flushing them, sorted,
+ * as a new SSTable. All SSTables are written in <em>&lt;output directory&gt;/&lt;keyspace&gt;/&lt;table&gt;</em>
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * SSTableExporter&lt;User&gt; exporter = SSTableExporterBuilder
+ *     .builder(new User_AchillesMeta())
+ *     .withOutputDirectory(new File("/tmp/export"))
+ *     .withKeyspace("my_ks")
+ *     .withParallelWriters(4)
+ *     .build();
+ *
+ * SSTableExportStats stats = exporter.export(users);
+ *
+ * // then: sstableloader -d &lt;host&gt; /tmp/export/my_ks/user
+ * </code></pre>
+ * Null values of non primary key columns are not written, so no tombstone is created.
+ * Counter tables and materialized views are not supported
+ */
+public class SSTableExporter<ENTITY> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SSTableExporter.class);
+    private static final List<ByteBuffer> END_OF_ROWS = Collections.emptyList();
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final File outputDirectory;
+    private final String keyspace;
+    private final String table;
+    private final int bufferSizeInMB;
+    private final int parallelWriters;
+    private final int queueCapacity;
+    private final String createTableStatement;
+    private final List<String> createTypeStatements;
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+
+    SSTableExporter(AbstractEntityProperty<ENTITY> meta, File outputDirectory, String keyspace, int bufferSizeInMB,
+                    int parallelWriters, int queueCapacity, String createTableStatement, List<String> createTypeStatements,
+                    ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+        this.meta = meta;
+        this.outputDirectory = outputDirectory;
+        this.keyspace = keyspace;
+        this.table = meta.getTableOrViewName();
+        this.bufferSizeInMB = bufferSizeInMB;
+        this.parallelWriters = parallelWriters;
+        this.queueCapacity = queueCapacity;
+        this.createTableStatement = createTableStatement;
+        this.createTypeStatements = createTypeStatements;
+        this.protocolVersion = protocolVersion;
+        this.codecRegistry = codecRegistry;
+    }
+
+    /**
+     * Encode and write all the given entities into SSTables. The stream is consumed by the calling thread,
+     * rows are written by the parallel writers. All the SSTables are closed when this method returns
+     *
+     * @param entities entities to write
+     * @return export statistics
+     */
+    public SSTableExportStats export(Stream<ENTITY> entities) {
+        final File tableDirectory = new File(new File(outputDirectory, keyspace), table);
+        if (!tableDirectory.isDirectory() && !tableDirectory.mkdirs()) {
+            throw new AchillesException(format("Cannot create the SSTables directory '%s'", tableDirectory.getAbsolutePath()));
+        }
+        LOGGER.info(format("Exporting entities of type %s to SSTables in %s with %s writer(s)",
+                meta.entityClass.getCanonicalName(), tableDirectory.getAbsolutePath(), parallelWriters));
+
+        final long start = System.currentTimeMillis();
+        final EntityRowEncoder<ENTITY> encoder = new EntityRowEncoder<>(meta, protocolVersion, codecRegistry);
+        final String insertStatement = encoder.insertStatement(keyspace, table);
+        final TokenRangeRouter router = new TokenRangeRouter(parallelWriters);
+        final AtomicInteger threadCount = new AtomicInteger(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelWriters,
+                runnable -> new Thread(runnable, "achilles-sstable-writer-" + threadCount.getAndIncrement()));
+
+        final List<WriterTask> writers = new ArrayList<>(parallelWriters);
+        final List<Future<Long>> results = new ArrayList<>(parallelWriters);
+        for (int i = 0; i < parallelWriters; i++) {
+            final WriterTask writer = new WriterTask(tableDirectory, insertStatement);
+            writers.add(writer);
+            results.add(executor.submit(writer));
+        }
+
+        try {
+            entities.forEachOrdered(entity -> {
+                final List<ByteBuffer> values = encoder.encode(entity);
+                writers.get(router.writerFor(encoder.partitionKeyComponents(values))).submit(values);
+            });
+        } finally {
+            writers.forEach(WriterTask::finish);
+            executor.shutdown();
+        }
+
+        final List<Long> rowCountPerWriter = new ArrayList<>(parallelWriters);
+        for (Future<Long> result : results) {
+            rowCountPerWriter.add(getWriterResult(result));
+        }
+        final long rowCount = rowCountPerWriter.stream().mapToLong(Long::longValue).sum();
+        final SSTableExportStats stats = new SSTableExportStats(tableDirectory, rowCount, rowCountPerWriter,
+                System.currentTimeMillis() - start);
+        LOGGER.info(format("Export of entities of type %s done : %s", meta.entityClass.getCanonicalName(), stats));
+        return stats;
+    }
+
+    private CQLSSTableWriter newWriter(File tableDirectory, String insertStatement) {
+        final CQLSSTableWriter.Builder builder = CQLSSTableWriter.builder()
+                .inDirectory(tableDirectory)
+                .forTable(createTableStatement)
+                .using(insertStatement)
+                .withBufferSizeInMB(bufferSizeInMB);
+        createTypeStatements.forEach(builder::withType);
+        return builder.build();
+    }
+
+    private static long getWriterResult(Future<Long> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException("Interrupted while waiting for the SSTable writers to complete", e);
+        } catch (ExecutionException e) {
+            throw new AchillesException(format("Fail writing SSTables : %s", e.getCause().getMessage()), e.getCause());
+        }
+    }
+
+    private class WriterTask implements Callable<Long> {
+
+        private final BlockingQueue<List<ByteBuffer>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final File tableDirectory;
+        private final String insertStatement;
+        private volatile boolean failed = false;
+
+        WriterTask(File tableDirectory, String insertStatement) {
+            this.tableDirectory = tableDirectory;
+            this.insertStatement = insertStatement;
+        }
+
+        @Override
+        public Long call() throws Exception {
+            long rowCount = 0;
+            try (CQLSSTableWriter writer = newWriter(tableDirectory, insertStatement)) {
+                List<ByteBuffer> row;
+                while ((row = queue.take()) != END_OF_ROWS) {
+                    writer.rawAddRow(row);
+                    rowCount++;
+                }
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+            return rowCount;
+        }
+
+        void submit(List<ByteBuffer> row) {
+            enqueue(row);
+            if (failed) {
+                throw new AchillesException(format("SSTable writer for %s.%s has failed, aborting export", keyspace, table));
+            }
+        }
+
+        void finish() {
+            enqueue(END_OF_ROWS);
+        }
+
+        private void enqueue(List<ByteBuffer> row) {
+            try {
+                while (!failed && !queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                    // writer is busy flushing its buffer
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AchillesException("Interrupted while exporting entities to SSTables", e);
+            }
+        }
+    }
+}
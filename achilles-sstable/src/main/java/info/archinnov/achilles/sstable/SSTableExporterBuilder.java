@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.sstable;
+
+import static info.archinnov.achilles.validation.Validator.*;
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.extras.codecs.arrays.DoubleArrayCodec;
+import com.datastax.driver.extras.codecs.arrays.FloatArrayCodec;
+import com.datastax.driver.extras.codecs.arrays.IntArrayCodec;
+import com.datastax.driver.extras.codecs.arrays.LongArrayCodec;
+import com.datastax.driver.extras.codecs.jdk8.InstantCodec;
+import com.datastax.driver.extras.codecs.jdk8.LocalDateCodec;
+import com.datastax.driver.extras.codecs.jdk8.LocalTimeCodec;
+import com.datastax.driver.extras.codecs.jdk8.ZonedDateTimeCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import info.archinnov.achilles.internals.factory.TupleTypeFactory;
+import info.archinnov.achilles.internals.factory.UserTypeFactory;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractUDTClassProperty;
+import info.archinnov.achilles.internals.schema.SchemaContext;
+import info.archinnov.achilles.internals.schema.SchemaCreator;
+import info.archinnov.achilles.json.DefaultJacksonMapper;
+import info.archinnov.achilles.type.codec.Codec;
+import info.archinnov.achilles.type.codec.CodecSignature;
+
+/**
+ * Builder for {@link SSTableExporter}
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * SSTableExporter&lt;User&gt; exporter = SSTableExporterBuilder
+ *     .builder(new User_AchillesMeta())
+ *     .withOutputDirectory(new File("/tmp/export"))
+ *     .withKeyspace("my_ks")
+ *     .withBufferSizeInMB(256)
+ *     .withParallelWriters(4)
+ *     .build();
+ * </code></pre>
+ */
+public class SSTableExporterBuilder<ENTITY> {
+
+    public static final int DEFAULT_BUFFER_SIZE_IN_MB = 128;
+    public static final int DEFAULT_PARALLEL_WRITERS = 1;
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final Map<CodecSignature<?, ?>, Codec<?, ?>> runtimeCodecs = new HashMap<>();
+    private File outputDirectory;
+    private Optional<String> keyspace = Optional.empty();
+    private int bufferSizeInMB = DEFAULT_BUFFER_SIZE_IN_MB;
+    private int parallelWriters = DEFAULT_PARALLEL_WRITERS;
+    private ObjectMapper jacksonMapper = DefaultJacksonMapper.DEFAULT.get();
+
+    private SSTableExporterBuilder(AbstractEntityProperty<ENTITY> meta) {
+        this.meta = meta;
+    }
+
+    /**
+     * Create a builder for the given entity meta class, e.g. <em>new User_AchillesMeta()</em>
+     *
+     * @param meta generated entity meta class
+     * @return SSTableExporterBuilder
+     */
+    public static <ENTITY> SSTableExporterBuilder<ENTITY> builder(AbstractEntityProperty<ENTITY> meta) {
+        validateNotNull(meta, "The entity meta should not be null");
+        return new SSTableExporterBuilder<>(meta);
+    }
+
+    /**
+     * Define the root directory of the SSTables. They are written in <em>&lt;outputDirectory&gt;/&lt;keyspace&gt;/&lt;table&gt;</em>,
+     * the layout expected by <em>sstableloader</em>. This parameter is mandatory
+     *
+     * @return SSTableExporterBuilder
+     */
+    public SSTableExporterBuilder<ENTITY> withOutputDirectory(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+        return this;
+    }
+
+    /**
+     * Define the keyspace of the table. Mandatory if the entity does not declare a static keyspace
+     *
+     * @return SSTableExporterBuilder
+     */
+    public SSTableExporterBuilder<ENTITY> withKeyspace(String keyspace) {
+        this.keyspace = Optional.ofNullable(keyspace);
+        return this;
+    }
+
+    /**
+     * Define the size of the in-memory buffer of each writer, before it is flushed as a sorted SSTable.
+     * Default value = 128
+     *
+     * @return SSTableExporterBuilder
+     */
+    public SSTableExporterBuilder<ENTITY> withBufferSizeInMB(int bufferSizeInMB) {
+        this.bufferSizeInMB = bufferSizeInMB;
+        return this;
+    }
+
+    /**
+     * Define the number of parallel writers. The token ring is split into as many contiguous ranges,
+     * each writer producing the SSTables of its own range. Default value = 1
+     *
+     * @return SSTableExporterBuilder
+     */
+    public SSTableExporterBuilder<ENTITY> withParallelWriters(int parallelWriters) {
+        this.parallelWriters = parallelWriters;
+        return this;
+    }
+
+    /**
+     * Define a pre-configured Jackson Object Mapper for the columns encoded as JSON
+     *
+     * @return SSTableExporterBuilder
+     */
+    public SSTableExporterBuilder<ENTITY> withJacksonMapper(ObjectMapper jacksonMapper) {
+        this.jacksonMapper = jacksonMapper;
+        return this;
+    }
+
+    /**
+     * Register a runtime codec, the same way as with the <em>ManagerFactoryBuilder</em>
+     *
+     * @return SSTableExporterBuilder
+     */
+    public <FROM, TO> SSTableExporterBuilder<ENTITY> withRuntimeCodec(CodecSignature<FROM, TO> codecSignature, Codec<FROM, TO> codec) {
+        runtimeCodecs.put(codecSignature, codec);
+        return this;
+    }
+
+    public SSTableExporter<ENTITY> build() {
+        validateNotNull(outputDirectory, "The output directory for SSTables export should be provided");
+        validateTrue(meta.isTable(), "Cannot export SSTables for the materialized view '%s'", meta.entityClass.getCanonicalName());
+        validateFalse(meta.isCounter(), "Cannot export SSTables for the counter table '%s'", meta.entityClass.getCanonicalName());
+        validateTrue(bufferSizeInMB > 0, "The SSTable buffer size should be strictly positive");
+        validateTrue(parallelWriters > 0, "The number of parallel SSTable writers should be strictly positive");
+        validateNotNull(jacksonMapper, "The Jackson mapper should not be null");
+
+        keyspace.ifPresent(meta::injectKeyspace);
+        validateTrue(meta.getKeyspace().isPresent(),
+                "The keyspace for the entity '%s' should be either provided by the @Table annotation or with withKeyspace()",
+                meta.entityClass.getCanonicalName());
+        final String targetKeyspace = meta.getKeyspace().get();
+
+        final ProtocolVersion protocolVersion = ProtocolVersion.NEWEST_SUPPORTED;
+        final CodecRegistry codecRegistry = newCodecRegistry(protocolVersion);
+        meta.inject(jacksonMapper);
+        meta.inject(new UserTypeFactory(protocolVersion, codecRegistry), new TupleTypeFactory(protocolVersion, codecRegistry));
+        meta.injectRuntimeCodecs(runtimeCodecs);
+
+        final String createTable = SchemaCreator
+                .generateTable_And_Indices(new SchemaContext(targetKeyspace, false, false), meta)
+                .get(0);
+        final List<String> createTypes = meta.allColumns
+                .stream()
+                .flatMap(x -> x.getUDTClassProperties().stream())
+                .distinct()
+                .map(udt -> udtSchema(targetKeyspace, udt))
+                .distinct()
+                .collect(toList());
+
+        return new SSTableExporter<>(meta, outputDirectory, targetKeyspace, bufferSizeInMB, parallelWriters,
+                DEFAULT_QUEUE_CAPACITY, createTable, createTypes, protocolVersion, codecRegistry);
+    }
+
+    private static String udtSchema(String keyspace, AbstractUDTClassProperty<?> udt) {
+        validateTrue(udt.staticKeyspace.map(keyspace::equals).orElse(true),
+                "The UDT '%s' should belong to the keyspace '%s' of the exported table",
+                udt.udtClass.getCanonicalName(), keyspace);
+        return udt.generateSchema(new SchemaContext(keyspace, true, false));
+    }
+
+    /**
+     * A dedicated registry with the same Java driver extra codecs as those registered by the ManagerFactory
+     */
+    private static CodecRegistry newCodecRegistry(ProtocolVersion protocolVersion) {
+        final CodecRegistry codecRegistry = new CodecRegistry();
+        final TupleType zonedDateTimeType = TupleType.of(protocolVersion, codecRegistry, DataType.timestamp(), DataType.varchar());
+        codecRegistry.register(DoubleArrayCodec.instance, FloatArrayCodec.instance, IntArrayCodec.instance, LongArrayCodec.instance,
+                InstantCodec.instance, LocalDateCodec.instance, LocalTimeCodec.instance,
+                new ZonedDateTimeCodec(zonedDateTimeType));
+        return codecRegistry;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.sstable;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.cassandra.dht.Murmur3Partitioner;
+
+/**
+ * Split the Murmur3 token ring into <em>writerCount</em> contiguous ranges of equal size
+ * and route each partition key to the writer owning its token range
+ */
+class TokenRangeRouter {
+
+    private final int writerCount;
+    private final long rangeSize;
+
+    TokenRangeRouter(int writerCount) {
+        this.writerCount = writerCount;
+        this.rangeSize = Long.MAX_VALUE / writerCount + 1;
+    }
+
+    int writerFor(List<ByteBuffer> partitionKeyComponents) {
+        return writerForToken(tokenOf(partitionKeyComponents));
+    }
+
+    int writerForToken(long token) {
+        if (writerCount == 1) {
+            return 0;
+        }
+        // Shift the token range [Long.MIN_VALUE, Long.MAX_VALUE] to [0, 2^63 - 1]
+        final long unsignedToken = (token ^ Long.MIN_VALUE) >>> 1;
+        return (int) (unsignedToken / rangeSize);
+    }
+
+    static long tokenOf(List<ByteBuffer> partitionKeyComponents) {
+        final ByteBuffer partitionKey = partitionKeyComponents.size() == 1
+                ? partitionKeyComponents.get(0)
+                : compose(partitionKeyComponents);
+        return (Long) Murmur3Partitioner.instance.getToken(partitionKey.duplicate()).getTokenValue();
+    }
+
+    /**
+     * Same serialization as the routing key of a composite partition key:
+     * for each component, its length on 2 bytes, the component bytes and a 0 byte
+     */
+    static ByteBuffer compose(List<ByteBuffer> components) {
+        int size = 0;
+        for (ByteBuffer component : components) {
+            size += 2 + component.remaining() + 1;
+        }
+        final ByteBuffer composite = ByteBuffer.allocate(size);
+        for (ByteBuffer component : components) {
+            composite.putShort((short) component.remaining());
+            composite.put(component.duplicate());
+            composite.put((byte) 0);
+        }
+        composite.flip();
+        return composite;
+    }
+}
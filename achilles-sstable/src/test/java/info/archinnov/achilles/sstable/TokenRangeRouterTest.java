@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.sstable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class TokenRangeRouterTest {
+
+    @Test
+    public void should_route_all_tokens_to_a_single_writer() throws Exception {
+        //Given
+        final TokenRangeRouter router = new TokenRangeRouter(1);
+
+        //When
+        //Then
+        assertThat(router.writerForToken(Long.MIN_VALUE)).isEqualTo(0);
+        assertThat(router.writerForToken(0L)).isEqualTo(0);
+        assertThat(router.writerForToken(Long.MAX_VALUE)).isEqualTo(0);
+    }
+
+    @Test
+    public void should_split_token_ring_into_contiguous_ranges() throws Exception {
+        //Given
+        final TokenRangeRouter router = new TokenRangeRouter(4);
+
+        //When
+        //Then
+        assertThat(router.writerForToken(Long.MIN_VALUE)).isEqualTo(0);
+        assertThat(router.writerForToken(Long.MIN_VALUE / 2 - 1)).isEqualTo(0);
+        assertThat(router.writerForToken(Long.MIN_VALUE / 2 + 1)).isEqualTo(1);
+        assertThat(router.writerForToken(-1L)).isEqualTo(1);
+        assertThat(router.writerForToken(1L)).isEqualTo(2);
+        assertThat(router.writerForToken(Long.MAX_VALUE / 2 + 1)).isEqualTo(3);
+        assertThat(router.writerForToken(Long.MAX_VALUE)).isEqualTo(3);
+    }
+
+    @Test
+    public void should_keep_writer_index_monotonic_and_in_bounds() throws Exception {
+        //Given
+        final TokenRangeRouter router = new TokenRangeRouter(7);
+        final long step = Long.MAX_VALUE / 500;
+
+        //When
+        //Then
+        int previous = 0;
+        for (long token = Long.MIN_VALUE; token < Long.MAX_VALUE - step; token += step) {
+            final int writer = router.writerForToken(token);
+            assertThat(writer).isGreaterThanOrEqualTo(previous).isLessThan(7);
+            previous = writer;
+        }
+        assertThat(router.writerForToken(Long.MAX_VALUE)).isEqualTo(6);
+    }
+
+    @Test
+    public void should_compose_partition_key_components() throws Exception {
+        //Given
+        final ByteBuffer id = ByteBuffer.wrap(new byte[]{1, 2});
+        final ByteBuffer bucket = ByteBuffer.wrap(new byte[]{3});
+
+        //When
+        final ByteBuffer composite = TokenRangeRouter.compose(Arrays.asList(id, bucket));
+
+        //Then
+        assertThat(composite.array()).isEqualTo(new byte[]{0, 2, 1, 2, 0, 0, 1, 3, 0});
+        assertThat(id.remaining()).isEqualTo(2);
+    }
+}
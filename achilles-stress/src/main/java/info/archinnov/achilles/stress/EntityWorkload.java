@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static info.archinnov.achilles.validation.Validator.validateFalse;
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+
+import info.archinnov.achilles.internals.dsl.crud.DeleteWithOptions;
+import info.archinnov.achilles.internals.dsl.crud.FindWithOptions;
+import info.archinnov.achilles.internals.dsl.crud.InsertWithOptions;
+import info.archinnov.achilles.internals.dsl.crud.UpdateWithOptions;
+import info.archinnov.achilles.internals.dsl.raw.TypedQuery;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.runtime.AbstractManager;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.type.lightweighttransaction.LWTResultListener;
+
+/**
+ * Issue {@link StressOperation} for a given entity, going through the same
+ * CRUD and typed query classes as the generated managers
+ */
+public class EntityWorkload<T> {
+
+    private final AbstractEntityProperty<T> meta;
+    private final RuntimeEngine rte;
+    private final RandomEntityGenerator<T> generator;
+    private final Select.Where partitionSelect;
+
+    public EntityWorkload(AbstractManager<T> manager, StressConfig config) {
+        this.meta = manager.getEntityMeta();
+        this.rte = manager.getRuntimeEngine();
+        validateFalse(meta.isCounter(), "Cannot stress counter entity '%s'", meta.entityClass.getCanonicalName());
+        validateFalse(meta.isView(), "Cannot stress materialized view '%s'", meta.entityClass.getCanonicalName());
+        this.generator = new RandomEntityGenerator<>(meta, config.seed(), config.rowsPerPartition(),
+                config.valueSize(), config.collectionSize());
+        this.partitionSelect = buildPartitionSelect(meta, config.selectLimit());
+    }
+
+    public Class<T> entityClass() {
+        return meta.entityClass;
+    }
+
+    /**
+     * Execute the given operation on the row derived from the key index.
+     * The returned future holds false if the operation is a LightWeight Transaction that was not applied
+     */
+    public CompletableFuture<Boolean> execute(StressOperation operation, long keyIndex) {
+        switch (operation) {
+            case INSERT:
+                return new InsertWithOptions<>(meta, rte, generator.newEntity(keyIndex), false, Optional.empty())
+                        .executeAsync()
+                        .thenApply(x -> true);
+            case UPDATE:
+                return new UpdateWithOptions<>(meta, rte, generator.newEntity(keyIndex), false, Optional.empty())
+                        .executeAsync()
+                        .thenApply(x -> true);
+            case FIND:
+                return findWithOptions(keyIndex)
+                        .getAsync()
+                        .thenApply(x -> true);
+            case DELETE:
+                return deleteWithOptions(keyIndex)
+                        .executeAsync()
+                        .thenApply(x -> true);
+            case SELECT:
+                return selectPartition(keyIndex)
+                        .getListAsync()
+                        .thenApply(x -> true);
+            case LWT_INSERT: {
+                final AtomicBoolean applied = new AtomicBoolean(true);
+                return new InsertWithOptions<>(meta, rte, generator.newEntity(keyIndex), false, Optional.empty())
+                        .ifNotExists()
+                        .withLwtResultListener(notAppliedListener(applied))
+                        .executeAsync()
+                        .thenApply(x -> applied.get());
+            }
+            case LWT_DELETE: {
+                final AtomicBoolean applied = new AtomicBoolean(true);
+                return deleteWithOptions(keyIndex)
+                        .ifExists()
+                        .withLwtResultListener(notAppliedListener(applied))
+                        .executeAsync()
+                        .thenApply(x -> applied.get());
+            }
+            default:
+                throw new IllegalStateException(format("Unsupported stress operation %s", operation));
+        }
+    }
+
+    private FindWithOptions<T> findWithOptions(long keyIndex) {
+        final Object[][] keys = primaryKeyValues(keyIndex);
+        return new FindWithOptions<>(meta.entityClass, meta, rte, keys[0], keys[1], Optional.empty());
+    }
+
+    private DeleteWithOptions<T> deleteWithOptions(long keyIndex) {
+        final Object[][] keys = primaryKeyValues(keyIndex);
+        return new DeleteWithOptions<>(meta.entityClass, meta, rte, keys[0], keys[1], Optional.empty(), Optional.empty());
+    }
+
+    private TypedQuery<T> selectPartition(long keyIndex) {
+        final T entity = generator.newEntityWithKeys(keyIndex);
+        final Object[] encodedValues = meta.partitionKeys.stream()
+                .map(x -> x.encodeField(entity))
+                .toArray();
+        return new TypedQuery<>(rte, meta, rte.prepareDynamicQuery(partitionSelect).bind(encodedValues), encodedValues);
+    }
+
+    /**
+     * Raw and encoded primary key values, partition keys first
+     */
+    private Object[][] primaryKeyValues(long keyIndex) {
+        final T entity = generator.newEntityWithKeys(keyIndex);
+        final List<AbstractProperty<T, ?, ?>> primaryKeys = generator.primaryKeys();
+        final Object[] values = new Object[primaryKeys.size()];
+        final Object[] encodedValues = new Object[primaryKeys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = primaryKeys.get(i).getFieldValue(entity);
+            encodedValues[i] = primaryKeys.get(i).encodeField(entity);
+        }
+        return new Object[][]{values, encodedValues};
+    }
+
+    private static LWTResultListener notAppliedListener(AtomicBoolean applied) {
+        return lwtResult -> applied.set(false);
+    }
+
+    private static Select.Where buildPartitionSelect(AbstractEntityProperty<?> meta, int limit) {
+        final Select select = meta.getKeyspace()
+                .map(keyspace -> QueryBuilder.select().all().from(keyspace, meta.getTableOrViewName()))
+                .orElseGet(() -> QueryBuilder.select().all().from(meta.getTableOrViewName()));
+        select.limit(limit);
+        final Select.Where where = select.where();
+        meta.partitionKeys.forEach(x -> where.and(eq(x.fieldInfo.quotedCqlColumn, bindMarker())));
+        return where;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free high dynamic range histogram of latencies, in nanoseconds.
+ * <br/>
+ * <br/>
+ * Values below 128ns are counted exactly. Above that, each power of 2 range is
+ * split into 64 linear sub-buckets so that any recorded value is reported with
+ * a relative error below 1.6% (2 significant digits), from nanoseconds up to
+ * about 18 minutes. Larger values are clamped to the highest bucket.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int MAX_EXPONENT = 40;
+    static final long HIGHEST_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = indexFor(HIGHEST_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong(0L);
+
+    public void record(long nanos) {
+        final long value = Math.min(Math.max(nanos, 0L), HIGHEST_TRACKABLE_VALUE);
+        counts.incrementAndGet(indexFor(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        minNanos.accumulateAndGet(value, Math::min);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return totalCount.sum();
+    }
+
+    public long minNanos() {
+        final long min = minNanos.get();
+        return min == Long.MAX_VALUE ? 0L : min;
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    public double meanNanos() {
+        final long count = totalCount.sum();
+        return count == 0 ? 0d : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Value at the given percentile (0 to 100), as the highest value equivalent
+     * to the bucket holding this percentile. Never greater than the max recorded value
+     */
+    public long percentileNanos(double percentile) {
+        final long total = totalCount.sum();
+        if (total == 0) return 0L;
+        final double boundedPercentile = Math.min(Math.max(percentile, 0d), 100d);
+        final long target = Math.max(1L, (long) Math.ceil(boundedPercentile / 100d * total));
+        long cumulative = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), maxNanos());
+            }
+        }
+        return maxNanos();
+    }
+
+    public double percentile(double percentile, TimeUnit unit) {
+        return (double) percentileNanos(percentile) / unit.toNanos(1);
+    }
+
+    static int indexFor(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long subBucket = index - shift * SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
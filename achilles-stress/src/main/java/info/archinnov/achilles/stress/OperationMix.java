@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static info.archinnov.achilles.validation.Validator.validateNotBlank;
+import static info.archinnov.achilles.validation.Validator.validateNotEmpty;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Weighted mix of {@link StressOperation}. Example:
+ * <br/>
+ * <pre class="code"><code class="java">
+ * // 50% insert, 40% find, 10% select
+ * OperationMix.parse("insert:5,find:4,select:1");
+ * </code></pre>
+ */
+public class OperationMix {
+
+    private final Map<StressOperation, Integer> weights;
+    private final StressOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public OperationMix(Map<StressOperation, Integer> weights) {
+        validateNotEmpty(weights, "The operation mix should not be empty");
+        this.weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+        this.operations = new StressOperation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int index = 0, cumulative = 0;
+        for (Map.Entry<StressOperation, Integer> entry : this.weights.entrySet()) {
+            validateTrue(entry.getValue() != null && entry.getValue() > 0,
+                    "The weight of operation '%s' should be strictly positive", entry.getKey().label);
+            cumulative += entry.getValue();
+            operations[index] = entry.getKey();
+            cumulativeWeights[index] = cumulative;
+            index++;
+        }
+        this.totalWeight = cumulative;
+    }
+
+    /**
+     * Parse a mix of the form <em>operation:weight,operation:weight,...</em>
+     */
+    public static OperationMix parse(String mix) {
+        validateNotBlank(mix, "The operation mix should not be blank");
+        final Map<StressOperation, Integer> weights = new EnumMap<>(StressOperation.class);
+        for (String token : mix.split(",")) {
+            final String[] parts = token.split(":");
+            validateTrue(parts.length == 2, "Invalid operation mix entry '%s', expected format is 'operation:weight'", token);
+            final int weight;
+            try {
+                weight = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException ex) {
+                throw new AchillesException(format("Invalid weight '%s' for operation '%s'", parts[1], parts[0]), ex);
+            }
+            weights.merge(StressOperation.fromLabel(parts[0]), weight, Integer::sum);
+        }
+        return new OperationMix(weights);
+    }
+
+    public StressOperation next(Random random) {
+        final int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<StressOperation, Integer> weights() {
+        return weights;
+    }
+
+    public boolean contains(StressOperation operation) {
+        return weights.containsKey(operation);
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(x -> x.getKey().label + ":" + x.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
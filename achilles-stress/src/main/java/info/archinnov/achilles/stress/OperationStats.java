@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput, errors and latency distribution of one {@link StressOperation}
+ */
+public class OperationStats {
+
+    static final double[] REPORTED_PERCENTILES = {50d, 75d, 95d, 99d, 99.9d};
+
+    private final StressOperation operation;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder lwtNotApplied = new LongAdder();
+
+    public OperationStats(StressOperation operation) {
+        this.operation = operation;
+    }
+
+    void recordSuccess(long latencyNanos, boolean applied) {
+        latencies.record(latencyNanos);
+        if (!applied) lwtNotApplied.increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    public StressOperation operation() {
+        return operation;
+    }
+
+    /**
+     * Number of successful operations
+     */
+    public long count() {
+        return latencies.count();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Number of LightWeight Transactions that were executed successfully but not applied
+     */
+    public long lwtNotApplied() {
+        return lwtNotApplied.sum();
+    }
+
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    /**
+     * Successful operations per second over the given elapsed time
+     */
+    public double throughput(long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0d : count() * 1e9d / elapsedNanos;
+    }
+
+    Map<String, Object> toMap(long elapsedNanos) {
+        final Map<String, Object> latencyMap = new LinkedHashMap<>();
+        latencyMap.put("min", round(latencies.minNanos() / 1e6d));
+        latencyMap.put("mean", round(latencies.meanNanos() / 1e6d));
+        for (double percentile : REPORTED_PERCENTILES) {
+            latencyMap.put("p" + formatPercentile(percentile), round(latencies.percentile(percentile, MILLISECONDS)));
+        }
+        latencyMap.put("max", round(latencies.maxNanos() / 1e6d));
+
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("operation", operation.label);
+        map.put("count", count());
+        map.put("errors", errors());
+        map.put("lwtNotApplied", lwtNotApplied());
+        map.put("throughput", round(throughput(elapsedNanos)));
+        map.put("latencyMs", latencyMap);
+        return map;
+    }
+
+    static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace(".", "_");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000d) / 1000d;
+    }
+}
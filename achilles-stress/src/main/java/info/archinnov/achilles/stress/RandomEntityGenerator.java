@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.utils.UUIDs;
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.metamodel.*;
+
+/**
+ * Generate random instances of an entity from its {@link AbstractEntityProperty} meta data.
+ * <br/>
+ * <br/>
+ * Primary key columns are derived deterministically from a <em>key index</em> so that reads,
+ * updates and deletes target rows that may have been inserted before: all key indices sharing
+ * the same <em>keyIndex / rowsPerPartition</em> fall in the same partition.
+ * Other columns get random values.
+ * <br/>
+ * <br/>
+ * Supported column types are the native CQL types, enums, collections, UDTs and <em>java.util.Optional</em>
+ * of those. Columns of any other type (e.g. tuples or JSON-encoded objects) are left null.
+ * Entities and UDTs must have a default constructor.
+ */
+public class RandomEntityGenerator<T> {
+
+    private static final long BASE_EPOCH_MILLIS = 1500000000000L;
+    private static final int MILLIS_RANGE = 1000000000;
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final long CLUSTERING_SALT = 0x5DEECE66DL;
+
+    private final AbstractEntityProperty<T> meta;
+    private final long seed;
+    private final int rowsPerPartition;
+    private final int valueSize;
+    private final int collectionSize;
+    private final List<AbstractProperty<T, ?, ?>> primaryKeys;
+    private final List<AbstractProperty<T, ?, ?>> otherColumns;
+    private final Constructor<T> constructor;
+
+    public RandomEntityGenerator(AbstractEntityProperty<T> meta, long seed, int rowsPerPartition, int valueSize, int collectionSize) {
+        this.meta = meta;
+        this.seed = seed;
+        this.rowsPerPartition = rowsPerPartition;
+        this.valueSize = valueSize;
+        this.collectionSize = collectionSize;
+        this.primaryKeys = new ArrayList<>(meta.partitionKeys);
+        this.primaryKeys.addAll(meta.clusteringColumns);
+        this.otherColumns = new ArrayList<>(meta.allColumns);
+        this.otherColumns.removeAll(primaryKeys);
+        this.constructor = defaultConstructor(meta.entityClass);
+
+        for (AbstractProperty<T, ?, ?> key : primaryKeys) {
+            if (randomValue(key, new Random(seed)) == null) {
+                throw new AchillesException(format("Cannot generate values for primary key column '%s' of entity '%s'",
+                        key.fieldName, meta.entityClass.getCanonicalName()));
+            }
+        }
+    }
+
+    /**
+     * Entity with primary key derived from the given key index and random values for other columns
+     */
+    public T newEntity(long keyIndex) {
+        final T entity = newEntityWithKeys(keyIndex);
+        final Random random = ThreadLocalRandom.current();
+        for (AbstractProperty<T, ?, ?> column : otherColumns) {
+            setField(column, entity, randomValue(column, random));
+        }
+        return entity;
+    }
+
+    /**
+     * Entity with only its primary key derived from the given key index
+     */
+    public T newEntityWithKeys(long keyIndex) {
+        final T entity = newInstance(constructor);
+        final Random partitionRandom = new Random(seed * 31 + keyIndex / rowsPerPartition);
+        final Random clusteringRandom = new Random((seed * 17 + keyIndex) ^ CLUSTERING_SALT);
+        meta.partitionKeys.forEach(x -> setField(x, entity, randomValue(x, partitionRandom)));
+        meta.clusteringColumns.forEach(x -> setField(x, entity, randomValue(x, clusteringRandom)));
+        meta.deriveTimeBucket(entity);
+        return entity;
+    }
+
+    public List<AbstractProperty<T, ?, ?>> primaryKeys() {
+        return primaryKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void setField(AbstractProperty<E, ?, ?> property, E entity, Object value) {
+        ((AbstractProperty<E, Object, ?>) property).setField(entity, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    Object randomValue(AbstractProperty<?, ?, ?> property, Random random) {
+        if (property instanceof UDTProperty) {
+            return randomUDT(((UDTProperty<?, ?, ?>) property).udtClassProperty, random);
+        } else if (property instanceof ListProperty) {
+            final AbstractProperty<?, ?, ?> element = ((ListProperty<?, ?, ?>) property).valueProperty;
+            final List<Object> list = new ArrayList<>();
+            for (int i = 0; i < collectionSize; i++) {
+                list.add(randomValue(element, random));
+            }
+            return list.contains(null) ? null : list;
+        } else if (property instanceof SetProperty) {
+            final AbstractProperty<?, ?, ?> element = ((SetProperty<?, ?, ?>) property).valueProperty;
+            final Set<Object> set = new HashSet<>();
+            for (int i = 0; i < collectionSize; i++) {
+                set.add(randomValue(element, random));
+            }
+            return set.contains(null) ? null : set;
+        } else if (property instanceof MapProperty) {
+            final MapProperty<?, ?, ?, ?, ?> mapProperty = (MapProperty<?, ?, ?, ?, ?>) property;
+            final Map<Object, Object> map = new HashMap<>();
+            for (int i = 0; i < collectionSize; i++) {
+                map.put(randomValue(mapProperty.keyProperty, random), randomValue(mapProperty.valueProperty, random));
+            }
+            return map.containsKey(null) || map.containsValue(null) ? null : map;
+        }
+        return randomValue(property.valueFromTypeToken, property.getDataType(), random);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A> A randomUDT(AbstractUDTClassProperty<A> udtClassProperty, Random random) {
+        if (!udtClassProperty.constructorInjectedProperty.isEmpty()) return null;
+        final A udt = newInstance(defaultConstructor(udtClassProperty.udtClass));
+        for (AbstractProperty<A, ?, ?> component : udtClassProperty.componentsProperty) {
+            setField(component, udt, randomValue(component, random));
+        }
+        return udt;
+    }
+
+    @SuppressWarnings("unchecked")
+    Object randomValue(TypeToken<?> typeToken, DataType dataType, Random random) {
+        final Class<?> type = Primitives.wrap(typeToken.getRawType());
+        if (type == String.class) {
+            final char[] chars = new char[valueSize];
+            for (int i = 0; i < valueSize; i++) {
+                chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+            }
+            return new String(chars);
+        } else if (type == Integer.class) {
+            return random.nextInt();
+        } else if (type == Long.class) {
+            return random.nextLong();
+        } else if (type == Short.class) {
+            return (short) random.nextInt();
+        } else if (type == Byte.class) {
+            return (byte) random.nextInt();
+        } else if (type == Boolean.class) {
+            return random.nextBoolean();
+        } else if (type == Double.class) {
+            return random.nextDouble();
+        } else if (type == Float.class) {
+            return random.nextFloat();
+        } else if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(random.nextLong(), 3);
+        } else if (type == BigInteger.class) {
+            return BigInteger.valueOf(random.nextLong());
+        } else if (type == UUID.class) {
+            return dataType.getName() == DataType.Name.TIMEUUID
+                    ? UUIDs.startOf(randomEpochMillis(random))
+                    : new UUID(random.nextLong(), random.nextLong());
+        } else if (type == Date.class) {
+            return new Date(randomEpochMillis(random));
+        } else if (type == Instant.class) {
+            return Instant.ofEpochMilli(randomEpochMillis(random));
+        } else if (type == ZonedDateTime.class) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(randomEpochMillis(random)), ZoneOffset.UTC);
+        } else if (type == java.time.LocalDate.class) {
+            return java.time.LocalDate.ofEpochDay(randomEpochMillis(random) / 86400000L);
+        } else if (type == com.datastax.driver.core.LocalDate.class) {
+            return com.datastax.driver.core.LocalDate.fromMillisSinceEpoch(randomEpochMillis(random));
+        } else if (type == java.time.LocalTime.class) {
+            return java.time.LocalTime.ofSecondOfDay(random.nextInt(86400));
+        } else if (type == InetAddress.class) {
+            try {
+                return InetAddress.getByAddress(randomBytes(4, random));
+            } catch (UnknownHostException e) {
+                throw new AchillesException(e);
+            }
+        } else if (type == ByteBuffer.class) {
+            return ByteBuffer.wrap(randomBytes(valueSize, random));
+        } else if (type == byte[].class) {
+            return randomBytes(valueSize, random);
+        } else if (type.isEnum()) {
+            final Object[] constants = type.getEnumConstants();
+            return constants.length == 0 ? null : constants[random.nextInt(constants.length)];
+        } else if (type == Optional.class) {
+            final TypeToken<?> elementType = typeToken.resolveType(Optional.class.getTypeParameters()[0]);
+            return Optional.ofNullable(randomValue(elementType, dataType, random));
+        }
+        return null;
+    }
+
+    private static long randomEpochMillis(Random random) {
+        return BASE_EPOCH_MILLIS + random.nextInt(MILLIS_RANGE);
+    }
+
+    private static byte[] randomBytes(int size, Random random) {
+        final byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static <A> Constructor<A> defaultConstructor(Class<A> type) {
+        try {
+            final Constructor<A> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new AchillesException(format("Cannot generate random instances of '%s', it has no default constructor",
+                    type.getCanonicalName()));
+        }
+    }
+
+    private static <A> A newInstance(Constructor<A> constructor) {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AchillesException(format("Cannot instantiate '%s'", constructor.getDeclaringClass().getCanonicalName()), e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.time.Duration;
+
+/**
+ * Settings of a stress run. Example:
+ * <br/>
+ * <pre class="code"><code class="java">
+ * StressConfig config = StressConfig.builder()
+ *      .withMix(OperationMix.parse("insert:5,find:4,select:1"))
+ *      .withTargetRate(5000)
+ *      .withConcurrency(128)
+ *      .withDuration(Duration.ofMinutes(5))
+ *      .withWarmup(Duration.ofSeconds(30));
+ * </code></pre>
+ * <br/>
+ * The run stops when either the duration elapses or the max number of operations has been issued.
+ * If no target rate is set, operations are issued as fast as the max concurrency allows
+ */
+public class StressConfig {
+
+    private OperationMix mix = OperationMix.parse("insert:1,find:1");
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ZERO;
+    private long maxOperations = 0L;
+    private double targetRate = 0d;
+    private int concurrency = 64;
+    private long population = 100000L;
+    private int rowsPerPartition = 1;
+    private int selectLimit = 100;
+    private int valueSize = 16;
+    private int collectionSize = 3;
+    private long seed = 42L;
+
+    private StressConfig() {
+    }
+
+    public static StressConfig builder() {
+        return new StressConfig();
+    }
+
+    /**
+     * Weighted mix of operations to issue. Default: <em>insert:1,find:1</em>
+     */
+    public StressConfig withMix(OperationMix mix) {
+        validateNotNull(mix, "The operation mix should not be null");
+        this.mix = mix;
+        return this;
+    }
+
+    /**
+     * Duration of the measured run, warmup excluded. Default: 60 seconds
+     */
+    public StressConfig withDuration(Duration duration) {
+        validateTrue(duration != null && !duration.isNegative() && !duration.isZero(), "The stress duration should be strictly positive");
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Duration during which operations are issued but not recorded. Default: none
+     */
+    public StressConfig withWarmup(Duration warmup) {
+        validateTrue(warmup != null && !warmup.isNegative(), "The warmup duration should be positive");
+        this.warmup = warmup;
+        return this;
+    }
+
+    /**
+     * Max number of operations to issue, warmup included. Default: 0 (unbounded)
+     */
+    public StressConfig withMaxOperations(long maxOperations) {
+        validateTrue(maxOperations >= 0, "The max number of operations should be positive");
+        this.maxOperations = maxOperations;
+        return this;
+    }
+
+    /**
+     * Target throughput in operations per second. Default: 0 (unbounded).
+     * When set, latencies are measured from the time each operation should have been issued
+     * to avoid coordinated omission when the cluster cannot keep up
+     */
+    public StressConfig withTargetRate(double targetRate) {
+        validateTrue(targetRate >= 0, "The target rate should be positive");
+        this.targetRate = targetRate;
+        return this;
+    }
+
+    /**
+     * Max number of in-flight operations. Default: 64
+     */
+    public StressConfig withConcurrency(int concurrency) {
+        validateTrue(concurrency > 0, "The concurrency should be strictly positive");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Number of distinct primary keys operations are spread over. Default: 100 000
+     */
+    public StressConfig withPopulation(long population) {
+        validateTrue(population > 0, "The population should be strictly positive");
+        this.population = population;
+        return this;
+    }
+
+    /**
+     * Number of rows sharing the same partition key, for clustered entities. Default: 1
+     */
+    public StressConfig withRowsPerPartition(int rowsPerPartition) {
+        validateTrue(rowsPerPartition > 0, "The number of rows per partition should be strictly positive");
+        this.rowsPerPartition = rowsPerPartition;
+        return this;
+    }
+
+    /**
+     * LIMIT of partition SELECT operations. Default: 100
+     */
+    public StressConfig withSelectLimit(int selectLimit) {
+        validateTrue(selectLimit > 0, "The select limit should be strictly positive");
+        this.selectLimit = selectLimit;
+        return this;
+    }
+
+    /**
+     * Length of generated text and blob values. Default: 16
+     */
+    public StressConfig withValueSize(int valueSize) {
+        validateTrue(valueSize > 0, "The value size should be strictly positive");
+        this.valueSize = valueSize;
+        return this;
+    }
+
+    /**
+     * Number of elements of generated collections. Default: 3
+     */
+    public StressConfig withCollectionSize(int collectionSize) {
+        validateTrue(collectionSize >= 0, "The collection size should be positive");
+        this.collectionSize = collectionSize;
+        return this;
+    }
+
+    /**
+     * Seed used to derive primary keys. Runs sharing the same seed and population hit the same rows. Default: 42
+     */
+    public StressConfig withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public OperationMix mix() {
+        return mix;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    public Duration warmup() {
+        return warmup;
+    }
+
+    public long maxOperations() {
+        return maxOperations;
+    }
+
+    public double targetRate() {
+        return targetRate;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+
+    public long population() {
+        return population;
+    }
+
+    public int rowsPerPartition() {
+        return rowsPerPartition;
+    }
+
+    public int selectLimit() {
+        return selectLimit;
+    }
+
+    public int valueSize() {
+        return valueSize;
+    }
+
+    public int collectionSize() {
+        return collectionSize;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return format("StressConfig{mix=%s, duration=%s, warmup=%s, maxOperations=%s, targetRate=%s, concurrency=%s, " +
+                        "population=%s, rowsPerPartition=%s, selectLimit=%s, valueSize=%s, collectionSize=%s, seed=%s}",
+                mix, duration, warmup, maxOperations, targetRate, concurrency,
+                population, rowsPerPartition, selectLimit, valueSize, collectionSize, seed);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static java.lang.String.format;
+
+import java.util.Arrays;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Operations issued by the stress tool against the entity under test
+ */
+public enum StressOperation {
+
+    /**
+     * CRUD insert of a random entity
+     */
+    INSERT("insert", false),
+    /**
+     * CRUD update of a random entity
+     */
+    UPDATE("update", false),
+    /**
+     * CRUD find by id
+     */
+    FIND("find", true),
+    /**
+     * CRUD delete by id
+     */
+    DELETE("delete", false),
+    /**
+     * DSL-like SELECT of the whole partition, mapped back to entities
+     */
+    SELECT("select", true),
+    /**
+     * CRUD insert ... IF NOT EXISTS
+     */
+    LWT_INSERT("lwt_insert", false),
+    /**
+     * CRUD delete by id ... IF EXISTS
+     */
+    LWT_DELETE("lwt_delete", false);
+
+    public final String label;
+    public final boolean read;
+
+    StressOperation(String label, boolean read) {
+        this.label = label;
+        this.read = read;
+    }
+
+    public static StressOperation fromLabel(String label) {
+        return Arrays.stream(StressOperation.values())
+                .filter(x -> x.label.equalsIgnoreCase(label.trim()))
+                .findFirst()
+                .orElseThrow(() -> new AchillesException(format("Unknown stress operation '%s', possible values are %s",
+                        label, Arrays.toString(Arrays.stream(values()).map(x -> x.label).toArray()))));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Result of a stress run, with per operation throughput and latency percentiles.
+ * Use {@link #toJSON()} to save the report and compare runs
+ */
+public class StressReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String entity;
+    private final StressConfig config;
+    private final long elapsedNanos;
+    private final List<OperationStats> operationStats;
+
+    public StressReport(String entity, StressConfig config, long elapsedNanos, List<OperationStats> operationStats) {
+        this.entity = entity;
+        this.config = config;
+        this.elapsedNanos = elapsedNanos;
+        this.operationStats = Collections.unmodifiableList(new ArrayList<>(operationStats));
+    }
+
+    public String entity() {
+        return entity;
+    }
+
+    public StressConfig config() {
+        return config;
+    }
+
+    /**
+     * Measured duration, warmup excluded
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public List<OperationStats> operationStats() {
+        return operationStats;
+    }
+
+    public long totalCount() {
+        return operationStats.stream().mapToLong(OperationStats::count).sum();
+    }
+
+    public long totalErrors() {
+        return operationStats.stream().mapToLong(OperationStats::errors).sum();
+    }
+
+    public double totalThroughput() {
+        return elapsedNanos <= 0 ? 0d : totalCount() * 1e9d / elapsedNanos;
+    }
+
+    public String toJSON() {
+        final Map<String, Object> configMap = new LinkedHashMap<>();
+        configMap.put("mix", config.mix().toString());
+        configMap.put("durationSeconds", config.duration().getSeconds());
+        configMap.put("warmupSeconds", config.warmup().getSeconds());
+        configMap.put("maxOperations", config.maxOperations());
+        configMap.put("targetRate", config.targetRate());
+        configMap.put("concurrency", config.concurrency());
+        configMap.put("population", config.population());
+        configMap.put("rowsPerPartition", config.rowsPerPartition());
+        configMap.put("seed", config.seed());
+
+        final List<Map<String, Object>> operations = new ArrayList<>();
+        operationStats.forEach(x -> operations.add(x.toMap(elapsedNanos)));
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("entity", entity);
+        report.put("config", configMap);
+        report.put("elapsedMs", NANOSECONDS.toMillis(elapsedNanos));
+        report.put("totalCount", totalCount());
+        report.put("totalErrors", totalErrors());
+        report.put("totalThroughput", Math.round(totalThroughput() * 1000d) / 1000d);
+        report.put("operations", operations);
+        try {
+            return MAPPER.writeValueAsString(report);
+        } catch (IOException e) {
+            throw new AchillesException("Cannot serialize stress report to JSON", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(format("Stress report for %s, %.1f s measured, %.1f op/s, %s errors%n",
+                entity, elapsedNanos / 1e9d, totalThroughput(), totalErrors()));
+        builder.append(format("%-12s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "op/s", "mean(ms)", "p50", "p95", "p99", "p99.9", "max"));
+        for (OperationStats stats : operationStats) {
+            final LatencyHistogram latencies = stats.latencies();
+            builder.append(format("%-12s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    stats.operation().label, stats.count(), stats.errors(), stats.throughput(elapsedNanos),
+                    latencies.meanNanos() / 1e6d, latencies.percentile(50d, MILLISECONDS),
+                    latencies.percentile(95d, MILLISECONDS), latencies.percentile(99d, MILLISECONDS),
+                    latencies.percentile(99.9d, MILLISECONDS), latencies.maxNanos() / 1e6d));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import info.archinnov.achilles.internals.runtime.AbstractManager;
+
+/**
+ * Drive a configurable mix of operations against an entity, through its generated manager.
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * StressReport report = StressRunner
+ *      .forManager(managerFactory.forUser(), StressConfig.builder().withTargetRate(2000))
+ *      .run();
+ * System.out.println(report);
+ * </code></pre>
+ * <br/>
+ * Operations are issued asynchronously from a single thread, bounded by the max concurrency
+ * and by the target rate if any. With a target rate, latencies are measured from the time each operation
+ * was scheduled to start rather than from the time it was actually issued, so that stalls
+ * are not hidden by the load generator slowing down (coordinated omission).
+ */
+public class StressRunner<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StressRunner.class);
+
+    private final EntityWorkload<T> workload;
+    private final StressConfig config;
+
+    public StressRunner(EntityWorkload<T> workload, StressConfig config) {
+        this.workload = workload;
+        this.config = config;
+    }
+
+    public static <T> StressRunner<T> forManager(AbstractManager<T> manager, StressConfig config) {
+        return new StressRunner<>(new EntityWorkload<>(manager, config), config);
+    }
+
+    public StressReport run() {
+        final Map<StressOperation, OperationStats> stats = new EnumMap<>(StressOperation.class);
+        config.mix().weights().keySet().forEach(x -> stats.put(x, new OperationStats(x)));
+
+        final int concurrency = config.concurrency();
+        final Semaphore inFlight = new Semaphore(concurrency);
+        final double targetRate = config.targetRate();
+        final RateLimiter rateLimiter = targetRate > 0 ? RateLimiter.create(targetRate) : null;
+        final long intervalNanos = targetRate > 0 ? (long) (1e9d / targetRate) : 0L;
+
+        final long start = System.nanoTime();
+        final long measureStart = start + config.warmup().toNanos();
+        final long end = measureStart + config.duration().toNanos();
+        final long maxOperations = config.maxOperations();
+
+        LOGGER.info(format("Start stressing entity %s with %s", workload.entityClass().getCanonicalName(), config));
+
+        long issued = 0L;
+        while (maxOperations == 0 || issued < maxOperations) {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            inFlight.acquireUninterruptibly();
+            final long now = System.nanoTime();
+            if (now >= end) {
+                inFlight.release();
+                break;
+            }
+
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final StressOperation operation = config.mix().next(random);
+            final long keyIndex = (long) (random.nextDouble() * config.population());
+            final long operationStart = rateLimiter != null ? Math.min(start + issued * intervalNanos, now) : now;
+            final boolean recorded = operationStart >= measureStart;
+            final OperationStats operationStats = stats.get(operation);
+
+            CompletableFuture<Boolean> future;
+            try {
+                future = workload.execute(operation, keyIndex);
+            } catch (RuntimeException ex) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(ex);
+            }
+            future.whenComplete((applied, throwable) -> {
+                final long latency = System.nanoTime() - operationStart;
+                if (recorded) {
+                    if (throwable != null) {
+                        operationStats.recordError();
+                        if (LOGGER.isDebugEnabled()) {
+                            LOGGER.debug(format("Error on %s operation", operation.label), throwable);
+                        }
+                    } else {
+                        operationStats.recordSuccess(latency, applied);
+                    }
+                }
+                inFlight.release();
+            });
+
+            issued++;
+        }
+
+        inFlight.acquireUninterruptibly(concurrency);
+        final long elapsed = Math.max(System.nanoTime() - measureStart, 0L);
+        final List<OperationStats> operationStats = new ArrayList<>(stats.values());
+        final StressReport report = new StressReport(workload.entityClass().getCanonicalName(), config, elapsed, operationStats);
+        LOGGER.info(format("Stress of entity %s done, %s operations issued", workload.entityClass().getCanonicalName(), issued));
+        return report;
+    }
+}
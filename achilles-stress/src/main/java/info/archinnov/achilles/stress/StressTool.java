@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.Cluster;
+
+import info.archinnov.achilles.bootstrap.AbstractManagerFactoryBuilder;
+import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.runtime.AbstractManager;
+import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
+
+/**
+ * Command line entry point of the stress tool. The compiled entities and their generated
+ * <em>ManagerFactoryBuilder</em> must be on the classpath. See {@link #displayUsage()} for the options
+ */
+public class StressTool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StressTool.class);
+
+    static final String MANAGER_FACTORY_BUILDER = "info.archinnov.achilles.generated.ManagerFactoryBuilder";
+    static final String DEFAULT_KEYSPACE = "achilles_stress";
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(\\d+)(ms|s|m|h)?");
+
+    public static void main(String... args) throws IOException {
+        final Map<String, String> options;
+        try {
+            options = parseArguments(args);
+        } catch (AchillesException ex) {
+            System.out.println(ex.getMessage());
+            System.out.println(displayUsage());
+            return;
+        }
+        if (!options.containsKey("entity")) {
+            System.out.println(displayUsage());
+            return;
+        }
+
+        final StressConfig config = toConfig(options);
+        final String keyspace = options.getOrDefault("keyspace", DEFAULT_KEYSPACE);
+        final boolean embedded = !options.containsKey("contact-points");
+        final Cluster cluster = embedded
+                ? CassandraEmbeddedServerBuilder.builder()
+                    .withKeyspaceName(keyspace)
+                    .cleanDataFilesAtStartup(true)
+                    .buildNativeCluster()
+                : Cluster.builder()
+                    .addContactPoints(options.get("contact-points").split(","))
+                    .withPort(Integer.parseInt(options.getOrDefault("port", "9042")))
+                    .build();
+
+        try {
+            final AbstractManagerFactory managerFactory = buildManagerFactory(cluster, keyspace);
+            final AbstractManager<?> manager = findManager(managerFactory, loadClass(options.get("entity")));
+            final StressReport report = StressRunner.forManager(manager, config).run();
+            System.out.println(report);
+            final Optional<String> jsonFile = Optional.ofNullable(options.get("json"));
+            if (jsonFile.isPresent()) {
+                Files.write(Paths.get(jsonFile.get()), report.toJSON().getBytes(UTF_8));
+                LOGGER.info(format("JSON stress report written to %s", jsonFile.get()));
+            }
+            managerFactory.shutDown();
+        } finally {
+            cluster.close();
+        }
+
+        if (embedded) {
+            // Embedded Cassandra threads are not daemon
+            System.exit(0);
+        }
+    }
+
+    static Map<String, String> parseArguments(String... args) {
+        final Map<String, String> options = new LinkedHashMap<>();
+        if (args == null) return options;
+        for (String arg : args) {
+            validateTrue(arg.startsWith("--") && arg.indexOf('=') > 2, "Invalid argument '%s', expected format is --option=value", arg);
+            final int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    static StressConfig toConfig(Map<String, String> options) {
+        final StressConfig config = StressConfig.builder();
+        for (Map.Entry<String, String> entry : options.entrySet()) {
+            final String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "mix":
+                    config.withMix(OperationMix.parse(value));
+                    break;
+                case "duration":
+                    config.withDuration(parseDuration(value));
+                    break;
+                case "warmup":
+                    config.withWarmup(parseDuration(value));
+                    break;
+                case "operations":
+                    config.withMaxOperations(parseNumber(entry.getKey(), value).longValue());
+                    break;
+                case "rate":
+                    config.withTargetRate(parseNumber(entry.getKey(), value).doubleValue());
+                    break;
+                case "concurrency":
+                    config.withConcurrency(parseNumber(entry.getKey(), value).intValue());
+                    break;
+                case "population":
+                    config.withPopulation(parseNumber(entry.getKey(), value).longValue());
+                    break;
+                case "rows-per-partition":
+                    config.withRowsPerPartition(parseNumber(entry.getKey(), value).intValue());
+                    break;
+                case "select-limit":
+                    config.withSelectLimit(parseNumber(entry.getKey(), value).intValue());
+                    break;
+                case "value-size":
+                    config.withValueSize(parseNumber(entry.getKey(), value).intValue());
+                    break;
+                case "collection-size":
+                    config.withCollectionSize(parseNumber(entry.getKey(), value).intValue());
+                    break;
+                case "seed":
+                    config.withSeed(parseNumber(entry.getKey(), value).longValue());
+                    break;
+                case "entity":
+                case "keyspace":
+                case "contact-points":
+                case "port":
+                case "json":
+                    break;
+                default:
+                    throw new AchillesException(format("Unknown stress option '--%s'", entry.getKey()));
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Parse durations like <em>500ms</em>, <em>30s</em>, <em>5m</em> or <em>1h</em>. Plain numbers are seconds
+     */
+    static Duration parseDuration(String value) {
+        final Matcher matcher = DURATION_PATTERN.matcher(value.trim());
+        validateTrue(matcher.matches(), "Invalid duration '%s', expected format is <number>[ms|s|m|h]", value);
+        final long amount = Long.parseLong(matcher.group(1));
+        final String unit = matcher.group(2) == null ? "s" : matcher.group(2);
+        switch (unit) {
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            default:
+                return Duration.ofSeconds(amount);
+        }
+    }
+
+    private static Double parseNumber(String option, String value) {
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new AchillesException(format("Invalid numeric value '%s' for option '--%s'", value, option));
+        }
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new AchillesException(format("Cannot find class '%s' on the classpath", className), e);
+        }
+    }
+
+    private static AbstractManagerFactory buildManagerFactory(Cluster cluster, String keyspace) {
+        try {
+            final Method builderMethod = loadClass(MANAGER_FACTORY_BUILDER).getMethod("builder", Cluster.class);
+            final AbstractManagerFactoryBuilder<?> builder = (AbstractManagerFactoryBuilder<?>) builderMethod.invoke(null, cluster);
+            builder.withDefaultKeyspaceName(keyspace).doForceSchemaCreation(true);
+            return (AbstractManagerFactory) builder.getClass().getMethod("build").invoke(builder);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new AchillesException(format("Cannot build manager factory from '%s'", MANAGER_FACTORY_BUILDER), e);
+        } catch (InvocationTargetException e) {
+            throw new AchillesException(format("Cannot build manager factory from '%s'", MANAGER_FACTORY_BUILDER), e.getCause());
+        }
+    }
+
+    /**
+     * Find the generated manager of the given entity class among the <em>forXXX()</em> methods of the manager factory
+     */
+    static AbstractManager<?> findManager(AbstractManagerFactory managerFactory, Class<?> entityClass) {
+        for (Method method : managerFactory.getClass().getMethods()) {
+            if (method.getParameterCount() == 0
+                    && !Modifier.isStatic(method.getModifiers())
+                    && AbstractManager.class.isAssignableFrom(method.getReturnType())) {
+                try {
+                    final AbstractManager<?> manager = (AbstractManager<?>) method.invoke(managerFactory);
+                    if (manager.getEntityMeta().entityClass.equals(entityClass)) {
+                        return manager;
+                    }
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new AchillesException(format("Cannot get manager from method '%s'", method.getName()), e);
+                }
+            }
+        }
+        throw new AchillesException(format("Cannot find any manager for entity '%s', is it managed by the manager factory ?",
+                entityClass.getCanonicalName()));
+    }
+
+    static String displayUsage() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("*********************************************************************************************************************************************************************\n");
+        builder.append("\n");
+        builder.append("Usage for Stress Tool : \n");
+        builder.append("\n");
+        builder.append("java -cp ./your_compiled_entities.jar:./achilles-stress-<version>-shaded.jar info.archinnov.achilles.stress.StressTool --entity=<entity_class> [options]\n");
+        builder.append("\n");
+        builder.append("  --mix=insert:5,find:4,select:1    weighted operations among insert, update, find, delete, select, lwt_insert, lwt_delete (default insert:1,find:1)\n");
+        builder.append("  --duration=60s                    measured duration, in ms, s, m or h (default 60s)\n");
+        builder.append("  --warmup=10s                      warmup duration, not measured (default 0)\n");
+        builder.append("  --operations=<n>                  max number of operations (default unbounded)\n");
+        builder.append("  --rate=<ops/s>                    target rate (default unbounded)\n");
+        builder.append("  --concurrency=<n>                 max in-flight operations (default 64)\n");
+        builder.append("  --population=<n>                  number of distinct primary keys (default 100000)\n");
+        builder.append("  --rows-per-partition=<n>          rows per partition for clustered entities (default 1)\n");
+        builder.append("  --select-limit=<n>                LIMIT of partition selects (default 100)\n");
+        builder.append("  --value-size=<n>                  size of generated text and blob values (default 16)\n");
+        builder.append("  --collection-size=<n>             size of generated collections (default 3)\n");
+        builder.append("  --seed=<n>                        seed for primary keys (default 42)\n");
+        builder.append("  --contact-points=host1,host2      external cluster contact points (default: embedded Cassandra)\n");
+        builder.append("  --port=9042                       external cluster native port\n");
+        builder.append("  --keyspace=<name>                 keyspace, must exist on external clusters (default achilles_stress)\n");
+        builder.append("  --json=<file>                     write the report as JSON to the given file\n");
+        builder.append("\n");
+        builder.append("*********************************************************************************************************************************************************************\n");
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void should_map_values_to_buckets_with_bounded_relative_error() throws Exception {
+        //Given
+        final long[] values = {0L, 1L, 127L, 128L, 129L, 1000L, 123456L, 987654321L, LatencyHistogram.HIGHEST_TRACKABLE_VALUE};
+
+        //When
+        //Then
+        for (long value : values) {
+            final long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexFor(value));
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            assertThat((double) (highest - value)).isLessThanOrEqualTo(value / 64d);
+        }
+    }
+
+    @Test
+    public void should_compute_percentiles() throws Exception {
+        //Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        //When
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        //Then
+        assertThat(histogram.count()).isEqualTo(1000L);
+        assertThat(histogram.minNanos()).isEqualTo(1000L);
+        assertThat(histogram.maxNanos()).isEqualTo(1000000L);
+        assertThat(histogram.meanNanos()).isEqualTo(500500d);
+        assertThat(histogram.percentile(50d, TimeUnit.MICROSECONDS)).isBetween(500d, 508d);
+        assertThat(histogram.percentile(99d, TimeUnit.MICROSECONDS)).isBetween(990d, 1000d);
+        assertThat(histogram.percentile(100d, TimeUnit.MICROSECONDS)).isEqualTo(1000d);
+    }
+
+    @Test
+    public void should_return_zero_when_empty() throws Exception {
+        //Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        //When
+        //Then
+        assertThat(histogram.percentileNanos(99d)).isEqualTo(0L);
+        assertThat(histogram.minNanos()).isEqualTo(0L);
+        assertThat(histogram.meanNanos()).isEqualTo(0d);
+    }
+}
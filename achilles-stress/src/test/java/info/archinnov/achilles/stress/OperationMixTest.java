@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+public class OperationMixTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_pick_operations_according_to_weights() throws Exception {
+        //Given
+        final OperationMix mix = OperationMix.parse("insert:3, find:1");
+        final Random random = new Random(0L);
+        final Map<StressOperation, Integer> picked = new EnumMap<>(StressOperation.class);
+
+        //When
+        for (int i = 0; i < 10000; i++) {
+            picked.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        //Then
+        assertThat(picked.keySet()).containsOnly(StressOperation.INSERT, StressOperation.FIND);
+        assertThat(picked.get(StressOperation.INSERT)).isBetween(7200, 7800);
+        assertThat(mix.toString()).isEqualTo("insert:3,find:1");
+    }
+
+    @Test
+    public void should_fail_parsing_unknown_operation() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Unknown stress operation 'upsert'");
+
+        //When
+        OperationMix.parse("upsert:1");
+    }
+
+    @Test
+    public void should_fail_parsing_non_positive_weight() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The weight of operation 'select' should be strictly positive");
+
+        //When
+        OperationMix.parse("insert:1,select:0");
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.stress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+public class StressToolTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_build_config_from_arguments() throws Exception {
+        //Given
+        final Map<String, String> options = StressTool.parseArguments("--entity=com.example.User",
+                "--mix=insert:2,lwt_delete:1", "--duration=5m", "--warmup=500ms", "--rate=1500",
+                "--concurrency=16", "--population=1000", "--rows-per-partition=10", "--seed=7");
+
+        //When
+        final StressConfig config = StressTool.toConfig(options);
+
+        //Then
+        assertThat(options.get("entity")).isEqualTo("com.example.User");
+        assertThat(config.mix().weights()).hasSize(2);
+        assertThat(config.mix().contains(StressOperation.LWT_DELETE)).isTrue();
+        assertThat(config.duration()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(config.warmup()).isEqualTo(Duration.ofMillis(500));
+        assertThat(config.targetRate()).isEqualTo(1500d);
+        assertThat(config.concurrency()).isEqualTo(16);
+        assertThat(config.population()).isEqualTo(1000L);
+        assertThat(config.rowsPerPartition()).isEqualTo(10);
+        assertThat(config.seed()).isEqualTo(7L);
+    }
+
+    @Test
+    public void should_parse_plain_duration_as_seconds() throws Exception {
+        //Given
+        //When
+        //Then
+        assertThat(StressTool.parseDuration("30")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(StressTool.parseDuration("2h")).isEqualTo(Duration.ofHours(2));
+    }
+
+    @Test
+    public void should_fail_on_unknown_option() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Unknown stress option '--threads'");
+
+        //When
+        StressTool.toConfig(StressTool.parseArguments("--threads=4"));
+    }
+
+    @Test
+    public void should_fail_on_invalid_concurrency() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("The concurrency should be strictly positive");
+
+        //When
+        StressTool.toConfig(StressTool.parseArguments("--concurrency=0"));
+    }
+}
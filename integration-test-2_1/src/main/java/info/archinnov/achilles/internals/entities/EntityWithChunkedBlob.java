@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.entities;
+
+import java.nio.ByteBuffer;
+
+import info.archinnov.achilles.annotations.*;
+
+@Table(table = "entity_with_chunked_blob")
+public class EntityWithChunkedBlob {
+
+    @PartitionKey
+    private Long id;
+
+    @ClusteringColumn
+    private int chunk;
+
+    @ChunkedBlob(chunkSize = 16, writeParallelism = 2, prefetchChunks = 2)
+    @Column
+    private ByteBuffer data;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getChunk() {
+        return chunk;
+    }
+
+    public void setChunk(int chunk) {
+        this.chunk = chunk;
+    }
+
+    public ByteBuffer getData() {
+        return data;
+    }
+
+    public void setData(ByteBuffer data) {
+        this.data = data;
+    }
+}
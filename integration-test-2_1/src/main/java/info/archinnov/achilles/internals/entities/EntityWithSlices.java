@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.entities;
+
+import info.archinnov.achilles.annotations.ClusteringColumn;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.Table;
+
+@Table(table = "entity_with_slices")
+public class EntityWithSlices {
+
+    @PartitionKey
+    private Long id;
+
+    @ClusteringColumn(1)
+    private Integer major;
+
+    @ClusteringColumn(2)
+    private Integer minor;
+
+    @Column
+    private String value;
+
+    public EntityWithSlices() {
+    }
+
+    public EntityWithSlices(Long id, Integer major, Integer minor, String value) {
+        this.id = id;
+        this.major = major;
+        this.minor = minor;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getMajor() {
+        return major;
+    }
+
+    public void setMajor(Integer major) {
+        this.major = major;
+    }
+
+    public Integer getMinor() {
+        return minor;
+    }
+
+    public void setMinor(Integer minor) {
+        this.minor = minor;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
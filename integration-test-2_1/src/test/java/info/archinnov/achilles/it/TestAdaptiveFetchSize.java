@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.ExecutionInfo;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithSlices_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithSlices;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.fetchsize.AdaptiveFetchSize;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+public class TestAdaptiveFetchSize {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithSlices.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithSlices.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withAdaptiveFetchSizeTargetPageBytes(400L)
+                    .withAdaptiveFetchSizeBounds(2, 1000)
+                    .build());
+
+    private ManagerFactory managerFactory = resource.getManagerFactory();
+    private EntityWithSlices_Manager manager = managerFactory.forEntityWithSlices();
+
+    @Test
+    public void should_adapt_fetch_size_of_next_pages_to_row_size() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        for (int major = 0; major < 40; major++) {
+            manager.crud().insert(new EntityWithSlices(id, major, 0, "value")).execute();
+        }
+
+        //When
+        final Tuple2<Iterator<EntityWithSlices>, ExecutionInfo> result = manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(2)
+                .withAdaptiveFetchSize()
+                .iteratorWithExecutionInfo();
+
+        final List<EntityWithSlices> entities = new ArrayList<>();
+        result._1().forEachRemaining(entities::add);
+
+        //Then
+        assertThat(entities).hasSize(40);
+        final List<AdaptiveFetchSize> fetchSizes = managerFactory.adaptiveFetchSizes();
+        assertThat(fetchSizes).hasSize(1);
+        final AdaptiveFetchSize adaptive = fetchSizes.get(0);
+        assertThat(adaptive.averageRowBytes()).isGreaterThan(0L);
+        assertThat(adaptive.fetchSize()).isEqualTo((int) (400L / adaptive.averageRowBytes()));
+        assertThat(adaptive.observedPages()).isLessThan(20L);
+    }
+
+    @Test
+    public void should_not_track_queries_without_adaptive_fetch_size() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithSlices(id, 0, 0, "value")).execute();
+
+        //When
+        final List<EntityWithSlices> entities = manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .getList();
+
+        //Then
+        assertThat(entities).hasSize(1);
+        assertThat(managerFactory.adaptiveFetchSizes()).isEmpty();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static com.datastax.driver.core.ConsistencyLevel.*;
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.commitlog.CommitLog;
+import org.apache.cassandra.db.commitlog.CommitLogDescriptor;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import info.archinnov.achilles.cdc.*;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.generated.meta.entity.SimpleEntity_AchillesMeta;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestCdcReader {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    /**
+     * The embedded keyspace is created with DURABLE_WRITES=false, nothing would reach the commit log
+     */
+    @Before
+    public void enableDurableWrites() {
+        resource.getNativeSession().execute("ALTER KEYSPACE " + DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + " WITH DURABLE_WRITES = true");
+    }
+
+    @After
+    public void disableDurableWrites() {
+        resource.getNativeSession().execute("ALTER KEYSPACE " + DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + " WITH DURABLE_WRITES = false");
+    }
+
+    @Test
+    public void should_emit_typed_change_events_from_commit_log() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date(1000L);
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        entity.setConsistencyList(asList(ONE, QUORUM));
+        entity.setSimpleSet(Sets.newHashSet(1.0, 2.0));
+        entity.setSimpleMap(ImmutableMap.of(1, "one"));
+        manager.crud().insert(entity).execute();
+
+        manager.dsl().update().fromBaseTable()
+                .consistencyList().AppendTo(ALL)
+                .simpleSet().RemoveFrom(1.0)
+                .simpleMap().PutTo(2, "two")
+                .where().id().Eq(id).date().Eq(date)
+                .execute();
+
+        manager.crud().deleteById(id, date).execute();
+
+        final File cdcRaw = copyCommitLogSegments();
+        final List<EntityChangeEvent<SimpleEntity>> events = new ArrayList<>();
+
+        final CdcReader reader = CdcReaderBuilder
+                .builder(cdcRaw)
+                .withKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withEntity(new SimpleEntity_AchillesMeta(), batch -> batch
+                        .stream()
+                        .filter(x -> Objects.equals(x.primaryKey().get("id"), id))
+                        .forEach(events::add))
+                .withCheckpointFile(new File(folder.getRoot(), "cdc.checkpoint"))
+                .withDeleteConsumedSegments(false)
+                .withBatchSize(2)
+                .build();
+
+        //When
+        reader.poll();
+
+        //Then
+        assertThat(events).hasSize(3);
+
+        final EntityChangeEvent<SimpleEntity> insert = events.get(0);
+        assertThat(insert.changeType()).isEqualTo(ChangeType.UPSERT);
+        assertThat(insert.primaryKey()).isEqualTo(ImmutableMap.of("id", id, "date", date));
+        assertThat(insert.fieldChange("value").get().kind()).isEqualTo(FieldChange.Kind.SET);
+        assertThat(insert.fieldChange("consistencyList").get().<List<Object>>value()).containsExactly(ONE, QUORUM);
+        assertThat(insert.fieldChange("simpleSet").get().<Set<Object>>value()).containsOnly(1.0, 2.0);
+        final SimpleEntity inserted = insert.entity().get();
+        assertThat(inserted.getId()).isEqualTo(id);
+        assertThat(inserted.getDate()).isEqualTo(date);
+        assertThat(inserted.getValue()).isEqualTo("value");
+        assertThat(inserted.getSimpleMap()).isEqualTo(ImmutableMap.of(1, "one"));
+
+        final EntityChangeEvent<SimpleEntity> update = events.get(1);
+        assertThat(update.changeType()).isEqualTo(ChangeType.UPSERT);
+        assertThat(update.fieldChanges()).hasSize(3);
+        assertThat(update.fieldChange("consistencyList").get().kind()).isEqualTo(FieldChange.Kind.ADD);
+        assertThat(update.fieldChange("consistencyList").get().<List<Object>>value()).containsExactly(ALL);
+        assertThat(update.fieldChange("simpleSet").get().kind()).isEqualTo(FieldChange.Kind.REMOVE);
+        assertThat(update.fieldChange("simpleSet").get().<Set<Object>>value()).containsOnly(1.0);
+        assertThat(update.fieldChange("simpleMap").get().kind()).isEqualTo(FieldChange.Kind.ADD);
+        assertThat(update.fieldChange("simpleMap").get().<Map<?, ?>>value()).isEqualTo(ImmutableMap.of(2, "two"));
+        assertThat(update.entity().get().getSimpleMap()).isNull();
+
+        final EntityChangeEvent<SimpleEntity> delete = events.get(2);
+        assertThat(delete.changeType()).isEqualTo(ChangeType.ROW_DELETE);
+        assertThat(delete.primaryKey()).isEqualTo(ImmutableMap.of("id", id, "date", date));
+        assertThat(delete.fieldChanges()).isEmpty();
+        assertThat(delete.writeTimeMicros()).isGreaterThan(update.writeTimeMicros());
+        assertThat(delete.position()).isGreaterThan(update.position());
+
+        assertThat(reader.checkpoint().get().position()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void should_resume_from_checkpoint() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new SimpleEntity(id, new Date(), "value")).execute();
+
+        final File cdcRaw = copyCommitLogSegments();
+        final File checkpointFile = new File(folder.getRoot(), "cdc.checkpoint");
+        final List<EntityChangeEvent<SimpleEntity>> events = new ArrayList<>();
+        final CdcReaderBuilder builder = CdcReaderBuilder
+                .builder(cdcRaw)
+                .withKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withEntity(new SimpleEntity_AchillesMeta(), batch -> batch
+                        .stream()
+                        .filter(x -> Objects.equals(x.primaryKey().get("id"), id))
+                        .forEach(events::add))
+                .withCheckpointFile(checkpointFile)
+                .withDeleteConsumedSegments(false);
+        builder.build().poll();
+
+        //When
+        final int redelivered = builder.build().poll();
+
+        //Then
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).entity().get().getValue()).isEqualTo("value");
+        assertThat(redelivered).isEqualTo(0);
+    }
+
+    @Test
+    public void should_delete_consumed_segments() throws Exception {
+        //Given
+        manager.crud().insert(new SimpleEntity(RandomUtils.nextLong(0L, Long.MAX_VALUE), new Date(), "value")).execute();
+        final File cdcRaw = copyCommitLogSegments();
+
+        //When
+        CdcReaderBuilder
+                .builder(cdcRaw)
+                .withKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withEntity(new SimpleEntity_AchillesMeta(), batch -> {})
+                .withCheckpointFile(new File(folder.getRoot(), "cdc.checkpoint"))
+                .build()
+                .poll();
+
+        //Then
+        assertThat(cdcRaw.list()).isEmpty();
+    }
+
+    /**
+     * The embedded server does not enable CDC, the live commit log segments are copied instead.
+     * They have the same format as the segments moved to cdc_raw
+     */
+    private File copyCommitLogSegments() throws Exception {
+        CommitLog.instance.sync(true);
+        final File cdcRaw = folder.newFolder("cdc_raw");
+        try (Stream<Path> segments = Files.list(new File(DatabaseDescriptor.getCommitLogLocation()).toPath())) {
+            for (Path segment : segments.filter(x -> CommitLogDescriptor.isValid(x.getFileName().toString())).collect(toList())) {
+                Files.copy(segment, cdcRaw.toPath().resolve(segment.getFileName()));
+            }
+        }
+        return cdcRaw;
+    }
+}
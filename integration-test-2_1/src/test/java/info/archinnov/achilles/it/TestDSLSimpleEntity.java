@@ -46,12 +46,15 @@ import info.archinnov.achilles.generated.dsl.SimpleEntity_Delete;
 import info.archinnov.achilles.generated.dsl.SimpleEntity_Select;
 import info.archinnov.achilles.generated.dsl.SimpleEntity_Update;
 import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.dsl.projection.ProjectionSelect;
 import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.entities.SimpleEntitySummary;
 import info.archinnov.achilles.it.utils.CassandraLogAsserter;
 import info.archinnov.achilles.junit.AchillesTestResource;
 import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
 import info.archinnov.achilles.script.ScriptExecutor;
 import info.archinnov.achilles.type.SchemaNameProvider;
+import info.archinnov.achilles.type.columnar.*;
 import info.archinnov.achilles.type.lightweighttransaction.LWTResultListener;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
@@ -216,6 +219,101 @@ public class TestDSLSimpleEntity {
         assertThat(instance8.getValue()).isEqualTo("id - date8");
     }
 
+    @Test
+    public void should_dsl_select_partition_as_projection() throws Exception {
+        //Given
+        final Map<String, Object> values = new HashMap<>();
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        values.put("id", id);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        final Date date1 = dateFormat.parse("2015-10-01 00:00:00 GMT");
+        final Date date2 = dateFormat.parse("2015-10-02 00:00:00 GMT");
+        values.put("date1", "'2015-10-01 00:00:00+0000'");
+        values.put("date2", "'2015-10-02 00:00:00+0000'");
+        values.put("date3", "'2015-10-03 00:00:00+0000'");
+        values.put("date4", "'2015-10-04 00:00:00+0000'");
+        values.put("date5", "'2015-10-05 00:00:00+0000'");
+        values.put("date6", "'2015-10-06 00:00:00+0000'");
+        values.put("date7", "'2015-10-07 00:00:00+0000'");
+        values.put("date8", "'2015-10-08 00:00:00+0000'");
+        values.put("date9", "'2015-10-09 00:00:00+0000'");
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_many_rows.cql", values);
+
+        //When
+        final ProjectionSelect<SimpleEntity, SimpleEntitySummary> select = manager
+                .dsl()
+                .selectAs_SimpleEntitySummary(id);
+        final List<SimpleEntitySummary> summaries = select.getList();
+
+        //Then
+        assertThat(select.getStatementAsString()).isEqualTo("SELECT date,value,consistencylist,simplemap " +
+                "FROM " + DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + ".simple WHERE id=:id;");
+        assertThat(summaries).hasSize(9);
+
+        final SimpleEntitySummary first = summaries.get(0);
+        assertThat(first.getDate()).isEqualTo(date1);
+        assertThat(first.getValue()).isEqualTo("id - date1");
+        assertThat(first.getConsistencyList()).containsExactly(ONE);
+        assertThat(first.getSimpleMap()).containsExactly(entry(1, "one"));
+        assertThat(summaries.get(1).getDate()).isEqualTo(date2);
+        assertThat(summaries.get(1).getConsistencyList()).containsExactly(TWO);
+        assertThat(manager.dsl().selectAs_SimpleEntitySummary(id).iterator().next()).isEqualTo(first);
+    }
+
+    @Test
+    public void should_dsl_select_slice_as_columnar_batches() throws Exception {
+        //Given
+        final Map<String, Object> values = new HashMap<>();
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        values.put("id", id);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        final Date date1 = dateFormat.parse("2015-10-01 00:00:00 GMT");
+        final Date date9 = dateFormat.parse("2015-10-09 00:00:00 GMT");
+        values.put("date1", "'2015-10-01 00:00:00+0000'");
+        values.put("date2", "'2015-10-02 00:00:00+0000'");
+        values.put("date3", "'2015-10-03 00:00:00+0000'");
+        values.put("date4", "'2015-10-04 00:00:00+0000'");
+        values.put("date5", "'2015-10-05 00:00:00+0000'");
+        values.put("date6", "'2015-10-06 00:00:00+0000'");
+        values.put("date7", "'2015-10-07 00:00:00+0000'");
+        values.put("date8", "'2015-10-08 00:00:00+0000'");
+        values.put("date9", "'2015-10-09 00:00:00+0000'");
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_many_rows.cql", values);
+
+        //When
+        final Iterator<ColumnarBatch> batches = manager
+                .dsl()
+                .select()
+                .id()
+                .date()
+                .value()
+                .consistencyList()
+                .fromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Gte_And_Lt(date1, date9)
+                .withFetchSize(3)
+                .columnarBatches(5, ColumnarBufferAllocator.OFF_HEAP);
+
+        //Then
+        assertThat(batches.hasNext()).isTrue();
+        final ColumnarBatch batch1 = batches.next();
+        assertThat(batch1.rowCount()).isEqualTo(5);
+        assertThat(batch1.column("id", LongVector.class).toArray()).containsOnly(id);
+        assertThat(batch1.column("date", LongVector.class).getLong(0)).isEqualTo(date1.getTime());
+        assertThat(batch1.column("value", DictionaryStringVector.class).getString(4)).isEqualTo("id - date5");
+        assertThat(batch1.column("consistencyList", ObjectVector.class).getObject(0)).isEqualTo(asList(ONE));
+
+        assertThat(batches.hasNext()).isTrue();
+        final ColumnarBatch batch2 = batches.next();
+        assertThat(batch2.rowCount()).isEqualTo(3);
+        assertThat(batch2.column("value", DictionaryStringVector.class).dictionary())
+                .containsExactly("id - date6", "id - date7", "id - date8");
+        assertThat(batches.hasNext()).isFalse();
+    }
+
     @Test
     public void should_dsl_select_slice_with_execution_info() throws Exception {
         //Given
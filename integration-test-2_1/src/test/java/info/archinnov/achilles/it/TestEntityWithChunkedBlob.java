@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithChunkedBlob_Manager;
+import info.archinnov.achilles.generated.meta.entity.EntityWithChunkedBlob_AchillesMeta;
+import info.archinnov.achilles.internals.entities.EntityWithChunkedBlob;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestEntityWithChunkedBlob {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithChunkedBlob.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithChunkedBlob.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private EntityWithChunkedBlob_Manager manager = resource.getManagerFactory().forEntityWithChunkedBlob();
+
+    @Test
+    public void should_write_and_read_chunked_blob_from_stream() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final byte[] payload = RandomUtils.nextBytes(100);
+
+        //When
+        final int chunks = manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data)
+                .write(new ByteArrayInputStream(payload), id);
+
+        //Then
+        assertThat(chunks).isEqualTo(7);
+        final List<Row> rows = session.execute("SELECT chunk FROM entity_with_chunked_blob WHERE id = " + id + " AND chunk >= 0").all();
+        assertThat(rows).hasSize(7);
+
+        try (InputStream inputStream = manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).read(id)) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(payload);
+        }
+    }
+
+    @Test
+    public void should_overwrite_chunked_blob_from_byte_buffer() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).write(ByteBuffer.wrap(RandomUtils.nextBytes(64)), id);
+        final byte[] payload = RandomUtils.nextBytes(20);
+
+        //When
+        final int chunks = manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).write(ByteBuffer.wrap(payload), id);
+
+        //Then
+        assertThat(chunks).isEqualTo(2);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        IOUtils.copy(manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).read(id), output);
+        assertThat(output.toByteArray()).isEqualTo(payload);
+        final List<Row> rows = session.execute("SELECT chunk FROM entity_with_chunked_blob WHERE id = " + id + " AND chunk >= 0").all();
+        assertThat(rows).hasSize(2);
+    }
+
+    @Test
+    public void should_keep_previous_chunked_blob_when_write_fails() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final byte[] payload = RandomUtils.nextBytes(40);
+        manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).write(ByteBuffer.wrap(payload), id);
+        final InputStream failingStream = new SequenceInputStream(new ByteArrayInputStream(RandomUtils.nextBytes(64)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Broken stream");
+            }
+        });
+
+        //When
+        try {
+            manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).write(failingStream, id);
+            fail("The write should fail");
+        } catch (AchillesException e) {
+            assertThat(e.getCause()).hasMessage("Broken stream");
+        }
+
+        //Then
+        try (InputStream inputStream = manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).read(id)) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(payload);
+        }
+    }
+
+    @Test
+    public void should_delete_chunked_blob() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).write(ByteBuffer.wrap(RandomUtils.nextBytes(40)), id);
+
+        //When
+        manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).delete(id);
+
+        //Then
+        assertThat(manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.data).read(id).read()).isEqualTo(-1);
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_fail_when_property_is_not_chunk_data() throws Exception {
+        manager.chunkedBlob(EntityWithChunkedBlob_AchillesMeta.id);
+    }
+}
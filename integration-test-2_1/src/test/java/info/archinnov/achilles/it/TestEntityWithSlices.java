@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithSlices_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithSlices;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestEntityWithSlices {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithSlices.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithSlices.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private EntityWithSlices_Manager manager = resource.getManagerFactory().forEntityWithSlices();
+
+    @Test
+    public void should_iterate_partition_by_seek_pages() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        insertRows(id, 4, 3);
+
+        //When
+        final List<String> actual = manager
+                .dsl()
+                .sliceIterator(id)
+                .withPageSize(5)
+                .stream()
+                .map(EntityWithSlices::getValue)
+                .collect(toList());
+
+        //Then
+        assertThat(actual).containsExactly("0-0", "0-1", "0-2", "1-0", "1-1", "1-2",
+                "2-0", "2-1", "2-2", "3-0", "3-1", "3-2");
+    }
+
+    @Test
+    public void should_resume_after_last_clustering_tuple() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        insertRows(id, 3, 3);
+
+        //When
+        final List<String> actual = manager
+                .dsl()
+                .sliceIterator(id)
+                .after(1, 1)
+                .withPageSize(2)
+                .stream()
+                .map(EntityWithSlices::getValue)
+                .collect(toList());
+
+        //Then
+        assertThat(actual).containsExactly("1-2", "2-0", "2-1", "2-2");
+    }
+
+    @Test
+    public void should_fetch_parallel_slices_in_order() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        insertRows(id, 10, 2);
+
+        //When
+        final List<String> actual = manager
+                .dsl()
+                .sliceIterator(id)
+                .between(2, 8)
+                .parallelSlices(4)
+                .withPageSize(3)
+                .stream()
+                .map(EntityWithSlices::getValue)
+                .collect(toList());
+
+        //Then
+        assertThat(actual).containsExactly("2-0", "2-1", "3-0", "3-1", "4-0", "4-1",
+                "5-0", "5-1", "6-0", "6-1", "7-0", "7-1");
+    }
+
+    @Test
+    public void should_prefetch_next_pages_of_every_slice() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        insertRows(id, 4, 4);
+        final AtomicInteger firstSliceRows = new AtomicInteger(0);
+        final AtomicInteger secondSliceRows = new AtomicInteger(0);
+
+        //When
+        final Iterator<EntityWithSlices> iterator = manager
+                .dsl()
+                .sliceIterator(id)
+                .between(0, 4)
+                .parallelSlices(2)
+                .withPageSize(2)
+                .withRowAsyncListener(row -> {
+                    (row.getInt("major") < 2 ? firstSliceRows : secondSliceRows).incrementAndGet();
+                    return row;
+                })
+                .iterator();
+        final EntityWithSlices first = iterator.next();
+
+        //Then
+        final long deadline = System.currentTimeMillis() + 5000L;
+        while ((firstSliceRows.get() < 6 || secondSliceRows.get() < 4) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(first.getValue()).isEqualTo("0-0");
+        // first page of the first slice consumed, 2 pages waiting for each slice
+        assertThat(firstSliceRows.get()).isEqualTo(6);
+        assertThat(secondSliceRows.get()).isEqualTo(4);
+
+        final List<String> rest = new ArrayList<>();
+        iterator.forEachRemaining(x -> rest.add(x.getValue()));
+        assertThat(rest).hasSize(15);
+        assertThat(firstSliceRows.get() + secondSliceRows.get()).isEqualTo(16);
+    }
+
+    private void insertRows(Long id, int majors, int minors) {
+        for (int major = 0; major < majors; major++) {
+            for (int minor = 0; minor < minors; minor++) {
+                manager.crud().insert(new EntityWithSlices(id, major, minor, major + "-" + minor)).execute();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithTimeBucket_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithTimeBucket;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestEntityWithTimeBucket {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithTimeBucket.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithTimeBucket.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private EntityWithTimeBucket_Manager manager = resource.getManagerFactory().forEntityWithTimeBucket();
+
+    @Test
+    public void should_derive_time_bucket_on_insert() throws Exception {
+        //Given
+        final String sensorId = RandomStringUtils.randomAlphabetic(10);
+        final long start = 100_000L * HOUR;
+        final EntityWithTimeBucket entity = new EntityWithTimeBucket(sensorId, new Date(start + HOUR + 10), 1.0);
+
+        //When
+        manager.crud().insert(entity).execute();
+
+        //Then
+        assertThat(entity.getBucket()).isEqualTo(start + HOUR);
+        final Row row = session.execute("SELECT bucket FROM entity_with_time_bucket WHERE sensorid = '" + sensorId +
+                "' AND bucket = " + (start + HOUR)).one();
+        assertThat(row).isNotNull();
+    }
+
+    @Test
+    public void should_select_between_times_across_buckets() throws Exception {
+        //Given
+        final String sensorId = RandomStringUtils.randomAlphabetic(10);
+        final long start = 100_000L * HOUR;
+        for (int i = 0; i < 10; i++) {
+            manager.crud().insert(new EntityWithTimeBucket(sensorId, new Date(start + i * HOUR / 2), (double) i)).execute();
+        }
+
+        //When
+        final List<Double> actual = manager
+                .dsl()
+                .betweenTimes(sensorId, new Date(start + HOUR / 2), new Date(start + 4 * HOUR))
+                .withParallelism(2)
+                .stream()
+                .map(EntityWithTimeBucket::getValue)
+                .collect(toList());
+
+        //Then
+        assertThat(actual).containsExactly(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0);
+    }
+
+    @Test
+    public void should_return_empty_stream_for_empty_range() throws Exception {
+        //Given
+        final String sensorId = RandomStringUtils.randomAlphabetic(10);
+        final Date time = new Date(100_000L * HOUR);
+        manager.crud().insert(new EntityWithTimeBucket(sensorId, time, 1.0)).execute();
+
+        //When
+        final List<EntityWithTimeBucket> actual = manager.dsl().betweenTimes(sensorId, time, time).getList();
+
+        //Then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    public void should_select_between_times_spanning_max_buckets() throws Exception {
+        //Given
+        final String sensorId = RandomStringUtils.randomAlphabetic(10);
+        final long start = 100_000L * HOUR;
+        for (int i = 0; i < 6; i++) {
+            manager.crud().insert(new EntityWithTimeBucket(sensorId, new Date(start + i * HOUR / 2), (double) i)).execute();
+        }
+
+        //When
+        final List<Double> actual = manager
+                .dsl()
+                .betweenTimes(sensorId, new Date(start), new Date(start + 3 * HOUR))
+                .withMaxBuckets(3)
+                .stream()
+                .map(EntityWithTimeBucket::getValue)
+                .collect(toList());
+
+        //Then
+        assertThat(actual).containsExactly(0.0, 1.0, 2.0, 3.0, 4.0, 5.0);
+    }
+
+    @Test
+    public void should_fail_fast_when_time_range_spans_too_many_buckets() throws Exception {
+        //Given
+        final String sensorId = RandomStringUtils.randomAlphabetic(10);
+        final long start = 100_000L * HOUR;
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("spans 10001 time buckets of unit HOURS, more than the maximum of 10000");
+
+        manager.dsl().betweenTimes(sensorId, new Date(start), new Date(start + 10_001 * HOUR)).getList();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithSlices_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithSlices;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.hotpartition.HotPartition;
+import info.archinnov.achilles.type.hotpartition.HotPartition.AccessType;
+
+public class TestHotPartitionDetection {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithSlices.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithSlices.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withHotPartitionDetection(3)
+                    .build());
+
+    private ManagerFactory managerFactory = resource.getManagerFactory();
+    private EntityWithSlices_Manager manager = managerFactory.forEntityWithSlices();
+
+    @Test
+    public void should_detect_hot_partitions_for_reads_and_writes() throws Exception {
+        //Given
+        final Long hotId = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        for (int major = 0; major < 20; major++) {
+            manager.crud().insert(new EntityWithSlices(hotId, major, 0, "value")).execute();
+        }
+        for (int i = 0; i < 10; i++) {
+            manager.crud().insert(new EntityWithSlices(RandomUtils.nextLong(0L, Long.MAX_VALUE), 0, 0, "value")).execute();
+        }
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            manager.dsl().select().value().fromBaseTable().where().id().Eq(hotId).getList();
+        }
+
+        //Then
+        final List<HotPartition> hotPartitions = managerFactory.hotPartitions();
+        final List<HotPartition> writes = hotPartitions.stream()
+                .filter(hotPartition -> hotPartition.accessType() == AccessType.WRITE)
+                .collect(Collectors.toList());
+        final List<HotPartition> reads = hotPartitions.stream()
+                .filter(hotPartition -> hotPartition.accessType() == AccessType.READ)
+                .collect(Collectors.toList());
+
+        assertThat(writes).hasSize(3);
+        assertThat(writes.get(0).entityClass()).isEqualTo(EntityWithSlices.class.getCanonicalName());
+        assertThat(writes.get(0).partitionKey()).containsExactly("id=" + hotId);
+        assertThat(writes.get(0).estimatedCount()).isGreaterThanOrEqualTo(20L);
+        assertThat(writes.get(0).estimatedRatePerSecond()).isGreaterThan(0d);
+
+        assertThat(reads).hasSize(1);
+        assertThat(reads.get(0).partitionKey()).containsExactly("id=" + hotId);
+        assertThat(reads.get(0).estimatedCount()).isEqualTo(5L);
+    }
+}
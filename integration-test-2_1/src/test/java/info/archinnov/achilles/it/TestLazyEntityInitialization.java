@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.internals.entities.EntityWithNonExistingTable;
+import info.archinnov.achilles.internals.entities.EntityWithSlices;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+public class TestLazyEntityInitialization {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithSlices.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithSlices.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Test
+    public void should_defer_schema_validation_to_first_use_of_entity() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        final ManagerFactory lazyManagerFactory = ManagerFactoryBuilder
+                .builder(resource.getNativeSession().getCluster())
+                .withManagedEntityClasses(EntityWithSlices.class, EntityWithNonExistingTable.class)
+                .doForceSchemaCreation(false)
+                .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withLazyEntityInitialization(true)
+                .build();
+
+        try {
+            lazyManagerFactory.forEntityWithSlices().crud().insert(new EntityWithSlices(id, 1, 2, "lazy")).execute();
+
+            //Then
+            final EntityWithSlices found = lazyManagerFactory.forEntityWithSlices().crud().findById(id, 1, 2).get();
+            assertThat(found.getValue()).isEqualTo("lazy");
+
+            for (int i = 0; i < 2; i++) {
+                try {
+                    lazyManagerFactory.forEntityWithNonExistingTable();
+                    fail("Schema validation should fail for EntityWithNonExistingTable");
+                } catch (AchillesException ex) {
+                    assertThat(ex.getMessage()).isEqualTo(format("The table %s defined on entity %s does not exist in Cassandra",
+                            EntityWithNonExistingTable.TABLE, EntityWithNonExistingTable.class.getCanonicalName()));
+                }
+            }
+        } finally {
+            lazyManagerFactory.shutDown();
+        }
+    }
+}
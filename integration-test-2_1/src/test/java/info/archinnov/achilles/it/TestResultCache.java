@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithSlices_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithSlices;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.resultcache.ResultCacheStats;
+
+public class TestResultCache {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithSlices.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithSlices.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private ManagerFactory managerFactory = resource.getManagerFactory();
+    private EntityWithSlices_Manager manager = managerFactory.forEntityWithSlices();
+
+    @Test
+    public void should_serve_select_from_cache_until_mutation() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithSlices(id, 0, 0, "initial")).execute();
+        selectCached(id);
+
+        //When
+        session.execute("UPDATE entity_with_slices SET value = 'outside' WHERE id = " + id + " AND major = 0 AND minor = 0");
+        final List<EntityWithSlices> cached = selectCached(id);
+
+        manager.crud().insert(new EntityWithSlices(id, 1, 0, "through manager")).execute();
+        final List<EntityWithSlices> fresh = selectCached(id);
+
+        //Then
+        assertThat(cached).extracting("value").containsExactly("initial");
+        assertThat(fresh).extracting("value").containsExactly("outside", "through manager");
+        final List<ResultCacheStats> stats = managerFactory.resultCacheStats();
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).hitCount()).isEqualTo(1L);
+        assertThat(stats.get(0).missCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_cache_typed_maps_of_native_query() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithSlices(id, 0, 0, "value")).execute();
+        final String query = "SELECT value FROM " + DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + ".entity_with_slices WHERE id = " + id;
+
+        //When
+        manager.raw().nativeQuery(session.prepare(query).bind()).withResultCache(Duration.ofMinutes(1)).getTypedMaps();
+        managerFactory.invalidateResultCache();
+        manager.raw().nativeQuery(session.prepare(query).bind()).withResultCache(Duration.ofMinutes(1)).getTypedMaps();
+        final String value = manager.raw().nativeQuery(session.prepare(query).bind()).withResultCache(Duration.ofMinutes(1))
+                .getTypedMaps().get(0).getTyped("value");
+
+        //Then
+        assertThat(value).isEqualTo("value");
+        final List<ResultCacheStats> stats = managerFactory.resultCacheStats();
+        assertThat(stats.get(0).hitCount()).isEqualTo(1L);
+        assertThat(stats.get(0).missCount()).isEqualTo(2L);
+    }
+
+    private List<EntityWithSlices> selectCached(Long id) {
+        return manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withResultCache(Duration.ofMinutes(1))
+                .getList();
+    }
+}
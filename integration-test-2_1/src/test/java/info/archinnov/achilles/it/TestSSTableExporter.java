@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.cassandra.db.Keyspace;
+import org.apache.cassandra.service.StorageService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.meta.entity.EntityWithCompositePartitionKey_AchillesMeta;
+import info.archinnov.achilles.generated.meta.entity.EntityWithNestedUDT_AchillesMeta;
+import info.archinnov.achilles.internals.entities.EntityWithCompositePartitionKey;
+import info.archinnov.achilles.internals.entities.EntityWithNestedUDT;
+import info.archinnov.achilles.internals.entities.UDTWithNestedUDT;
+import info.archinnov.achilles.internals.entities.UDTWithNoKeyspace;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.sstable.SSTableExportStats;
+import info.archinnov.achilles.sstable.SSTableExporterBuilder;
+
+public class TestSSTableExporter {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithCompositePartitionKey.class, EntityWithNestedUDT.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithCompositePartitionKey.class, EntityWithNestedUDT.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Rule
+    public TemporaryFolder exportFolder = new TemporaryFolder();
+
+    @Test
+    public void should_export_entities_with_parallel_writers() throws Exception {
+        //Given
+        final List<EntityWithCompositePartitionKey> entities = IntStream.range(0, 1000)
+                .mapToObj(i -> new EntityWithCompositePartitionKey((long) i, new UUID(i, i), "value" + i))
+                .collect(toList());
+
+        //When
+        final SSTableExportStats stats = SSTableExporterBuilder
+                .builder(new EntityWithCompositePartitionKey_AchillesMeta())
+                .withOutputDirectory(exportFolder.getRoot())
+                .withKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withBufferSizeInMB(1)
+                .withParallelWriters(4)
+                .build()
+                .export(entities.stream());
+
+        //Then
+        assertThat(stats.rowCount()).isEqualTo(1000L);
+        assertThat(stats.rowCountPerWriter()).hasSize(4);
+        assertThat(stats.rowCountPerWriter()).doesNotContain(0L);
+        assertThat(stats.tableDirectory()).isEqualTo(new File(new File(exportFolder.getRoot(),
+                DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME), "entity_composite_pk"));
+
+        loadSSTables(stats.tableDirectory(), "entity_composite_pk");
+
+        final EntityWithCompositePartitionKey found = resource.getManagerFactory()
+                .forEntityWithCompositePartitionKey()
+                .crud()
+                .findById(123L, new UUID(123L, 123L))
+                .get();
+        assertThat(found.getValue()).isEqualTo("value123");
+        assertThat(resource.getNativeSession()
+                .execute("SELECT count(*) FROM " + DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + ".entity_composite_pk")
+                .one().getLong(0)).isEqualTo(1000L);
+    }
+
+    @Test
+    public void should_export_entity_with_nested_udt() throws Exception {
+        //Given
+        final EntityWithNestedUDT entity = new EntityWithNestedUDT();
+        entity.setId(10L);
+        entity.setUdt(new UDTWithNoKeyspace(1L, "udt"));
+        entity.setOptionalUDT(Optional.empty());
+        final UDTWithNestedUDT complexUDT = new UDTWithNestedUDT();
+        complexUDT.setValue("complex");
+        complexUDT.setNestedUDT(new UDTWithNoKeyspace(2L, "nested"));
+        entity.setComplexUDT(complexUDT);
+
+        //When
+        final SSTableExportStats stats = SSTableExporterBuilder
+                .builder(new EntityWithNestedUDT_AchillesMeta())
+                .withOutputDirectory(exportFolder.getRoot())
+                .withKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .build()
+                .export(Stream.of(entity));
+
+        //Then
+        assertThat(stats.rowCount()).isEqualTo(1L);
+
+        loadSSTables(stats.tableDirectory(), "table_with_nested_udt");
+
+        final EntityWithNestedUDT found = resource.getManagerFactory()
+                .forEntityWithNestedUDT()
+                .crud()
+                .findById(10L)
+                .get();
+        assertThat(found.getUdt().getValue()).isEqualTo("udt");
+        assertThat(found.getComplexUDT().getValue()).isEqualTo("complex");
+        assertThat(found.getComplexUDT().getNestedUDT().getValue()).isEqualTo("nested");
+        assertThat(found.getOptionalUDT().isPresent()).isFalse();
+    }
+
+    /**
+     * Same as running sstableloader against the embedded Cassandra
+     */
+    private void loadSSTables(File tableDirectory, String table) throws IOException {
+        final File dataDirectory = Keyspace.open(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .getColumnFamilyStore(table)
+                .getDirectories()
+                .getDirectoryForNewSSTables();
+        try (Stream<Path> files = Files.list(tableDirectory.toPath())) {
+            for (Path file : files.collect(toList())) {
+                Files.copy(file, dataDirectory.toPath().resolve(file.getFileName()));
+            }
+        }
+        StorageService.instance.loadNewSSTables(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME, table);
+    }
+}
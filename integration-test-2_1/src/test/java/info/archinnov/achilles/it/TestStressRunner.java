@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.ProtocolVersion;
+
+import info.archinnov.achilles.annotations.Enumerated;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.internals.codecs.EncodingOrdinalCodec;
+import info.archinnov.achilles.internals.codecs.ProtocolVersionCodec;
+import info.archinnov.achilles.internals.entities.EntityWithComplexTypes;
+import info.archinnov.achilles.internals.entities.EntityWithSlices;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.stress.OperationMix;
+import info.archinnov.achilles.stress.OperationStats;
+import info.archinnov.achilles.stress.StressConfig;
+import info.archinnov.achilles.stress.StressOperation;
+import info.archinnov.achilles.stress.StressReport;
+import info.archinnov.achilles.stress.StressRunner;
+import info.archinnov.achilles.type.codec.CodecSignature;
+
+public class TestStressRunner {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithSlices.class, EntityWithComplexTypes.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithSlices.class, EntityWithComplexTypes.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withRuntimeCodec(new CodecSignature<>(ProtocolVersion.class, String.class),
+                            new ProtocolVersionCodec())
+                    .withRuntimeCodec(new CodecSignature<>(Enumerated.Encoding.class, Integer.class, "encoding_codec"),
+                            new EncodingOrdinalCodec())
+                    .build());
+
+    private ManagerFactory managerFactory = resource.getManagerFactory();
+
+    @Test
+    public void should_stress_clustered_entity_with_all_operations() throws Exception {
+        //Given
+        final StressConfig config = StressConfig.builder()
+                .withMix(OperationMix.parse("insert:3,update:1,find:2,select:2,delete:1,lwt_insert:1,lwt_delete:1"))
+                .withMaxOperations(400)
+                .withConcurrency(8)
+                .withPopulation(40)
+                .withRowsPerPartition(4);
+
+        //When
+        final StressReport report = StressRunner.forManager(managerFactory.forEntityWithSlices(), config).run();
+
+        //Then
+        assertThat(report.totalErrors()).isEqualTo(0L);
+        assertThat(report.totalCount()).isEqualTo(400L);
+        assertThat(report.operationStats()).extracting("operation").contains(StressOperation.SELECT, StressOperation.LWT_INSERT);
+        for (OperationStats stats : report.operationStats()) {
+            assertThat(stats.latencies().percentileNanos(99d)).isGreaterThan(0L);
+        }
+        assertThat(report.toJSON()).contains("\"entity\" : \"" + EntityWithSlices.class.getCanonicalName() + "\"");
+    }
+
+    @Test
+    public void should_stress_entity_with_complex_types() throws Exception {
+        //Given
+        final StressConfig config = StressConfig.builder()
+                .withMix(OperationMix.parse("insert:1,find:1"))
+                .withMaxOperations(200)
+                .withConcurrency(4)
+                .withPopulation(20);
+
+        //When
+        final StressReport report = StressRunner.forManager(managerFactory.forEntityWithComplexTypes(), config).run();
+
+        //Then
+        assertThat(report.totalErrors()).isEqualTo(0L);
+        assertThat(report.totalCount()).isEqualTo(200L);
+    }
+}
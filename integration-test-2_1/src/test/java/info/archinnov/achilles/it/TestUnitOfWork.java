@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2012-2018 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.datastax.driver.core.BatchStatement;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithCounterColumn_Manager;
+import info.archinnov.achilles.generated.manager.EntityWithSimplePartitionKey_Manager;
+import info.archinnov.achilles.generated.manager.EntityWithSlices_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithCounterColumn;
+import info.archinnov.achilles.internals.entities.EntityWithSimplePartitionKey;
+import info.archinnov.achilles.internals.entities.EntityWithSlices;
+import info.archinnov.achilles.internals.runtime.WrittenTablesTracker;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.batch.BatchExecutionInfo;
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.interceptor.Interceptor;
+
+public class TestUnitOfWork {
+
+    public static Interceptor<EntityWithSimplePartitionKey> prefixValue = new Interceptor<EntityWithSimplePartitionKey>() {
+        @Override
+        public boolean acceptEntity(Class<?> entityClass) {
+            return entityClass.equals(EntityWithSimplePartitionKey.class);
+        }
+
+        @Override
+        public void onEvent(EntityWithSimplePartitionKey entity, Event event) {
+            entity.setValue(event.name() + "_" + entity.getValue());
+        }
+
+        @Override
+        public List<Event> interceptOnEvents() {
+            return asList(Event.PRE_INSERT, Event.POST_INSERT);
+        }
+    };
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithSlices.class, EntityWithSimplePartitionKey.class, EntityWithCounterColumn.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithSlices.class, EntityWithSimplePartitionKey.class, EntityWithCounterColumn.class)
+                    .withEventInterceptors(asList(prefixValue))
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private ManagerFactory managerFactory = resource.getManagerFactory();
+    private EntityWithSlices_Manager slicesManager = managerFactory.forEntityWithSlices();
+    private EntityWithSimplePartitionKey_Manager simpleManager = managerFactory.forEntityWithSimplePartitionKey();
+    private EntityWithCounterColumn_Manager counterManager = managerFactory.forEntityWithCounterColumn();
+
+    @Test
+    public void should_execute_crud_and_dsl_mutations_in_logged_batch() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        slicesManager.crud().insert(new EntityWithSlices(id, 9, 9, "to delete")).execute();
+        final EntityWithSimplePartitionKey entity = new EntityWithSimplePartitionKey();
+        entity.setId(id);
+        entity.setValue("value");
+
+        //When
+        final BatchExecutionInfo info = managerFactory
+                .batch()
+                .add(simpleManager.crud().insert(entity))
+                .add(slicesManager.crud().insert(new EntityWithSlices(id, 1, 1, "inserted")))
+                .add(slicesManager.dsl().delete().allColumns_FromBaseTable().where().id().Eq(id).major().Eq(9).minor().Eq(9))
+                .executeWithStats();
+
+        //Then
+        assertThat(info.type()).isEqualTo(BatchStatement.Type.LOGGED);
+        assertThat(info.statementCount()).isEqualTo(3);
+        assertThat(info.batchCount()).isEqualTo(1);
+        assertThat(simpleManager.crud().findById(id).get().getValue()).isEqualTo("PRE_INSERT_value");
+        assertThat(entity.getValue()).isEqualTo("POST_INSERT_PRE_INSERT_value");
+        final List<EntityWithSlices> slices = slicesManager.dsl().select().allColumns_FromBaseTable().where().id().Eq(id).getList();
+        assertThat(slices).extracting("value").containsExactly("inserted");
+    }
+
+    @Test
+    public void should_group_unlogged_batch_by_partition_and_split_by_size() throws Exception {
+        //Given
+        final Long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        final BatchExecutionInfo info = managerFactory
+                .batch()
+                .unlogged()
+                .withSizeThresholdInBytes(70)
+                .add(slicesManager.crud().insert(new EntityWithSlices(id1, 1, 1, "0123456789")))
+                .add(slicesManager.crud().insert(new EntityWithSlices(id2, 1, 1, "0123456789")))
+                .add(slicesManager.crud().insert(new EntityWithSlices(id1, 1, 2, "0123456789")))
+                .add(slicesManager.crud().insert(new EntityWithSlices(id1, 1, 3, "0123456789")))
+                .executeWithStats();
+
+        //Then
+        assertThat(info.batchCount()).isEqualTo(3);
+        assertThat(slicesManager.dsl().select().allColumns_FromBaseTable().where().id().Eq(id1).getList()).hasSize(3);
+        assertThat(slicesManager.dsl().select().allColumns_FromBaseTable().where().id().Eq(id2).getList()).hasSize(1);
+    }
+
+    @Test
+    public void should_execute_counter_mutations_in_separate_counter_batch() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final WrittenTablesTracker tracker = managerFactory.trackWrittenTables();
+        tracker.drain();
+
+        //When
+        final BatchExecutionInfo info = managerFactory
+                .batch()
+                .add(slicesManager.crud().insert(new EntityWithSlices(id, 1, 1, "inserted")))
+                .add(counterManager.dsl().update().fromBaseTable().count().Incr(3L).where().id().Eq(id))
+                .executeWithStats();
+
+        //Then
+        assertThat(info.batchCount()).isEqualTo(2);
+        assertThat(counterManager.crud().findById(id).get().getCount()).isEqualTo(3L);
+        assertThat(slicesManager.dsl().select().allColumns_FromBaseTable().where().id().Eq(id).getList()).hasSize(1);
+        assertThat(tracker.drain()).contains(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + ".entity_with_slices",
+                DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + ".entity_counter");
+    }
+}
@@ -17,8 +17,11 @@
 package info.archinnov.achilles.it;
 
 import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
 import java.util.List;
 
 import org.apache.commons.lang3.RandomUtils;
@@ -34,6 +37,7 @@ import info.archinnov.achilles.internals.entities.EntityWithIndicesForJSON;
 import info.archinnov.achilles.junit.AchillesTestResource;
 import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
 import info.archinnov.achilles.script.ScriptExecutor;
+import info.archinnov.achilles.type.json.NDJSONWriteStats;
 
 public class TestEntityWithIndicesForJSON {
 
@@ -225,4 +229,58 @@ public class TestEntityWithIndicesForJSON {
         assertThat(entity.getSimpleIndex()).isEqualTo("312");
     }
 
+
+    @Test
+    public void should_stream_partition_as_ndjson() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        scriptExecutor.executeScriptTemplate("EntityWithIndicesForJSON/insertRows.cql", ImmutableMap.of("id", id));
+        final List<String> expected = manager
+                .dsl()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .getListJSON();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //When
+        final NDJSONWriteStats stats = manager
+                .dsl()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(3)
+                .writeTo(output, 512);
+
+        //Then
+        assertThat(expected).hasSize(10);
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo(String.join("\n", expected) + "\n");
+        assertThat(stats.rowsWritten()).isEqualTo(10L);
+        assertThat(stats.bytesWritten()).isEqualTo(output.size());
+        assertThat(stats.pagesFetched()).isEqualTo(4);
+    }
+
+    @Test
+    public void should_stream_indexed_query_as_ndjson_to_channel() throws Exception {
+        //Given
+        final Long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        scriptExecutor.executeScriptTemplate("EntityWithIndicesForJSON/insertRows.cql", ImmutableMap.of("id", id));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        //When
+        final NDJSONWriteStats stats = manager
+                .indexed()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .indexed_simpleIndex().Eq("313")
+                .id().Eq(id)
+                .writeTo(Channels.newChannel(output));
+
+        //Then
+        assertThat(stats.rowsWritten()).isEqualTo(1L);
+        assertThat(new String(output.toByteArray(), UTF_8)).startsWith("{\"id\": " + id + ", \"clust1\": 3").endsWith("\"simpleindex\": \"313\"}\n");
+    }
 }